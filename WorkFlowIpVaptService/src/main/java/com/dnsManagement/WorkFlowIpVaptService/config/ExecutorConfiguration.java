@@ -0,0 +1,81 @@
+package com.dnsManagement.WorkFlowIpVaptService.config;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.BoundedExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * One {@link BoundedExecutor} per kind of background work, so a busy workload
+ * queues behind its own cap instead of starving the others.
+ * <ul>
+ *   <li>{@code notificationExecutor} - calls to notification-service</li>
+ *   <li>{@code schedulerExecutor} - runs of the scheduled jobs</li>
+ *   <li>{@code expiryExecutor} - chunk workers of the domain expiry scan</li>
+ *   <li>{@code enrichmentExecutor} - lookups against
+ *   user-management-service</li>
+ *   <li>{@code streamingExecutor} - response bodies written after the
+ *   request thread is released, see {@link WebAsyncConfiguration}</li>
+ * </ul>
+ * Use them by name, e.g. {@code @Async("schedulerExecutor")}.
+ * <p>
+ * Because these beans are {@code Executor}s, Boot does not create its own
+ * {@code applicationTaskExecutor}; anything that would fall back to it needs
+ * one of these wired in explicitly.
+ * </p>
+ */
+@Configuration
+public class ExecutorConfiguration {
+
+  public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+  public static final String SCHEDULER_EXECUTOR = "schedulerExecutor";
+  public static final String ENRICHMENT_EXECUTOR = "enrichmentExecutor";
+  public static final String EXPIRY_EXECUTOR = "expiryExecutor";
+  public static final String STREAMING_EXECUTOR = "streamingExecutor";
+
+  @Bean(NOTIFICATION_EXECUTOR)
+  public BoundedExecutor notificationExecutor(
+          MeterRegistry meterRegistry,
+          @Value("${executors.notification.max-concurrency:16}") int maxConcurrency,
+          @Value("${executors.notification.queue-capacity:10000}") int queueCapacity) {
+    return new BoundedExecutor("notification", maxConcurrency, queueCapacity,
+            meterRegistry);
+  }
+
+  @Bean(SCHEDULER_EXECUTOR)
+  public BoundedExecutor schedulerExecutor(
+          MeterRegistry meterRegistry,
+          @Value("${executors.scheduler.max-concurrency:2}") int maxConcurrency,
+          @Value("${executors.scheduler.queue-capacity:100}") int queueCapacity) {
+    return new BoundedExecutor("scheduler", maxConcurrency, queueCapacity,
+            meterRegistry);
+  }
+
+  @Bean(ENRICHMENT_EXECUTOR)
+  public BoundedExecutor enrichmentExecutor(
+          MeterRegistry meterRegistry,
+          @Value("${executors.enrichment.max-concurrency:64}") int maxConcurrency,
+          @Value("${executors.enrichment.queue-capacity:1000}") int queueCapacity) {
+    return new BoundedExecutor("enrichment", maxConcurrency, queueCapacity,
+            meterRegistry);
+  }
+
+  @Bean(EXPIRY_EXECUTOR)
+  public BoundedExecutor expiryExecutor(
+          MeterRegistry meterRegistry,
+          @Value("${executors.expiry.max-concurrency:4}") int maxConcurrency,
+          @Value("${executors.expiry.queue-capacity:8}") int queueCapacity) {
+    return new BoundedExecutor("expiry", maxConcurrency, queueCapacity,
+            meterRegistry);
+  }
+
+  @Bean(STREAMING_EXECUTOR)
+  public BoundedExecutor streamingExecutor(
+          MeterRegistry meterRegistry,
+          @Value("${executors.streaming.max-concurrency:32}") int maxConcurrency,
+          @Value("${executors.streaming.queue-capacity:200}") int queueCapacity) {
+    return new BoundedExecutor("streaming", maxConcurrency, queueCapacity,
+            meterRegistry);
+  }
+}
@@ -0,0 +1,46 @@
+package com.dnsManagement.WorkFlowIpVaptService.config;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.ReferenceDataSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/referencedata}: GET reports the state of the centre/group
+ * snapshot, POST forces a refresh from user-management-service.
+ */
+@Component
+@Endpoint(id = "referencedata")
+public class ReferenceDataEndpoint {
+
+  private final ReferenceDataSnapshot referenceDataSnapshot;
+
+  @Autowired
+  public ReferenceDataEndpoint(ReferenceDataSnapshot referenceDataSnapshot) {
+    this.referenceDataSnapshot = referenceDataSnapshot;
+  }
+
+  @ReadOperation
+  public Map<String, Object> status() {
+    Duration age = referenceDataSnapshot.age();
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("centres", referenceDataSnapshot.centreCount());
+    status.put("groups", referenceDataSnapshot.groupCount());
+    status.put("ageSeconds", age == null ? null : age.toSeconds());
+    return status;
+  }
+
+  @WriteOperation
+  public Map<String, Object> refresh() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("refreshed", referenceDataSnapshot.refresh());
+    status.putAll(status());
+    return status;
+  }
+}
@@ -0,0 +1,53 @@
+package com.dnsManagement.WorkFlowIpVaptService.config;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.SchedulerLease;
+import com.dnsManagement.WorkFlowIpVaptService.services.SchedulerLeaseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/schedulerleases}: which instance holds each scheduled
+ * job's lease, until when, and which instance is answering.
+ */
+@Component
+@Endpoint(id = "schedulerleases")
+public class SchedulerLeaseEndpoint {
+
+  private final SchedulerLeaseService leaseService;
+
+  @Autowired
+  public SchedulerLeaseEndpoint(SchedulerLeaseService leaseService) {
+    this.leaseService = leaseService;
+  }
+
+  @ReadOperation
+  public Map<String, Object> leases() {
+    LocalDateTime now = LocalDateTime.now();
+    List<Map<String, Object>> leases = leaseService.findAll().stream()
+            .map(lease -> describe(lease, now))
+            .toList();
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("instance", leaseService.getOwner());
+    status.put("leases", leases);
+    return status;
+  }
+
+  private Map<String, Object> describe(SchedulerLease lease, LocalDateTime now) {
+    Map<String, Object> description = new LinkedHashMap<>();
+    description.put("name", lease.getLeaseName());
+    description.put("owner", lease.getOwner());
+    description.put("ownedByThisInstance", lease.getOwner().equals(leaseService.getOwner()));
+    description.put("active", lease.getExpiresAt().isAfter(now));
+    description.put("acquiredAt", lease.getAcquiredAt());
+    description.put("expiresAt", lease.getExpiresAt());
+    description.put("completedOn", lease.getCompletedOn());
+    return description;
+  }
+}
@@ -0,0 +1,36 @@
+package com.dnsManagement.WorkFlowIpVaptService.config;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.BoundedExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs the async part of MVC requests, such as the {@code StreamingResponseBody}
+ * of the NDJSON export and of proof downloads, on the {@code streamingExecutor}.
+ * <p>
+ * Left alone, MVC would fall back to a {@code SimpleAsyncTaskExecutor} and
+ * start an unbounded platform thread per streamed response, each held for
+ * as long as {@code spring.mvc.async.request-timeout}. Past the streaming
+ * executor's queue, a request is rejected instead.
+ * </p>
+ */
+@Configuration
+public class WebAsyncConfiguration implements WebMvcConfigurer {
+
+  private final BoundedExecutor streamingExecutor;
+
+  @Autowired
+  public WebAsyncConfiguration(
+          @Qualifier(ExecutorConfiguration.STREAMING_EXECUTOR) BoundedExecutor streamingExecutor) {
+    this.streamingExecutor = streamingExecutor;
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.setTaskExecutor(new TaskExecutorAdapter(streamingExecutor));
+  }
+}
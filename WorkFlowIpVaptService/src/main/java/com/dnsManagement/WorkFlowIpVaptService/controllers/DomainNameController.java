@@ -2,16 +2,20 @@ package com.dnsManagement.WorkFlowIpVaptService.controllers;
 
 import com.dnsManagement.WorkFlowIpVaptService.dto.*;
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.InboxKind;
 import com.dnsManagement.WorkFlowIpVaptService.models.Role;
 import com.dnsManagement.WorkFlowIpVaptService.services.DomainNameService;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 /**
  * REST controller for handling all HTTP requests related to domain information.
  * <p>
@@ -111,6 +115,48 @@ public class DomainNameController {
     return domainNameService.getAllDomains(empNo, role, pageable);
   }
 
+  /**
+   * Same as {@link #getDomains}, paged with a cursor instead of a page number.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/get-domains/{role}/{empNo}/cursor}.
+   * </p>
+   *
+   * @param empNo  The employee number.
+   * @param role   The role of the employee.
+   * @param cursor {@code next_cursor} of the previous page; omitted for the first page.
+   * @param size   How many domains per page, at most 100.
+   * @param count  Whether to also count every matching domain into {@code total}.
+   * @return A {@link ResponseEntity} containing a {@link CursorPage} of {@link ExpiringDomains}.
+   */
+  @GetMapping("get-domains/{role}/{empNo}/cursor")
+  public ResponseEntity<CursorPage<ExpiringDomains>> getDomainsAfter(
+          @PathVariable Long empNo,
+          @PathVariable Role role,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "false") boolean count) {
+    return domainNameService.getAllDomainsAfter(empNo, role, cursor, size, count);
+  }
+
+  /**
+   * Same as {@link #getDomains}, without the total: the slice only tells whether
+   * there is a next page, for infinite-scroll clients.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/get-domains/{role}/{empNo}/slice}.
+   * </p>
+   *
+   * @param empNo    The employee number.
+   * @param role     The role of the employee.
+   * @param pageable Pagination information for the result set.
+   * @return A {@link ResponseEntity} containing a {@link Slice} of {@link ExpiringDomains}.
+   */
+  @GetMapping("get-domains/{role}/{empNo}/slice")
+  public ResponseEntity<Slice<ExpiringDomains>> getDomainsSlice(@PathVariable Long empNo,
+                                                                @PathVariable Role role,
+                                                                Pageable pageable) {
+    return domainNameService.getAllDomainsSlice(empNo, role, pageable);
+  }
+
   /**
    * Provides a paginated view of all domains accessible to a specific employee based on their role.
    * <p>
@@ -129,6 +175,48 @@ public class DomainNameController {
     return domainNameService.getAllViewDomains(empNo, role, pageable);
   }
 
+  /**
+   * Same as {@link #getViewDomains}, paged with a cursor instead of a page number.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/view-domains/{role}/{empNo}/cursor}.
+   * </p>
+   *
+   * @param empNo  The employee number.
+   * @param role   The role of the employee.
+   * @param cursor {@code next_cursor} of the previous page; omitted for the first page.
+   * @param size   How many domains per page, at most 100.
+   * @param count  Whether to also count every matching domain into {@code total}.
+   * @return A {@link ResponseEntity} containing a {@link CursorPage} of {@link ViewDomainResponseDto} objects.
+   */
+  @GetMapping("view-domains/{role}/{empNo}/cursor")
+  public ResponseEntity<CursorPage<ViewDomainResponseDto>> getViewDomainsAfter(
+          @PathVariable("empNo") Long empNo,
+          @PathVariable("role") Role role,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "false") boolean count) {
+    return domainNameService.getAllViewDomainsAfter(empNo, role, cursor, size, count);
+  }
+
+  /**
+   * Same as {@link #getViewDomains}, without the total: the slice only tells whether
+   * there is a next page, for infinite-scroll clients.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/view-domains/{role}/{empNo}/slice}.
+   * </p>
+   *
+   * @param empNo    The employee number.
+   * @param role     The role of the employee.
+   * @param pageable Pagination information for the result set.
+   * @return A {@link ResponseEntity} containing a {@link Slice} of {@link ViewDomainResponseDto} objects.
+   */
+  @GetMapping("view-domains/{role}/{empNo}/slice")
+  public ResponseEntity<Slice<ViewDomainResponseDto>> getViewDomainsSlice(@PathVariable("empNo") Long empNo,
+                                                                          @PathVariable("role") Role role,
+                                                                          Pageable pageable) {
+    return domainNameService.getAllViewDomainsSlice(empNo, role, pageable);
+  }
+
   /**
    * Fetches domain verification requests assigned to a specific employee based on their role.
    * <p>
@@ -150,6 +238,49 @@ public class DomainNameController {
             pageable);
   }
 
+  /**
+   * Same as {@link #getDomainVerifyAndInfoByRoleAndEmpNo}, paged with a cursor instead of a page number.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/{role}/domain-verify-requests/{hodEmpNo}/cursor}.
+   * </p>
+   *
+   * @param hodEmpNo The employee number of the approver.
+   * @param role     The role of the approver.
+   * @param cursor   {@code next_cursor} of the previous page; omitted for the first page.
+   * @param size     How many domains per page, at most 100.
+   * @param count    Whether to also count every matching domain into {@code total}.
+   * @return A {@link ResponseEntity} containing a {@link CursorPage} of domain verification requests.
+   */
+  @GetMapping("{role}/domain-verify-requests/{hodEmpNo}/cursor")
+  public ResponseEntity<CursorPage<VerifyDomainRequestPageDto>> getDomainVerifyAndInfoByRoleAndEmpNoAfter(
+          @PathVariable Long hodEmpNo,
+          @PathVariable Role role,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "false") boolean count) {
+    return domainNameService.getDomainsWithByRoleAndEmpNoInfoAfter(hodEmpNo, role, cursor, size, count);
+  }
+
+  /**
+   * Same as {@link #getDomainVerifyAndInfoByRoleAndEmpNo}, without the total: the slice only tells whether
+   * there is a next page, for infinite-scroll clients.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/{role}/domain-verify-requests/{hodEmpNo}/slice}.
+   * </p>
+   *
+   * @param hodEmpNo The employee number of the approver.
+   * @param role     The role of the approver.
+   * @param pageable Pagination information for the result set.
+   * @return A {@link ResponseEntity} containing a {@link Slice} of domain verification requests.
+   */
+  @GetMapping("{role}/domain-verify-requests/{hodEmpNo}/slice")
+  public ResponseEntity<Slice<VerifyDomainRequestPageDto>> getDomainVerifyAndInfoByRoleAndEmpNoSlice(
+          @PathVariable Long hodEmpNo,
+          @PathVariable Role role,
+          Pageable pageable) {
+    return domainNameService.getDomainsWithByRoleAndEmpNoInfoSlice(hodEmpNo, role, pageable);
+  }
+
   /**
    * Retrieves a comprehensive, detailed view of a single domain by its ID.
    * <p>
@@ -185,6 +316,48 @@ public class DomainNameController {
             pageable);
   }
 
+  /**
+   * Same as {@link #getRenewalsView}, paged with a cursor instead of a page number.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/domain-renewal/view/{role}/{empNo}/cursor}.
+   * </p>
+   *
+   * @param role   The role of the employee.
+   * @param empNo  The employee number.
+   * @param cursor {@code next_cursor} of the previous page; omitted for the first page.
+   * @param size   How many domains per page, at most 100.
+   * @param count  Whether to also count every matching domain into {@code total}.
+   * @return A {@link ResponseEntity} containing a {@link CursorPage} of renewal requests.
+   */
+  @GetMapping("domain-renewal/view/{role}/{empNo}/cursor")
+  public ResponseEntity<CursorPage<VerifyDomainRequestPageDto>> getRenewalsViewAfter(
+          @PathVariable Role role,
+          @PathVariable Long empNo,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "false") boolean count) {
+    return domainNameService.getRenewalViewByRoleAndEmpNoAfter(role, empNo, cursor, size, count);
+  }
+
+  /**
+   * Same as {@link #getRenewalsView}, without the total: the slice only tells whether
+   * there is a next page, for infinite-scroll clients.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/domain-renewal/view/{role}/{empNo}/slice}.
+   * </p>
+   *
+   * @param role     The role of the employee.
+   * @param empNo    The employee number.
+   * @param pageable Pagination information for the result set.
+   * @return A {@link ResponseEntity} containing a {@link Slice} of renewal requests.
+   */
+  @GetMapping("domain-renewal/view/{role}/{empNo}/slice")
+  public ResponseEntity<Slice<VerifyDomainRequestPageDto>> getRenewalsViewSlice(@PathVariable Role role,
+                                                                                @PathVariable Long empNo,
+                                                                                Pageable pageable) {
+    return domainNameService.getRenewalViewByRoleAndEmpNoSlice(role, empNo, pageable);
+  }
+
   /**
    * Retrieves all domain transfer requests pending for a specific HOD (Head of Department).
    * <p>
@@ -217,4 +390,59 @@ public class DomainNameController {
                                                  Pageable pageable) {
     return domainNameService.getDomainsToPurchase(webmasterId, pageable);
   }
+
+  /**
+   * Same as {@link #getDomainsForPurchase}, paged with a cursor instead of a page number.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/domain-purchase-view/WEBMASTER/{webmasterId}/cursor}.
+   * </p>
+   *
+   * @param webmasterId The unique identifier of the webmaster.
+   * @param cursor      {@code next_cursor} of the previous page; omitted for the first page.
+   * @param size        How many domains per page, at most 100.
+   * @param count       Whether to also count every matching domain into {@code total}.
+   * @return A {@link ResponseEntity} containing a {@link CursorPage} of domains to be purchased.
+   */
+  @GetMapping("domain-purchase-view/WEBMASTER/{webmasterId}/cursor")
+  public ResponseEntity<CursorPage<VerifyDomainRequestPageDto>> getDomainsForPurchaseAfter(
+          @PathVariable Long webmasterId,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "false") boolean count) {
+    return domainNameService.getDomainsToPurchaseAfter(webmasterId, cursor, size, count);
+  }
+
+  /**
+   * Same as {@link #getDomainsForPurchase}, without the total: the slice only tells whether
+   * there is a next page, for infinite-scroll clients.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/domain-purchase-view/WEBMASTER/{webmasterId}/slice}.
+   * </p>
+   *
+   * @param webmasterId The unique identifier of the webmaster.
+   * @param pageable    Pagination information for the result set.
+   * @return A {@link ResponseEntity} containing a {@link Slice} of domains to be purchased.
+   */
+  @GetMapping("domain-purchase-view/WEBMASTER/{webmasterId}/slice")
+  public ResponseEntity<Slice<VerifyDomainRequestPageDto>> getDomainsForPurchaseSlice(@PathVariable Long webmasterId,
+                                                                                      Pageable pageable) {
+    return domainNameService.getDomainsToPurchaseSlice(webmasterId, pageable);
+  }
+
+  /**
+   * Counts what waits on an employee in a role, for the dashboard badges.
+   * <p>
+   * This endpoint handles GET requests to {@code /domain/{role}/inbox-counts/{empNo}}.
+   * </p>
+   *
+   * @param role  The role of the employee.
+   * @param empNo The employee number.
+   * @return A {@link ResponseEntity} with the number of domain requests, renewals
+   *         and purchases waiting, zero included.
+   */
+  @GetMapping("{role}/inbox-counts/{empNo}")
+  public ResponseEntity<Map<InboxKind, Long>> getInboxCounts(@PathVariable Role role,
+                                                             @PathVariable Long empNo) {
+    return domainNameService.getInboxCounts(empNo, role);
+  }
 }
\ No newline at end of file
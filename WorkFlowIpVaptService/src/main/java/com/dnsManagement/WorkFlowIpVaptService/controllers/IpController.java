@@ -1,5 +1,7 @@
 package com.dnsManagement.WorkFlowIpVaptService.controllers;
 
+import com.dnsManagement.WorkFlowIpVaptService.dto.IpAssignment;
+import com.dnsManagement.WorkFlowIpVaptService.dto.SubnetUtilization;
 import com.dnsManagement.WorkFlowIpVaptService.services.IpService;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +12,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/ip-management")
@@ -28,4 +32,26 @@ public class IpController {
     log.info("IP ADDRESS={}", ipAddr);
     return ipService.isUnique(ipAddr);
   }
+
+  /**
+   * IP records sharing an address with {@code cidr}, an address or a range
+   * such as {@code 10.20.0.0/16}.
+   */
+  @GetMapping("ranges/overlapping")
+  public ResponseEntity<List<IpAssignment>> getOverlapping(@NotNull @RequestParam("cidr") String cidr,
+                                                           @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+    return ipService.findOverlapping(cidr, limit);
+  }
+
+  @GetMapping("ranges/assignments")
+  public ResponseEntity<List<IpAssignment>> getAssignments(@NotNull @RequestParam("cidr") String cidr,
+                                                           @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+    return ipService.findWithin(cidr, limit);
+  }
+
+  @GetMapping("ranges/utilization")
+  public ResponseEntity<List<SubnetUtilization>> getUtilization(@NotNull @RequestParam("cidr") String cidr,
+                                                                @RequestParam("subnetLength") int subnetLength) {
+    return ipService.getUtilization(cidr, subnetLength);
+  }
 }
@@ -0,0 +1,51 @@
+package com.dnsManagement.WorkFlowIpVaptService.controllers;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.NotificationOutbox;
+import com.dnsManagement.WorkFlowIpVaptService.services.NotificationOutboxService;
+import jakarta.validation.constraints.Positive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Slf4j
+@RestController
+@RequestMapping("/notification-outbox")
+public class NotificationOutboxController {
+
+  private final NotificationOutboxService outboxService;
+
+  @Autowired
+  public NotificationOutboxController(NotificationOutboxService outboxService) {
+    this.outboxService = outboxService;
+  }
+
+  @GetMapping("dead")
+  public ResponseEntity<Page<NotificationOutbox>> getDeadNotifications(Pageable pageable) {
+    return ResponseEntity.ok(outboxService.findDead(pageable));
+  }
+
+  @PostMapping("replay/{outboxId}")
+  public ResponseEntity<Map<String, Integer>> replay(@PathVariable @Positive Long outboxId) {
+    log.info("INSIDE POST /notification-outbox/replay/{}", outboxId);
+    int replayed = outboxService.replay(outboxId);
+    if (replayed == 0)
+      throw new NoSuchElementException("NO DEAD NOTIFICATION WITH ID: " + outboxId);
+    return ResponseEntity.ok(Map.of("replayed", replayed));
+  }
+
+  @PostMapping("replay")
+  public ResponseEntity<Map<String, Integer>> replayAll() {
+    log.info("INSIDE POST /notification-outbox/replay");
+    return ResponseEntity.ok(Map.of("replayed", outboxService.replay(null)));
+  }
+}
@@ -0,0 +1,56 @@
+package com.dnsManagement.WorkFlowIpVaptService.controllers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.ProofUpload;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.services.ProofService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Upload and download of proof documents, see {@link ProofService}.
+ */
+@RestController
+@RequestMapping("/proofs")
+public class ProofController {
+
+  private final ProofService proofService;
+
+  @Autowired
+  public ProofController(ProofService proofService) {
+    this.proofService = proofService;
+  }
+
+  /**
+   * Stores the {@code file} part of a multipart request. The returned
+   * {@code sha256} is what domain, renewal, VAPT and purchase requests then
+   * pass instead of the document itself.
+   */
+  @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ProofUpload> upload(@RequestPart("file") MultipartFile file) {
+    return proofService.upload(file);
+  }
+
+  /**
+   * Downloads a document as the employee {@code empNo} acting as
+   * {@code role}, who must be a stakeholder of a domain it belongs to.
+   */
+  @GetMapping("{sha256}")
+  public ResponseEntity<StreamingResponseBody> download(@PathVariable String sha256,
+                                                        @RequestParam Role role,
+                                                        @RequestParam Long empNo,
+                                                        @RequestHeader HttpHeaders headers) {
+    return proofService.download(sha256, role, empNo, headers);
+  }
+}
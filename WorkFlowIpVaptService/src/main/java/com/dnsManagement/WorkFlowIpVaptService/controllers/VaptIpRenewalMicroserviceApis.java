@@ -1,20 +1,27 @@
 package com.dnsManagement.WorkFlowIpVaptService.controllers;
 
 import com.dnsManagement.WorkFlowIpVaptService.dto.DomainResponse;
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringAsset;
 import com.dnsManagement.WorkFlowIpVaptService.dto.IpResponse;
+import com.dnsManagement.WorkFlowIpVaptService.dto.KeysetPage;
 import com.dnsManagement.WorkFlowIpVaptService.dto.UpdateDomainName;
 import com.dnsManagement.WorkFlowIpVaptService.dto.VaptResponse;
+import com.dnsManagement.WorkFlowIpVaptService.models.AssetType;
 import com.dnsManagement.WorkFlowIpVaptService.models.Ip;
 import com.dnsManagement.WorkFlowIpVaptService.models.Vapt;
+import com.dnsManagement.WorkFlowIpVaptService.services.AssetExpiryService;
 import com.dnsManagement.WorkFlowIpVaptService.services.DomainNameService;
 import com.dnsManagement.WorkFlowIpVaptService.services.IpService;
 import com.dnsManagement.WorkFlowIpVaptService.services.VaptService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,12 +33,15 @@ public class VaptIpRenewalMicroserviceApis {
   private final VaptService vaptService;
 
   private final DomainNameService domainNameService;
+  private final AssetExpiryService assetExpiryService;
 
   @Autowired
-  public VaptIpRenewalMicroserviceApis(IpService ipService, VaptService vaptService, DomainNameService domainNameService) {
+  public VaptIpRenewalMicroserviceApis(IpService ipService, VaptService vaptService, DomainNameService domainNameService,
+                                       AssetExpiryService assetExpiryService) {
     this.ipService = ipService;
     this.vaptService = vaptService;
     this.domainNameService = domainNameService;
+    this.assetExpiryService = assetExpiryService;
   }
 
 
@@ -50,6 +60,36 @@ public class VaptIpRenewalMicroserviceApis {
     return ipService.getAllIps();
   }
 
+  /**
+   * Every IP without its domain, one JSON object per line, streamed so the
+   * response size is not bounded by memory.
+   */
+  @GetMapping(value = "ips/export", produces = "application/x-ndjson")
+  ResponseEntity<StreamingResponseBody> exportIps() {
+    return ipService.exportIps();
+  }
+
+  /**
+   * The IPs after id {@code after}, {@code size} at a time; pass the
+   * returned {@code next_after} to get the next page.
+   */
+  @GetMapping("ips/page")
+  ResponseEntity<KeysetPage<IpResponse>> getIpsAfter(@RequestParam(defaultValue = "0") long after,
+                                                     @RequestParam(defaultValue = "500") int size) {
+    return ipService.getIpsAfter(after, size);
+  }
+
+  /**
+   * The IPs or VAPT certificates expiring within {@code days} days, soonest
+   * first, for the renewal service to poll instead of every IP.
+   */
+  @GetMapping("assets/expiring")
+  ResponseEntity<Page<ExpiringAsset>> getExpiringAssets(@RequestParam AssetType type,
+                                                        @RequestParam(defaultValue = "60") int days,
+                                                        Pageable pageable) {
+    return assetExpiryService.getExpiringAssets(type, days, pageable);
+  }
+
   @GetMapping("vapt/{vaptId}")
   ResponseEntity<VaptResponse> getVaptById(@PathVariable @Positive Long vaptId) {
     return vaptService.getVapt(vaptId);
@@ -0,0 +1,30 @@
+package com.dnsManagement.WorkFlowIpVaptService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paged list. The next page is requested with
+ * {@code cursor} set to {@link #nextCursor}, which is {@code null} on the
+ * last page. {@link #total} is only counted when asked for.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+  @JsonProperty("content")
+  private List<T> content;
+
+  @JsonProperty("next_cursor")
+  private String nextCursor;
+
+  @JsonProperty("total")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Long total;
+}
@@ -18,7 +18,11 @@ public class DomainNameRenewalRequest {
 
   @NotNull @JsonProperty("domainId") private Long domainId;
   @NotNull @JsonProperty("reason") private String reason;
-  @NotNull @JsonProperty("domainRenewalApprovalProofByHod") private byte[] domainRenewalApprovalProofByHod;
+  // Either the proof itself or the sha256 it was uploaded under to POST /proofs;
+  // responses link it by URL instead.
+  @JsonProperty("domainRenewalApprovalProofByHod") private byte[] domainRenewalApprovalProofByHod;
+  @JsonProperty("domainRenewalApprovalProofByHodSha256") private String domainRenewalApprovalProofByHodSha256;
+  @JsonProperty("domainRenewalApprovalProofByHodUrl") private String domainRenewalApprovalProofByHodUrl;
   @NotNull @JsonProperty("drmInfo") private PersonInfo drmInfo;
   @NotNull @JsonProperty("armInfo") private PersonInfo armInfo;
   @NotNull @JsonProperty("domainDetails") private DomainDetails domainDetails;
@@ -82,7 +86,9 @@ public class DomainNameRenewalRequest {
     @NotNull @JsonProperty("vaptCompliant") private boolean vaptCompliant;
     @NotNull @JsonProperty("vaptCertifyingAuthority") private String certifyingAuthority;
     @NotNull @JsonProperty("vaptCertificateExpiryDate") private LocalDate certificateExpiryDate;
-    @NotNull @JsonProperty("approvalProofVaptCompliant") private byte[] approvalProof;
+    @JsonProperty("approvalProofVaptCompliant") private byte[] approvalProof;
+    @JsonProperty("approvalProofVaptCompliantSha256") private String approvalProofSha256;
+    @JsonProperty("approvalProofVaptCompliantUrl") private String approvalProofUrl;
     @JsonProperty("vaptRemarks") private String remarks;
   }
 
@@ -85,7 +85,9 @@ public class DomainNameRequest {
     @NotNull private boolean compliant;
     @NotNull private String certifyingAuthority;
     @NotNull private LocalDateTime certificateExpiryDate;
-    @NotNull private byte[] approvalProof;
+    // Either the proof itself or the sha256 it was uploaded under to POST /proofs.
+    private byte[] approvalProof;
+    private String approvalProofSha256;
     private String remarks;
   }
 
@@ -32,7 +32,9 @@ public class DomainPurchase {
   @NotNull
   private PurchaseType purchaseType;
 
-  @NotNull
+  // Either the proof base64 encoded or the sha256 it was uploaded under to POST /proofs.
   private String proofOfWorkBase64Encoded;
 
+  private String proofOfPurchaseSha256;
+
 }
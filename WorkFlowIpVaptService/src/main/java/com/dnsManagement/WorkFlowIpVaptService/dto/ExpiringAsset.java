@@ -0,0 +1,45 @@
+package com.dnsManagement.WorkFlowIpVaptService.dto;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.AssetType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An IP or VAPT certificate with its expiry date and the domain it belongs
+ * to, read straight from the tables by the expiry scan and the expiring
+ * assets query.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpiringAsset {
+
+  @JsonProperty("asset_type")
+  private AssetType assetType;
+
+  // ip_id or vapt_id depending on the type.
+  @JsonProperty("asset_id")
+  private Long assetId;
+
+  @JsonProperty("ip_address")
+  private String ipAddress;
+
+  @JsonProperty("expiry_date")
+  private LocalDateTime expiryDate;
+
+  @JsonProperty("dm_id")
+  private Long domainNameId;
+
+  @JsonProperty("dm_name")
+  private String domainName;
+
+  @JsonProperty("drm_emp_no")
+  private Long drmEmployeeNumber;
+
+  @JsonProperty("arm_emp_no")
+  private Long armEmployeeNumber;
+}
@@ -0,0 +1,46 @@
+package com.dnsManagement.WorkFlowIpVaptService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a domain the expiry scheduler needs, read without the rest
+ * of the entity (and its LOB columns).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpiringDomainRow {
+
+  private Long domainNameId;
+  private String domainName;
+  private LocalDateTime expiryDate;
+  private Long drmEmployeeNumber;
+  private Long armEmployeeNumber;
+  // The notification the domain is due for, when the query classified it.
+  private Integer daysUntilExpiration;
+  // Only read by the cursor-paged lists, which seek on it.
+  private LocalDateTime dateOfApplication;
+
+  public ExpiringDomainRow(Long domainNameId, String domainName, LocalDateTime expiryDate,
+                           Long drmEmployeeNumber, Long armEmployeeNumber) {
+    this(domainNameId, domainName, expiryDate, drmEmployeeNumber, armEmployeeNumber, null, null);
+  }
+
+  public ExpiringDomainRow(Long domainNameId, String domainName, LocalDateTime expiryDate,
+                           Long drmEmployeeNumber, Long armEmployeeNumber,
+                           Integer daysUntilExpiration) {
+    this(domainNameId, domainName, expiryDate, drmEmployeeNumber, armEmployeeNumber,
+            daysUntilExpiration, null);
+  }
+
+  public ExpiringDomainRow(Long domainNameId, String domainName, LocalDateTime expiryDate,
+                           Long drmEmployeeNumber, Long armEmployeeNumber,
+                           LocalDateTime dateOfApplication) {
+    this(domainNameId, domainName, expiryDate, drmEmployeeNumber, armEmployeeNumber,
+            null, dateOfApplication);
+  }
+}
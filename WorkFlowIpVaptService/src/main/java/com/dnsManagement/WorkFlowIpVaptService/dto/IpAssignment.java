@@ -0,0 +1,21 @@
+package com.dnsManagement.WorkFlowIpVaptService.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An IP record's address or range, as held by the IP address index.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IpAssignment {
+
+  @JsonProperty("ip_id")
+  private Long ipId;
+
+  @JsonProperty("ip_address")
+  private String ipAddress;
+}
@@ -0,0 +1,25 @@
+package com.dnsManagement.WorkFlowIpVaptService.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paged read. The next page is requested with
+ * {@code after} set to {@link #nextAfter}, which is {@code null} on the last
+ * page. Unlike an offset page, fetching page N costs the same as page 1.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetPage<T> {
+
+  @JsonProperty("content")
+  private List<T> content;
+
+  @JsonProperty("next_after")
+  private Long nextAfter;
+}
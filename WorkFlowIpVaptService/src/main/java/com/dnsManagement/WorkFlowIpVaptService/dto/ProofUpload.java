@@ -0,0 +1,25 @@
+package com.dnsManagement.WorkFlowIpVaptService.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A proof document uploaded to {@code POST /proofs}. Requests that take a
+ * proof refer to it by {@link #sha256} instead of embedding its bytes.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProofUpload {
+
+  @JsonProperty("sha256")
+  private String sha256;
+
+  @JsonProperty("size")
+  private long size;
+
+  @JsonProperty("url")
+  private String url;
+}
@@ -0,0 +1,26 @@
+package com.dnsManagement.WorkFlowIpVaptService.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How much of a subnet is assigned to IP records.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubnetUtilization {
+
+  @JsonProperty("subnet")
+  private String subnet;
+
+  // IP records whose address or range lies in the subnet.
+  @JsonProperty("assignments")
+  private int assignments;
+
+  // Share of the subnet's addresses those records cover, from 0 to 1.
+  @JsonProperty("utilization")
+  private double utilization;
+}
@@ -29,10 +29,17 @@ public class VaptResponse {
     @JsonProperty("vapt_certify_auth")
     private String vaptCertifyAuthority;
 
-    @NotNull
+    // On update, either the new proof, the sha256 it was uploaded under to
+    // POST /proofs, or neither to keep the current one. Reads link it by URL.
     @JsonProperty("prf_work")
     private byte[] proofWork;
 
+    @JsonProperty("prf_work_sha256")
+    private String proofWorkSha256;
+
+    @JsonProperty("prf_work_url")
+    private String proofWorkUrl;
+
     @NotNull
     @JsonProperty("vapt_remarks")
     private String vaptRemarks;
@@ -20,4 +20,5 @@ public class ViewDomainDBDto {
   private boolean isActive;
   private boolean isRenewal;
   private boolean isDeleted;
+  private Timestamp dateOfApplication;
 }
@@ -4,10 +4,12 @@ import com.dnsManagement.WorkFlowIpVaptService.dto.ExceptionResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
@@ -33,10 +35,26 @@ public class GlobalExceptionHandler {
     return createErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI(), ex);
   }
 
+  // The constraint message names tables and columns, so only say what clashed.
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ExceptionResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex, HttpServletRequest request) {
+    return createErrorResponse(HttpStatus.CONFLICT, "The request conflicts with an existing record, e.g. an IP address already in use.", request.getRequestURI(), ex);
+  }
+
+  @ExceptionHandler(MaxUploadSizeExceededException.class)
+  public ResponseEntity<ExceptionResponse> handleMaxUploadSizeExceeded(MaxUploadSizeExceededException ex, HttpServletRequest request) {
+    return createErrorResponse(HttpStatus.PAYLOAD_TOO_LARGE, "DOCUMENT EXCEEDS THE UPLOAD LIMIT", request.getRequestURI(), ex);
+  }
+
   // --- Server Errors (5xx) ---
   // These are unexpected errors. We log the full exception but return a generic message to the client.
   // This prevents leaking sensitive internal details.
 
+  @ExceptionHandler(StakeHolderLookupTimeoutException.class)
+  public ResponseEntity<ExceptionResponse> handleStakeHolderLookupTimeout(StakeHolderLookupTimeoutException ex, HttpServletRequest request) {
+    return createErrorResponse(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), request.getRequestURI(), ex);
+  }
+
   @ExceptionHandler({
           RuntimeException.class,
           IllegalStateException.class,
@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 
 @Component
@@ -29,6 +30,11 @@ public class StakeHolderClientFallback implements FallbackFactory<StakeHolderCli
         return null;
       }
 
+      @Override
+      public List<Object> fetchStakeHolderDetailsInBulk(String role, Collection<Long> empNos) {
+        return null;
+      }
+
       @Override
       public Object fetchCentreDetails(Long centreId) {
         return null;
@@ -39,6 +45,16 @@ public class StakeHolderClientFallback implements FallbackFactory<StakeHolderCli
         return null;
       }
 
+      @Override
+      public List<Object> fetchAllCentres() {
+        return null;
+      }
+
+      @Override
+      public List<Object> fetchAllDepartments() {
+        return null;
+      }
+
       @Override
       public void updateDrmOrArmDetails(String empNo, UpdateDrmAndArmDetails details) {
       }
@@ -0,0 +1,12 @@
+package com.dnsManagement.WorkFlowIpVaptService.errorHandling;
+
+/**
+ * Thrown when user-management-service did not answer the stakeholder lookups
+ * of a request within the configured deadline.
+ */
+public class StakeHolderLookupTimeoutException extends RuntimeException {
+
+  public StakeHolderLookupTimeoutException(String message) {
+    super(message);
+  }
+}
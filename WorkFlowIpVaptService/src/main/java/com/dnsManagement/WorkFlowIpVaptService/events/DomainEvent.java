@@ -0,0 +1,56 @@
+package com.dnsManagement.WorkFlowIpVaptService.events;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+
+/**
+ * Something that happened to a domain, published through Spring's
+ * {@code ApplicationEventPublisher} from inside the transaction that made it
+ * happen.
+ * <p>
+ * Listeners that talk to other services must use
+ * {@code @TransactionalEventListener} so they only see committed changes;
+ * {@link DomainEventDispatcher} is the one that feeds notification-service.
+ * </p>
+ */
+public sealed interface DomainEvent {
+
+  /**
+   * The webhook announcing the event to notification-service.
+   */
+  NotificationWebhook notification();
+
+  default Long domainId() {
+    NotificationWebhook.NotificationData data = notification().getNotificationData();
+    return data == null ? null : data.getDomainId();
+  }
+
+  record DomainSubmitted(NotificationWebhook notification) implements DomainEvent {
+  }
+
+  /**
+   * A verifier forwarded, verified or approved the domain or its renewal.
+   */
+  record DomainApproved(NotificationWebhook notification) implements DomainEvent {
+  }
+
+  record DomainRejected(NotificationWebhook notification) implements DomainEvent {
+  }
+
+  record DomainPurchased(NotificationWebhook notification) implements DomainEvent {
+  }
+
+  record DomainRenewalRequested(NotificationWebhook notification) implements DomainEvent {
+  }
+
+  record DomainDeleted(NotificationWebhook notification) implements DomainEvent {
+  }
+
+  record DomainExpiring(NotificationWebhook notification) implements DomainEvent {
+  }
+
+  /**
+   * The IP or VAPT certificate of the domain is about to expire.
+   */
+  record AssetExpiring(NotificationWebhook notification) implements DomainEvent {
+  }
+}
@@ -0,0 +1,48 @@
+package com.dnsManagement.WorkFlowIpVaptService.events;
+
+import com.dnsManagement.WorkFlowIpVaptService.schedulers.NotificationOutboxRelay;
+import com.dnsManagement.WorkFlowIpVaptService.services.NotificationOutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Turns {@link DomainEvent}s into notifications.
+ * <p>
+ * Just before the publishing transaction commits the event's webhook is
+ * written to the outbox, so it commits or rolls back with the change itself.
+ * Once the commit went through the relay is nudged to deliver it right away
+ * on the {@code notificationExecutor} instead of at its next poll. Nothing
+ * here waits on notification-service while a connection or row lock is held.
+ * </p>
+ */
+@Component
+public class DomainEventDispatcher {
+
+  private final NotificationOutboxService notificationOutbox;
+  private final NotificationOutboxRelay relay;
+
+  @Autowired
+  public DomainEventDispatcher(NotificationOutboxService notificationOutbox,
+                               NotificationOutboxRelay relay) {
+    this.notificationOutbox = notificationOutbox;
+    this.relay = relay;
+  }
+
+  /**
+   * Runs even without a transaction, so that a publisher outside one fails
+   * loudly in {@link NotificationOutboxService#enqueue} instead of silently
+   * losing the notification.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT,
+          fallbackExecution = true)
+  public void store(DomainEvent event) {
+    notificationOutbox.enqueue(event.notification());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void deliver(DomainEvent event) {
+    relay.nudge();
+  }
+}
@@ -0,0 +1,77 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for proof documents, so that table rows only
+ * carry the SHA-256 of a document instead of the document itself.
+ * <p>
+ * A document is named by the lowercase hex SHA-256 of its bytes, which makes
+ * storing it idempotent: uploading the same file twice, or for two records,
+ * keeps one copy. Documents are never changed in place and not deleted,
+ * since any number of rows may refer to one.
+ * </p>
+ * Unknown references raise {@link NoSuchElementException}, malformed ones
+ * {@link IllegalArgumentException} and storage failures
+ * {@link java.io.UncheckedIOException}.
+ */
+public interface BlobStore {
+
+  Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+
+  /**
+   * Stores everything {@code content} yields without holding it in memory.
+   *
+   * @return The SHA-256 the document is stored under.
+   */
+  String put(InputStream content);
+
+  default String put(byte[] content) {
+    if (content == null)
+      throw new IllegalArgumentException("NO DOCUMENT TO STORE");
+    return put(new ByteArrayInputStream(content));
+  }
+
+  boolean exists(String sha256);
+
+  /**
+   * @return The size of the document in bytes.
+   */
+  long size(String sha256);
+
+  /**
+   * Writes {@code count} bytes of the document from {@code position} on to
+   * {@code target}, without copying them through the heap where the
+   * implementation can avoid it.
+   *
+   * @return The number of bytes written, less than {@code count} only at
+   * the end of the document.
+   */
+  long transferTo(String sha256, long position, long count, WritableByteChannel target);
+
+  default byte[] read(String sha256) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(size(sha256), Integer.MAX_VALUE - 8));
+    transferTo(sha256, 0, Long.MAX_VALUE, Channels.newChannel(out));
+    return out.toByteArray();
+  }
+
+  /**
+   * @return The document {@code sha256} refers to, or {@code inline} for a
+   * row whose document has not been moved out of the table yet.
+   */
+  default byte[] readOrInline(String sha256, byte[] inline) {
+    return sha256 == null ? inline : read(sha256);
+  }
+
+  static String checkSha256(String sha256) {
+    if (sha256 == null || !SHA_256.matcher(sha256).matches())
+      throw new IllegalArgumentException("NOT A SHA-256 DOCUMENT REFERENCE: " + sha256);
+    return sha256;
+  }
+}
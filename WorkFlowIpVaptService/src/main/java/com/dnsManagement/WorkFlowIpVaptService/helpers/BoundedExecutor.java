@@ -0,0 +1,162 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Virtual-thread executor with a hard cap on how many tasks run at once.
+ * <p>
+ * Every task gets its own virtual thread, but must take one of
+ * {@code maxConcurrency} permits before it starts, so a burst of submissions
+ * turns into a queue of cheap parked threads instead of a burst of calls to
+ * the downstream service. At most {@code queueCapacity} tasks may wait; past
+ * that, submissions are rejected with {@link TaskRejectedException}.
+ * </p>
+ * Published meters, all tagged {@code name=<executor name>}:
+ * <ul>
+ *   <li>{@code executor.queued} - tasks waiting for a permit</li>
+ *   <li>{@code executor.active} - tasks currently running</li>
+ *   <li>{@code executor.wait} - time from submission to start</li>
+ *   <li>{@code executor.execution} - time spent running</li>
+ *   <li>{@code executor.rejected} - submissions turned away</li>
+ * </ul>
+ */
+public final class BoundedExecutor implements TaskExecutor, AutoCloseable {
+
+  private static final Logger logger =
+          LoggerFactory.getLogger(BoundedExecutor.class);
+
+  private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(30);
+
+  private final String name;
+  private final int queueCapacity;
+  private final Semaphore permits;
+  private final ExecutorService threads;
+
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+
+  private final Timer waitTimer;
+  private final Timer executionTimer;
+  private final Counter rejected;
+
+  public BoundedExecutor(String name,
+                         int maxConcurrency,
+                         int queueCapacity,
+                         MeterRegistry meterRegistry) {
+    if (maxConcurrency < 1 || queueCapacity < 0)
+      throw new IllegalArgumentException(String.format(
+              "INVALID BOUNDS FOR EXECUTOR %s: CONCURRENCY %d, QUEUE %d",
+              name, maxConcurrency, queueCapacity));
+    this.name = name;
+    this.queueCapacity = queueCapacity;
+    this.permits = new Semaphore(maxConcurrency, true);
+    this.threads = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name(name + "-", 0).factory());
+
+    Gauge.builder("executor.queued", queued, AtomicInteger::get)
+            .tag("name", name)
+            .description("Tasks waiting for a concurrency permit")
+            .register(meterRegistry);
+    Gauge.builder("executor.active", active, AtomicInteger::get)
+            .tag("name", name)
+            .description("Tasks currently running")
+            .register(meterRegistry);
+    this.waitTimer = Timer.builder("executor.wait")
+            .tag("name", name)
+            .description("Time tasks spent queued before running")
+            .register(meterRegistry);
+    this.executionTimer = Timer.builder("executor.execution")
+            .tag("name", name)
+            .description("Time tasks spent running")
+            .register(meterRegistry);
+    this.rejected = Counter.builder("executor.rejected")
+            .tag("name", name)
+            .description("Tasks rejected because the queue was full")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    if (queued.incrementAndGet() > queueCapacity) {
+      queued.decrementAndGet();
+      rejected.increment();
+      throw new TaskRejectedException(String.format(
+              "Executor %s is saturated, %d tasks already queued",
+              name, queueCapacity));
+    }
+    long submittedAt = System.nanoTime();
+    try {
+      threads.execute(() -> run(task, submittedAt));
+    } catch (RejectedExecutionException e) {
+      queued.decrementAndGet();
+      rejected.increment();
+      throw new TaskRejectedException(
+              String.format("Executor %s has been shut down", name), e);
+    }
+  }
+
+  private void run(Runnable task, long submittedAt) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      // Cancelled or shut down while still queued, the task never starts.
+      queued.decrementAndGet();
+      Thread.currentThread().interrupt();
+      return;
+    }
+    queued.decrementAndGet();
+    active.incrementAndGet();
+    long startedAt = System.nanoTime();
+    waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+    try {
+      task.run();
+    } finally {
+      executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      active.decrementAndGet();
+      permits.release();
+    }
+  }
+
+  public int getQueued() {
+    return queued.get();
+  }
+
+  public int getActive() {
+    return active.get();
+  }
+
+  /**
+   * Stops accepting tasks and gives the queued and running ones a grace
+   * period to finish before interrupting them.
+   */
+  @Override
+  public void close() {
+    threads.shutdown();
+    try {
+      if (!threads.awaitTermination(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+        logger.warn("Executor {} did not drain within {}, {} queued and {} " +
+                "active tasks are being interrupted", name, SHUTDOWN_GRACE,
+                queued.get(), active.get());
+        threads.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      threads.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Totals of the role dashboards, per dashboard and {@code (role, empNo)}, so
+ * that paging through a dashboard runs its count query once rather than on
+ * every page.
+ * <p>
+ * The services that change who a domain belongs to or waits on evict the
+ * employees involved through {@link #evictAfterCommit} once their
+ * transaction commits. Anything else that moves a domain between
+ * dashboards, such as the expiry scheduler or another replica, shows up
+ * within {@code dashboard.count-cache.ttl}, so a total may be that much
+ * out of date.
+ * </p>
+ * Every count query that does run is timed under {@code dashboard.count}
+ * with {@code dashboard=<name>}; hits and misses are published under the
+ * {@code cache.*} meters with {@code cache=dashboard.counts}.
+ */
+@Component
+public class DashboardCountCache {
+
+  static final String CACHE_NAME = "dashboard.counts";
+
+  public enum Dashboard {
+    VIEW_DOMAINS, ROLE_DOMAINS, REQUESTS, RENEWALS, PURCHASES
+  }
+
+  private record Key(Dashboard dashboard, Role role, Long empNo) {
+  }
+
+  private final Cache<Key, Long> cache;
+
+  private final Map<Dashboard, Timer> countTimers = new EnumMap<>(Dashboard.class);
+
+  @Autowired
+  public DashboardCountCache(MeterRegistry meterRegistry,
+                             @Value("${dashboard.count-cache.max-size:10000}")
+                             long maxSize,
+                             @Value("${dashboard.count-cache.ttl:1m}")
+                             Duration ttl) {
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    for (Dashboard dashboard : Dashboard.values())
+      countTimers.put(dashboard, Timer.builder("dashboard.count")
+              .description("Time spent counting the rows of a role dashboard")
+              .tag("dashboard", dashboard.name().toLowerCase(Locale.ROOT))
+              .register(meterRegistry));
+  }
+
+  /**
+   * @param count Runs the dashboard's count query; only called on a miss.
+   */
+  public long get(Dashboard dashboard, Role role, Long empNo, LongSupplier count) {
+    return cache.get(new Key(dashboard, role, empNo),
+            key -> countTimers.get(dashboard).record(count));
+  }
+
+  /**
+   * Forgets every dashboard total of the employee in the role once the
+   * current transaction commits, or right away outside of one.
+   */
+  public void evictAfterCommit(Role role, Long empNo) {
+    if (role == null || empNo == null)
+      return;
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      evict(role, empNo);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        evict(role, empNo);
+      }
+    });
+  }
+
+  public void evictAfterCommit(Map<Role, Long> stakeholders) {
+    stakeholders.forEach(this::evictAfterCommit);
+  }
+
+  private void evict(Role role, Long empNo) {
+    for (Dashboard dashboard : Dashboard.values())
+      cache.invalidate(new Key(dashboard, role, empNo));
+  }
+}
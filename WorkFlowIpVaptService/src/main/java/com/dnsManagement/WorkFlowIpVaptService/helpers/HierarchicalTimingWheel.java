@@ -0,0 +1,132 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for a large number of far-apart deadlines.
+ * <p>
+ * Level 0 has {@code wheelSize} slots of one tick each, level 1 the same
+ * number of slots spanning {@code wheelSize} ticks each, and so on; levels are
+ * added as later deadlines come in. An item is filed in the lowest level
+ * whose range covers its deadline. Whenever the clock crosses a slot boundary
+ * of a higher level, that slot's items are filed again, now in a lower level,
+ * until they reach level 0 and fire on their exact tick. Adding is O(1) and
+ * so is a tick, apart from the items it fires or moves down, and each item
+ * moves down at most once per level.
+ * </p>
+ * Not thread-safe, callers synchronize.
+ *
+ * @param <T> The items to fire.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+  private record Entry<T>(long tick, T item) {
+  }
+
+  private final long tickMillis;
+  private final int wheelSize;
+  private final int mask;
+  private final List<ArrayDeque<Entry<T>>[]> levels = new ArrayList<>();
+
+  // Ticks are counted from the epoch; every tick up to this one has fired.
+  private long currentTick;
+  private int size;
+
+  /**
+   * @param tickMillis Resolution of the wheel.
+   * @param wheelSize  Slots per level, a power of two.
+   * @param startMillis The time the wheel starts at.
+   */
+  public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+    if (tickMillis < 1 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1)
+      throw new IllegalArgumentException(String.format(
+              "INVALID TIMING WHEEL: TICK %d MS, %d SLOTS", tickMillis, wheelSize));
+    this.tickMillis = tickMillis;
+    this.wheelSize = wheelSize;
+    this.mask = wheelSize - 1;
+    this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    addLevel();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void addLevel() {
+    ArrayDeque<Entry<T>>[] slots = new ArrayDeque[wheelSize];
+    for (int i = 0; i < wheelSize; i++)
+      slots[i] = new ArrayDeque<>();
+    levels.add(slots);
+  }
+
+  /**
+   * Schedules {@code item} to fire at the first tick at or after
+   * {@code deadlineMillis}.
+   *
+   * @return {@code false}, without scheduling, if that tick has already
+   * passed; the caller decides whether to act on the item right away.
+   */
+  public boolean add(long deadlineMillis, T item) {
+    long tick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+    if (tick <= currentTick)
+      return false;
+    file(new Entry<>(tick, item));
+    size++;
+    return true;
+  }
+
+  private void file(Entry<T> entry) {
+    long delta = entry.tick() - currentTick;
+    int level = 0;
+    long span = 1;
+    while (delta >= span * wheelSize) {
+      span *= wheelSize;
+      level++;
+      if (level == levels.size())
+        addLevel();
+    }
+    levels.get(level)[(int) ((entry.tick() / span) & mask)].add(entry);
+  }
+
+  /**
+   * Moves the clock to {@code nowMillis}, handing every item whose deadline
+   * passed to {@code fire} in deadline order.
+   */
+  public void advanceTo(long nowMillis, Consumer<T> fire) {
+    long target = Math.floorDiv(nowMillis, tickMillis);
+    while (currentTick < target) {
+      currentTick++;
+      cascade();
+      ArrayDeque<Entry<T>> due = levels.get(0)[(int) (currentTick & mask)];
+      Entry<T> entry;
+      while ((entry = due.poll()) != null) {
+        size--;
+        fire.accept(entry.item());
+      }
+    }
+  }
+
+  /**
+   * Refiles the slots of every level whose boundary the current tick is on,
+   * highest level first so that items can drop several levels at once.
+   */
+  private void cascade() {
+    int top = 0;
+    long span = wheelSize;
+    while (top + 1 < levels.size() && currentTick % span == 0) {
+      top++;
+      span *= wheelSize;
+    }
+    for (int level = top; level >= 1; level--) {
+      span /= wheelSize;
+      ArrayDeque<Entry<T>> slot = levels.get(level)[(int) ((currentTick / span) & mask)];
+      Entry<T> entry;
+      while ((entry = slot.poll()) != null)
+        file(entry);
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+}
@@ -0,0 +1,227 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.IpAssignment;
+import com.dnsManagement.WorkFlowIpVaptService.dto.SubnetUtilization;
+import com.dnsManagement.WorkFlowIpVaptService.models.Ip;
+import com.dnsManagement.WorkFlowIpVaptService.repo.IpRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Resident index of every IP address in the {@code ip} table, answering the
+ * registration form's uniqueness check and the CIDR range queries without a
+ * query.
+ * <p>
+ * Addresses live in an {@link IpAddressSet}, the odd stored value that does
+ * not parse as an address in a plain string set, and addresses and CIDR
+ * ranges alike in an {@link IpPrefixTrie}. The index is loaded at
+ * startup and rebuilt every {@code ip.index.reload}, which picks up writes
+ * made on other replicas, and this replica's writes are applied as soon as
+ * they commit through {@link #addAfterCommit} and {@link #replaceAfterCommit}.
+ * Until the first load it answers from the database.
+ * </p>
+ * The index only advises: the unique constraint on {@code ip_address}
+ * remains the final arbiter, and a registration that loses a race with
+ * another replica is rejected by it with {@code 409 CONFLICT}.
+ */
+@Component
+public class IpAddressIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(IpAddressIndex.class);
+
+  private record Snapshot(IpAddressSet addresses, Set<String> others, IpPrefixTrie prefixes) {
+
+    Snapshot() {
+      this(new IpAddressSet(), ConcurrentHashMap.newKeySet(), new IpPrefixTrie());
+    }
+
+    boolean contains(String address) {
+      return addresses.contains(address) || (!others.isEmpty() && others.contains(address));
+    }
+
+    void add(IpAssignment assignment) {
+      String address = assignment.getIpAddress();
+      if (!addresses.add(address) && !IpAddressSet.isAddress(address))
+        others.add(address);
+      IpPrefix prefix = IpPrefix.tryParse(address);
+      if (prefix != null)
+        prefixes.add(prefix, assignment);
+    }
+
+    void remove(IpAssignment assignment) {
+      String address = assignment.getIpAddress();
+      if (!addresses.remove(address))
+        others.remove(address);
+      IpPrefix prefix = IpPrefix.tryParse(address);
+      if (prefix != null)
+        prefixes.remove(prefix, assignment.getIpId());
+    }
+
+    int size() {
+      return addresses.size() + others.size();
+    }
+  }
+
+  private final IpRepo ipRepo;
+  private final TransactionTemplate readOnly;
+
+  private volatile Snapshot snapshot;
+  // Guarded by this: writes applied while a reload was reading the table, replayed onto it.
+  private List<Consumer<Snapshot>> appliedDuringReload;
+  private final Object reloading = new Object();
+
+  @Autowired
+  public IpAddressIndex(IpRepo ipRepo,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+    this.ipRepo = ipRepo;
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+    Gauge.builder("ip.index.size", this, index -> {
+              Snapshot current = index.snapshot;
+              return current == null ? Double.NaN : current.size();
+            })
+            .description("IP addresses in the uniqueness index, NaN until loaded")
+            .register(meterRegistry);
+  }
+
+  /**
+   * @return Whether some IP record already has {@code address}.
+   */
+  public boolean contains(String address) {
+    Snapshot current = snapshot;
+    return current == null ? ipRepo.existsByIpAddress(address) : current.contains(address);
+  }
+
+  /**
+   * @return Up to {@code limit} records whose address or range shares an
+   * address with {@code prefix}.
+   */
+  public List<IpAssignment> overlapping(IpPrefix prefix, int limit) {
+    return loaded().prefixes().overlapping(prefix, limit);
+  }
+
+  /**
+   * @return Up to {@code limit} records whose address or range lies inside
+   * {@code prefix}, in address order.
+   */
+  public List<IpAssignment> within(IpPrefix prefix, int limit) {
+    return loaded().prefixes().within(prefix, limit);
+  }
+
+  /**
+   * @return The subnets of {@code subnetLength} bits inside {@code prefix}
+   * that hold records, see {@link IpPrefixTrie#utilization}.
+   */
+  public List<SubnetUtilization> utilization(IpPrefix prefix, int subnetLength) {
+    return loaded().prefixes().utilization(prefix, subnetLength);
+  }
+
+  private Snapshot loaded() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      reload();
+      current = snapshot;
+      if (current == null)
+        throw new IllegalStateException("IP index could not be loaded");
+    }
+    return current;
+  }
+
+  /**
+   * Adds the newly saved {@code ip} once the current transaction commits.
+   */
+  public void addAfterCommit(Ip ip) {
+    String address = ip.getIpAddress();
+    // The id is only certain to be set by the time the transaction commits.
+    afterCommit(index -> index.add(new IpAssignment(ip.getIpId(), address)));
+  }
+
+  /**
+   * Moves record {@code ipId} from {@code previous} to {@code address} once
+   * the current transaction commits.
+   */
+  public void replaceAfterCommit(Long ipId, String previous, String address) {
+    if (Objects.equals(previous, address))
+      return;
+    afterCommit(index -> {
+      if (previous != null)
+        index.remove(new IpAssignment(ipId, previous));
+      index.add(new IpAssignment(ipId, address));
+    });
+  }
+
+  private void afterCommit(Consumer<Snapshot> write) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply(write);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        apply(write);
+      }
+    });
+  }
+
+  private synchronized void apply(Consumer<Snapshot> write) {
+    if (snapshot != null)
+      write.accept(snapshot);
+    if (appliedDuringReload != null)
+      appliedDuringReload.add(write);
+  }
+
+  /**
+   * Rebuilds the index from the table. Runs once the application is ready
+   * and then on a fixed delay.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${ip.index.reload:1h}",
+          initialDelayString = "${ip.index.reload:1h}")
+  public void reload() {
+    synchronized (reloading) {
+      synchronized (this) {
+        appliedDuringReload = new ArrayList<>();
+      }
+      Snapshot fresh = new Snapshot();
+      try {
+        readOnly.executeWithoutResult(status -> {
+          try (Stream<IpAssignment> assignments = ipRepo.streamAllAssignments()) {
+            assignments.forEach(fresh::add);
+          }
+        });
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          appliedDuringReload = null;
+        }
+        logger.error("IP index reload failed, keeping the current index", e);
+        return;
+      }
+      synchronized (this) {
+        appliedDuringReload.forEach(write -> write.accept(fresh));
+        appliedDuringReload = null;
+        snapshot = fresh;
+      }
+      logger.info("IP index loaded {} addresses", fresh.size());
+    }
+  }
+}
@@ -0,0 +1,427 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set of IP addresses stored as numbers in primitive open-addressing tables:
+ * IPv4 addresses as one {@code int}, IPv6 addresses as two {@code long}s.
+ * <p>
+ * Addresses are parsed straight from the string, so {@code 2001:db8::1} and
+ * {@code 2001:0db8:0:0:0:0:0:1} are the same member, and neither parsing nor
+ * lookups allocate. Strings that are not a plain dotted-quad IPv4 or an IPv6
+ * address (zone ids and leading zeros in IPv4 octets included) are never
+ * members; {@link #isAddress(CharSequence)} tells them apart.
+ * </p>
+ * Thread-safe. Writers take a {@link StampedLock}, readers probe under an
+ * optimistic stamp and only lock when a write got in the way.
+ */
+public final class IpAddressSet {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private final StampedLock lock = new StampedLock();
+
+  // 0 marks an empty slot, so 0.0.0.0 and :: are tracked by the flags instead.
+  private int[] v4 = new int[MIN_CAPACITY];
+  private int v4Size;
+  private boolean v4Zero;
+
+  // High and low half of each address next to each other.
+  private long[] v6 = new long[2 * MIN_CAPACITY];
+  private int v6Size;
+  private boolean v6Zero;
+
+  /**
+   * @return Whether {@code address} parses as an IPv4 or IPv6 address.
+   */
+  public static boolean isAddress(CharSequence address) {
+    return parseV4(address, 0, address.length()) >= 0 || parseV6(address, VALID) != 0;
+  }
+
+  public boolean contains(CharSequence address) {
+    long stamp = lock.tryOptimisticRead();
+    boolean found = probe(address);
+    if (!lock.validate(stamp)) {
+      stamp = lock.readLock();
+      try {
+        found = probe(address);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * @return Whether the set changed, {@code false} if the address was
+   * already a member or is not an address.
+   */
+  public boolean add(CharSequence address) {
+    long stamp = lock.writeLock();
+    try {
+      long ipv4 = parseV4(address, 0, address.length());
+      if (ipv4 >= 0)
+        return addV4((int) ipv4);
+      if (parseV6(address, VALID) != 0)
+        return addV6(parseV6(address, HIGH), parseV6(address, LOW));
+      return false;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * @return Whether the set changed.
+   */
+  public boolean remove(CharSequence address) {
+    long stamp = lock.writeLock();
+    try {
+      long ipv4 = parseV4(address, 0, address.length());
+      if (ipv4 >= 0)
+        return removeV4((int) ipv4);
+      if (parseV6(address, VALID) != 0)
+        return removeV6(parseV6(address, HIGH), parseV6(address, LOW));
+      return false;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  public int size() {
+    long stamp = lock.readLock();
+    try {
+      return v4Size + (v4Zero ? 1 : 0) + v6Size + (v6Zero ? 1 : 0);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  // --- Lookups, which may run without the lock and so only read each table once ---
+
+  private boolean probe(CharSequence address) {
+    long ipv4 = parseV4(address, 0, address.length());
+    if (ipv4 >= 0)
+      return containsV4((int) ipv4);
+    if (parseV6(address, VALID) != 0)
+      return containsV6(parseV6(address, HIGH), parseV6(address, LOW));
+    return false;
+  }
+
+  private boolean containsV4(int key) {
+    if (key == 0)
+      return v4Zero;
+    int[] table = v4;
+    int mask = table.length - 1;
+    int slot = hash(key) & mask;
+    // Bounded, a probe racing a writer may see a table in any state.
+    for (int probes = 0; probes <= mask; probes++) {
+      int value = table[slot];
+      if (value == key)
+        return true;
+      if (value == 0)
+        return false;
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  private boolean containsV6(long high, long low) {
+    if (high == 0 && low == 0)
+      return v6Zero;
+    long[] table = v6;
+    int mask = table.length / 2 - 1;
+    int slot = hash(high, low) & mask;
+    for (int probes = 0; probes <= mask; probes++) {
+      long h = table[2 * slot];
+      long l = table[2 * slot + 1];
+      if (h == high && l == low)
+        return true;
+      if (h == 0 && l == 0)
+        return false;
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  // --- Writes, under the write lock ---
+
+  private boolean addV4(int key) {
+    if (key == 0) {
+      boolean added = !v4Zero;
+      v4Zero = true;
+      return added;
+    }
+    if (containsV4(key))
+      return false;
+    if (2 * (v4Size + 1) > v4.length)
+      v4 = rehashV4(v4, 2 * v4.length);
+    insertV4(v4, key);
+    v4Size++;
+    return true;
+  }
+
+  private static void insertV4(int[] table, int key) {
+    int mask = table.length - 1;
+    int slot = hash(key) & mask;
+    while (table[slot] != 0)
+      slot = (slot + 1) & mask;
+    table[slot] = key;
+  }
+
+  private static int[] rehashV4(int[] table, int capacity) {
+    int[] grown = new int[capacity];
+    for (int key : table)
+      if (key != 0)
+        insertV4(grown, key);
+    return grown;
+  }
+
+  private boolean removeV4(int key) {
+    if (key == 0) {
+      boolean removed = v4Zero;
+      v4Zero = false;
+      return removed;
+    }
+    int[] table = v4;
+    int mask = table.length - 1;
+    int slot = hash(key) & mask;
+    while (table[slot] != key) {
+      if (table[slot] == 0)
+        return false;
+      slot = (slot + 1) & mask;
+    }
+    // Backward-shift deletion: pull later entries of the probe chain into the
+    // gap unless that would move them before their home slot.
+    int gap = slot;
+    for (int next = (gap + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+      int home = hash(table[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        table[gap] = table[next];
+        gap = next;
+      }
+    }
+    table[gap] = 0;
+    v4Size--;
+    return true;
+  }
+
+  private boolean addV6(long high, long low) {
+    if (high == 0 && low == 0) {
+      boolean added = !v6Zero;
+      v6Zero = true;
+      return added;
+    }
+    if (containsV6(high, low))
+      return false;
+    if (2 * (v6Size + 1) > v6.length / 2)
+      v6 = rehashV6(v6, 2 * v6.length);
+    insertV6(v6, high, low);
+    v6Size++;
+    return true;
+  }
+
+  private static void insertV6(long[] table, long high, long low) {
+    int mask = table.length / 2 - 1;
+    int slot = hash(high, low) & mask;
+    while (table[2 * slot] != 0 || table[2 * slot + 1] != 0)
+      slot = (slot + 1) & mask;
+    table[2 * slot] = high;
+    table[2 * slot + 1] = low;
+  }
+
+  private static long[] rehashV6(long[] table, int length) {
+    long[] grown = new long[length];
+    for (int i = 0; i < table.length; i += 2)
+      if (table[i] != 0 || table[i + 1] != 0)
+        insertV6(grown, table[i], table[i + 1]);
+    return grown;
+  }
+
+  private boolean removeV6(long high, long low) {
+    if (high == 0 && low == 0) {
+      boolean removed = v6Zero;
+      v6Zero = false;
+      return removed;
+    }
+    long[] table = v6;
+    int mask = table.length / 2 - 1;
+    int slot = hash(high, low) & mask;
+    while (table[2 * slot] != high || table[2 * slot + 1] != low) {
+      if (table[2 * slot] == 0 && table[2 * slot + 1] == 0)
+        return false;
+      slot = (slot + 1) & mask;
+    }
+    int gap = slot;
+    for (int next = (gap + 1) & mask;
+         table[2 * next] != 0 || table[2 * next + 1] != 0;
+         next = (next + 1) & mask) {
+      int home = hash(table[2 * next], table[2 * next + 1]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        table[2 * gap] = table[2 * next];
+        table[2 * gap + 1] = table[2 * next + 1];
+        gap = next;
+      }
+    }
+    table[2 * gap] = 0;
+    table[2 * gap + 1] = 0;
+    v6Size--;
+    return true;
+  }
+
+  private static int hash(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int hash(long high, long low) {
+    long h = (high * 0x9E3779B97F4A7C15L) ^ low;
+    h *= 0xC2B2AE3D27D4EB4FL;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  // --- Parsing ---
+
+  /**
+   * @return The dotted-quad IPv4 address in {@code [from, to)} as an
+   * unsigned 32-bit value, {@code -1} if it is not one.
+   */
+  static long parseV4(CharSequence s, int from, int to) {
+    long address = 0;
+    int octets = 0;
+    int i = from;
+    while (octets < 4) {
+      int start = i;
+      int octet = 0;
+      while (i < to && i - start < 3) {
+        char c = s.charAt(i);
+        if (c < '0' || c > '9')
+          break;
+        octet = octet * 10 + (c - '0');
+        i++;
+      }
+      int digits = i - start;
+      if (digits == 0 || octet > 255 || (digits > 1 && s.charAt(start) == '0'))
+        return -1;
+      address = (address << 8) | octet;
+      octets++;
+      if (octets < 4) {
+        if (i >= to || s.charAt(i) != '.')
+          return -1;
+        i++;
+      }
+    }
+    return i == to ? address : -1;
+  }
+
+  private static int hexDigit(char c) {
+    if (c >= '0' && c <= '9')
+      return c - '0';
+    if (c >= 'a' && c <= 'f')
+      return c - 'a' + 10;
+    if (c >= 'A' && c <= 'F')
+      return c - 'A' + 10;
+    return -1;
+  }
+
+  static final int VALID = 0;
+  static final int HIGH = 1;
+  static final int LOW = 2;
+
+  /**
+   * Parses an IPv6 address, allowing one {@code ::} and a trailing
+   * dotted-quad IPv4 part.
+   *
+   * @param part {@link #VALID} to get {@code 1} if it is an address and
+   *             {@code 0} otherwise, {@link #HIGH} or {@link #LOW} for the
+   *             halves of a valid address.
+   */
+  static long parseV6(CharSequence s, int part) {
+    int n = s.length();
+    if (n < 2 || n > 45)
+      return 0;
+    // Groups before the "::" go to head, those after it to tail.
+    long headHigh = 0, headLow = 0, tailHigh = 0, tailLow = 0;
+    int headGroups = 0, tailGroups = 0;
+    boolean compressed = false;
+    int i = 0;
+    if (s.charAt(0) == ':') {
+      if (s.charAt(1) != ':')
+        return 0;
+      compressed = true;
+      i = 2;
+    }
+    while (i < n) {
+      int start = i;
+      int group = 0;
+      while (i < n && i - start < 5) {
+        int digit = hexDigit(s.charAt(i));
+        if (digit < 0)
+          break;
+        group = (group << 4) | digit;
+        i++;
+      }
+      int groups;
+      long value;
+      if (i < n && s.charAt(i) == '.') {
+        long ipv4 = parseV4(s, start, n);
+        if (ipv4 < 0)
+          return 0;
+        groups = 2;
+        value = ipv4;
+        i = n;
+      } else {
+        if (i == start || i - start > 4)
+          return 0;
+        groups = 1;
+        value = group;
+      }
+      if (compressed) {
+        tailHigh = (tailHigh << (16 * groups)) | (tailLow >>> (64 - 16 * groups));
+        tailLow = (tailLow << (16 * groups)) | value;
+        tailGroups += groups;
+      } else {
+        headHigh = (headHigh << (16 * groups)) | (headLow >>> (64 - 16 * groups));
+        headLow = (headLow << (16 * groups)) | value;
+        headGroups += groups;
+      }
+      if (headGroups + tailGroups > 8)
+        return 0;
+      if (i == n)
+        break;
+      if (s.charAt(i) != ':')
+        return 0;
+      i++;
+      if (i < n && s.charAt(i) == ':') {
+        if (compressed)
+          return 0;
+        compressed = true;
+        i++;
+      } else if (i == n) {
+        return 0;
+      }
+    }
+    int groups = headGroups + tailGroups;
+    if (compressed ? groups > 7 : groups != 8)
+      return 0;
+    if (part == VALID)
+      return 1;
+    // Move the head groups to the top of the 128 bits.
+    int shift = 16 * (8 - headGroups);
+    long high;
+    long low;
+    if (shift == 0) {
+      high = headHigh;
+      low = headLow;
+    } else if (shift < 64) {
+      high = (headHigh << shift) | (headLow >>> (64 - shift));
+      low = headLow << shift;
+    } else if (shift < 128) {
+      high = headLow << (shift - 64);
+      low = 0;
+    } else {
+      high = 0;
+      low = 0;
+    }
+    return part == HIGH ? high | tailHigh : low | tailLow;
+  }
+}
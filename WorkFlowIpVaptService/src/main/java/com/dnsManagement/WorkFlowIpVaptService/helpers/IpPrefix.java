@@ -0,0 +1,154 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+/**
+ * An IPv4 or IPv6 address or CIDR range, as the leading {@code length} bits
+ * of a 128-bit value: IPv4 addresses occupy the top 32 bits of
+ * {@code high}. Bits past {@code length} are always zero.
+ */
+public record IpPrefix(boolean v6, long high, long low, int length) {
+
+  public IpPrefix {
+    if (length < 0 || length > (v6 ? 128 : 32))
+      throw new IllegalArgumentException("PREFIX LENGTH " + length + " IS OUT OF RANGE");
+    high &= maskHigh(length);
+    low &= maskLow(length);
+  }
+
+  /**
+   * Parses {@code 10.20.0.0/16}, {@code 2001:db8::/32} or a single address.
+   * Host bits past the prefix length are dropped.
+   *
+   * @throws IllegalArgumentException if it is neither an address nor a
+   *                                  CIDR range.
+   */
+  public static IpPrefix parse(String cidr) {
+    IpPrefix prefix = tryParse(cidr);
+    if (prefix == null)
+      throw new IllegalArgumentException("NOT AN IP ADDRESS OR CIDR RANGE: " + cidr);
+    return prefix;
+  }
+
+  /**
+   * @return The prefix, {@code null} if {@code cidr} is not one.
+   */
+  public static IpPrefix tryParse(String cidr) {
+    if (cidr == null)
+      return null;
+    int slash = cidr.indexOf('/');
+    String address = slash < 0 ? cidr : cidr.substring(0, slash);
+    int length = -1;
+    if (slash >= 0) {
+      String digits = cidr.substring(slash + 1);
+      if (digits.isEmpty() || digits.length() > 3 || !digits.chars().allMatch(Character::isDigit))
+        return null;
+      length = Integer.parseInt(digits);
+    }
+    long ipv4 = IpAddressSet.parseV4(address, 0, address.length());
+    if (ipv4 >= 0) {
+      if (length > 32)
+        return null;
+      return new IpPrefix(false, ipv4 << 32, 0, length < 0 ? 32 : length);
+    }
+    if (IpAddressSet.parseV6(address, IpAddressSet.VALID) == 0 || length > 128)
+      return null;
+    return new IpPrefix(true,
+            IpAddressSet.parseV6(address, IpAddressSet.HIGH),
+            IpAddressSet.parseV6(address, IpAddressSet.LOW),
+            length < 0 ? 128 : length);
+  }
+
+  public int width() {
+    return v6 ? 128 : 32;
+  }
+
+  /**
+   * @return Bit {@code i} counting from the most significant one.
+   */
+  public int bit(int i) {
+    return (int) (i < 64 ? high >>> (63 - i) : low >>> (127 - i)) & 1;
+  }
+
+  /**
+   * @return Whether every address of {@code other} is in this range.
+   */
+  public boolean contains(IpPrefix other) {
+    return v6 == other.v6 && length <= other.length
+            && commonLength(other) == length;
+  }
+
+  /**
+   * @return How many leading bits the two prefixes share, at most the
+   * shorter length.
+   */
+  public int commonLength(IpPrefix other) {
+    int limit = Math.min(length, other.length);
+    long highBits = high ^ other.high;
+    int common = highBits != 0
+            ? Long.numberOfLeadingZeros(highBits)
+            : 64 + Long.numberOfLeadingZeros(low ^ other.low);
+    return Math.min(common, limit);
+  }
+
+  /**
+   * @return This prefix cut down to its first {@code length} bits.
+   */
+  public IpPrefix truncate(int length) {
+    return length >= this.length ? this : new IpPrefix(v6, high, low, length);
+  }
+
+  /**
+   * @return The number of addresses in the range, as a double since IPv6
+   * ranges exceed a long.
+   */
+  public double size() {
+    return Math.scalb(1.0, width() - length);
+  }
+
+  private static long maskHigh(int length) {
+    return length == 0 ? 0 : length >= 64 ? -1L : -1L << (64 - length);
+  }
+
+  private static long maskLow(int length) {
+    return length <= 64 ? 0 : length == 128 ? -1L : -1L << (128 - length);
+  }
+
+  /**
+   * @return {@code 10.20.0.0/16}, or {@code 2001:db8::/32} with the longest
+   * run of zero groups compressed.
+   */
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder();
+    if (!v6) {
+      long address = high >>> 32;
+      text.append(address >>> 24).append('.').append((address >>> 16) & 0xff)
+              .append('.').append((address >>> 8) & 0xff).append('.').append(address & 0xff);
+      return text.append('/').append(length).toString();
+    }
+    int[] groups = new int[8];
+    for (int i = 0; i < 8; i++)
+      groups[i] = (int) ((i < 4 ? high >>> (48 - 16 * i) : low >>> (48 - 16 * (i - 4))) & 0xffff);
+    int runStart = -1, runLength = 0;
+    for (int i = 0; i < 8; ) {
+      int j = i;
+      while (j < 8 && groups[j] == 0)
+        j++;
+      if (j - i > runLength && j - i > 1) {
+        runStart = i;
+        runLength = j - i;
+      }
+      i = j == i ? i + 1 : j;
+    }
+    for (int i = 0; i < 8; i++) {
+      if (i == runStart) {
+        text.append("::");
+        i += runLength - 1;
+        continue;
+      }
+      if (!text.isEmpty() && text.charAt(text.length() - 1) != ':')
+        text.append(':');
+      text.append(Integer.toHexString(groups[i]));
+    }
+    return text.append('/').append(length).toString();
+  }
+}
@@ -0,0 +1,307 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.IpAssignment;
+import com.dnsManagement.WorkFlowIpVaptService.dto.SubnetUtilization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Path-compressed binary trie (a PATRICIA tree) of IP records keyed by
+ * their address or CIDR range, one tree per address family.
+ * <p>
+ * Every node only exists where a record sits or where two branches part, so
+ * a lookup walks at most 32 or 128 nodes whatever the number of records, and
+ * range queries then visit only the part of the tree inside the range. Each
+ * node also keeps how many records and addresses lie below it, which is what
+ * lets {@link #utilization} report a subnet without walking its records.
+ * </p>
+ * Thread-safe, queries share a read lock and writes take the write lock.
+ */
+public final class IpPrefixTrie {
+
+  private static final class Node {
+    final IpPrefix prefix;
+    Node zero;
+    Node one;
+    // Records with exactly this prefix, null if there are none.
+    IpAssignment[] entries;
+    // Records in this subtree and the addresses they cover, each address
+    // counted once however many nested records cover it.
+    int assignments;
+    double addresses;
+
+    Node(IpPrefix prefix) {
+      this.prefix = prefix;
+    }
+
+    Node child(int bit) {
+      return bit == 0 ? zero : one;
+    }
+
+    void setChild(int bit, Node child) {
+      if (bit == 0)
+        zero = child;
+      else
+        one = child;
+    }
+
+    void aggregate() {
+      assignments = entries == null ? 0 : entries.length;
+      double below = 0;
+      for (Node child : new Node[]{zero, one}) {
+        if (child != null) {
+          assignments += child.assignments;
+          below += child.addresses;
+        }
+      }
+      // Prefixes either nest or are disjoint, so a record here covers all of its subtree.
+      addresses = entries == null ? below : prefix.size();
+    }
+  }
+
+  private final StampedLock lock = new StampedLock();
+  private final Node v4 = new Node(new IpPrefix(false, 0, 0, 0));
+  private final Node v6 = new Node(new IpPrefix(true, 0, 0, 0));
+
+  private Node root(IpPrefix prefix) {
+    return prefix.v6() ? v6 : v4;
+  }
+
+  public void add(IpPrefix prefix, IpAssignment assignment) {
+    long stamp = lock.writeLock();
+    try {
+      List<Node> path = new ArrayList<>();
+      Node node = root(prefix);
+      while (true) {
+        path.add(node);
+        if (node.prefix.length() == prefix.length()) {
+          node.entries = append(node.entries, assignment);
+          break;
+        }
+        int bit = prefix.bit(node.prefix.length());
+        Node child = node.child(bit);
+        if (child == null) {
+          Node leaf = leaf(prefix, assignment);
+          node.setChild(bit, leaf);
+          path.add(leaf);
+          break;
+        }
+        int common = child.prefix.commonLength(prefix);
+        if (common == child.prefix.length()) {
+          node = child;
+          continue;
+        }
+        Node leaf = leaf(prefix, assignment);
+        if (common == prefix.length()) {
+          // The new prefix sits between node and child.
+          leaf.setChild(child.prefix.bit(common), child);
+          node.setChild(bit, leaf);
+          path.add(leaf);
+        } else {
+          // They part below node, so a branch node goes where they part.
+          Node branch = new Node(prefix.truncate(common));
+          branch.setChild(child.prefix.bit(common), child);
+          branch.setChild(prefix.bit(common), leaf);
+          node.setChild(bit, branch);
+          path.add(branch);
+          path.add(leaf);
+        }
+        break;
+      }
+      for (int i = path.size() - 1; i >= 0; i--)
+        path.get(i).aggregate();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * @return Whether the record was in the trie under {@code prefix}.
+   */
+  public boolean remove(IpPrefix prefix, long ipId) {
+    long stamp = lock.writeLock();
+    try {
+      List<Node> path = new ArrayList<>();
+      Node node = root(prefix);
+      path.add(node);
+      while (node.prefix.length() < prefix.length()) {
+        node = node.child(prefix.bit(node.prefix.length()));
+        if (node == null || !node.prefix.contains(prefix))
+          return false;
+        path.add(node);
+      }
+      if (node.prefix.length() != prefix.length() || !removeEntry(node, ipId))
+        return false;
+      // Drop nodes left without records and fold away those left with one child.
+      for (int i = path.size() - 1; i > 0; i--) {
+        Node emptied = path.get(i);
+        if (emptied.entries != null || (emptied.zero != null && emptied.one != null))
+          break;
+        Node parent = path.get(i - 1);
+        parent.setChild(emptied.prefix.bit(parent.prefix.length()),
+                emptied.zero != null ? emptied.zero : emptied.one);
+        path.remove(i);
+      }
+      for (int i = path.size() - 1; i >= 0; i--)
+        path.get(i).aggregate();
+      return true;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * @return Up to {@code limit} records sharing an address with
+   * {@code prefix}: the ranges containing it, then the records inside it.
+   */
+  public List<IpAssignment> overlapping(IpPrefix prefix, int limit) {
+    long stamp = lock.readLock();
+    try {
+      List<IpAssignment> found = new ArrayList<>();
+      Node inside = subtree(prefix, ancestor -> found.addAll(Arrays.asList(ancestor.entries)));
+      collect(inside, found, limit);
+      return found;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * @return Up to {@code limit} records whose address or range lies inside
+   * {@code prefix}, in address order.
+   */
+  public List<IpAssignment> within(IpPrefix prefix, int limit) {
+    long stamp = lock.readLock();
+    try {
+      List<IpAssignment> found = new ArrayList<>();
+      collect(subtree(prefix, null), found, limit);
+      return found;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Splits {@code prefix} into subnets of {@code subnetLength} bits and
+   * reports those holding at least one record, in address order. A range
+   * wider than the subnets is reported as a row of its own, fully used.
+   */
+  public List<SubnetUtilization> utilization(IpPrefix prefix, int subnetLength) {
+    if (subnetLength < prefix.length() || subnetLength > prefix.width())
+      throw new IllegalArgumentException("SUBNET LENGTH MUST BE BETWEEN "
+              + prefix.length() + " AND " + prefix.width());
+    long stamp = lock.readLock();
+    try {
+      List<SubnetUtilization> rows = new ArrayList<>();
+      Node inside = subtree(prefix, null);
+      Deque<Node> pending = new ArrayDeque<>();
+      if (inside != null)
+        pending.push(inside);
+      while (!pending.isEmpty()) {
+        Node node = pending.pop();
+        if (node.prefix.length() >= subnetLength) {
+          IpPrefix subnet = node.prefix.truncate(subnetLength);
+          rows.add(new SubnetUtilization(subnet.toString(), node.assignments,
+                  node.addresses / subnet.size()));
+          continue;
+        }
+        if (node.entries != null)
+          rows.add(new SubnetUtilization(node.prefix.toString(), node.entries.length, 1.0));
+        pushChildren(pending, node);
+      }
+      return rows;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  public int size() {
+    long stamp = lock.readLock();
+    try {
+      return v4.assignments + v6.assignments;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * @return The topmost node inside {@code prefix}, {@code null} if there is
+   * none. Nodes passed on the way that hold records, i.e. ranges that
+   * contain {@code prefix}, go to {@code ancestors}.
+   */
+  private Node subtree(IpPrefix prefix, Consumer<Node> ancestors) {
+    Node node = root(prefix);
+    while (node != null) {
+      if (node.prefix.length() >= prefix.length())
+        return prefix.contains(node.prefix) ? node : null;
+      if (ancestors != null && node.entries != null)
+        ancestors.accept(node);
+      node = node.child(prefix.bit(node.prefix.length()));
+      if (node != null && node.prefix.commonLength(prefix)
+              < Math.min(node.prefix.length(), prefix.length()))
+        return null;
+    }
+    return null;
+  }
+
+  private static void collect(Node from, List<IpAssignment> found, int limit) {
+    Deque<Node> pending = new ArrayDeque<>();
+    if (from != null)
+      pending.push(from);
+    while (!pending.isEmpty() && found.size() < limit) {
+      Node node = pending.pop();
+      if (node.entries != null)
+        found.addAll(Arrays.asList(node.entries));
+      pushChildren(pending, node);
+    }
+    if (found.size() > limit)
+      found.subList(limit, found.size()).clear();
+  }
+
+  private static void pushChildren(Deque<Node> pending, Node node) {
+    if (node.one != null)
+      pending.push(node.one);
+    if (node.zero != null)
+      pending.push(node.zero);
+  }
+
+  private static Node leaf(IpPrefix prefix, IpAssignment assignment) {
+    Node leaf = new Node(prefix);
+    leaf.entries = new IpAssignment[]{assignment};
+    return leaf;
+  }
+
+  private static IpAssignment[] append(IpAssignment[] entries, IpAssignment assignment) {
+    if (entries == null)
+      return new IpAssignment[]{assignment};
+    IpAssignment[] grown = Arrays.copyOf(entries, entries.length + 1);
+    grown[entries.length] = assignment;
+    return grown;
+  }
+
+  private static boolean removeEntry(Node node, long ipId) {
+    IpAssignment[] entries = node.entries;
+    if (entries == null)
+      return false;
+    for (int i = 0; i < entries.length; i++) {
+      if (entries[i].getIpId() == ipId) {
+        if (entries.length == 1) {
+          node.entries = null;
+        } else {
+          IpAssignment[] shrunk = new IpAssignment[entries.length - 1];
+          System.arraycopy(entries, 0, shrunk, 0, i);
+          System.arraycopy(entries, i + 1, shrunk, i, entries.length - i - 1);
+          node.entries = shrunk;
+        }
+        return true;
+      }
+    }
+    return false;
+  }
+}
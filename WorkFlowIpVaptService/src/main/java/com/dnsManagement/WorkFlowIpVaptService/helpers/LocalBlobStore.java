@@ -0,0 +1,146 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link BlobStore} on the local filesystem, the default
+ * ({@code blob-store.type=local}).
+ * <p>
+ * Documents live under {@code blob-store.local.root} in two levels of
+ * directories named after the first two bytes of their hash, e.g.
+ * {@code 3f/a1/3fa1...}, so no directory grows past a few hundred entries
+ * per million documents. An upload is hashed while it is written to a
+ * temporary file, which is then renamed into place, or dropped when that
+ * document is already stored; readers therefore never see a partial file.
+ * Reads go through {@link FileChannel#transferTo}, which the kernel serves
+ * without copying into the heap when the target is a socket or a file.
+ * </p>
+ * With more than one replica the root must be a shared volume.
+ */
+@Component
+@ConditionalOnProperty(name = "blob-store.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(LocalBlobStore.class);
+
+  private final Path root;
+  private final Path incoming;
+
+  @Autowired
+  public LocalBlobStore(@Value("${blob-store.local.root:blobs}") Path root) {
+    this.root = root.toAbsolutePath();
+    this.incoming = this.root.resolve("incoming");
+    try {
+      Files.createDirectories(incoming);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot create the blob store under " + this.root, e);
+    }
+    logger.info("Storing proof documents under {}", this.root);
+  }
+
+  Path path(String sha256) {
+    BlobStore.checkSha256(sha256);
+    return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+  }
+
+  @Override
+  public String put(InputStream content) {
+    Path upload = null;
+    try {
+      upload = Files.createTempFile(incoming, "upload-", ".tmp");
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      try (OutputStream out = new DigestOutputStream(Files.newOutputStream(upload), sha256)) {
+        content.transferTo(out);
+      }
+      String hash = HexFormat.of().formatHex(sha256.digest());
+      Path target = path(hash);
+      if (!Files.exists(target)) {
+        Files.createDirectories(target.getParent());
+        try {
+          Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+          upload = null;
+        } catch (FileAlreadyExistsException e) {
+          // Stored by a concurrent upload of the same document.
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(upload, target);
+          upload = null;
+        }
+      }
+      return hash;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not store document", e);
+    } finally {
+      if (upload != null)
+        deleteQuietly(upload);
+    }
+  }
+
+  @Override
+  public boolean exists(String sha256) {
+    return Files.isRegularFile(path(sha256));
+  }
+
+  @Override
+  public long size(String sha256) {
+    try {
+      return Files.size(path(sha256));
+    } catch (NoSuchFileException e) {
+      throw notFound(sha256);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public long transferTo(String sha256, long position, long count, WritableByteChannel target) {
+    try (FileChannel file = FileChannel.open(path(sha256), StandardOpenOption.READ)) {
+      long end = Math.min(file.size(), position + Math.min(count, Long.MAX_VALUE - position));
+      long sent = position;
+      while (sent < end)
+        sent += file.transferTo(sent, end - sent, target);
+      return Math.max(0, sent - position);
+    } catch (NoSuchFileException e) {
+      throw notFound(sha256);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static NoSuchElementException notFound(String sha256) {
+    return new NoSuchElementException("NO DOCUMENT STORED UNDER " + sha256);
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      logger.warn("Could not delete temporary upload {}", file, e);
+    }
+  }
+}
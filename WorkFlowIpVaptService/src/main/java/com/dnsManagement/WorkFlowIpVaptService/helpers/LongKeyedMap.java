@@ -0,0 +1,75 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import java.util.Map;
+
+/**
+ * Immutable open-addressing hash map keyed by primitive {@code long}.
+ * <p>
+ * Lookups never box the key and never allocate, which makes it suitable for
+ * hot read paths over small reference tables. Instances are built once with
+ * {@link #copyOf(Map)} and can be shared freely between threads.
+ * </p>
+ *
+ * @param <V> The value type, values must not be {@code null}.
+ */
+public final class LongKeyedMap<V> {
+
+  private static final LongKeyedMap<?> EMPTY = copyOf(Map.of());
+
+  private final long[] keys;
+  private final Object[] values;
+  private final int mask;
+  private final int size;
+
+  private LongKeyedMap(int size) {
+    // Keep the load factor at or below 0.5 so probe chains stay short.
+    int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+    this.keys = new long[capacity];
+    this.values = new Object[capacity];
+    this.mask = capacity - 1;
+    this.size = size;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <V> LongKeyedMap<V> empty() {
+    return (LongKeyedMap<V>) EMPTY;
+  }
+
+  public static <V> LongKeyedMap<V> copyOf(Map<Long, V> entries) {
+    LongKeyedMap<V> map = new LongKeyedMap<>(entries.size());
+    entries.forEach((key, value) -> {
+      if (key == null || value == null)
+        throw new IllegalArgumentException("KEYS AND VALUES MUST NOT BE NULL");
+      int slot = map.slot(key);
+      while (map.values[slot] != null)
+        slot = (slot + 1) & map.mask;
+      map.keys[slot] = key;
+      map.values[slot] = value;
+    });
+    return map;
+  }
+
+  /**
+   * @return The value mapped to {@code key} or {@code null} if absent.
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    int slot = slot(key);
+    Object value;
+    while ((value = values[slot]) != null) {
+      if (keys[slot] == key)
+        return (V) value;
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private int slot(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,67 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a full-table read as newline-delimited JSON while it is being read.
+ * <p>
+ * The rows come from a repository {@link Stream} backed by a database cursor,
+ * opened in a read-only transaction once the response starts and closed when
+ * it ends, and each row is serialized as soon as it is fetched. Only the
+ * cursor's fetch size and Jackson's output buffer are ever held, so memory
+ * use does not depend on the size of the table. The stream should yield
+ * DTO projections: entities would pile up in the persistence context.
+ * </p>
+ * The body is written on the {@code streamingExecutor}, see
+ * {@link com.dnsManagement.WorkFlowIpVaptService.config.WebAsyncConfiguration}.
+ */
+@Component
+public class NdjsonExport {
+
+  public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+  private final ObjectWriter writer;
+  private final TransactionTemplate readOnly;
+
+  @Autowired
+  public NdjsonExport(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+    // Rows end in a newline of their own, and flushing is left to the output
+    // buffer instead of happening once per row.
+    this.writer = objectMapper.writer()
+            .withRootValueSeparator("")
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+  }
+
+  public <T> ResponseEntity<StreamingResponseBody> stream(Supplier<Stream<T>> rows) {
+    StreamingResponseBody body = out -> readOnly.executeWithoutResult(status -> {
+      try (Stream<T> stream = rows.get();
+           JsonGenerator json = writer.createGenerator(out)) {
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        for (T row : (Iterable<T>) stream::iterator) {
+          writer.writeValue(json, row);
+          json.writeRaw('\n');
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+  }
+}
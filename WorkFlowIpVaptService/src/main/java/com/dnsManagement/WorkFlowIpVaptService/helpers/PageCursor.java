@@ -0,0 +1,55 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list of domains ordered by {@code (d_o_apl, dm_id)}: the
+ * last row of the previous page. Handed to clients as an opaque string so
+ * the key can change without breaking them.
+ */
+public record PageCursor(LocalDateTime dateOfApplication, long domainId) {
+
+  /**
+   * Earlier than any date of application.
+   */
+  public static final LocalDateTime FLOOR = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  /**
+   * Before every domain.
+   */
+  public static final PageCursor START = new PageCursor(FLOOR, 0);
+
+  public static PageCursor after(LocalDateTime dateOfApplication, Long domainId) {
+    return new PageCursor(dateOfApplication, domainId);
+  }
+
+  public static PageCursor after(Timestamp dateOfApplication, Long domainId) {
+    return after(dateOfApplication.toLocalDateTime(), domainId);
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(
+            (dateOfApplication + "|" + domainId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param cursor A cursor returned with a previous page, or {@code null}
+   *               for the first page.
+   */
+  public static PageCursor decode(String cursor) {
+    if (cursor == null || cursor.isEmpty())
+      return START;
+    try {
+      String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = key.indexOf('|');
+      return new PageCursor(LocalDateTime.parse(key.substring(0, separator)),
+              Long.parseLong(key.substring(separator + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new IllegalArgumentException("INVALID PAGE CURSOR: " + cursor);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.Centre;
+import com.dnsManagement.WorkFlowIpVaptService.dto.GroupDepartment;
+import com.dnsManagement.WorkFlowIpVaptService.openfeign.StakeHolderClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Local replica of the centre and group reference tables owned by
+ * user-management-service.
+ * <p>
+ * Both tables are tiny and rarely change, yet every enriched row used to fetch
+ * its centre and group over HTTP. The whole of both tables is now pulled every
+ * {@code reference-data.refresh-interval} (and on demand through the
+ * {@code referencedata} actuator endpoint) into immutable {@link LongKeyedMap}s
+ * that are swapped in atomically, so readers never lock and never see a
+ * half-built snapshot.
+ * </p>
+ * If a refresh fails the previous snapshot keeps being served. Its age is
+ * published as the {@code reference.data.snapshot.age} gauge (seconds, NaN
+ * until the first successful load) and refresh outcomes are counted under
+ * {@code reference.data.refresh}.
+ */
+@Component
+public class ReferenceDataSnapshot {
+
+  private static final Logger logger =
+          LoggerFactory.getLogger(ReferenceDataSnapshot.class);
+
+  private final StakeHolderClient stakeHolderClient;
+  private final ObjectMapper objectMapper;
+
+  private final Counter refreshed;
+  private final Counter failed;
+
+  private volatile Snapshot snapshot = new Snapshot(
+          LongKeyedMap.empty(), LongKeyedMap.empty(), null);
+
+  @Autowired
+  public ReferenceDataSnapshot(StakeHolderClient stakeHolderClient,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+    this.stakeHolderClient = stakeHolderClient;
+    this.objectMapper = objectMapper;
+    this.refreshed = Counter.builder("reference.data.refresh")
+            .tag("result", "success")
+            .register(meterRegistry);
+    this.failed = Counter.builder("reference.data.refresh")
+            .tag("result", "failure")
+            .register(meterRegistry);
+    Gauge.builder("reference.data.snapshot.age", this,
+                    s -> s.age() == null ? Double.NaN : s.age().toSeconds())
+            .baseUnit("seconds")
+            .description("Time since centres and groups were last refreshed")
+            .register(meterRegistry);
+  }
+
+  /**
+   * @return The centre or {@code null} if it is not in the snapshot.
+   */
+  public Centre centre(long centreId) {
+    return snapshot.centres().get(centreId);
+  }
+
+  /**
+   * @return The group or {@code null} if it is not in the snapshot.
+   */
+  public GroupDepartment group(long groupId) {
+    return snapshot.groups().get(groupId);
+  }
+
+  /**
+   * @return Time since the last successful refresh, {@code null} if none.
+   */
+  public Duration age() {
+    Instant loadedAt = snapshot.loadedAt();
+    return loadedAt == null ? null : Duration.between(loadedAt, Instant.now());
+  }
+
+  public int centreCount() {
+    return snapshot.centres().size();
+  }
+
+  public int groupCount() {
+    return snapshot.groups().size();
+  }
+
+  /**
+   * Reloads both tables. Runs once at startup and then on a fixed delay.
+   *
+   * @return {@code true} if a new snapshot was installed, {@code false} if
+   * the previous one is still being served.
+   */
+  @Scheduled(fixedDelayString = "${reference-data.refresh-interval:15m}")
+  public synchronized boolean refresh() {
+    try {
+      List<Object> centres = stakeHolderClient.fetchAllCentres();
+      List<Object> groups = stakeHolderClient.fetchAllDepartments();
+      if (centres == null || groups == null) {
+        failed.increment();
+        logger.warn("Reference data refresh failed, serving snapshot aged {}",
+                age());
+        return false;
+      }
+
+      snapshot = new Snapshot(
+              index(centres, Centre.class, c -> c.getCentreId().longValue()),
+              index(groups, GroupDepartment.class,
+                      g -> g.getDepartmentId().longValue()),
+              Instant.now());
+      refreshed.increment();
+      logger.info("Reference data refreshed: {} centres, {} groups",
+              centres.size(), groups.size());
+      return true;
+    } catch (RuntimeException e) {
+      failed.increment();
+      logger.error("Reference data refresh failed, serving snapshot aged {}",
+              age(), e);
+      return false;
+    }
+  }
+
+  private <T> LongKeyedMap<T> index(List<Object> rows,
+                                    Class<T> tClass,
+                                    Function<T, Long> id) {
+    Map<Long, T> byId = new HashMap<>();
+    for (Object row : rows) {
+      T value = objectMapper.convertValue(row, tClass);
+      byId.put(id.apply(value), value);
+    }
+    return LongKeyedMap.copyOf(byId);
+  }
+
+  private record Snapshot(LongKeyedMap<Centre> centres,
+                          LongKeyedMap<GroupDepartment> groups,
+                          Instant loadedAt) {
+  }
+}
@@ -0,0 +1,95 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.Centre;
+import com.dnsManagement.WorkFlowIpVaptService.dto.GroupDepartment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Request-scoped, DataLoader-style batch of stakeholder lookups.
+ * <p>
+ * Callers first register every employee number a page of results will need,
+ * then call {@link #load()} which issues one bulk lookup per role, and only
+ * then enrich the rows with {@link #get(String, Class, Long)}. Centres and
+ * groups are memoized per batch so each distinct id is resolved once.
+ * A page of N rows therefore costs O(roles) remote calls instead of
+ * O(N x roles).
+ * </p>
+ * Instances are obtained from {@link Utility#batch()} and are not thread safe.
+ */
+public final class StakeHolderBatch {
+
+  private final StakeHolderDirectory directory;
+  private final ObjectMapper objectMapper;
+  private final Utility utility;
+
+  private final Map<String, Set<Long>> pending = new LinkedHashMap<>();
+  private final Map<String, Map<Long, Object>> loaded = new HashMap<>();
+  private final Map<Long, Centre> centres = new HashMap<>();
+  private final Map<Long, GroupDepartment> groups = new HashMap<>();
+
+  StakeHolderBatch(StakeHolderDirectory directory,
+                   ObjectMapper objectMapper,
+                   Utility utility) {
+    this.directory = directory;
+    this.objectMapper = objectMapper;
+    this.utility = utility;
+  }
+
+  /**
+   * Registers the employee number found on each row for the given role.
+   */
+  public <R> StakeHolderBatch addAll(String role,
+                                     Collection<R> rows,
+                                     Function<R, Long> empNo) {
+    Set<Long> empNos = pending.computeIfAbsent(role.toUpperCase(),
+            r -> new LinkedHashSet<>());
+    for (R row : rows)
+      empNos.add(empNo.apply(row));
+    return this;
+  }
+
+  /**
+   * Resolves everything registered so far with one bulk call per role.
+   */
+  public StakeHolderBatch load() {
+    pending.forEach((role, empNos) ->
+            loaded.computeIfAbsent(role, r -> new HashMap<>())
+                    .putAll(directory.findAll(role, empNos)));
+    pending.clear();
+    return this;
+  }
+
+  /**
+   * Returns a stakeholder resolved by {@link #load()}, falling back to a
+   * single lookup if it was never registered.
+   *
+   * @throws NoSuchElementException if the stakeholder does not exist.
+   */
+  public <T> T get(String role, Class<T> tClass, Long empNo) {
+    Map<Long, Object> records = loaded.get(role.toUpperCase());
+    Object record = records == null ? null : records.get(empNo);
+    if (record == null)
+      return utility.findOrThrowNoSuchElementException(role, tClass, empNo);
+    return objectMapper.convertValue(record, tClass);
+  }
+
+  public Centre centre(Long centreId) {
+    return centres.computeIfAbsent(centreId, id ->
+            utility.findCentreOrThrowNoSuchElementException(Centre.class, id));
+  }
+
+  public GroupDepartment group(Long groupId) {
+    return groups.computeIfAbsent(groupId, id ->
+            utility.findGroupOrThrowNoSuchElementException(
+                    GroupDepartment.class, id));
+  }
+}
@@ -0,0 +1,260 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.openfeign.StakeHolderClient;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, in-process cache of the stakeholder records (DRM, ARM, HOD, ED,
+ * NETOPS, WEBMASTER, HODHPC) served by user-management-service.
+ * <p>
+ * List endpoints enrich every row with stakeholder details, so without this
+ * cache a single page costs one HTTP round trip per row and per role. Entries
+ * expire after {@code stakeholder.cache.ttl} and the cache is capped at
+ * {@code stakeholder.cache.max-size} entries. Misses (the service answered
+ * with nothing, or the Feign fallback kicked in) are cached as well, but only
+ * for the much shorter {@code stakeholder.cache.negative-ttl} so an outage
+ * does not stick.
+ * </p>
+ * Hit, miss, load and eviction counts are published to Micrometer under the
+ * {@code cache.*} meters with {@code cache=stakeholder.directory}.
+ */
+@Component
+public class StakeHolderDirectory {
+
+  static final String CACHE_NAME = "stakeholder.directory";
+
+  private static final Logger logger =
+          LoggerFactory.getLogger(StakeHolderDirectory.class);
+
+  // How long to stop trying the bulk endpoint after it failed once.
+  private static final Duration BULK_RETRY_AFTER = Duration.ofMinutes(5);
+
+  // Statuses with which user-management-service says it has no bulk route.
+  private static final Set<Integer> UNSUPPORTED = Set.of(404, 405, 501);
+
+  private final StakeHolderClient stakeHolderClient;
+
+  private final AsyncCache<String, Optional<Object>> cache;
+
+  private volatile long bulkDisabledUntilNanos = System.nanoTime();
+
+  @Autowired
+  public StakeHolderDirectory(StakeHolderClient stakeHolderClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${stakeholder.cache.max-size:5000}")
+                              long maxSize,
+                              @Value("${stakeholder.cache.ttl:10m}")
+                              Duration ttl,
+                              @Value("${stakeholder.cache.negative-ttl:30s}")
+                              Duration negativeTtl) {
+    this.stakeHolderClient = stakeHolderClient;
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new PositiveNegativeExpiry(ttl, negativeTtl))
+            .recordStats()
+            .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Returns the raw (deserialized JSON) stakeholder record, fetching it from
+   * user-management-service on a miss.
+   * <p>
+   * Concurrent lookups of the same missing key share one remote call. The
+   * cache only holds the pending future while the first caller makes the
+   * call on its own thread, so the call happens outside the cache's
+   * compute lock: {@link StakeHolderFanOut} issues several lookups at once
+   * on virtual threads, and loading under the lock would serialize keys
+   * that share a hash bin and pin the carrier threads for the whole round
+   * trip. An {@link #evict} during the call drops the pending future, so the
+   * record it brings back is not cached.
+   * </p>
+   *
+   * @param role   The stakeholder role, e.g. {@code "DRM"}.
+   * @param empNo  The employee number.
+   * @return The raw record or {@code null} if the stakeholder does not exist.
+   */
+  public Object find(String role, Long empNo) {
+    CompletableFuture<Optional<Object>> load = new CompletableFuture<>();
+    CompletableFuture<Optional<Object>> record =
+            cache.get(key(role, empNo), (key, executor) -> load);
+    if (record == load)
+      complete(load, () -> Optional.ofNullable(
+              stakeHolderClient.fetchStakeHolderDetails(role, empNo)));
+    return await(record).orElse(null);
+  }
+
+  /**
+   * Resolves many stakeholders of one role at once. Cached records are served
+   * locally and every remaining employee number goes out in a single bulk
+   * request. If user-management-service has no bulk endpoint (it answers
+   * 404, 405 or 501, or the Feign fallback answers {@code null}) the misses
+   * are fetched one by one and bulk calls are paused for a while. Any other
+   * failure of the bulk call is passed on.
+   *
+   * @param role    The stakeholder role, e.g. {@code "ARM"}.
+   * @param empNos  The employee numbers, duplicates and nulls are ignored.
+   * @return The raw records by employee number; unknown ones are absent.
+   */
+  public Map<Long, Object> findAll(String role, Collection<Long> empNos) {
+    Map<String, Long> empNoByKey = new HashMap<>();
+    for (Long empNo : empNos) {
+      if (empNo != null)
+        empNoByKey.put(key(role, empNo), empNo);
+    }
+
+    // Caffeine asks for the keys nobody is loading yet and parks the others'
+    // pending futures in the result.
+    CompletableFuture<Map<String, Optional<Object>>> load = new CompletableFuture<>();
+    List<Set<? extends String>> toLoad = new ArrayList<>(1);
+    CompletableFuture<Map<String, Optional<Object>>> all = cache.getAll(
+            empNoByKey.keySet(), (missing, executor) -> {
+              toLoad.add(missing);
+              return load;
+            });
+    if (!toLoad.isEmpty())
+      complete(load, () -> loadAll(role, toLoad.get(0), empNoByKey));
+    Map<String, Optional<Object>> found = await(all);
+
+    Map<Long, Object> records = new HashMap<>();
+    found.forEach((key, value) ->
+            value.ifPresent(record -> records.put(empNoByKey.get(key), record)));
+    return records;
+  }
+
+  private Map<String, Optional<Object>> loadAll(String role,
+                                                Set<? extends String> missing,
+                                                Map<String, Long> empNoByKey) {
+    List<Long> empNos = missing.stream().map(empNoByKey::get).toList();
+    Map<String, Optional<Object>> loaded = new HashMap<>();
+
+    List<Object> records = null;
+    if (System.nanoTime() - bulkDisabledUntilNanos >= 0) {
+      records = fetchInBulk(role, empNos);
+      if (records == null) {
+        logger.warn("Bulk {} lookup unavailable, falling back to single " +
+                "lookups for {}", role, BULK_RETRY_AFTER);
+        bulkDisabledUntilNanos = System.nanoTime() + BULK_RETRY_AFTER.toNanos();
+      }
+    }
+
+    if (records == null) {
+      for (Long empNo : empNos)
+        loaded.put(key(role, empNo), Optional.ofNullable(
+                stakeHolderClient.fetchStakeHolderDetails(role, empNo)));
+      return loaded;
+    }
+
+    for (Object record : records) {
+      Long empNo = empNoOf(record);
+      if (empNo != null)
+        loaded.put(key(role, empNo), Optional.of(record));
+    }
+    for (Long empNo : empNos)
+      loaded.putIfAbsent(key(role, empNo), Optional.empty());
+    return loaded;
+  }
+
+  // null when the peer has no bulk endpoint.
+  private List<Object> fetchInBulk(String role, List<Long> empNos) {
+    try {
+      return stakeHolderClient.fetchStakeHolderDetailsInBulk(role, empNos);
+    } catch (FeignException e) {
+      if (!UNSUPPORTED.contains(e.status()))
+        throw e;
+      logger.debug("Bulk {} lookup answered HTTP {}", role, e.status());
+      return null;
+    }
+  }
+
+  private static <T> void complete(CompletableFuture<T> future, Supplier<T> value) {
+    try {
+      future.complete(value.get());
+    } catch (RuntimeException | Error e) {
+      // Caffeine drops failed futures, so the next lookup tries again.
+      future.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for a stakeholder lookup");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause)
+        throw cause;
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static Long empNoOf(Object record) {
+    if (record instanceof Map<?, ?> fields
+            && fields.get("emp_no") instanceof Number empNo)
+      return empNo.longValue();
+    return null;
+  }
+
+  /**
+   * Drops the cached record so the next lookup goes to the remote service.
+   * Must be called after we change a stakeholder's details ourselves.
+   */
+  public void evict(String role, Long empNo) {
+    cache.synchronous().invalidate(key(role, empNo));
+  }
+
+  private static String key(String role, Long empNo) {
+    return role.toUpperCase() + ":" + empNo;
+  }
+
+  /**
+   * Found records live for the full TTL, misses only for the negative TTL.
+   * Reads never extend an entry's lifetime.
+   */
+  private record PositiveNegativeExpiry(Duration ttl, Duration negativeTtl)
+          implements Expiry<String, Optional<Object>> {
+
+    @Override
+    public long expireAfterCreate(String key, Optional<Object> value,
+                                  long currentTime) {
+      return (value.isPresent() ? ttl : negativeTtl).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Optional<Object> value,
+                                  long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Optional<Object> value,
+                                long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
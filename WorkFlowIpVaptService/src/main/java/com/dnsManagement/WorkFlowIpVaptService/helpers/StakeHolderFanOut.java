@@ -0,0 +1,125 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.config.ExecutorConfiguration;
+import com.dnsManagement.WorkFlowIpVaptService.errorHandling.StakeHolderLookupTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Resolves several stakeholders concurrently on the virtual threads of the
+ * {@code enrichmentExecutor}.
+ * <p>
+ * Submitting a domain or a renewal needs seven independent lookups (DRM, ARM,
+ * HOD, ED, NETOPS, WEBMASTER, HODHPC). Done one after another the request
+ * pays the sum of seven round trips while holding its transaction open; forked
+ * through a {@link Scope} it pays only the slowest one. A scope follows the
+ * shutdown-on-failure policy: the first lookup to fail cancels the others and
+ * its exception is rethrown unchanged, so a missing approver still surfaces
+ * as a {@link java.util.NoSuchElementException}. The whole scope must finish
+ * within {@code stakeholder.lookup.deadline}.
+ * </p>
+ */
+@Component
+public class StakeHolderFanOut {
+
+  private final Utility utility;
+  private final Executor executor;
+  private final Duration deadline;
+
+  @Autowired
+  public StakeHolderFanOut(Utility utility,
+                           @Qualifier(ExecutorConfiguration.ENRICHMENT_EXECUTOR)
+                           Executor executor,
+                           @Value("${stakeholder.lookup.deadline:5s}")
+                           Duration deadline) {
+    this.utility = utility;
+    this.executor = executor;
+    this.deadline = deadline;
+  }
+
+  /**
+   * Opens a new scope. Fork every lookup, then {@link Scope#join()} once
+   * before reading any result.
+   */
+  public Scope open() {
+    return new Scope();
+  }
+
+  /**
+   * A group of lookups that succeed or fail together. Not thread safe, it is
+   * meant to be used by the request thread that opened it.
+   */
+  public final class Scope {
+
+    private final CompletionService<Object> completion =
+            new ExecutorCompletionService<>(executor);
+    private final List<Future<Object>> forks = new ArrayList<>();
+    private boolean joined;
+
+    private Scope() {
+    }
+
+    /**
+     * Starts looking up a stakeholder in the background.
+     *
+     * @return A handle whose value is available after {@link #join()}.
+     */
+    public <T> Supplier<T> fork(String role, Class<T> tClass, Long empNo) {
+      if (joined)
+        throw new IllegalStateException("SCOPE HAS ALREADY BEEN JOINED");
+      Future<Object> fork = completion.submit(() ->
+              utility.findOrThrowNoSuchElementException(role, tClass, empNo));
+      forks.add(fork);
+      return () -> {
+        if (!joined)
+          throw new IllegalStateException("SCOPE HAS NOT BEEN JOINED YET");
+        return tClass.cast(fork.resultNow());
+      };
+    }
+
+    /**
+     * Waits for every forked lookup. Returns normally only if all of them
+     * succeeded; otherwise cancels whatever is still running and throws.
+     *
+     * @throws java.util.NoSuchElementException   if a stakeholder does not exist.
+     * @throws StakeHolderLookupTimeoutException if the deadline passed first.
+     */
+    public void join() {
+      long deadlineNanos = System.nanoTime() + deadline.toNanos();
+      try {
+        for (int pending = forks.size(); pending > 0; pending--) {
+          Future<Object> done = completion.poll(
+                  deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (done == null)
+            throw new StakeHolderLookupTimeoutException(String.format(
+                    "STAKEHOLDER LOOKUPS DID NOT COMPLETE WITHIN %s", deadline));
+          done.get();
+        }
+        joined = true;
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause)
+          throw cause;
+        throw new RuntimeException("Stakeholder lookup failed", e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while resolving stakeholders", e);
+      } finally {
+        if (!joined)
+          forks.forEach(fork -> fork.cancel(true));
+      }
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.dnsManagement.WorkFlowIpVaptService.helpers;
 
+import com.dnsManagement.WorkFlowIpVaptService.dto.Centre;
+import com.dnsManagement.WorkFlowIpVaptService.dto.GroupDepartment;
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainVerification;
 import com.dnsManagement.WorkFlowIpVaptService.models.Role;
 import com.dnsManagement.WorkFlowIpVaptService.openfeign.StakeHolderClient;
@@ -20,12 +22,26 @@ public final class Utility {
     @Autowired
     private StakeHolderClient stakeHolderClient;
 
+    @Autowired
+    private StakeHolderDirectory stakeHolderDirectory;
+
+    @Autowired
+    private ReferenceDataSnapshot referenceDataSnapshot;
+
     @Autowired
     private ObjectMapper objectMapper;
 
 
+    /**
+     * Starts a new request-scoped batch of stakeholder lookups, see
+     * {@link StakeHolderBatch}.
+     */
+    public StakeHolderBatch batch() {
+        return new StakeHolderBatch(stakeHolderDirectory, objectMapper, this);
+    }
+
     public <T> T findOrThrowNoSuchElementException(String role,Class<T> tClass, Long searchKey){
-        Object object = stakeHolderClient.fetchStakeHolderDetails(role,searchKey); //SERVICE DISCOVERY USING OPEN FEIGN
+        Object object = stakeHolderDirectory.find(role,searchKey); //CACHED, FALLS BACK TO OPEN FEIGN ON A MISS
 
         if(object == null) throw new NoSuchElementException(String.format("GIVEN %s DOES NOT EXIST WITH ID :%d",role,searchKey));
 
@@ -35,6 +51,11 @@ public final class Utility {
     public <T> T findGroupOrThrowNoSuchElementException(
                                                      Class<T> tClass,
                                                 Long searchKey){
+        if(searchKey == null) throw new NoSuchElementException(
+                "GIVEN DEPARTMENT DOES NOT EXIST WITH ID :null");
+        GroupDepartment cached = referenceDataSnapshot.group(searchKey); // LOCAL SNAPSHOT, REFRESHED IN THE BACKGROUND
+        if(tClass.isInstance(cached)) return tClass.cast(cached);
+
         Object object = stakeHolderClient.fetchDepartmentDetails(searchKey);
         //SERVICE DISCOVERY USING OPEN FEIGN
 
@@ -48,6 +69,11 @@ public final class Utility {
     public <T> T findCentreOrThrowNoSuchElementException(
             Class<T> tClass,
             Long searchKey){
+        if(searchKey == null) throw new NoSuchElementException(
+                "GIVEN CENTRE DOES NOT EXIST WITH ID :null");
+        Centre cached = referenceDataSnapshot.centre(searchKey); // LOCAL SNAPSHOT, REFRESHED IN THE BACKGROUND
+        if(tClass.isInstance(cached)) return tClass.cast(cached);
+
         Object object = stakeHolderClient.fetchCentreDetails(searchKey);
         //SERVICE DISCOVERY USING OPEN FEIGN
 
@@ -0,0 +1,62 @@
+package com.dnsManagement.WorkFlowIpVaptService.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * The approver a domain is currently waiting on, if any: one row per
+ * domain, rewritten whenever the workflow moves it to the next stage and
+ * removed once nobody has to act on it. Approver dashboards and their
+ * badge counts read a range of {@code (emp_no, role, kind)} here instead of
+ * evaluating the stage flags of every domain.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "approver_inbox", indexes = {
+        @Index(name = "idx_approver_inbox_emp_role_kind", columnList = "emp_no, role, kind, queued_at")
+})
+public class ApproverInbox {
+
+  @Id
+  @Column(name = "dm_id")
+  private Long domainId;
+
+  @Column(name = "emp_no", nullable = false)
+  private Long empNo;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "role", length = 16, nullable = false)
+  private Role role;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "kind", length = 16, nullable = false)
+  private InboxKind kind;
+
+  // When the domain reached this approver.
+  @Column(name = "queued_at", nullable = false)
+  private LocalDateTime queuedAt;
+
+  // Read-only, for joins; the row goes with its domain.
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "dm_id", insertable = false, updatable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  @JsonIgnore
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private DomainName domainName;
+
+  public ApproverInbox(Long domainId, Long empNo, Role role, InboxKind kind, LocalDateTime queuedAt) {
+    this(domainId, empNo, role, kind, queuedAt, null);
+  }
+}
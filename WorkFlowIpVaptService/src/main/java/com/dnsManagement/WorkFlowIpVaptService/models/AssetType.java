@@ -0,0 +1,9 @@
+package com.dnsManagement.WorkFlowIpVaptService.models;
+
+/**
+ * The infrastructure attached to a domain that expires on its own schedule.
+ */
+public enum AssetType {
+  IP,
+  VAPT
+}
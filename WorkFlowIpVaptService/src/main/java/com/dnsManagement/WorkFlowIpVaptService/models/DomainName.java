@@ -1,10 +1,13 @@
 package com.dnsManagement.WorkFlowIpVaptService.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -12,6 +15,9 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_domain_name_expiry_date", columnList = "expiry_date")
+})
 public class DomainName {
 
   @Id
@@ -29,7 +35,7 @@ public class DomainName {
 //  @Enumerated(EnumType.STRING
   private Integer lastNotificationDateSentForDays;
 
-  @Column(name = "d_o_apl", nullable = true)
+  @Column(name = "d_o_apl", nullable = false)
   private LocalDateTime dateOfApplication; // Date of Application
 
   @Column(name = "d_o_act", nullable = true)
@@ -61,10 +67,20 @@ public class DomainName {
   @Column(name = "vapt_comp", nullable = false)
   private boolean vaptCompletionStatus;
 
-  @Column(name = "appr_prf_vapt_comp", nullable = false)
+  // Inline copy from before the blob store, null once BlobMigrationJob moved it out.
+  // Read on first access only (bytecode enhancement), and never serialized.
   @Lob
+  @Basic(fetch = FetchType.LAZY)
+  @JsonIgnore
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  @Column(name = "appr_prf_vapt_comp", nullable = true)
   private byte[] approvalProofVaptCompletionStatus;
 
+  // SHA-256 of the proof in the BlobStore.
+  @Column(name = "appr_prf_vapt_comp_sha256", length = 64, nullable = true)
+  private String approvalProofVaptCompletionStatusSha256;
+
   @Column(name = "mou_status", nullable = false)
   @Enumerated(EnumType.STRING)
   private Status mouStatus;
@@ -2,10 +2,11 @@ package com.dnsManagement.WorkFlowIpVaptService.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -38,9 +39,17 @@ public class DomainRenewal {
   @JoinColumn(name = "hod_emp_no", nullable = false)
   private Long hodEmployeeNumber;
 
+  // Inline copy from before the blob store, null once BlobMigrationJob moved it out.
   @Lob
-  @NotNull
-  @Column(name = "appr_prf_by_hod", nullable = false)
+  @Basic(fetch = FetchType.LAZY)
+  @JsonIgnore
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  @Column(name = "appr_prf_by_hod", nullable = true)
   private byte[] approvalProofByHod;
 
+  // SHA-256 of the proof in the BlobStore.
+  @Column(name = "appr_prf_by_hod_sha256", length = 64, nullable = true)
+  private String approvalProofByHodSha256;
+
 }
@@ -0,0 +1,63 @@
+package com.dnsManagement.WorkFlowIpVaptService.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+
+/**
+ * Who holds which role on a domain, one row per domain and role, mirroring
+ * the {@code *_emp_no} columns of {@link DomainName}. Role dashboards look
+ * up an employee's domains here with one seek on {@code (role, emp_no)}
+ * instead of matching seven columns.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@IdClass(DomainStakeholder.Key.class)
+@Table(name = "domain_stakeholder", indexes = {
+        @Index(name = "idx_domain_stakeholder_role_emp", columnList = "role, emp_no, dm_id")
+})
+public class DomainStakeholder {
+
+  @Id
+  @Column(name = "dm_id")
+  private Long domainId;
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(name = "role", length = 16)
+  private Role role;
+
+  @Column(name = "emp_no", nullable = false)
+  private Long empNo;
+
+  // Read-only, for joins; rows go with their domain.
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "dm_id", insertable = false, updatable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  @JsonIgnore
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private DomainName domainName;
+
+  public DomainStakeholder(Long domainId, Role role, Long empNo) {
+    this(domainId, role, empNo, null);
+  }
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Key implements Serializable {
+    private Long domainId;
+    private Role role;
+  }
+}
@@ -0,0 +1,10 @@
+package com.dnsManagement.WorkFlowIpVaptService.models;
+
+/**
+ * What a domain in an {@link ApproverInbox} is waiting for.
+ */
+public enum InboxKind {
+  REQUEST,
+  RENEWAL,
+  PURCHASE
+}
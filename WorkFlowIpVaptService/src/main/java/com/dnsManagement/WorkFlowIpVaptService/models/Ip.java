@@ -12,6 +12,9 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_ip_expiry_date", columnList = "expiry_date")
+})
 public class Ip {
 
   @Id
@@ -36,4 +39,8 @@ public class Ip {
   @Column(name = "is_active", nullable = false)
   private boolean isActive = false;
 
+  // The last expiry warning sent, in days before expiry; reset when the expiry date changes.
+  @Column(name = "last_notification_period_sent", nullable = true)
+  private Integer lastNotificationPeriodSent;
+
 }
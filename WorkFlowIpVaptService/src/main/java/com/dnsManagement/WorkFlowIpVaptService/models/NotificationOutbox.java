@@ -0,0 +1,67 @@
+package com.dnsManagement.WorkFlowIpVaptService.models;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A {@link NotificationWebhook} waiting to be delivered to notification-service.
+ * Rows are written in the same transaction as the state change they announce
+ * and drained by the notification outbox relay.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt",
+                columnList = "status, next_attempt_at")
+})
+public class NotificationOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "outbox_id")
+  private Long outboxId;
+
+  @NotNull
+  @Enumerated(EnumType.STRING)
+  @Column(name = "event_type", nullable = false)
+  private NotificationWebhook.EventType eventType;
+
+  @Column(name = "dm_id")
+  private Long domainNameId;
+
+  // Serialized NotificationWebhook, exactly what gets POSTed.
+  @NotNull
+  @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+  private String payload;
+
+  @NotNull
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private OutboxStatus status = OutboxStatus.PENDING;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  // When the row is next due. While a relay holds the row this is the end of its lease.
+  @NotNull
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @NotNull
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "sent_at")
+  private LocalDateTime sentAt;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+}
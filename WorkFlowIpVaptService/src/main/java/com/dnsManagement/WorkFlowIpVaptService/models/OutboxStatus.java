@@ -0,0 +1,7 @@
+package com.dnsManagement.WorkFlowIpVaptService.models;
+
+public enum OutboxStatus {
+  PENDING,
+  SENT,
+  DEAD
+}
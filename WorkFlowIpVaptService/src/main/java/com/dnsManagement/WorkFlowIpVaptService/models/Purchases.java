@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -39,7 +41,15 @@ public class Purchases {
   @Column(name = "purchase_type", nullable = false)
   private PurchaseType purchaseType;
 
-  @NotNull
-  @Column(name = "prf_of_purchase", nullable = false)
+  // Inline copy from before the blob store, null once BlobMigrationJob moved it out.
+  @Basic(fetch = FetchType.LAZY)
+  @JsonIgnore
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  @Column(name = "prf_of_purchase", nullable = true)
   private byte[] proofOfPurchase;
+
+  // SHA-256 of the proof in the BlobStore.
+  @Column(name = "prf_of_purchase_sha256", length = 64, nullable = true)
+  private String proofOfPurchaseSha256;
 }
@@ -0,0 +1,35 @@
+package com.dnsManagement.WorkFlowIpVaptService.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * How far a scheduled job got on a given run date. Keyset-chunked jobs store
+ * the highest id below which every chunk has committed, so a restarted run
+ * resumes there instead of rescanning from the start.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "scheduler_checkpoint")
+public class SchedulerCheckpoint {
+
+  @Id
+  @Column(name = "job_name", length = 100)
+  private String jobName;
+
+  @Column(name = "run_date", nullable = false)
+  private LocalDate runDate;
+
+  @Column(name = "last_id", nullable = false)
+  private Long lastId;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package com.dnsManagement.WorkFlowIpVaptService.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A time-limited claim by one service instance on a scheduled job. Only the
+ * owner of an unexpired lease runs the job; a lease its owner stopped
+ * renewing expires and is taken over by another instance.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+  @Id
+  @Column(name = "lease_name", length = 100)
+  private String leaseName;
+
+  @Column(name = "owner", nullable = false)
+  private String owner;
+
+  @Column(name = "acquired_at", nullable = false)
+  private LocalDateTime acquiredAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  // Day of the last run that finished, to spot runs abandoned half way.
+  @Column(name = "completed_on")
+  private LocalDate completedOn;
+
+  // Also makes a new lease an INSERT, so two instances cannot both create it.
+  @Version
+  @Column(name = "version")
+  private Long version;
+}
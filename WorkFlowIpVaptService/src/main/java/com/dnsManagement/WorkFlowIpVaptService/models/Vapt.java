@@ -1,10 +1,13 @@
 package com.dnsManagement.WorkFlowIpVaptService.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -12,6 +15,9 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_vapt_exp_date", columnList = "exp_date")
+})
 public class Vapt {
 
   @Id
@@ -30,14 +36,26 @@ public class Vapt {
   @Column(name = "vapt_certify_auth", nullable = false)
   private String vaptCertifyAuthority;
 
+  // Inline copy from before the blob store, null once BlobMigrationJob moved it out.
   @Lob
-  @NotNull
-  @Column(name = "prf_work", nullable = false)
+  @Basic(fetch = FetchType.LAZY)
+  @JsonIgnore
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  @Column(name = "prf_work", nullable = true)
   private byte[] proofOfWork;
 
+  // SHA-256 of the proof in the BlobStore.
+  @Column(name = "prf_work_sha256", length = 64, nullable = true)
+  private String proofOfWorkSha256;
+
   @Column(name = "vapt_remarks", nullable = true)
   private String vaptRemarks;
 
   @Column(name = "is_active", nullable = false)
   private boolean isActive = false;
+
+  // The last expiry warning sent, in days before expiry; reset when the expiry date changes.
+  @Column(name = "last_notification_period_sent", nullable = true)
+  private Integer lastNotificationPeriodSent;
 }
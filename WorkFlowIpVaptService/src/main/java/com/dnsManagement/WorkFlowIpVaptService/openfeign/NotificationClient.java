@@ -6,10 +6,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import java.util.List;
+
 @FeignClient(name = "notification-service")
 public interface NotificationClient {
 
   @PostMapping("/api/v1/notify/webhook")
   void sendNotification(@RequestHeader("X-Webhook-Secret") String token,
                         @RequestBody NotificationWebhook webhook);
+
+  /**
+   * Delivers several webhooks as one JSON array. Peers that do not expose
+   * the batch endpoint answer 404/405, see {@code NotificationBatcher}.
+   */
+  @PostMapping("/api/v1/notify/webhook/batch")
+  void sendNotifications(@RequestHeader("X-Webhook-Secret") String token,
+                         @RequestBody List<NotificationWebhook> webhooks);
 }
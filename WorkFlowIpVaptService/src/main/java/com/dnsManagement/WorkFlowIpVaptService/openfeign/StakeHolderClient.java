@@ -12,6 +12,7 @@ import jakarta.ws.rs.GET;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
 import java.util.List;
 
 @FeignClient(name = "user-management-service",fallbackFactory =
@@ -21,12 +22,22 @@ public interface StakeHolderClient {
   @GetMapping("/api/users/details/{role}/{empNo}")
   Object fetchStakeHolderDetails(@PathVariable String role, @PathVariable Long empNo);
 
+  @PostMapping("/api/users/details/{role}/bulk")
+  List<Object> fetchStakeHolderDetailsInBulk(@PathVariable String role,
+                                             @RequestBody Collection<Long> empNos);
+
   @GetMapping("/api/users/centre/{centreId}")
   Object fetchCentreDetails(@PathVariable Long centreId);
 
   @GetMapping("/api/users/group/{deptId}")
   Object fetchDepartmentDetails(@PathVariable Long deptId);
 
+  @GetMapping("/api/users/allcentres")
+  List<Object> fetchAllCentres();
+
+  @GetMapping("/api/users/allgroups")
+  List<Object> fetchAllDepartments();
+
 
   @RequestMapping(method = RequestMethod.PUT, value = "/api/update/users/{empNo}")
 //  @PatchMapping("/api/update/users/{empNo}")
@@ -0,0 +1,28 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.ApproverInbox;
+import com.dnsManagement.WorkFlowIpVaptService.models.InboxKind;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ApproverInboxRepo extends JpaRepository<ApproverInbox, Long> {
+
+  long countByEmpNoAndRoleAndKind(Long empNo, Role role, InboxKind kind);
+
+  /**
+   * @return {@code [InboxKind, Long]} for every kind the employee has
+   * something waiting for in the role.
+   */
+  @Query("""
+          SELECT ai.kind, COUNT(ai) FROM ApproverInbox ai
+          WHERE ai.empNo = :empNo AND ai.role = :role
+          GROUP BY ai.kind
+          """)
+  List<Object[]> countByKind(@Param("empNo") Long empNo, @Param("role") Role role);
+}
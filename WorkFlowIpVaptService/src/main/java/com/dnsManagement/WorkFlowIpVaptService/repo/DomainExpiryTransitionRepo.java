@@ -0,0 +1,130 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Moves expiring domains into their notification bucket with one
+ * {@code UPDATE ... RETURNING} statement per chunk (PostgreSQL only).
+ * <p>
+ * The statement works out how many days each domain in the window has left
+ * and the shortest notification period that covers it, keeps those that
+ * reached that period on a day from {@code since} to {@code today} and have
+ * not been notified for it yet, locks up to {@code limit} of them (skipping
+ * rows another worker holds), records the period, deactivates the domains
+ * that expired and returns just what the notification needs. Rows it
+ * updated no longer qualify, so callers simply repeat it until it returns
+ * nothing, from as many transactions in parallel as they like.
+ * </p>
+ * With {@code since} equal to {@code today} only the domains sitting
+ * exactly on a period qualify. An earlier {@code since} catches up on missed
+ * days, a domain that passed several periods meanwhile getting only the
+ * latest one.
+ */
+@Repository
+public class DomainExpiryTransitionRepo {
+
+  private static final Logger logger =
+          LoggerFactory.getLogger(DomainExpiryTransitionRepo.class);
+
+  private static final String TRANSITION_DUE_CHUNK = """
+          WITH due AS (
+              SELECT dn.dm_id, p.period
+              FROM domain_name dn
+              CROSS JOIN LATERAL (
+                  SELECT CAST(dn.expiry_date AS date) - CAST(:today AS date) AS days
+              ) d
+              CROSS JOIN LATERAL (
+                  SELECT MIN(period) AS period
+                  FROM unnest(ARRAY[:periods]) AS period
+                  WHERE period >= d.days
+              ) p
+              WHERE dn.expiry_date >= :windowStart AND dn.expiry_date < :windowEnd
+                AND p.period IS NOT NULL
+                AND d.days >= p.period - :lag
+                AND (dn.last_notification_period_sent IS NULL
+                     OR dn.last_notification_period_sent > p.period)
+              ORDER BY dn.dm_id
+              LIMIT :limit
+              FOR UPDATE OF dn SKIP LOCKED
+          )
+          UPDATE domain_name dn
+          SET last_notification_period_sent = due.period,
+              is_active = CASE WHEN due.period = 0 THEN false ELSE dn.is_active END
+          FROM due
+          WHERE dn.dm_id = due.dm_id
+          RETURNING dn.dm_id, dn.dm_name, dn.expiry_date, dn.drm_emp_no,
+                    dn.arm_emp_no, due.period AS days
+          """;
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final boolean supported;
+
+  @Autowired
+  public DomainExpiryTransitionRepo(NamedParameterJdbcTemplate jdbc, DataSource dataSource) {
+    this.jdbc = jdbc;
+    this.supported = isPostgres(dataSource);
+  }
+
+  private static boolean isPostgres(DataSource dataSource) {
+    try {
+      String product = JdbcUtils.extractDatabaseMetaData(dataSource,
+              DatabaseMetaData::getDatabaseProductName);
+      return "PostgreSQL".equals(product);
+    } catch (Exception e) {
+      logger.warn("Could not determine the database product, " +
+              "expiry transitions fall back to the keyset scan", e);
+      return false;
+    }
+  }
+
+  /**
+   * @return Whether the database understands {@link #transitionDueChunk}.
+   */
+  public boolean isSupported() {
+    return supported;
+  }
+
+  /**
+   * Transitions up to {@code limit} due domains, must run in a transaction.
+   *
+   * @param since   The first day not processed yet, {@code today} at the latest.
+   * @param today   The day the periods count from.
+   * @param periods The notification periods in days, e.g. 60, 30, 15 and 0.
+   * @return The domains transitioned, with the period each was put in.
+   */
+  public List<ExpiringDomainRow> transitionDueChunk(LocalDate since,
+                                                    LocalDate today,
+                                                    Collection<Integer> periods,
+                                                    int limit) {
+    int longest = periods.stream().mapToInt(Integer::intValue).max().orElse(0);
+    MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("today", today)
+            .addValue("lag", ChronoUnit.DAYS.between(since, today))
+            .addValue("windowStart", since.atStartOfDay())
+            .addValue("windowEnd", today.plusDays(longest + 1L).atStartOfDay())
+            .addValue("periods", periods)
+            .addValue("limit", limit);
+    return jdbc.query(TRANSITION_DUE_CHUNK, params, (rs, rowNum) -> new ExpiringDomainRow(
+            rs.getLong("dm_id"),
+            rs.getString("dm_name"),
+            rs.getObject("expiry_date", LocalDateTime.class),
+            rs.getLong("drm_emp_no"),
+            rs.getLong("arm_emp_no"),
+            rs.getInt("days")));
+  }
+}
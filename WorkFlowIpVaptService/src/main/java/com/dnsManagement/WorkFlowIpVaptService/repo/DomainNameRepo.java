@@ -1,63 +1,257 @@
 package com.dnsManagement.WorkFlowIpVaptService.repo;
 
 import com.dnsManagement.WorkFlowIpVaptService.dto.DomainNameDto;
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow;
 import com.dnsManagement.WorkFlowIpVaptService.dto.ViewDomainDBDto;
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
 import com.dnsManagement.WorkFlowIpVaptService.dto.PurchasePopulate;
+import jakarta.persistence.LockModeType;
 import jakarta.validation.constraints.Positive;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DomainNameRepo extends JpaRepository<DomainName, Long> {
+
+  /*
+   * The role dashboards, shared by their Page, Slice and count variants.
+   */
+
+  /**
+   * Every domain the employee holds a role on, for the view-domains page.
+   */
+  String VIEW_DOMAINS = """
+          SELECT dn.dm_id AS domainId,
+                 dm_name AS domainName,
+                 drm_emp_no AS drmEmpNo,
+                 expiry_date AS domainExpiryDate,
+                 is_active AS isActive,
+                 is_renewal AS isRenewal,
+                 is_del AS isDeleted,
+                 d_o_apl AS dateOfApplication
+          FROM domain_stakeholder ds
+          JOIN domain_name dn ON dn.dm_id = ds.dm_id
+          JOIN domain_verification dv ON dv.dm_id = dn.dm_id
+          WHERE ds.role = :role AND ds.emp_no = :empNo
+          """;
+
+  String VIEW_DOMAINS_COUNT = """
+          SELECT COUNT(*) FROM domain_stakeholder ds
+          JOIN domain_verification dv ON dv.dm_id = ds.dm_id
+          WHERE ds.role = :role AND ds.emp_no = :empNo
+          """;
+
+  /**
+   * Renewals waiting on the employee in the role.
+   */
+  String RENEWALS = """
+          SELECT dn.dm_id AS domainId,
+                 dm_name AS domainName,
+                 drm_emp_no AS drmEmpNo,
+                 arm_emp_no AS armEmpNo,
+                 d_o_apl AS dateOfApplication
+          FROM approver_inbox ai
+          JOIN domain_name dn ON dn.dm_id = ai.dm_id
+          WHERE ai.emp_no = :empNo AND ai.role = :role AND ai.kind = 'RENEWAL'
+          """;
+
+  String RENEWALS_COUNT = """
+          SELECT COUNT(*) FROM approver_inbox ai
+          WHERE ai.emp_no = :empNo AND ai.role = :role AND ai.kind = 'RENEWAL'
+          """;
+
+  /**
+   * Domain requests waiting on the employee in the role.
+   */
+  String REQUESTS = """
+          SELECT dn.dm_id AS domainId,
+                 dm_name AS domainName,
+                 drm_emp_no AS drmEmpNo,
+                 arm_emp_no AS armEmpNo,
+                 d_o_apl AS dateOfApplication
+          FROM approver_inbox ai
+          JOIN domain_name dn ON dn.dm_id = ai.dm_id
+          WHERE ai.emp_no = :empNo AND ai.role = :role AND ai.kind = 'REQUEST'
+          """;
+
+  String REQUESTS_COUNT = """
+          SELECT COUNT(*) FROM approver_inbox ai
+          WHERE ai.emp_no = :empNo AND ai.role = :role AND ai.kind = 'REQUEST'
+          """;
+
+  /**
+   * Approved domains waiting on the webmaster to buy them.
+   */
+  String PURCHASES = """
+          SELECT dn.dm_id AS domainId,
+                 dm_name AS domainName,
+                 drm_emp_no AS drmEmpNo,
+                 arm_emp_no AS armEmpNo,
+                 d_o_apl AS dateOfApplication
+          FROM approver_inbox ai
+          JOIN domain_name dn ON dn.dm_id = ai.dm_id
+          WHERE ai.emp_no = :webmasterId AND ai.role = 'WEBMASTER' AND ai.kind = 'PURCHASE'
+          """;
+
+  String PURCHASES_COUNT = """
+          SELECT COUNT(*) FROM approver_inbox ai
+          WHERE ai.emp_no = :webmasterId AND ai.role = 'WEBMASTER' AND ai.kind = 'PURCHASE'
+          """;
+
+  /**
+   * Active domains not under renewal the employee holds a role on, for the
+   * transfer and delete page. JPQL.
+   */
+  String ROLE_DOMAINS = """
+          SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow(
+                 dn.domainNameId, dn.domainName, dn.expiryDate, dn.drmEmployeeNumber,
+                 dn.armEmployeeNumber)
+          FROM DomainStakeholder ds
+          JOIN ds.domainName dn
+          WHERE ds.role = :role AND ds.empNo = :empNo
+          AND dn.isRenewal = false
+          AND dn.isActive = true
+          """;
+
 //  SELECT *
 //  FROM domains
 //  WHERE expiry_date BETWEEN NOW() AND NOW() + INTERVAL '60 days';
 //  dm_id,dm_name,arm_emp_no,expiry_date
 
 
-  @NativeQuery("select * from domain_name " +
-          "where drm_emp_no=:drmId and " +
-          "expiry_date between NOW() and NOW() + INTERVAL '60 days' and " +
-          "is_renewal=false")
-  Page<DomainName> findByDrmId(@Positive @Param("drmId")
-                               Long drmId,
-                               Pageable pageable,
-                               @Param("expiringDays")
-                               int expiringDays);
+  /**
+   * The DRM's domains expiring in {@code [from, to]} that are neither under
+   * renewal nor deleted. Served by {@code idx_domain_name_drm_renewable}.
+   */
+  @Query("SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow(" +
+          "dn.domainNameId, dn.domainName, dn.expiryDate, dn.drmEmployeeNumber, " +
+          "dn.armEmployeeNumber) " +
+          "FROM DomainName dn WHERE dn.drmEmployeeNumber = :drmId AND " +
+          "dn.expiryDate BETWEEN :from AND :to AND dn.isRenewal = false " +
+          "AND dn.isDeleted = false")
+  Page<ExpiringDomainRow> findByDrmId(@Positive @Param("drmId") Long drmId,
+                                      LocalDateTime from,
+                                      LocalDateTime to,
+                                      Pageable pageable);
+
+  @NativeQuery(value = VIEW_DOMAINS, countQuery = VIEW_DOMAINS_COUNT)
+  Page<ViewDomainDBDto> findAllDomainNameByRoleAndEmpNo(Long empNo,
+                                                        String role,
+                                                        Pageable pageable);
+
+  @NativeQuery(VIEW_DOMAINS)
+  Slice<ViewDomainDBDto> sliceAllDomainNameByRoleAndEmpNo(Long empNo, String role, Pageable pageable);
+
+  /*
+   * Cursor-paged variants of the role-scoped lists: the rows after
+   * (after, afterId) in (d_o_apl, dm_id) order, with no OFFSET and no
+   * COUNT. The limit is taken from the Pageable.
+   */
 
-  @Query(value = """
+  @NativeQuery("""
           SELECT dn.dm_id AS domainId,
                  dm_name AS domainName,
                  drm_emp_no AS drmEmpNo,
                  expiry_date AS domainExpiryDate,
                  is_active AS isActive,
                  is_renewal AS isRenewal,
-                 is_del AS isDeleted
-          FROM domain_name dn
+                 is_del AS isDeleted,
+                 d_o_apl AS dateOfApplication
+          FROM domain_stakeholder ds
+          JOIN domain_name dn ON dn.dm_id = ds.dm_id
           JOIN domain_verification dv ON dv.dm_id = dn.dm_id
-            AND (
-                (:role = 'DRM' AND dn.drm_emp_no = :empNo) OR
-                (:role = 'ARM' AND dn.arm_emp_no = :empNo) OR
-                (:role = 'HOD' AND dn.hod_emp_no = :empNo) OR
-                (:role = 'ED' AND dn.ed_emp_no = :empNo ) OR
-                (:role = 'NETOPS' AND dn.netops_emp_no = :empNo ) OR
-                (:role = 'WEBMASTER' AND dn.webmaster_emp_no = :empNo ) OR
-                (:role = 'HODHPC' AND dn.hod_hpc_emp_no = :empNo )
-            )
-          """, nativeQuery = true)
-  Page<ViewDomainDBDto> findAllDomainNameByRoleAndEmpNo(Long empNo,
-                                                        String role,
-                                                        Pageable pageable);
+          WHERE ds.role = :role AND ds.emp_no = :empNo
+            AND (dn.d_o_apl, dn.dm_id) > (:after, :afterId)
+          ORDER BY dn.d_o_apl, dn.dm_id
+          """)
+  List<ViewDomainDBDto> findAllDomainNameByRoleAndEmpNoAfter(Long empNo, String role, LocalDateTime after,
+                                                             long afterId, Pageable limit);
+
+  @NativeQuery(VIEW_DOMAINS_COUNT)
+  long countDomainNameByRoleAndEmpNo(Long empNo, String role);
+
+  @Query("""
+          SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow(
+                 dn.domainNameId, dn.domainName, dn.expiryDate, dn.drmEmployeeNumber,
+                 dn.armEmployeeNumber, dn.dateOfApplication)
+          FROM DomainStakeholder ds
+          JOIN ds.domainName dn
+          WHERE ds.role = :role AND ds.empNo = :empNo
+          AND dn.isRenewal = false
+          AND dn.isActive = true
+            AND (dn.dateOfApplication, dn.domainNameId) > (:after, :afterId)
+          ORDER BY dn.dateOfApplication, dn.domainNameId
+          """)
+  List<ExpiringDomainRow> findAllByRoleAndIdAfter(Long empNo, Role role, LocalDateTime after,
+                                                  long afterId, Pageable limit);
+
+  @Query("""
+          SELECT COUNT(ds) FROM DomainStakeholder ds
+          JOIN ds.domainName dn
+          WHERE ds.role = :role AND ds.empNo = :empNo
+          AND dn.isRenewal = false
+          AND dn.isActive = true
+          """)
+  long countAllByRoleAndId(Long empNo, Role role);
+
+  @NativeQuery("""
+          SELECT dn.dm_id AS domainId,
+                 dm_name AS domainName,
+                 drm_emp_no AS drmEmpNo,
+                 arm_emp_no AS armEmpNo,
+                 d_o_apl AS dateOfApplication
+          FROM approver_inbox ai
+          JOIN domain_name dn ON dn.dm_id = ai.dm_id
+          WHERE ai.emp_no = :empNo AND ai.role = :role AND ai.kind = 'RENEWAL'
+            AND (dn.d_o_apl, dn.dm_id) > (:after, :afterId)
+          ORDER BY dn.d_o_apl, dn.dm_id
+          """)
+  List<DomainNameDto> findDomainRenewalsByRoleAndEmpNoAfter(Long empNo, String role, LocalDateTime after,
+                              long afterId, Pageable limit);
+
+  @NativeQuery("""
+          SELECT dn.dm_id AS domainId,
+                 dm_name AS domainName,
+                 drm_emp_no AS drmEmpNo,
+                 arm_emp_no AS armEmpNo,
+                 d_o_apl AS dateOfApplication
+          FROM approver_inbox ai
+          JOIN domain_name dn ON dn.dm_id = ai.dm_id
+          WHERE ai.emp_no = :empNo AND ai.role = :role AND ai.kind = 'REQUEST'
+            AND (dn.d_o_apl, dn.dm_id) > (:after, :afterId)
+          ORDER BY dn.d_o_apl, dn.dm_id
+          """)
+  List<DomainNameDto> findAllDomainRequestsByRoleAndEmpNoAfter(Long empNo, String role, LocalDateTime after,
+                              long afterId, Pageable limit);
+
+  @NativeQuery("""
+          SELECT dn.dm_id AS domainId,
+                 dm_name AS domainName,
+                 drm_emp_no AS drmEmpNo,
+                 arm_emp_no AS armEmpNo,
+                 d_o_apl AS dateOfApplication
+          FROM approver_inbox ai
+          JOIN domain_name dn ON dn.dm_id = ai.dm_id
+          WHERE ai.emp_no = :webmasterId AND ai.role = 'WEBMASTER' AND ai.kind = 'PURCHASE'
+            AND (dn.d_o_apl, dn.dm_id) > (:after, :afterId)
+          ORDER BY dn.d_o_apl, dn.dm_id
+          """)
+  List<DomainNameDto> findDomainToPurchaseByWebmasterIdAfter(Long webmasterId, LocalDateTime after,
+                              long afterId, Pageable limit);
 
   @NativeQuery("select dn.dm_id as domainId,dm_name as domainName,drm_emp_no " +
           "as " +
@@ -74,122 +268,143 @@ public interface DomainNameRepo extends JpaRepository<DomainName, Long> {
   Optional<DomainName> findByDomainNameId(@Positive Long domainId);
 
 
-  @Query(value = """
-          SELECT dn.dm_id AS domainId,
-                 dm_name AS domainName,
-                 drm_emp_no AS drmEmpNo,
-                 arm_emp_no AS armEmpNo,
-                 d_o_apl AS dateOfApplication
-          FROM domain_name dn
-          JOIN domain_verification dv ON dv.dm_id = dn.dm_id
-          WHERE dn.is_renewal = true
-            AND (
-            
-                (:role = 'ARM' AND dn.arm_emp_no = :empNo AND dv.fwd_arm = false) OR
-                (:role = 'HOD' AND dn.hod_emp_no = :empNo AND dv.vfyd_by_hod = false AND dv.fwd_arm = true) OR
-                (:role = 'ED' AND dn.ed_emp_no = :empNo AND dv.vfy_by_ed = false AND dv.vfyd_by_hod = true) OR
-                (:role = 'NETOPS' AND dn.netops_emp_no = :empNo AND dv.vfy_by_netops = false AND dv.vfy_by_ed = true) OR
-                (:role = 'WEBMASTER' AND dn.webmaster_emp_no = :empNo AND dv.vfy_by_wbmstr = false AND dv.vfy_by_netops = true) OR
-                (:role = 'HODHPC' AND dn.hod_hpc_emp_no = :empNo AND dv.vfy_by_hod_hpc_iand_e = false AND dv.vfy_by_wbmstr = true)
-            )
-          """, nativeQuery = true)
+  // Approver dashboards page through the queue kept by ApproverInboxService.
+  @NativeQuery(value = RENEWALS, countQuery = RENEWALS_COUNT)
   Page<DomainNameDto> findDomainRenewalsByRoleAndEmpNo(
           @Param("role") String role,
           @Param("empNo") Long empNo, Pageable pageable);
 
+  @NativeQuery(RENEWALS)
+  Slice<DomainNameDto> sliceDomainRenewalsByRoleAndEmpNo(
+          @Param("role") String role,
+          @Param("empNo") Long empNo, Pageable pageable);
 
 
-  @Query(value = """
-          SELECT dn.dm_id AS domainId,
-                 dm_name AS domainName,
-                 drm_emp_no AS drmEmpNo,
-                 arm_emp_no AS armEmpNo,
-                 d_o_apl AS dateOfApplication
-          FROM domain_name dn
-          JOIN domain_verification dv ON dv.dm_id = dn.dm_id
-          WHERE dn.is_renewal = false 
-          AND dn.is_active = false 
-            AND (
-            (:role = 'ARM' AND dn.arm_emp_no = :empNo AND dv.fwd_arm = false) OR
-                (:role = 'HOD' AND dn.hod_emp_no = :empNo AND dv.vfyd_by_hod = false AND dv.fwd_arm = true) OR
-                (:role = 'ED' AND dn.ed_emp_no = :empNo AND dv.vfy_by_ed = false AND dv.vfyd_by_hod = true) OR
-                (:role = 'NETOPS' AND dn.netops_emp_no = :empNo AND dv.vfy_by_netops = false AND dv.vfy_by_ed = true) OR
-                (:role = 'WEBMASTER' AND dn.webmaster_emp_no = :empNo AND dv.vfy_by_wbmstr = false AND dv.vfy_by_netops = true) OR
-                (:role = 'HODHPC' AND dn.hod_hpc_emp_no = :empNo AND dv.vfy_by_hod_hpc_iand_e = false AND dv.vfy_by_wbmstr = true)
-            )
-          """, nativeQuery = true)
+
+  @NativeQuery(value = REQUESTS, countQuery = REQUESTS_COUNT)
   Page<DomainNameDto> findAllDomainRequestsByRoleAndEmpNo(Long empNo,
                                                           String role, Pageable pageable);
 
+  @NativeQuery(REQUESTS)
+  Slice<DomainNameDto> sliceAllDomainRequestsByRoleAndEmpNo(Long empNo,
+                                                            String role, Pageable pageable);
 
 
 
 
-  //USED BY TRANSFER_DELETE PAGE VIEW
-  @Query(value = """
-          SELECT dn.*
-          FROM domain_name dn
-          WHERE dn.is_renewal = false 
-          AND dn.is_active = true
-            AND (
-                (:role = 'DRM' AND dn.drm_emp_no = :empNo ) OR
-                (:role = 'ARM' AND dn.arm_emp_no = :empNo ) OR
-            
-                (:role = 'HOD' AND dn.hod_emp_no = :empNo ) OR
-                (:role = 'ED' AND dn.ed_emp_no = :empNo ) OR
-                (:role = 'NETOPS' AND dn.netops_emp_no = :empNo ) OR
-                (:role = 'WEBMASTER' AND dn.webmaster_emp_no = :empNo ) OR
-                (:role = 'HODHPC' AND dn.hod_hpc_emp_no = :empNo )
-            )
-          """, nativeQuery = true)
-  Page<DomainName> findAllByRoleAndId(@Param("empNo") Long empNo,
-                                      @Param("role") String role, Pageable pageable);
-
-
-
 
+  //USED BY TRANSFER_DELETE PAGE VIEW
+  @Query(ROLE_DOMAINS)
+  Page<ExpiringDomainRow> findAllByRoleAndId(@Param("empNo") Long empNo,
+                                             @Param("role") Role role, Pageable pageable);
 
+  @Query(ROLE_DOMAINS)
+  Slice<ExpiringDomainRow> sliceAllByRoleAndId(@Param("empNo") Long empNo,
+                                               @Param("role") Role role, Pageable pageable);
 
-  @Query(value = """
-          SELECT dn.dm_id AS domainId,
-                 dm_name AS domainName,
-                 drm_emp_no AS drmEmpNo,
-                 arm_emp_no AS armEmpNo,
-                 d_o_apl AS dateOfApplication
-          FROM domain_name dn
-          JOIN domain_verification dv ON dv.dm_id = dn.dm_id
-          WHERE dv.is_verified = true 
-          AND (dn.is_active = false OR dn.is_renewal = true) 
-            AND 
-          (dn.webmaster_emp_no = :webmasterId) 
-          """, nativeQuery = true)
+  @NativeQuery(value = PURCHASES, countQuery = PURCHASES_COUNT)
   Page<DomainNameDto> findDomainToPurchaseByWebmasterId(Long webmasterId,
                                                      Pageable pageable);
 
-
-  @Query("SELECT dn from DomainName dn WHERE dn.expiryDate IS NOT NULL AND dn" +
-          ".expiryDate >= :targetExpirationDateStart AND " +
+  @NativeQuery(PURCHASES)
+  Slice<DomainNameDto> sliceDomainToPurchaseByWebmasterId(Long webmasterId,
+                                                       Pageable pageable);
+
+
+  /**
+   * One keyset chunk of the domains expiring in the given window that have
+   * not been notified for {@code daysUntilExpiration} yet, in id order and
+   * starting after {@code afterId}.
+   */
+  @Query("SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow(" +
+          "dn.domainNameId, dn.domainName, dn.expiryDate, dn.drmEmployeeNumber, " +
+          "dn.armEmployeeNumber) " +
+          "FROM DomainName dn WHERE dn.expiryDate IS NOT NULL AND " +
+          "dn.expiryDate >= :targetExpirationDateStart AND " +
           "dn.expiryDate < :targetExpirationDateEnd AND " +
           "(dn.lastNotificationDateSentForDays IS NULL OR dn" +
-          ".lastNotificationDateSentForDays>:daysUntilExpiration)")
-  List<DomainName> findByExpirationDateAndNotificationNeeded(
+          ".lastNotificationDateSentForDays>:daysUntilExpiration) AND " +
+          "dn.domainNameId > :afterId ORDER BY dn.domainNameId")
+  List<ExpiringDomainRow> findExpiringChunk(
           LocalDateTime targetExpirationDateStart,
           LocalDateTime targetExpirationDateEnd,
-          int daysUntilExpiration);
-
-
-
-  @NativeQuery("SELECT * FROM domain_name " +
-          "WHERE drm_emp_no = :drmId " +
-          "AND CAST(expiry_date AS date) = (CURRENT_DATE + :expiringDays) " + //
-          // Corrected logic for PostgreSQL
-          "AND is_renewal = false")
-  Page<DomainName> findExpiringDomainsByDaysAndDrmId(@Positive Long drmId, Pageable pageable, int expiringDays);
+          int daysUntilExpiration,
+          long afterId,
+          Pageable chunk);
+
+  /**
+   * Active domains expiring from {@code from} until before {@code to} that
+   * still have a notification to go, for the expiry timer. Served by
+   * {@code idx_domain_name_live_expiry}.
+   */
+  @Query("SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow(" +
+          "dn.domainNameId, dn.domainName, dn.expiryDate, dn.drmEmployeeNumber, " +
+          "dn.armEmployeeNumber) " +
+          "FROM DomainName dn WHERE dn.expiryDate >= :from AND dn.expiryDate < :to " +
+          "AND dn.isActive = true AND dn.isDeleted = false AND " +
+          "(dn.lastNotificationDateSentForDays IS NULL OR dn.lastNotificationDateSentForDays > 0)")
+  List<ExpiringDomainRow> findExpiryTimerRows(LocalDateTime from, LocalDateTime to);
+
+  @Query("SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow(" +
+          "dn.domainNameId, dn.domainName, dn.expiryDate, dn.drmEmployeeNumber, " +
+          "dn.armEmployeeNumber) " +
+          "FROM DomainName dn WHERE dn.domainNameId IN :ids AND dn.isDeleted = false")
+  List<ExpiringDomainRow> findExpiryTimerRowsByIds(Collection<Long> ids);
+
+  /**
+   * Locks those of the given domains that still need the notification for
+   * {@code daysUntilExpiration} and returns their ids.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT dn.domainNameId FROM DomainName dn " +
+          "WHERE dn.domainNameId IN :ids AND " +
+          "(dn.lastNotificationDateSentForDays IS NULL OR dn" +
+          ".lastNotificationDateSentForDays>:daysUntilExpiration)")
+  List<Long> lockExpiryNotificationPending(List<Long> ids, int daysUntilExpiration);
+
+  /**
+   * Records that the domains were notified for {@code daysUntilExpiration}
+   * and deactivates them when that is the day they expire.
+   */
+  @Modifying
+  @Query("UPDATE DomainName dn SET " +
+          "dn.lastNotificationDateSentForDays = :daysUntilExpiration, " +
+          "dn.isActive = CASE WHEN :daysUntilExpiration = 0 THEN false " +
+          "ELSE dn.isActive END " +
+          "WHERE dn.domainNameId IN :ids")
+  int markExpiryNotified(List<Long> ids, int daysUntilExpiration);
+
+
+
+  /**
+   * The DRM's domains expiring on the day that starts at {@code day},
+   * neither under renewal nor deleted. A range rather than a cast of
+   * {@code expiry_date}, so it can use {@code idx_domain_name_drm_renewable}.
+   */
+  @Query("SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow(" +
+          "dn.domainNameId, dn.domainName, dn.expiryDate, dn.drmEmployeeNumber, " +
+          "dn.armEmployeeNumber) " +
+          "FROM DomainName dn WHERE dn.drmEmployeeNumber = :drmId AND " +
+          "dn.expiryDate >= :day AND dn.expiryDate < :nextDay AND dn.isRenewal = false " +
+          "AND dn.isDeleted = false")
+  Page<ExpiringDomainRow> findExpiringDomainsByDayAndDrmId(@Positive Long drmId,
+                                                           LocalDateTime day,
+                                                           LocalDateTime nextDay,
+                                                           Pageable pageable);
 
 
   @Query("SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.PurchasePopulate(dm.isRenewal, dm.periodInYears) " +
           "FROM DomainName dm " +
           "WHERE dm.domainNameId = :domainId")
   PurchasePopulate getPurchasePopulateByDomainId(@Param("domainId") @Positive Long domainId);
-}
 
+  /**
+   * One keyset chunk of the domains whose proof is still stored inline, for
+   * BlobMigrationJob.
+   */
+  @Query("SELECT dm.domainNameId FROM DomainName dm " +
+          "WHERE dm.approvalProofVaptCompletionStatus IS NOT NULL " +
+          "AND dm.approvalProofVaptCompletionStatusSha256 IS NULL " +
+          "AND dm.domainNameId > :afterId ORDER BY dm.domainNameId")
+  List<Long> findInlineProofIds(long afterId, Pageable chunk);
+}
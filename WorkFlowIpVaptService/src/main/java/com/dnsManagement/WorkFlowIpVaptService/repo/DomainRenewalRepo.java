@@ -2,14 +2,25 @@ package com.dnsManagement.WorkFlowIpVaptService.repo;
 
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainRenewal;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DomainRenewalRepo extends JpaRepository<DomainRenewal,Long> {
   @NativeQuery("select * from domain_renewal where dm_id=:dmId")
   Optional<DomainRenewal> findByDomainId(Long dmId);
+
+  /**
+   * One keyset chunk of the renewals whose proof is still stored inline, for
+   * BlobMigrationJob.
+   */
+  @Query("SELECT r.renewalId FROM DomainRenewal r WHERE r.approvalProofByHod IS NOT NULL " +
+          "AND r.approvalProofByHodSha256 IS NULL AND r.renewalId > :afterId ORDER BY r.renewalId")
+  List<Long> findInlineProofIds(long afterId, Pageable chunk);
 }
@@ -0,0 +1,31 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainStakeholder;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DomainStakeholderRepo extends JpaRepository<DomainStakeholder, DomainStakeholder.Key> {
+
+  List<DomainStakeholder> findByDomainId(Long domainId);
+
+  /**
+   * @return Whether {@code empNo} holds {@code role} on a domain whose own,
+   * renewal, purchase or VAPT proof is stored under {@code sha256}.
+   */
+  @Query("SELECT COUNT(ds) > 0 FROM DomainStakeholder ds " +
+          "WHERE ds.role = :role AND ds.empNo = :empNo AND (" +
+          "ds.domainId IN (SELECT dn.domainNameId FROM DomainName dn " +
+          "WHERE dn.approvalProofVaptCompletionStatusSha256 = :sha256) " +
+          "OR ds.domainId IN (SELECT r.domainName.domainNameId FROM DomainRenewal r " +
+          "WHERE r.approvalProofByHodSha256 = :sha256) " +
+          "OR ds.domainId IN (SELECT p.domainName.domainNameId FROM Purchases p " +
+          "WHERE p.proofOfPurchaseSha256 = :sha256) " +
+          "OR ds.domainId IN (SELECT v.ip.domainName.domainNameId FROM Vapt v " +
+          "WHERE v.proofOfWorkSha256 = :sha256))")
+  boolean canReadProof(Role role, Long empNo, String sha256);
+}
@@ -1,17 +1,41 @@
 package com.dnsManagement.WorkFlowIpVaptService.repo;
 
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringAsset;
+import com.dnsManagement.WorkFlowIpVaptService.dto.IpAssignment;
+import com.dnsManagement.WorkFlowIpVaptService.dto.IpResponse;
 import com.dnsManagement.WorkFlowIpVaptService.models.Ip;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface IpRepo extends JpaRepository<Ip,Integer> {
+
+  String SELECT_EXPIRING_IP = "SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringAsset(" +
+          "com.dnsManagement.WorkFlowIpVaptService.models.AssetType.IP, i.ipId, i.ipAddress, " +
+          "i.expiryDate, d.domainNameId, d.domainName, d.drmEmployeeNumber, d.armEmployeeNumber) " +
+          "FROM Ip i JOIN i.domainName d ";
+
+  // Reads the domain id off the foreign key, so DomainName and its LOBs are never loaded.
+  String SELECT_IP_RESPONSE = "SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.IpResponse(" +
+          "i.ipId, i.ipAddress, i.ipIssuer, i.expiryDate, i.domainName.domainNameId, i.isActive) " +
+          "FROM Ip i ";
+
   @NativeQuery("select * from ip where ip_id=:ipId")
   Optional<Ip> findByIpId(@Positive Long ipId);
 
@@ -19,6 +43,66 @@ public interface IpRepo extends JpaRepository<Ip,Integer> {
   Optional<Ip> findByDomainId(Long dmId);
 
 
-  @Query("SELECT DISTINCT i.ipAddress from Ip i")
-  Set<String> findAllIpAddress();
+  /**
+   * Every IP record's id and address, fetched a batch at a time; must be
+   * consumed inside a transaction and closed.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.IpAssignment(i.ipId, i.ipAddress) FROM Ip i")
+  Stream<IpAssignment> streamAllAssignments();
+
+  boolean existsByIpAddress(String ipAddress);
+
+  /**
+   * Every IP without its domain, in id order, fetched a batch at a time;
+   * must be consumed inside a transaction and closed.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(SELECT_IP_RESPONSE + "ORDER BY i.ipId")
+  Stream<IpResponse> streamAllIpResponses();
+
+  /**
+   * The IPs after {@code afterId} in id order, without their domain.
+   */
+  @Query(SELECT_IP_RESPONSE + "WHERE i.ipId > :afterId ORDER BY i.ipId")
+  List<IpResponse> findPageAfter(long afterId, Pageable page);
+
+  /**
+   * IPs of live domains expiring in {@code [from, to)}, soonest first.
+   * Served by the {@code expiry_date} index.
+   */
+  @Query(value = SELECT_EXPIRING_IP +
+          "WHERE i.expiryDate >= :from AND i.expiryDate < :to AND d.isDeleted = false " +
+          "ORDER BY i.expiryDate, i.ipId",
+          countQuery = "SELECT COUNT(i) FROM Ip i JOIN i.domainName d " +
+                  "WHERE i.expiryDate >= :from AND i.expiryDate < :to AND d.isDeleted = false")
+  Page<ExpiringAsset> findExpiring(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+  /**
+   * One keyset chunk of the IPs expiring in the given window that have not
+   * been notified for {@code daysUntilExpiration} yet, in id order and
+   * starting after {@code afterId}.
+   */
+  @Query(SELECT_EXPIRING_IP +
+          "WHERE i.expiryDate >= :start AND i.expiryDate < :end AND d.isDeleted = false AND " +
+          "(i.lastNotificationPeriodSent IS NULL OR i.lastNotificationPeriodSent > :daysUntilExpiration) AND " +
+          "i.ipId > :afterId ORDER BY i.ipId")
+  List<ExpiringAsset> findExpiringChunk(LocalDateTime start,
+                                        LocalDateTime end,
+                                        int daysUntilExpiration,
+                                        long afterId,
+                                        Pageable chunk);
+
+  /**
+   * Locks those of the given IPs that still need the notification for
+   * {@code daysUntilExpiration} and returns their ids.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT i.ipId FROM Ip i WHERE i.ipId IN :ids AND " +
+          "(i.lastNotificationPeriodSent IS NULL OR i.lastNotificationPeriodSent > :daysUntilExpiration)")
+  List<Long> lockExpiryNotificationPending(List<Long> ids, int daysUntilExpiration);
+
+  @Modifying
+  @Query("UPDATE Ip i SET i.lastNotificationPeriodSent = :daysUntilExpiration WHERE i.ipId IN :ids")
+  int markExpiryNotified(List<Long> ids, int daysUntilExpiration);
 }
@@ -0,0 +1,48 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.NotificationOutbox;
+import com.dnsManagement.WorkFlowIpVaptService.models.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepo extends JpaRepository<NotificationOutbox, Long> {
+
+  /**
+   * Locks the oldest due rows, skipping rows another relay instance has
+   * already locked ({@code FOR UPDATE SKIP LOCKED} on PostgreSQL).
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT o FROM NotificationOutbox o " +
+          "WHERE o.status = :status AND o.nextAttemptAt <= :now " +
+          "ORDER BY o.nextAttemptAt, o.outboxId")
+  List<NotificationOutbox> findDueForUpdate(@Param("status") OutboxStatus status,
+                                            @Param("now") LocalDateTime now,
+                                            Pageable limit);
+
+  Page<NotificationOutbox> findByStatus(OutboxStatus status, Pageable pageable);
+
+  long countByStatus(OutboxStatus status);
+
+  @Modifying
+  @Query("UPDATE NotificationOutbox o SET o.status = :pending, " +
+          "o.attempts = 0, o.nextAttemptAt = :now, o.lastError = NULL " +
+          "WHERE o.status = :dead AND (:id IS NULL OR o.outboxId = :id)")
+  int replayDead(@Param("id") Long outboxId,
+                 @Param("pending") OutboxStatus pending,
+                 @Param("dead") OutboxStatus dead,
+                 @Param("now") LocalDateTime now);
+}
@@ -1,9 +1,21 @@
 package com.dnsManagement.WorkFlowIpVaptService.repo;
 
 import com.dnsManagement.WorkFlowIpVaptService.models.Purchases;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface PurchasesRepo extends JpaRepository<Purchases,Long> {
+
+  /**
+   * One keyset chunk of the purchases whose proof is still stored inline, for
+   * BlobMigrationJob.
+   */
+  @Query("SELECT p.purchaseId FROM Purchases p WHERE p.proofOfPurchase IS NOT NULL " +
+          "AND p.proofOfPurchaseSha256 IS NULL AND p.purchaseId > :afterId ORDER BY p.purchaseId")
+  List<Long> findInlineProofIds(long afterId, Pageable chunk);
 }
@@ -0,0 +1,9 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.SchedulerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerCheckpointRepo extends JpaRepository<SchedulerCheckpoint, String> {
+}
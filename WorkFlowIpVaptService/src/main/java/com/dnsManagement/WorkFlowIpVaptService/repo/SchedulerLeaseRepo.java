@@ -0,0 +1,39 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepo extends JpaRepository<SchedulerLease, String> {
+
+  /**
+   * Claims the lease if {@code owner} already holds it or it has expired.
+   *
+   * @return 1 if the lease is now held by {@code owner}, 0 otherwise.
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.acquiredAt = :now, " +
+          "l.expiresAt = :expiresAt " +
+          "WHERE l.leaseName = :leaseName AND (l.owner = :owner OR l.expiresAt < :now)")
+  int claim(String leaseName, String owner, LocalDateTime now, LocalDateTime expiresAt);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE SchedulerLease l SET l.expiresAt = :expiresAt " +
+          "WHERE l.leaseName = :leaseName AND l.owner = :owner")
+  int renew(String leaseName, String owner, LocalDateTime expiresAt);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE SchedulerLease l SET l.completedOn = :completedOn " +
+          "WHERE l.leaseName = :leaseName AND l.owner = :owner")
+  int markCompleted(String leaseName, String owner, LocalDate completedOn);
+}
@@ -1,15 +1,76 @@
 package com.dnsManagement.WorkFlowIpVaptService.repo;
 
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringAsset;
 import com.dnsManagement.WorkFlowIpVaptService.models.Vapt;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VaptRepo extends JpaRepository<Vapt,Long> {
 
+  String SELECT_EXPIRING_VAPT = "SELECT new com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringAsset(" +
+          "com.dnsManagement.WorkFlowIpVaptService.models.AssetType.VAPT, v.vaptId, i.ipAddress, " +
+          "v.expiryDate, d.domainNameId, d.domainName, d.drmEmployeeNumber, d.armEmployeeNumber) " +
+          "FROM Vapt v JOIN v.ip i JOIN i.domainName d ";
+
   @NativeQuery("select * from vapt where ip_id=:ipId")
   Optional<Vapt> findByIpId(Long ipId);
+
+  /**
+   * VAPT certificates of live domains expiring in {@code [from, to)},
+   * soonest first. Served by the {@code exp_date} index.
+   */
+  @Query(value = SELECT_EXPIRING_VAPT +
+          "WHERE v.expiryDate >= :from AND v.expiryDate < :to AND d.isDeleted = false " +
+          "ORDER BY v.expiryDate, v.vaptId",
+          countQuery = "SELECT COUNT(v) FROM Vapt v JOIN v.ip i JOIN i.domainName d " +
+                  "WHERE v.expiryDate >= :from AND v.expiryDate < :to AND d.isDeleted = false")
+  Page<ExpiringAsset> findExpiring(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+  /**
+   * One keyset chunk of the VAPT certificates expiring in the given window
+   * that have not been notified for {@code daysUntilExpiration} yet, in id
+   * order and starting after {@code afterId}.
+   */
+  @Query(SELECT_EXPIRING_VAPT +
+          "WHERE v.expiryDate >= :start AND v.expiryDate < :end AND d.isDeleted = false AND " +
+          "(v.lastNotificationPeriodSent IS NULL OR v.lastNotificationPeriodSent > :daysUntilExpiration) AND " +
+          "v.vaptId > :afterId ORDER BY v.vaptId")
+  List<ExpiringAsset> findExpiringChunk(LocalDateTime start,
+                                        LocalDateTime end,
+                                        int daysUntilExpiration,
+                                        long afterId,
+                                        Pageable chunk);
+
+  /**
+   * Locks those of the given VAPT certificates that still need the
+   * notification for {@code daysUntilExpiration} and returns their ids.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT v.vaptId FROM Vapt v WHERE v.vaptId IN :ids AND " +
+          "(v.lastNotificationPeriodSent IS NULL OR v.lastNotificationPeriodSent > :daysUntilExpiration)")
+  List<Long> lockExpiryNotificationPending(List<Long> ids, int daysUntilExpiration);
+
+  @Modifying
+  @Query("UPDATE Vapt v SET v.lastNotificationPeriodSent = :daysUntilExpiration WHERE v.vaptId IN :ids")
+  int markExpiryNotified(List<Long> ids, int daysUntilExpiration);
+
+  /**
+   * One keyset chunk of the VAPT certificates whose proof is still stored inline, for
+   * BlobMigrationJob.
+   */
+  @Query("SELECT v.vaptId FROM Vapt v WHERE v.proofOfWork IS NOT NULL " +
+          "AND v.proofOfWorkSha256 IS NULL AND v.vaptId > :afterId ORDER BY v.vaptId")
+  List<Long> findInlineProofIds(long afterId, Pageable chunk);
 }
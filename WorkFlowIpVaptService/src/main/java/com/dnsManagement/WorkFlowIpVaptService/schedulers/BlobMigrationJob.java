@@ -0,0 +1,187 @@
+package com.dnsManagement.WorkFlowIpVaptService.schedulers;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.BlobStore;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainRenewal;
+import com.dnsManagement.WorkFlowIpVaptService.models.Purchases;
+import com.dnsManagement.WorkFlowIpVaptService.models.Vapt;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainRenewalRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.PurchasesRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.VaptRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Moves the proof documents still stored inline in the tables into the
+ * {@link BlobStore}, leaving their SHA-256 in the row.
+ * <p>
+ * Every {@code blob-store.migration.interval} it works through each table
+ * in id order, {@code blob-store.migration.batch-size} rows at a time and at
+ * most {@code blob-store.migration.max-batches-per-run} batches per table,
+ * each row in its own short transaction so the job never holds more than
+ * one document in memory or a lock for long. A row is only moved while it
+ * has no reference yet, so instances running the job side by side, or a
+ * request replacing the proof meanwhile, are harmless. Moved documents are
+ * counted under {@code blob.migration.moved}. Once every table is done the
+ * job finds nothing to do and costs one indexed query per table.
+ * </p>
+ * Disabled with {@code blob-store.migration.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "blob-store.migration.enabled", havingValue = "true", matchIfMissing = true)
+public class BlobMigrationJob {
+
+  private static final Logger logger = LoggerFactory.getLogger(BlobMigrationJob.class);
+
+  /**
+   * One table with inline proofs: how to find the rows still to move, load
+   * one, read its inline proof and replace it by a reference.
+   */
+  private record InlineProofs<E>(String what,
+                                 BiFunction<Long, Pageable, List<Long>> pendingIds,
+                                 Function<Long, Optional<E>> find,
+                                 Function<E, byte[]> inline,
+                                 Function<E, String> reference,
+                                 BiConsumer<E, String> moveOut) {
+  }
+
+  private final BlobStore blobStore;
+  private final TransactionTemplate transaction;
+  private final MeterRegistry meterRegistry;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+  private final List<InlineProofs<?>> tables;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  @Autowired
+  public BlobMigrationJob(BlobStore blobStore,
+                          DomainNameRepo domainNameRepo,
+                          VaptRepo vaptRepo,
+                          PurchasesRepo purchasesRepo,
+                          DomainRenewalRepo domainRenewalRepo,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${blob-store.migration.batch-size:50}") int batchSize,
+                          @Value("${blob-store.migration.max-batches-per-run:20}") int maxBatchesPerRun) {
+    this.blobStore = blobStore;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.meterRegistry = meterRegistry;
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    this.tables = List.of(
+            new InlineProofs<>("domain_name", domainNameRepo::findInlineProofIds, domainNameRepo::findById,
+                    DomainName::getApprovalProofVaptCompletionStatus,
+                    DomainName::getApprovalProofVaptCompletionStatusSha256,
+                    (domain, sha256) -> {
+                      domain.setApprovalProofVaptCompletionStatusSha256(sha256);
+                      domain.setApprovalProofVaptCompletionStatus(null);
+                    }),
+            new InlineProofs<>("vapt", vaptRepo::findInlineProofIds, vaptRepo::findById,
+                    Vapt::getProofOfWork, Vapt::getProofOfWorkSha256,
+                    (vapt, sha256) -> {
+                      vapt.setProofOfWorkSha256(sha256);
+                      vapt.setProofOfWork(null);
+                    }),
+            new InlineProofs<>("purchases", purchasesRepo::findInlineProofIds, purchasesRepo::findById,
+                    Purchases::getProofOfPurchase, Purchases::getProofOfPurchaseSha256,
+                    (purchase, sha256) -> {
+                      purchase.setProofOfPurchaseSha256(sha256);
+                      purchase.setProofOfPurchase(null);
+                    }),
+            new InlineProofs<>("domain_renewal", domainRenewalRepo::findInlineProofIds, domainRenewalRepo::findById,
+                    DomainRenewal::getApprovalProofByHod, DomainRenewal::getApprovalProofByHodSha256,
+                    (renewal, sha256) -> {
+                      renewal.setApprovalProofByHodSha256(sha256);
+                      renewal.setApprovalProofByHod(null);
+                    }));
+  }
+
+  @Scheduled(fixedDelayString = "${blob-store.migration.interval:1m}",
+          initialDelayString = "${blob-store.migration.interval:1m}")
+  public void migrate() {
+    if (!running.compareAndSet(false, true))
+      return;
+    try {
+      for (InlineProofs<?> table : tables)
+        migrate(table);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  /**
+   * @return How many proofs of the table were moved out.
+   */
+  private <E> int migrate(InlineProofs<E> table) {
+    int moved = 0;
+    long afterId = 0;
+    for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+      List<Long> ids = table.pendingIds().apply(afterId, PageRequest.of(0, batchSize));
+      for (Long id : ids) {
+        try {
+          if (Boolean.TRUE.equals(transaction.execute(status -> moveOut(table, id))))
+            moved++;
+        } catch (RuntimeException e) {
+          // Left inline; the next run tries again.
+          logger.warn("Could not move the proof of {} {} to the blob store", table.what(), id, e);
+        }
+      }
+      if (ids.size() < batchSize)
+        break;
+      afterId = ids.get(ids.size() - 1);
+    }
+    if (moved > 0) {
+      meterRegistry.counter("blob.migration.moved", "table", table.what()).increment(moved);
+      logger.info("Moved {} proofs of {} to the blob store", moved, table.what());
+    }
+    return moved;
+  }
+
+  private <E> boolean moveOut(InlineProofs<E> table, Long id) {
+    Optional<E> row = table.find().apply(id);
+    if (row.isEmpty())
+      return false;
+    E entity = row.get();
+    byte[] inline = table.inline().apply(entity);
+    if (inline == null || table.reference().apply(entity) != null)
+      return false;
+    table.moveOut().accept(entity, blobStore.put(inline));
+    return true;
+  }
+
+  /**
+   * Runs every table to completion, for tests and one-off use.
+   *
+   * @return How many proofs were moved out.
+   */
+  public int migrateAll() {
+    int moved = 0;
+    for (InlineProofs<?> table : tables) {
+      int batch;
+      do {
+        batch = migrate(table);
+        moved += batch;
+      } while (batch > 0);
+    }
+    return moved;
+  }
+}
@@ -1,32 +1,59 @@
 package com.dnsManagement.WorkFlowIpVaptService.schedulers;
 
+import com.dnsManagement.WorkFlowIpVaptService.config.ExecutorConfiguration;
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringAsset;
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow;
 import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
-import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.AssetType;
 import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainExpiryTransitionRepo;
 import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
-import com.dnsManagement.WorkFlowIpVaptService.services.AsyncNotificationService;
+import com.dnsManagement.WorkFlowIpVaptService.services.AssetExpiryService;
 import com.dnsManagement.WorkFlowIpVaptService.services.DomainUpdateService;
+import com.dnsManagement.WorkFlowIpVaptService.services.SchedulerCheckpointService;
+import com.dnsManagement.WorkFlowIpVaptService.services.SchedulerLeaseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * A scheduler that periodically checks for expiring domains and sends notifications.
  * This implementation is designed to be robust, performant, and transactionally safe.
- * It follows a Prepare -> Commit -> Notify pattern to ensure system consistency.
+ * Each interval is scanned in keyset chunks that are committed in parallel, each in its own short
+ * transaction together with its notifications, which the notification outbox relay then delivers.
+ * <p>
+ * The date of the last completed run is kept on the {@value #EXPIRY_LEASE} lease as a processed-through
+ * watermark. A run covers every day after it, so the notifications and deactivations of days on which no
+ * instance was up are caught up rather than lost, and are still sent once per domain.
+ * </p>
+ * The IPs and VAPT certificates of the domains get the same warnings, through the same keyset scan.
  */
 @Component
 public class DomainExpirationScheduler {
@@ -42,125 +69,416 @@ public class DomainExpirationScheduler {
 
   private static final String DOMAIN_EXPIRED_TEMPLATE = """
             Dear User,
-            Your domain '%s' has expired today, on %s.
+            Your domain '%s' has expired on %s.
             Please take the necessary steps to renew it to avoid any service interruption.
             Regards,
             Your Domain Management Team
             """;
 
-  @Value("${WEBHOOK_SECRET}")
-  private String webhookSecret;
+  private static final String ASSET_EXPIRY_WARNING_TEMPLATE = """
+            Dear User,
+            This is a friendly reminder that the %s of your domain '%s' is due to expire in %d days, on %s.
+            Please take the necessary steps to renew it to avoid any service interruption.
+            Regards,
+            Your Domain Management Team
+            """;
+
+  private static final String ASSET_EXPIRED_TEMPLATE = """
+            Dear User,
+            The %s of your domain '%s' has expired on %s.
+            Please take the necessary steps to renew it to avoid any service interruption.
+            Regards,
+            Your Domain Management Team
+            """;
 
   private static final Logger logger = LoggerFactory.getLogger(DomainExpirationScheduler.class);
 
+  // Days before expiry on which a domain is notified, 0 being the day it expires.
+  static final List<Integer> NOTIFICATION_PERIODS = List.of(60, 30, 15, 0);
+  // The keyset scan goes through the shortest period first, so that a domain that passed several
+  // periods while runs were missed only gets the latest one.
+  private static final List<Integer> CATCH_UP_ORDER = List.of(0, 15, 30, 60);
+
+  static final String EXPIRY_LEASE = "domain-expiry";
+
   private final DomainNameRepo domainRepository;
+  private final DomainExpiryTransitionRepo expiryTransitions;
   private final DomainUpdateService domainUpdateService;
-  private final AsyncNotificationService asyncNotificationService;
+  private final AssetExpiryService assetExpiryService;
+  private final SchedulerCheckpointService checkpoints;
+  private final SchedulerLeaseService leases;
+  private final Executor workers;
+  private final int parallelism;
+  private final int chunkSize;
+  private final int maxCatchUpDays;
 
-  /**
-   * A private helper record to bundle a domain with its fully prepared notification payload.
-   * This simplifies passing data between processing phases.
-   */
-  private record NotificationTask(DomainName domain, NotificationWebhook payload) {}
+  private final AtomicLong lagDays = new AtomicLong();
+  private final Counter processed;
 
   @Autowired
-  public DomainExpirationScheduler(DomainNameRepo domainRepository, DomainUpdateService domainUpdateService, AsyncNotificationService asyncNotificationService) {
+  public DomainExpirationScheduler(DomainNameRepo domainRepository,
+                                   DomainExpiryTransitionRepo expiryTransitions,
+                                   DomainUpdateService domainUpdateService,
+                                   AssetExpiryService assetExpiryService,
+                                   SchedulerCheckpointService checkpoints,
+                                   SchedulerLeaseService leases,
+                                   @Qualifier(ExecutorConfiguration.EXPIRY_EXECUTOR)
+                                   Executor workers,
+                                   @Value("${executors.expiry.max-concurrency:4}")
+                                   int parallelism,
+                                   @Value("${scheduler.expiry.chunk-size:500}")
+                                   int chunkSize,
+                                   @Value("${scheduler.expiry.catch-up.max-days:30}")
+                                   int maxCatchUpDays,
+                                   MeterRegistry meterRegistry) {
     this.domainRepository = domainRepository;
+    this.expiryTransitions = expiryTransitions;
     this.domainUpdateService = domainUpdateService;
-    this.asyncNotificationService = asyncNotificationService;
+    this.assetExpiryService = assetExpiryService;
+    this.checkpoints = checkpoints;
+    this.leases = leases;
+    this.workers = workers;
+    this.parallelism = parallelism;
+    this.chunkSize = chunkSize;
+    this.maxCatchUpDays = maxCatchUpDays;
+    Gauge.builder("domain.expiry.watermark.lag", lagDays, AtomicLong::get)
+            .description("Days the expiry run still has to catch up on, 0 once it is current")
+            .baseUnit("days")
+            .register(meterRegistry);
+    this.processed = Counter.builder("domain.expiry.processed")
+            .description("Domains, IPs and VAPT certificates notified or deactivated by the expiry run")
+            .register(meterRegistry);
   }
 
   /**
-   * The main entry point for the scheduled job. It orchestrates checks for various time intervals.
+   * The main entry point for the scheduled job. It orchestrates checks for various time intervals:
+   * in a single pass over all of them where the database supports it, otherwise one keyset scan
+   * per interval. Runs on the {@code schedulerExecutor} so a long run does not hold the shared scheduling
+   * thread that every other {@code @Scheduled} job needs.
+   * <p>
+   * Every replica fires the cron, but only the one that gets the {@value #EXPIRY_LEASE} lease
+   * runs; the others skip the day. Since the lease is released once the run is done, an instance
+   * whose cron fires late also skips a day that another one already completed.
+   * </p>
+   * The run covers the days since the watermark, at most {@code scheduler.expiry.catch-up.max-days},
+   * and moves the watermark to today only if every chunk committed.
    */
+  @Async(ExecutorConfiguration.SCHEDULER_EXECUTOR)
   @Scheduled(cron = "${scheduler.cron.expression}")
   public void checkDomainExpirations() {
-    logger.info("Starting domain expiration check scheduler...");
-    LocalDate today = LocalDate.now();
+    if (!leases.tryAcquire(EXPIRY_LEASE)) {
+      logger.info("Domain expiration check is running on another instance, skipping.");
+      return;
+    }
+    try {
+      LocalDate today = LocalDate.now();
+      if (leases.completedThrough(EXPIRY_LEASE).filter(done -> !done.isBefore(today)).isPresent()) {
+        logger.info("Domain expiration check for {} already completed, skipping.", today);
+        return;
+      }
+      LocalDate since = firstUnprocessedDay(today);
+      lagDays.set(ChronoUnit.DAYS.between(since, today));
+      logger.info("Starting domain expiration check scheduler for {} to {}...", since, today);
 
-    checkAndNotifyForSpecificDays(today, 60);
-    checkAndNotifyForSpecificDays(today, 30);
-    checkAndNotifyForSpecificDays(today, 15);
-    checkAndNotifyForSpecificDays(today, 0); // Handles expired domains
+      if (catchUp(since, today)) {
+        leases.markCompleted(EXPIRY_LEASE, today);
+        lagDays.set(0);
+        logger.info("Domain expiration check scheduler finished.");
+      } else {
+        logger.warn("Domain expiration check incomplete, the watermark stays before {}.", since);
+      }
+    } finally {
+      leases.release(EXPIRY_LEASE);
+    }
+  }
 
-    logger.info("Domain expiration check scheduler finished.");
+  /**
+   * Runs the check if today's run has not completed and no instance is running it: because the
+   * instance running it died or failed half way, or because no instance was up at midnight, in
+   * which case this fires shortly after startup. Safe to repeat: both scan paths only touch
+   * domains that still need their notification.
+   */
+  @Async(ExecutorConfiguration.SCHEDULER_EXECUTOR)
+  @Scheduled(fixedDelayString = "${scheduler.lease.takeover-check:5m}",
+          initialDelayString = "${scheduler.lease.takeover-check:5m}")
+  public void resumeAbandonedRun() {
+    if (leases.isBehind(EXPIRY_LEASE, LocalDate.now())) {
+      logger.warn("Today's domain expiration check was missed or abandoned, running it.");
+      checkDomainExpirations();
+    }
   }
 
   /**
-   * Core logic for a single expiration interval (e.g., 60 days).
-   * This method fetches domains, prepares all data in memory, commits the DB changes in a
-   * single transaction, and only then dispatches notifications asynchronously.
+   * The day after the watermark, but no more than {@code scheduler.expiry.catch-up.max-days}
+   * back, so that a long outage or the first run on an existing table does not notify years of
+   * expired domains at once. Today if the job never completed a run.
+   */
+  private LocalDate firstUnprocessedDay(LocalDate today) {
+    LocalDate earliest = today.minusDays(maxCatchUpDays);
+    return leases.completedThrough(EXPIRY_LEASE)
+            .map(watermark -> watermark.plusDays(1))
+            .map(since -> since.isBefore(earliest) ? earliest : since)
+            .filter(since -> since.isBefore(today))
+            .orElse(today);
+  }
+
+  /**
+   * Notifies and deactivates every domain that reached a notification period on a day from
+   * {@code since} to {@code today}: in a single pass over all periods where the database
+   * supports it, otherwise one keyset scan per period. Then warns about the IPs and VAPT
+   * certificates that did, one keyset scan per type and period.
    *
-   * @param today The current date.
-   * @param daysUntilExpiration The interval to check.
+   * @return Whether every due domain was committed.
    */
-  private void checkAndNotifyForSpecificDays(LocalDate today, int daysUntilExpiration) {
-    LocalDateTime start = today.plusDays(daysUntilExpiration).atStartOfDay();
-    LocalDateTime end = start.plusDays(1);
-    logger.info("Checking for domains expiring in {} days (on date: {})...", daysUntilExpiration, start.toLocalDate());
-
-    List<DomainName> expiringDomains = domainRepository.findByExpirationDateAndNotificationNeeded(start, end, daysUntilExpiration);
-    if (expiringDomains.isEmpty()) {
-      logger.info("No domains found for {} day interval that need notification.", daysUntilExpiration);
-      return;
+  boolean catchUp(LocalDate since, LocalDate today) {
+    boolean complete = true;
+    if (expiryTransitions.isSupported()) {
+      try {
+        transitionInSinglePass(since, today);
+      } catch (IllegalStateException e) {
+        logger.error("Single pass expiry transition incomplete.", e);
+        complete = false;
+      }
+    } else {
+      for (int daysUntilExpiration : CATCH_UP_ORDER) {
+        if (!leases.isHeld(EXPIRY_LEASE)) {
+          logger.warn("Lost the {} lease, leaving the rest of the run to its new owner.", EXPIRY_LEASE);
+          return false;
+        }
+        try {
+          checkAndNotifyForSpecificDays(since, today, daysUntilExpiration); // 0 handles expired domains
+        } catch (IllegalStateException e) {
+          logger.error("Expiry scan for the {} day interval incomplete.", daysUntilExpiration, e);
+          complete = false;
+        }
+      }
     }
+    for (AssetType type : AssetType.values()) {
+      for (int daysUntilExpiration : CATCH_UP_ORDER) {
+        if (!leases.isHeld(EXPIRY_LEASE)) {
+          logger.warn("Lost the {} lease, leaving the rest of the run to its new owner.", EXPIRY_LEASE);
+          return false;
+        }
+        try {
+          checkAssetsForSpecificDays(type, since, today, daysUntilExpiration);
+        } catch (IllegalStateException e) {
+          logger.error("{} expiry scan for the {} day interval incomplete.", type, daysUntilExpiration, e);
+          complete = false;
+        }
+      }
+    }
+    return complete;
+  }
+
+  private static int daysLeft(LocalDate today, LocalDateTime expiryDate) {
+    return (int) ChronoUnit.DAYS.between(today, expiryDate.toLocalDate());
+  }
 
-    // --- PHASE 1: PREPARE all tasks in memory (Non-Transactional) ---
-    List<NotificationTask> notificationTasks = new ArrayList<>();
-    for (DomainName domain : expiringDomains) {
-      final boolean isExpired = (daysUntilExpiration == 0);
-      if (isExpired) {
-        domain.setActive(false);
+  /**
+   * Classifies, updates and notifies the domains due for any of the notification periods with
+   * the set-based statement of {@link DomainExpiryTransitionRepo}. {@code parallelism} workers
+   * each claim chunks of {@code scheduler.expiry.chunk-size} domains, one short transaction per
+   * chunk, until none are left. Committed chunks never qualify again and rolled back ones are
+   * claimed by another worker or the next run, so no checkpoint is needed.
+   *
+   * @param since The first day not processed yet.
+   * @param today The current date.
+   * @return The number of domains updated.
+   * @throws IllegalStateException If a worker failed, after the others finished.
+   */
+  int transitionInSinglePass(LocalDate since, LocalDate today) {
+    AtomicInteger updated = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    Runnable drain = () -> {
+      try {
+        int transitioned;
+        do {
+          transitioned = domainUpdateService.transitionDueChunk(since, today, NOTIFICATION_PERIODS, chunkSize,
+                  domain -> buildWebhookPayload(domain, daysLeft(today, domain.getExpiryDate()),
+                          domain.getDaysUntilExpiration() == 0));
+          updated.addAndGet(transitioned);
+          processed.increment(transitioned);
+        } while (transitioned == chunkSize);
+      } catch (RuntimeException e) {
+        failed.incrementAndGet();
+        logger.error("Expiry transition worker failed, its current chunk was rolled back.", e);
       }
-      domain.setLastNotificationDateSentForDays(daysUntilExpiration);
+    };
 
-      NotificationWebhook payload = buildWebhookPayload(domain, daysUntilExpiration, isExpired);
-      notificationTasks.add(new NotificationTask(domain, payload));
+    List<CompletableFuture<Void>> drains = new ArrayList<>();
+    for (int worker = 0; worker < parallelism; worker++) {
+      try {
+        drains.add(CompletableFuture.runAsync(drain, workers));
+      } catch (RejectedExecutionException e) {
+        drain.run();
+      }
+    }
+    CompletableFuture.allOf(drains.toArray(CompletableFuture[]::new)).join();
+    logger.info("Finished single pass expiry transition. {} domains updated and notified.", updated.get());
+    if (failed.get() > 0) {
+      throw new IllegalStateException(failed.get() + " expiry transition workers failed");
     }
+    return updated.get();
+  }
 
-    // --- PHASE 2: COMMIT database changes (Transactional) ---
-    List<DomainName> domainsToUpdate = notificationTasks.stream().map(NotificationTask::domain).toList();
-    try {
-      domainUpdateService.updateDomainsInTransaction(domainsToUpdate, daysUntilExpiration);
-    } catch (Exception e) {
-      logger.error("CRITICAL: Database transaction failed for {} day interval. Rollback initiated. No notifications will be sent.",
-              daysUntilExpiration, e);
-      return; // Stop processing for this interval to maintain consistency.
+  /**
+   * Core logic for a single expiration interval (e.g., 60 days).
+   * <p>
+   * The matching domains are read in keyset chunks of {@code scheduler.expiry.chunk-size}
+   * ordered by {@code dm_id}, reading only the columns the notification needs. Each chunk
+   * is committed by the {@code expiryExecutor} workers in its own short transaction, together
+   * with its notifications; when all workers are busy and their queue is full the reading
+   * thread commits the chunk itself, so no more than a handful of chunks is ever held in memory.
+   * </p>
+   * After every chunk the checkpoint is moved to the highest id below which all chunks have
+   * committed, and a run restarted on the same day resumes from there. A failed chunk is
+   * rolled back on its own and holds the checkpoint back; its domains still match the query
+   * and are picked up by the next run.
+   *
+   * @param since The first day not processed yet, the window covers the domains that reached
+   *              the interval from then to {@code today}.
+   * @param today The current date.
+   * @param daysUntilExpiration The interval to check.
+   * @return The number of domains updated.
+   * @throws IllegalStateException If a chunk failed, after the others finished.
+   */
+  int checkAndNotifyForSpecificDays(LocalDate since, LocalDate today, int daysUntilExpiration) {
+    LocalDateTime start = since.plusDays(daysUntilExpiration).atStartOfDay();
+    LocalDateTime end = today.plusDays(daysUntilExpiration + 1L).atStartOfDay();
+    PageRequest firstPage = PageRequest.of(0, chunkSize);
+    return scanInChunks("domain-expiry-" + daysUntilExpiration, today, daysUntilExpiration, start, end,
+            new ExpiryScan<>("domains",
+                    afterId -> domainRepository.findExpiringChunk(start, end, daysUntilExpiration, afterId, firstPage),
+                    ExpiringDomainRow::getDomainNameId,
+                    domain -> buildWebhookPayload(domain, daysLeft(today, domain.getExpiryDate()),
+                            daysUntilExpiration == 0),
+                    notifications -> domainUpdateService.markExpiryNotified(notifications, daysUntilExpiration)));
+  }
+
+  /**
+   * The same keyset scan as {@link #checkAndNotifyForSpecificDays} over the IPs or VAPT
+   * certificates, which are only warned about; an expired asset stays as it is until the
+   * renewal service updates it.
+   */
+  int checkAssetsForSpecificDays(AssetType type, LocalDate since, LocalDate today, int daysUntilExpiration) {
+    LocalDateTime start = since.plusDays(daysUntilExpiration).atStartOfDay();
+    LocalDateTime end = today.plusDays(daysUntilExpiration + 1L).atStartOfDay();
+    String jobName = type.name().toLowerCase() + "-expiry-" + daysUntilExpiration;
+    return scanInChunks(jobName, today, daysUntilExpiration, start, end,
+            new ExpiryScan<>(type + " assets",
+                    afterId -> assetExpiryService.findExpiringChunk(type, start, end, daysUntilExpiration,
+                            afterId, chunkSize),
+                    ExpiringAsset::getAssetId,
+                    asset -> buildAssetWebhookPayload(asset, daysLeft(today, asset.getExpiryDate())),
+                    notifications -> assetExpiryService.markExpiryNotified(type, notifications,
+                            daysUntilExpiration)));
+  }
+
+  /**
+   * What {@link #scanInChunks} reads and commits.
+   *
+   * @param what    Names the rows in the logs.
+   * @param reader  Reads the chunk after the given id.
+   * @param id      The id the scan is keyed on.
+   * @param payload The notification of a row.
+   * @param commit  Commits a chunk of notifications by id, returning how many were updated.
+   */
+  private record ExpiryScan<R>(String what,
+                               LongFunction<List<R>> reader,
+                               ToLongFunction<R> id,
+                               Function<R, NotificationWebhook> payload,
+                               ToIntFunction<Map<Long, NotificationWebhook>> commit) {
+  }
+
+  private <R> int scanInChunks(String jobName, LocalDate today, int daysUntilExpiration,
+                               LocalDateTime start, LocalDateTime end, ExpiryScan<R> scan) {
+    long afterId = checkpoints.resumeAfter(jobName, today);
+    logger.info("Checking for {} expiring in {} days (from {} to {}), starting after id {}...",
+            scan.what(), daysUntilExpiration, start.toLocalDate(), end.toLocalDate().minusDays(1), afterId);
+
+    Watermark watermark = new Watermark(jobName, today);
+    AtomicInteger updated = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    List<CompletableFuture<Void>> chunks = new ArrayList<>();
+    List<R> chunk;
+    do {
+      chunk = scan.reader().apply(afterId);
+      if (chunk.isEmpty()) {
+        break;
+      }
+      afterId = scan.id().applyAsLong(chunk.get(chunk.size() - 1));
+      Runnable commit = chunkCommit(scan, chunk, chunks.size(), afterId, daysUntilExpiration,
+              watermark, updated, failed);
+      try {
+        chunks.add(CompletableFuture.runAsync(commit, workers));
+      } catch (RejectedExecutionException e) {
+        commit.run();
+        chunks.add(CompletableFuture.completedFuture(null));
+      }
+    } while (chunk.size() == chunkSize);
+
+    CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+    logger.info("Finished processing {} for {} day interval. {} chunks, {} updated and notified.",
+            scan.what(), daysUntilExpiration, chunks.size(), updated.get());
+    if (failed.get() > 0) {
+      throw new IllegalStateException(failed.get() + " chunks of " + scan.what() + " failed for the " +
+              daysUntilExpiration + " day interval");
     }
+    return updated.get();
+  }
 
-    // --- PHASE 3: DISPATCH all notifications asynchronously ---
-    logger.info("Database commit successful. Proceeding to dispatch {} notifications asynchronously.", notificationTasks.size());
-    Map<CompletableFuture<Void>, DomainName> futureToDomainMap = notificationTasks.stream()
-            .collect(Collectors.toMap(
-                    task -> asyncNotificationService.sendNotificationAsync(webhookSecret, task.payload()),
-                    NotificationTask::domain
-            ));
-
-    // Wait for all async calls to complete before summarizing results
-    // .join is the blocking part which halts the thread until the async ops
-    // are completed
-    CompletableFuture.allOf(futureToDomainMap.keySet().toArray(new CompletableFuture[0])).join();
-
-    // --- PHASE 4: SUMMARIZE results ---
-    Map<DomainName, Exception> failedNotifications = new HashMap<>();
-    futureToDomainMap.forEach((future, domain) -> {
-      if (future.isCompletedExceptionally()) {
-        try {
-          future.get();
-        } catch (InterruptedException | ExecutionException e) {
-          failedNotifications.put(domain, e.getCause() != null ? (Exception) e.getCause() : e);
-          Thread.currentThread().interrupt();
+  private <R> Runnable chunkCommit(ExpiryScan<R> scan, List<R> chunk, long sequence, long lastId,
+                                   int daysUntilExpiration, Watermark watermark, AtomicInteger updated,
+                                   AtomicInteger failed) {
+    return () -> {
+      try {
+        Map<Long, NotificationWebhook> notifications = new LinkedHashMap<>();
+        for (R row : chunk) {
+          notifications.put(scan.id().applyAsLong(row), scan.payload().apply(row));
         }
+        int committed = scan.commit().applyAsInt(notifications);
+        updated.addAndGet(committed);
+        processed.increment(committed);
+        watermark.completed(sequence, lastId);
+      } catch (RuntimeException e) {
+        failed.incrementAndGet();
+        logger.error("Chunk of {} {} up to id {} failed for the {} day interval and was rolled back.",
+                chunk.size(), scan.what(), lastId, daysUntilExpiration, e);
       }
-    });
+    };
+  }
+
+  /**
+   * Tracks which chunks of a run have committed, which may happen out of order, and advances
+   * the checkpoint over the longest committed prefix.
+   */
+  private final class Watermark {
+    private final String jobName;
+    private final LocalDate runDate;
+    private final Map<Long, Long> committed = new HashMap<>();
+    private long next;
 
-    logSummary(daysUntilExpiration, expiringDomains.size(), failedNotifications);
+    private Watermark(String jobName, LocalDate runDate) {
+      this.jobName = jobName;
+      this.runDate = runDate;
+    }
+
+    synchronized void completed(long sequence, long lastId) {
+      committed.put(sequence, lastId);
+      Long reached = null;
+      while (committed.containsKey(next)) {
+        reached = committed.remove(next++);
+      }
+      if (reached != null) {
+        checkpoints.advance(jobName, runDate, reached);
+      }
+    }
   }
 
   /**
    * Constructs the NotificationWebhook DTO with all required nested objects and fields.
    */
-  private NotificationWebhook buildWebhookPayload(DomainName domain, int daysUntilExpiration, boolean isExpired) {
+  static NotificationWebhook buildWebhookPayload(ExpiringDomainRow domain, int daysUntilExpiration, boolean isExpired) {
     final NotificationWebhook.EventType eventType;
     final String remarks;
 
@@ -201,18 +519,33 @@ public class DomainExpirationScheduler {
   }
 
   /**
-   * Logs a clear, final summary of the processing results for an interval.
+   * Constructs the IP or VAPT expiry warning, addressed like the domain's own warnings.
    */
-  private void logSummary(int days, int total, Map<DomainName, Exception> failures) {
-    int successCount = total - failures.size();
-    logger.info("Finished processing for {} day interval. Total domains: {}. Succeeded: {}. Failed: {}.",
-            days, total, successCount, failures.size());
-
-    if (!failures.isEmpty()) {
-      logger.warn("The following notifications failed to send (database state was already updated successfully):");
-      failures.forEach((domain, ex) ->
-              logger.warn(" - Domain: {} (ID: {}), Reason: {}", domain.getDomainName(), domain.getDomainNameId(), ex.getMessage())
-      );
+  static NotificationWebhook buildAssetWebhookPayload(ExpiringAsset asset, int daysUntilExpiration) {
+    final NotificationWebhook.EventType eventType;
+    final String description;
+    if (asset.getAssetType() == AssetType.IP) {
+      eventType = NotificationWebhook.EventType.IP_EXPIRY_WARNING;
+      description = "IP address " + asset.getIpAddress();
+    } else {
+      eventType = NotificationWebhook.EventType.VAPT_EXPIRY_WARNING;
+      description = "VAPT certificate of IP address " + asset.getIpAddress();
     }
+    String expiryDate = asset.getExpiryDate().toLocalDate().toString();
+    String remarks = daysUntilExpiration <= 0
+            ? String.format(ASSET_EXPIRED_TEMPLATE, description, asset.getDomainName(), expiryDate)
+            : String.format(ASSET_EXPIRY_WARNING_TEMPLATE, description, asset.getDomainName(),
+                    daysUntilExpiration, expiryDate);
+
+    return new NotificationWebhook(
+            eventType,
+            LocalDateTime.now(),
+            new NotificationWebhook.TriggeredBy(asset.getDrmEmployeeNumber(), Role.DRM),
+            new NotificationWebhook.NotificationData(asset.getDomainNameId(), asset.getDomainName(), remarks),
+            new NotificationWebhook.Recipients(
+                    asset.getDrmEmployeeNumber(),
+                    asset.getArmEmployeeNumber(),
+                    null, null, null, null, null)
+    );
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package com.dnsManagement.WorkFlowIpVaptService.schedulers;
+
+import com.dnsManagement.WorkFlowIpVaptService.config.ExecutorConfiguration;
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow;
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.events.DomainEvent;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.HierarchicalTimingWheel;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
+import com.dnsManagement.WorkFlowIpVaptService.services.DomainUpdateService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fires expiry warnings and deactivations at the moment they are due rather
+ * than at the next midnight run of {@link DomainExpirationScheduler}.
+ * <p>
+ * Every active domain's warning instants ({@code expiryDate} minus 60, 30
+ * and 15 days) and its expiry instant sit in a {@link HierarchicalTimingWheel}
+ * with one-second ticks. The wheel is rebuilt from the {@code expiry_date}
+ * index at startup and every {@code scheduler.expiry.timer.reload}, each time
+ * with only the domains whose first warning falls before the next reload, and
+ * purchases (which set a new expiry date) reschedule their domain as soon as
+ * they commit. On startup, domains that expired within
+ * {@code scheduler.expiry.timer.catch-up} but were never deactivated, e.g.
+ * because a nightly run was missed, are deactivated right away.
+ * </p>
+ * Due instants are committed through
+ * {@link DomainUpdateService#markExpiryNotified}, after checking that the
+ * domain still has that expiry date. That method skips domains already
+ * notified for the period, so the timer, the nightly run and the timers of
+ * other replicas never notify a domain twice.
+ */
+@Component
+public class DomainExpiryTimer {
+
+  private static final Logger logger = LoggerFactory.getLogger(DomainExpiryTimer.class);
+
+  private static final long TICK_MILLIS = 1000;
+  // 512 one-second slots, then 512 slots of 8.5 minutes, then of 3 days...
+  private static final int WHEEL_SIZE = 512;
+
+  private record Deadline(ExpiringDomainRow domain, int daysUntilExpiration) {
+  }
+
+  private final DomainNameRepo domainRepository;
+  private final DomainUpdateService domainUpdateService;
+  private final Executor workers;
+  private final Duration catchUp;
+  // How far ahead of now a reload loads domains: the longest notification period plus the time
+  // until the next reload, so every warning instant is on the wheel before it is due.
+  private final Duration horizon;
+
+  private final Object lock = new Object();
+  // All guarded by lock.
+  private HierarchicalTimingWheel<Deadline> wheel;
+  // The expiry date each domain is scheduled for; deadlines for any other date are stale.
+  private Map<Long, LocalDateTime> scheduledExpiry = new HashMap<>();
+  // Domains rescheduled while a reload was reading the table, replayed onto the new wheel.
+  private List<ExpiringDomainRow> rescheduledDuringReload;
+
+  @Autowired
+  public DomainExpiryTimer(DomainNameRepo domainRepository,
+                           DomainUpdateService domainUpdateService,
+                           @Qualifier(ExecutorConfiguration.EXPIRY_EXECUTOR)
+                           Executor workers,
+                           MeterRegistry meterRegistry,
+                           @Value("${scheduler.expiry.timer.catch-up:7d}")
+                           Duration catchUp,
+                           @Value("${scheduler.expiry.timer.reload:1h}")
+                           Duration reloadInterval) {
+    this.domainRepository = domainRepository;
+    this.domainUpdateService = domainUpdateService;
+    this.workers = workers;
+    this.catchUp = catchUp;
+    this.horizon = Duration.ofDays(Collections.max(DomainExpirationScheduler.NOTIFICATION_PERIODS))
+            .plus(reloadInterval);
+    Gauge.builder("domain.expiry.timer.scheduled", this, DomainExpiryTimer::scheduledCount)
+            .description("Expiry warnings and deactivations waiting in the timing wheel")
+            .register(meterRegistry);
+  }
+
+  private static long epochMillis(LocalDateTime time) {
+    return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private int scheduledCount() {
+    synchronized (lock) {
+      return wheel == null ? 0 : wheel.size();
+    }
+  }
+
+  /**
+   * Rebuilds the wheel from the database, picking up expiry dates changed by
+   * other replicas.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${scheduler.expiry.timer.reload:1h}",
+          initialDelayString = "${scheduler.expiry.timer.reload:1h}")
+  public void reload() {
+    synchronized (lock) {
+      rescheduledDuringReload = new ArrayList<>();
+    }
+    LocalDateTime now = LocalDateTime.now();
+    List<ExpiringDomainRow> domains = domainRepository.findExpiryTimerRows(now.minus(catchUp), now.plus(horizon));
+
+    HierarchicalTimingWheel<Deadline> fresh =
+            new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, epochMillis(now));
+    Map<Long, LocalDateTime> expiries = new HashMap<>();
+    List<Deadline> overdue = new ArrayList<>();
+    domains.forEach(domain -> schedule(fresh, expiries, domain, overdue));
+    synchronized (lock) {
+      rescheduledDuringReload.forEach(domain -> schedule(fresh, expiries, domain, overdue));
+      rescheduledDuringReload = null;
+      wheel = fresh;
+      scheduledExpiry = expiries;
+    }
+    logger.info("Expiry timer loaded {} domains, {} already expired.", domains.size(), overdue.size());
+    fire(overdue);
+  }
+
+  private static void schedule(HierarchicalTimingWheel<Deadline> wheel,
+                               Map<Long, LocalDateTime> expiries,
+                               ExpiringDomainRow domain,
+                               List<Deadline> overdue) {
+    if (domain.getExpiryDate() == null) {
+      expiries.remove(domain.getDomainNameId());
+      return;
+    }
+    expiries.put(domain.getDomainNameId(), domain.getExpiryDate());
+    long expiry = epochMillis(domain.getExpiryDate());
+    for (int days : DomainExpirationScheduler.NOTIFICATION_PERIODS) {
+      Deadline deadline = new Deadline(domain, days);
+      // Warnings whose moment has passed are left to the nightly run, which works by calendar day.
+      if (!wheel.add(expiry - Duration.ofDays(days).toMillis(), deadline) && days == 0) {
+        overdue.add(deadline);
+      }
+    }
+  }
+
+  @Scheduled(fixedRateString = "${scheduler.expiry.timer.tick:1s}")
+  public void tick() {
+    List<Deadline> due = new ArrayList<>();
+    synchronized (lock) {
+      if (wheel == null) {
+        return;
+      }
+      wheel.advanceTo(System.currentTimeMillis(), deadline -> {
+        if (deadline.domain().getExpiryDate().equals(
+                scheduledExpiry.get(deadline.domain().getDomainNameId()))) {
+          due.add(deadline);
+        }
+      });
+    }
+    fire(due);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onPurchased(DomainEvent.DomainPurchased event) {
+    List<Deadline> overdue = new ArrayList<>();
+    for (ExpiringDomainRow domain : domainRepository.findExpiryTimerRowsByIds(List.of(event.domainId()))) {
+      synchronized (lock) {
+        if (wheel != null) {
+          schedule(wheel, scheduledExpiry, domain, overdue);
+        }
+        if (rescheduledDuringReload != null) {
+          rescheduledDuringReload.add(domain);
+        }
+      }
+    }
+    fire(overdue);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onDeleted(DomainEvent.DomainDeleted event) {
+    synchronized (lock) {
+      scheduledExpiry.remove(event.domainId());
+    }
+  }
+
+  private void fire(List<Deadline> due) {
+    if (due.isEmpty()) {
+      return;
+    }
+    try {
+      workers.execute(() -> notify(due));
+    } catch (RejectedExecutionException e) {
+      notify(due);
+    }
+  }
+
+  /**
+   * Commits the due deadlines, longest period first so that a domain owed
+   * several notifications ends up with the latest one.
+   */
+  private void notify(List<Deadline> due) {
+    Map<Long, ExpiringDomainRow> current = domainRepository
+            .findExpiryTimerRowsByIds(due.stream().map(d -> d.domain().getDomainNameId()).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(ExpiringDomainRow::getDomainNameId, Function.identity()));
+
+    Map<Integer, Map<Long, NotificationWebhook>> byPeriod = new TreeMap<>(Comparator.reverseOrder());
+    for (Deadline deadline : due) {
+      ExpiringDomainRow domain = current.get(deadline.domain().getDomainNameId());
+      if (domain == null || !deadline.domain().getExpiryDate().equals(domain.getExpiryDate())) {
+        continue; // Deleted, or renewed on another replica.
+      }
+      int days = deadline.daysUntilExpiration();
+      byPeriod.computeIfAbsent(days, d -> new LinkedHashMap<>()).put(domain.getDomainNameId(),
+              DomainExpirationScheduler.buildWebhookPayload(domain, days, days == 0));
+    }
+
+    byPeriod.forEach((days, notifications) -> {
+      try {
+        int updated = domainUpdateService.markExpiryNotified(notifications, days);
+        logger.info("Expiry timer committed {} of {} domains due for the {} day notification.",
+                updated, notifications.size(), days);
+      } catch (RuntimeException e) {
+        logger.error("Expiry timer failed for the {} day notification of {} domains, " +
+                "the nightly run will pick them up.", days, notifications.size(), e);
+      }
+    });
+  }
+}
@@ -0,0 +1,172 @@
+package com.dnsManagement.WorkFlowIpVaptService.schedulers;
+
+import com.dnsManagement.WorkFlowIpVaptService.config.ExecutorConfiguration;
+import com.dnsManagement.WorkFlowIpVaptService.models.NotificationOutbox;
+import com.dnsManagement.WorkFlowIpVaptService.services.NotificationBatcher;
+import com.dnsManagement.WorkFlowIpVaptService.services.NotificationOutboxService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the notification outbox.
+ * <p>
+ * Every {@code notification.outbox.poll-interval} it claims up to
+ * {@code notification.outbox.batch-size} due rows, hands them to the
+ * {@link NotificationBatcher} (which posts them in as few requests as the peer
+ * allows, within the caps of the {@code notificationExecutor}) and records the
+ * outcome of the whole batch in one transaction. Full batches are followed
+ * immediately by the next one, up to
+ * {@code notification.outbox.max-batches-per-run}. Rows are claimed
+ * with {@code SKIP LOCKED} and a lease, so several instances can relay side
+ * by side; delivery is at-least-once.
+ * </p>
+ * Committed domain events {@link #nudge() nudge} the relay so that their
+ * notifications go out at once rather than at the next poll. Runs never
+ * overlap within an instance: a nudge arriving during a run only makes that
+ * run go round once more.
+ */
+@Component
+public class NotificationOutboxRelay {
+
+  private static final Logger logger =
+          LoggerFactory.getLogger(NotificationOutboxRelay.class);
+
+  private final NotificationOutboxService outboxService;
+  private final NotificationBatcher notificationBatcher;
+  private final Executor executor;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+
+  private final AtomicLong pending = new AtomicLong();
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final AtomicBoolean rerun = new AtomicBoolean();
+  private final AtomicBoolean nudged = new AtomicBoolean();
+
+  @Autowired
+  public NotificationOutboxRelay(NotificationOutboxService outboxService,
+                                 NotificationBatcher notificationBatcher,
+                                 @Qualifier(ExecutorConfiguration.SCHEDULER_EXECUTOR)
+                                 Executor executor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.outbox.batch-size:100}")
+                                 int batchSize,
+                                 @Value("${notification.outbox.max-batches-per-run:50}")
+                                 int maxBatchesPerRun) {
+    this.outboxService = outboxService;
+    this.notificationBatcher = notificationBatcher;
+    this.executor = executor;
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    Gauge.builder("notification.outbox.pending", pending, AtomicLong::get)
+            .description("Notifications waiting in the outbox")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:2s}")
+  public void relay() {
+    do {
+      if (!running.compareAndSet(false, true)) {
+        rerun.set(true);
+        return;
+      }
+      try {
+        drain();
+      } finally {
+        running.set(false);
+      }
+    } while (rerun.getAndSet(false));
+  }
+
+  /**
+   * Asks for a run as soon as possible. Cheap and non-blocking: at most one
+   * nudge is queued on the {@code schedulerExecutor} at any time. Not the
+   * {@code notificationExecutor}: the run waits for deliveries that need its
+   * permits, and would hold one of them while it waits.
+   */
+  public void nudge() {
+    if (!nudged.compareAndSet(false, true))
+      return;
+    try {
+      executor.execute(() -> {
+        nudged.set(false);
+        relay();
+      });
+    } catch (RejectedExecutionException e) {
+      // The executor is saturated, the next scheduled poll picks the rows up.
+      nudged.set(false);
+    }
+  }
+
+  private void drain() {
+    try {
+      for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+        if (relayBatch() < batchSize)
+          break;
+      }
+      pending.set(outboxService.countPending());
+    } catch (RuntimeException e) {
+      // Never let a failing run cancel the schedule, the rows stay claimable.
+      logger.error("Notification outbox relay run failed", e);
+    }
+  }
+
+  /**
+   * Delivers one batch.
+   *
+   * @return The number of rows claimed.
+   */
+  int relayBatch() {
+    List<NotificationOutbox> rows = outboxService.claimDue(batchSize);
+    if (rows.isEmpty())
+      return 0;
+
+    Map<Long, CompletableFuture<Void>> inFlight = new LinkedHashMap<>();
+    for (NotificationOutbox row : rows) {
+      CompletableFuture<Void> delivery;
+      try {
+        delivery = notificationBatcher.submit(outboxService.payloadOf(row));
+      } catch (RuntimeException e) {
+        // Corrupt payload, retried like any failure until it is dead-lettered.
+        delivery = CompletableFuture.failedFuture(e);
+      }
+      inFlight.put(row.getOutboxId(), delivery);
+    }
+
+    List<Long> sent = new ArrayList<>();
+    Map<Long, String> failures = new HashMap<>();
+    inFlight.forEach((id, delivery) -> {
+      try {
+        delivery.join();
+        sent.add(id);
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        failures.put(id, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+      }
+    });
+
+    outboxService.recordOutcomes(sent, failures);
+    if (!failures.isEmpty())
+      logger.warn("Notification outbox batch: {} sent, {} failed",
+              sent.size(), failures.size());
+    return rows.size();
+  }
+}
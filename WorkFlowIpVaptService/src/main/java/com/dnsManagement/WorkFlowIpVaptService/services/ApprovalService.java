@@ -2,21 +2,21 @@ package com.dnsManagement.WorkFlowIpVaptService.services;
 
 
 import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.events.DomainEvent;
 import com.dnsManagement.WorkFlowIpVaptService.helpers.Utility;
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainRenewal;
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainVerification;
 import com.dnsManagement.WorkFlowIpVaptService.models.Role;
 
-import com.dnsManagement.WorkFlowIpVaptService.openfeign.NotificationClient;
 import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
 import com.dnsManagement.WorkFlowIpVaptService.repo.DomainRenewalRepo;
 import com.dnsManagement.WorkFlowIpVaptService.repo.DomainVerificationRepo;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,8 +31,6 @@ import java.util.function.Consumer;
 public class ApprovalService {
 
 
-  @Value("${WEBHOOK_SECRET}")
-    String webhookSecret;
 
 
     private final DomainVerificationRepo domainVerificationRepo;
@@ -41,15 +39,18 @@ public class ApprovalService {
 
     private final DomainNameRepo domainNameRepo;
 
-    private final NotificationClient client;
+    private final ApplicationEventPublisher events;
+
+    private final ApproverInboxService approverInboxService;
 
 
   @Autowired
-  public ApprovalService(DomainVerificationRepo domainVerificationRepo, DomainRenewalRepo domainRenewalRepo, DomainNameRepo domainNameRepo, NotificationClient client) {
+  public ApprovalService(DomainVerificationRepo domainVerificationRepo, DomainRenewalRepo domainRenewalRepo, DomainNameRepo domainNameRepo, ApplicationEventPublisher events, ApproverInboxService approverInboxService) {
     this.domainVerificationRepo = domainVerificationRepo;
     this.domainRenewalRepo = domainRenewalRepo;
     this.domainNameRepo = domainNameRepo;
-    this.client = client;
+    this.events = events;
+    this.approverInboxService = approverInboxService;
   }
 
     private final Map<Role, Consumer<DomainVerification>> roleHandlers = Map.of(
@@ -117,14 +118,15 @@ public class ApprovalService {
 
         try {
             domainVerificationRepo.save(domainVerification);
+            approverInboxService.refresh(domainName, domainVerification);
 
             NotificationWebhook notificationWebhook = buildNotification(
                     domainName,
                     role,
                     remarks);
-//  ON WHEN RAJ HAS FINSIHED IT
-            client.sendNotification(webhookSecret , notificationWebhook);
-            log.info("NOTIFICATION SEND:{}", notificationWebhook);
+            // NOTIFIED ONLY ONCE THE APPROVAL HAS COMMITTED, SEE DomainEventDispatcher
+            events.publishEvent(new DomainEvent.DomainApproved(notificationWebhook));
+            log.info("DOMAIN APPROVED EVENT PUBLISHED:{}", notificationWebhook);
 
             return ResponseEntity.ok(domainVerification);
         } catch (Exception e) {
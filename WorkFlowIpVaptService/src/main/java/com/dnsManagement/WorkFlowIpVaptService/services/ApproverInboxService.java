@@ -0,0 +1,149 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.DashboardCountCache;
+import com.dnsManagement.WorkFlowIpVaptService.models.ApproverInbox;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainVerification;
+import com.dnsManagement.WorkFlowIpVaptService.models.InboxKind;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.repo.ApproverInboxRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainVerificationRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Keeps {@link ApproverInbox} in step with the workflow. Every write that
+ * moves a domain through it (application, renewal, approval, rejection,
+ * purchase, deletion) calls {@link #refresh} in its transaction, which
+ * works out from the verification flags who the domain waits on now and
+ * rewrites that one row. Domains already in the workflow before the table
+ * existed were queued by the V7 migration.
+ */
+@Service
+public class ApproverInboxService {
+
+  private record Stage(Role role, InboxKind kind) {
+  }
+
+  private final ApproverInboxRepo approverInboxRepo;
+  private final DomainVerificationRepo domainVerificationRepo;
+  private final DashboardCountCache dashboardCounts;
+
+  @Autowired
+  public ApproverInboxService(ApproverInboxRepo approverInboxRepo,
+                              DomainVerificationRepo domainVerificationRepo,
+                              DashboardCountCache dashboardCounts) {
+    this.approverInboxRepo = approverInboxRepo;
+    this.domainVerificationRepo = domainVerificationRepo;
+    this.dashboardCounts = dashboardCounts;
+  }
+
+  /**
+   * Who has to act on the domain next. Sent back, deleted and purchased
+   * domains wait on nobody; a verified one waits on its webmaster to
+   * purchase it. Must agree with the V7 migration that queued the domains
+   * already in the workflow.
+   */
+  private static Optional<Stage> waitingOn(DomainName dn, DomainVerification dv) {
+    if (dn.isDeleted() || (dn.isActive() && !dn.isRenewal()))
+      return Optional.empty();
+    if (dv.isSentBackByHod() || dv.isSentBackByEd() || dv.isSentBackByNetops()
+            || dv.isSentBackByWebmaster() || dv.isSentBackByHpc())
+      return Optional.empty();
+    if (dv.isVerified())
+      return Optional.of(new Stage(Role.WEBMASTER, InboxKind.PURCHASE));
+
+    InboxKind kind = dn.isRenewal() ? InboxKind.RENEWAL : InboxKind.REQUEST;
+    Role role;
+    if (!dv.isForwardedToArm())
+      role = Role.ARM;
+    else if (!dv.isVerifiedByHod())
+      role = Role.HOD;
+    else if (!dv.isVerifiedByEd())
+      role = Role.ED;
+    else if (!dv.isVerifiedByNetops())
+      role = Role.NETOPS;
+    else if (!dv.isVerifiedByWebmaster())
+      role = Role.WEBMASTER;
+    else
+      role = Role.HODHPC;
+    return Optional.of(new Stage(role, kind));
+  }
+
+  /**
+   * Brings the inbox row of a saved domain in line with its verification
+   * record. The queue time is kept while the domain waits on the same
+   * approver for the same thing.
+   */
+  @Transactional
+  public void refresh(DomainName domainName, DomainVerification domainVerification) {
+    Long domainId = Objects.requireNonNull(domainName.getDomainNameId(), "domain not saved yet");
+    Optional<ApproverInbox> current = approverInboxRepo.findById(domainId);
+    // A step in the workflow can move the domain on any of its dashboards.
+    dashboardCounts.evictAfterCommit(DomainStakeholderService.stakeholders(domainName));
+    current.ifPresent(row -> dashboardCounts.evictAfterCommit(row.getRole(), row.getEmpNo()));
+    Optional<Stage> stage = waitingOn(domainName, domainVerification);
+    if (stage.isEmpty()) {
+      current.ifPresent(approverInboxRepo::delete);
+      return;
+    }
+
+    Role role = stage.get().role();
+    InboxKind kind = stage.get().kind();
+    Long empNo = DomainStakeholderService.stakeholders(domainName).get(role);
+    if (empNo == null) {
+      current.ifPresent(approverInboxRepo::delete);
+      return;
+    }
+    ApproverInbox row = current.orElseGet(ApproverInbox::new);
+    if (current.isPresent() && row.getRole() == role && row.getKind() == kind
+            && empNo.equals(row.getEmpNo()))
+      return;
+    row.setDomainId(domainId);
+    row.setEmpNo(empNo);
+    row.setRole(role);
+    row.setKind(kind);
+    row.setQueuedAt(LocalDateTime.now());
+    approverInboxRepo.save(row);
+  }
+
+  /**
+   * {@link #refresh(DomainName, DomainVerification)} for writes that do not
+   * have the verification record at hand.
+   */
+  @Transactional
+  public void refresh(DomainName domainName) {
+    Optional<DomainVerification> verification =
+            domainVerificationRepo.findByDomainNameId(domainName.getDomainNameId());
+    if (verification.isPresent()) {
+      refresh(domainName, verification.get());
+      return;
+    }
+    dashboardCounts.evictAfterCommit(DomainStakeholderService.stakeholders(domainName));
+    approverInboxRepo.deleteById(domainName.getDomainNameId());
+  }
+
+  /**
+   * @return How many domains wait on the employee in the role, for every
+   * kind, zero included.
+   */
+  public Map<InboxKind, Long> counts(Long empNo, Role role) {
+    Map<InboxKind, Long> counts = new EnumMap<>(InboxKind.class);
+    for (InboxKind kind : InboxKind.values())
+      counts.put(kind, 0L);
+    for (Object[] row : approverInboxRepo.countByKind(empNo, role))
+      counts.put((InboxKind) row[0], (Long) row[1]);
+    return counts;
+  }
+
+  public long count(Long empNo, Role role, InboxKind kind) {
+    return approverInboxRepo.countByEmpNoAndRoleAndKind(empNo, role, kind);
+  }
+}
@@ -0,0 +1,113 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringAsset;
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.events.DomainEvent;
+import com.dnsManagement.WorkFlowIpVaptService.models.AssetType;
+import com.dnsManagement.WorkFlowIpVaptService.repo.IpRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.VaptRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expiry tracking for the IPs and VAPT certificates of domains: the chunks
+ * the expiry scan reads and commits, and the paged expiring assets query
+ * the renewal service reads instead of every IP.
+ */
+@Service
+public class AssetExpiryService {
+
+  private static final Logger logger = LoggerFactory.getLogger(AssetExpiryService.class);
+
+  private final IpRepo ipRepo;
+  private final VaptRepo vaptRepo;
+  private final ApplicationEventPublisher events;
+
+  @Autowired
+  public AssetExpiryService(IpRepo ipRepo, VaptRepo vaptRepo, ApplicationEventPublisher events) {
+    this.ipRepo = ipRepo;
+    this.vaptRepo = vaptRepo;
+    this.events = events;
+  }
+
+  /**
+   * One keyset chunk of the assets expiring in {@code [start, end)} that
+   * have not been notified for {@code daysUntilExpiration} yet.
+   */
+  @Transactional(readOnly = true)
+  public List<ExpiringAsset> findExpiringChunk(AssetType type, LocalDateTime start, LocalDateTime end,
+                                               int daysUntilExpiration, long afterId, int chunkSize) {
+    PageRequest chunk = PageRequest.of(0, chunkSize);
+    return switch (type) {
+      case IP -> ipRepo.findExpiringChunk(start, end, daysUntilExpiration, afterId, chunk);
+      case VAPT -> vaptRepo.findExpiringChunk(start, end, daysUntilExpiration, afterId, chunk);
+    };
+  }
+
+  /**
+   * Marks one chunk of expiring assets as notified and publishes their
+   * expiry events, in one short transaction. Assets another run already
+   * handled in the meantime are skipped, so a chunk can safely be retried.
+   *
+   * @param notifications The notification for each asset of the chunk, by asset id.
+   * @return The number of assets updated.
+   */
+  @Transactional
+  public int markExpiryNotified(AssetType type, Map<Long, NotificationWebhook> notifications,
+                                int daysUntilExpiration) {
+    if (notifications.isEmpty()) {
+      return 0;
+    }
+    List<Long> ids = List.copyOf(notifications.keySet());
+    List<Long> pending = switch (type) {
+      case IP -> ipRepo.lockExpiryNotificationPending(ids, daysUntilExpiration);
+      case VAPT -> vaptRepo.lockExpiryNotificationPending(ids, daysUntilExpiration);
+    };
+    if (pending.isEmpty()) {
+      return 0;
+    }
+    int updated = switch (type) {
+      case IP -> ipRepo.markExpiryNotified(pending, daysUntilExpiration);
+      case VAPT -> vaptRepo.markExpiryNotified(pending, daysUntilExpiration);
+    };
+    pending.forEach(id -> events.publishEvent(new DomainEvent.AssetExpiring(notifications.get(id))));
+    logger.debug("Committed {} of {} {} assets for the {} day interval.",
+            updated, notifications.size(), type, daysUntilExpiration);
+    return updated;
+  }
+
+  /**
+   * The assets of the given type expiring from today through
+   * {@code withinDays} days from now, soonest first.
+   */
+  @Transactional(readOnly = true)
+  public ResponseEntity<Page<ExpiringAsset>> getExpiringAssets(AssetType type, int withinDays,
+                                                               Pageable pageable) {
+    if (withinDays < 0)
+      throw new IllegalArgumentException("DAYS MUST NOT BE NEGATIVE: " + withinDays);
+    LocalDate today = LocalDate.now();
+    LocalDateTime from = today.atStartOfDay();
+    LocalDateTime to = today.plusDays(withinDays + 1L).atStartOfDay();
+    // The queries order by expiry date themselves.
+    Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    Page<ExpiringAsset> assets = switch (type) {
+      case IP -> ipRepo.findExpiring(from, to, page);
+      case VAPT -> vaptRepo.findExpiring(from, to, page);
+    };
+    return new ResponseEntity<>(assets, HttpStatus.OK);
+  }
+}
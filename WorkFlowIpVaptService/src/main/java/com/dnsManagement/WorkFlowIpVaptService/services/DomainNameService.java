@@ -1,6 +1,14 @@
 package com.dnsManagement.WorkFlowIpVaptService.services;
 
 import com.dnsManagement.WorkFlowIpVaptService.dto.*;
+import com.dnsManagement.WorkFlowIpVaptService.events.DomainEvent;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.DashboardCountCache;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.DashboardCountCache.Dashboard;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.IpAddressIndex;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.PageCursor;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.StakeHolderBatch;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.StakeHolderDirectory;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.StakeHolderFanOut;
 import com.dnsManagement.WorkFlowIpVaptService.helpers.Utility;
 import com.dnsManagement.WorkFlowIpVaptService.models.*;
 import com.dnsManagement.WorkFlowIpVaptService.openfeign.NotificationClient;
@@ -11,26 +19,32 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 public class DomainNameService {
 
-  @Value("${WEBHOOK_SECRET}")
-  String webhookSecret;
+  private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
   private final DomainNameRepo domainNameRepo;
 
@@ -49,10 +63,21 @@ public class DomainNameService {
 
   private final DomainRenewalRepo domainRenewalRepo;
 
-  private final AsyncNotificationService asyncNotificationService;
+  private final ApplicationEventPublisher events;
+
+  private final StakeHolderDirectory stakeHolderDirectory;
+
+  private final StakeHolderFanOut stakeHolderFanOut;
+
+  private final IpAddressIndex ipAddressIndex;
+
+  private final ProofService proofService;
+  private final DomainStakeholderService domainStakeholderService;
+  private final ApproverInboxService approverInboxService;
+  private final DashboardCountCache dashboardCounts;
 
   @Autowired
-  public DomainNameService(DomainNameRepo domainNameRepo, IpRepo ipRepo, VaptRepo vaptRepo, DomainVerificationRepo domainVerificationRepo, Utility utility, NotificationClient notificationClient, StakeHolderClient client, VaptAndIpRenewalsClient renewalsClient, DomainRenewalRepo domainRenewalRepo, AsyncNotificationService asyncNotificationService) {
+  public DomainNameService(DomainNameRepo domainNameRepo, IpRepo ipRepo, VaptRepo vaptRepo, DomainVerificationRepo domainVerificationRepo, Utility utility, NotificationClient notificationClient, StakeHolderClient client, VaptAndIpRenewalsClient renewalsClient, DomainRenewalRepo domainRenewalRepo, ApplicationEventPublisher events, StakeHolderDirectory stakeHolderDirectory, StakeHolderFanOut stakeHolderFanOut, IpAddressIndex ipAddressIndex, ProofService proofService, DomainStakeholderService domainStakeholderService, ApproverInboxService approverInboxService, DashboardCountCache dashboardCounts) {
     this.domainNameRepo = domainNameRepo;
     this.ipRepo = ipRepo;
     this.vaptRepo = vaptRepo;
@@ -61,7 +86,14 @@ public class DomainNameService {
     this.client = client;
     this.renewalsClient = renewalsClient;
     this.domainRenewalRepo = domainRenewalRepo;
-    this.asyncNotificationService = asyncNotificationService;
+    this.events = events;
+    this.stakeHolderDirectory = stakeHolderDirectory;
+    this.stakeHolderFanOut = stakeHolderFanOut;
+    this.ipAddressIndex = ipAddressIndex;
+    this.proofService = proofService;
+    this.domainStakeholderService = domainStakeholderService;
+    this.approverInboxService = approverInboxService;
+    this.dashboardCounts = dashboardCounts;
   }
 
   @Transactional
@@ -73,18 +105,20 @@ public class DomainNameService {
     // This is wrapped in a helper method for clarity. If it fails, the entire transaction will roll back.
     updateExternalDrmAndArmInfo(domainNameRequest);
 
-    // Phase 2: Fetch all related entities from the local database.
-    Drm drm = utility.findOrThrowNoSuchElementException("DRM", Drm.class, domainNameRequest.getDrmInfo().getEmpNo());
-    Arm arm = utility.findOrThrowNoSuchElementException("ARM", Arm.class, domainNameRequest.getArmInfo().getEmpNo());
-    Hod hod = utility.findOrThrowNoSuchElementException("HOD", Hod.class, domainNameRequest.getApproverInfo().getHodEmpNo());
-    EdCentreHead edCentreHead = utility.findOrThrowNoSuchElementException("ED", EdCentreHead.class, domainNameRequest.getApproverInfo().getEdEmpNo());
-    MemberNetops memberNetops = utility.findOrThrowNoSuchElementException("NETOPS", MemberNetops.class, domainNameRequest.getApproverInfo().getNetopsEmpNo());
-    WebMaster webMaster = utility.findOrThrowNoSuchElementException("WEBMASTER", WebMaster.class, domainNameRequest.getApproverInfo().getWebmasterEmpNo());
-    HodHpcIandE hodHpcIandE = utility.findOrThrowNoSuchElementException("HODHPC", HodHpcIandE.class, domainNameRequest.getApproverInfo().getHodHpcEmpNo());
+    // Phase 2: Resolve all stakeholders concurrently; the first failure cancels the rest.
+    StakeHolderFanOut.Scope lookups = stakeHolderFanOut.open();
+    Supplier<Drm> drm = lookups.fork("DRM", Drm.class, domainNameRequest.getDrmInfo().getEmpNo());
+    Supplier<Arm> arm = lookups.fork("ARM", Arm.class, domainNameRequest.getArmInfo().getEmpNo());
+    Supplier<Hod> hod = lookups.fork("HOD", Hod.class, domainNameRequest.getApproverInfo().getHodEmpNo());
+    Supplier<EdCentreHead> edCentreHead = lookups.fork("ED", EdCentreHead.class, domainNameRequest.getApproverInfo().getEdEmpNo());
+    Supplier<MemberNetops> memberNetops = lookups.fork("NETOPS", MemberNetops.class, domainNameRequest.getApproverInfo().getNetopsEmpNo());
+    Supplier<WebMaster> webMaster = lookups.fork("WEBMASTER", WebMaster.class, domainNameRequest.getApproverInfo().getWebmasterEmpNo());
+    Supplier<HodHpcIandE> hodHpcIandE = lookups.fork("HODHPC", HodHpcIandE.class, domainNameRequest.getApproverInfo().getHodHpcEmpNo());
+    lookups.join();
 
     // Phase 3: Build the new entities that will be saved to the database.
     DomainVerification domainVerification = new DomainVerification();
-    DomainName domainName = buildDomainName(domainNameRequest, drm, arm, hod, edCentreHead, memberNetops, webMaster, hodHpcIandE);
+    DomainName domainName = buildDomainName(domainNameRequest, drm.get(), arm.get(), hod.get(), edCentreHead.get(), memberNetops.get(), webMaster.get(), hodHpcIandE.get());
     Ip ip = buildIp(domainName, domainNameRequest);
     Vapt vapt = buildVapt(ip, domainNameRequest);
     domainVerification.setDomainName(domainName);
@@ -94,14 +128,17 @@ public class DomainNameService {
     // If any of these .save() calls fail, @Transactional will automatically roll back
     // all previous database operations within this method, ensuring data consistency.
     DomainName savedDomain = domainNameRepo.save(domainName);
+    domainStakeholderService.sync(savedDomain);
     ipRepo.save(ip);
+    ipAddressIndex.addAfterCommit(ip);
     vaptRepo.save(vapt);
     domainVerificationRepo.save(domainVerification);
+    approverInboxService.refresh(savedDomain, domainVerification);
 
     log.info("Successfully saved domain '{}' and its related entities to the database.", savedDomain.getDomainName());
 
-    // Phase 5: Send notification asynchronously.
-    // This happens after the database transaction is successful, without blocking the API response.
+    // Phase 5: Publish the submission, notified once the transaction commits.
+    // It commits with the domain and is delivered by the relay, without blocking the API response.
     sendApplicationSubmittedNotification(savedDomain);
 
     return new ResponseEntity<>(savedDomain, HttpStatus.CREATED);
@@ -128,11 +165,15 @@ public class DomainNameService {
       log.error("Critical failure during update of DRM/ARM info via Feign client. Rolling back transaction.", e);
       // Re-throw as a runtime exception to allow @Transactional to handle it.
       throw new RuntimeException("Failed to update external user information.", e);
+    } finally {
+      // The records were just changed remotely, never serve the stale copies.
+      stakeHolderDirectory.evict(Role.DRM.name(), request.getDrmInfo().getEmpNo());
+      stakeHolderDirectory.evict(Role.ARM.name(), request.getArmInfo().getEmpNo());
     }
   }
 
   /**
-   * Helper method to send the notification asynchronously using the async service.
+   * Helper method to publish the submission event inside the current transaction.
    */
   private void sendApplicationSubmittedNotification(DomainName domainName) {
     String remarks = """
@@ -142,12 +183,8 @@ public class DomainNameService {
     NotificationWebhook.EventType eventType = NotificationWebhook.EventType.DOMAIN_APPLICATION_SUBMITTED;
     NotificationWebhook payload = buildNotification(domainName, eventType, remarks);
 
-    log.info("Queuing application submission notification for domain: {}", domainName.getDomainName());
-    asyncNotificationService.sendNotificationAsync(webhookSecret, payload)
-            .exceptionally(ex -> {
-              log.error("Failed to send submission notification for domain: {}", domainName.getDomainName(), ex);
-              return null; // Required for exceptionally block in CompletableFuture<Void>
-            });
+    log.info("Publishing submission event for domain: {}", domainName.getDomainName());
+    events.publishEvent(new DomainEvent.DomainSubmitted(payload));
   }
 
 
@@ -189,7 +226,9 @@ public class DomainNameService {
     dn.setServiceType(req.getDomainDetails().getServiceType());
     dn.setGigcwCompletionStatus(req.getComplianceStatus().getGigwCompliance());
     dn.setVaptCompletionStatus(req.getVaptCompliance().isCompliant());
-    dn.setApprovalProofVaptCompletionStatus(req.getVaptCompliance().getApprovalProof());
+    dn.setApprovalProofVaptCompletionStatusSha256(proofService.store(
+            req.getVaptCompliance().getApprovalProof(),
+            req.getVaptCompliance().getApprovalProofSha256()));
     dn.setMouStatus(req.getComplianceStatus().getMouStatus());
     dn.setPeriodInYears(req.getDomainDetails().getPeriodInYears());
     dn.setServerHardeningStatus(req.getIpDetails().isServerHardeningStatus());
@@ -223,9 +262,9 @@ public class DomainNameService {
     vapt.setExpiryDate(req
             .getVaptCompliance()
             .getCertificateExpiryDate());
-    vapt.setProofOfWork(req
-            .getVaptCompliance()
-            .getApprovalProof());
+    vapt.setProofOfWorkSha256(proofService.store(
+            req.getVaptCompliance().getApprovalProof(),
+            req.getVaptCompliance().getApprovalProofSha256()));
     return vapt;
   }
 
@@ -258,6 +297,7 @@ public class DomainNameService {
 
   }
 
+  @Transactional
   public ResponseEntity<String> updateDomain(@Positive Long dmId,
                                         @Valid UpdateDomainName updateDomainName) {
     DomainName domainName =
@@ -276,6 +316,7 @@ public class DomainNameService {
 
     try {
       domainNameRepo.save(domainName);
+      domainStakeholderService.sync(domainName);
       return new ResponseEntity<>("SUCCESSFULLY UPDATED",
               HttpStatus.OK);
     } catch (RuntimeException e) {
@@ -319,26 +360,33 @@ public class DomainNameService {
           int expiringDays,
           boolean exact) {
 
-    Page<DomainName> domainNamePage = null;
+    Page<ExpiringDomainRow> domainNamePage = null;
 
-    if(!exact)
-      domainNamePage = domainNameRepo.findByDrmId(drmId,
-            pageable, expiringDays);
-    else
-      domainNamePage = domainNameRepo.findExpiringDomainsByDaysAndDrmId(drmId
-              , pageable, expiringDays);
+    if(!exact) {
+      LocalDateTime now = LocalDateTime.now();
+      domainNamePage = domainNameRepo.findByDrmId(drmId, now,
+              now.plusDays(expiringDays), pageable);
+    } else {
+      LocalDateTime day = LocalDate.now().plusDays(expiringDays).atStartOfDay();
+      domainNamePage = domainNameRepo.findExpiringDomainsByDayAndDrmId(drmId,
+              day, day.plusDays(1), pageable);
+    }
 
     if (!domainNamePage.hasContent())
       return new ResponseEntity<>(Page.empty(pageable), HttpStatus.OK);
 
+    StakeHolderBatch stakeHolders = utility.batch()
+            .addAll("ARM", domainNamePage.getContent(),
+                    ExpiringDomainRow::getArmEmployeeNumber)
+            .load();
+
     Page<ExpiringDomains> expiringDomainsPage =
             domainNamePage.map(domainName -> {
               ExpiringDomains expiringDomains = new ExpiringDomains();
-              Arm arm = utility
-                      .findOrThrowNoSuchElementException(
-                              "ARM",
-                              Arm.class,
-                              domainName.getArmEmployeeNumber());
+              Arm arm = stakeHolders.get(
+                      "ARM",
+                      Arm.class,
+                      domainName.getArmEmployeeNumber());
               expiringDomains.setDomainName(domainName.getDomainName());
               expiringDomains.setDomainId(domainName.getDomainNameId());
               expiringDomains.setArmName(arm.getFirstName() + " " + arm.getLastName());
@@ -492,7 +540,7 @@ public class DomainNameService {
             .isVaptCompletionStatus());
     vaptCompliance.setRemarks(vapt.getVaptRemarks());
     vaptCompliance.setCertificateExpiryDate(vapt.getExpiryDate().toLocalDate());
-    vaptCompliance.setApprovalProof(vapt.getProofOfWork());
+    vaptCompliance.setApprovalProofUrl(proofService.url(vapt.getProofOfWorkSha256(), vapt.getProofOfWork()));
     vaptCompliance.setCertifyingAuthority(vapt.getVaptCertifyAuthority());
 
 
@@ -514,32 +562,59 @@ public class DomainNameService {
   public ResponseEntity<Page<ExpiringDomains>> getAllDomains(Long empNo,
                                                              Role role,
                                                              Pageable pageable) {
-    Page<DomainName> domainNameList = domainNameRepo.findAllByRoleAndId(empNo
-            ,role.name(), pageable);
+    Slice<ExpiringDomainRow> domainNameList = domainNameRepo.sliceAllByRoleAndId(empNo
+            ,role, pageable);
     if (domainNameList.isEmpty())
       return new ResponseEntity<>(Page.empty(pageable), HttpStatus.OK);
 
-    //TO OPTIMIZE TELL RAJ TO EXPOSE A ENDPOINT FOR BULK USER DATA FETCH
-    //ENDPOINT EXAMPLE POST /api/bulk/{Role} with request body as a list of
-    // the emp numbers to be fetched
-    Page<ExpiringDomains> expiringDomainsList =
-            domainNameList.map(domainName -> {
-              ExpiringDomains expiringDomains = new ExpiringDomains();
-              Arm arm = utility
-                      .findOrThrowNoSuchElementException(
-                              "ARM",
-                              Arm.class,
-                              domainName.getArmEmployeeNumber());
-              expiringDomains.setDomainName(domainName.getDomainName());
-              expiringDomains.setDomainId(domainName.getDomainNameId());
-              expiringDomains.setArmName(arm.getFirstName() + " " + arm.getLastName());
-              expiringDomains.setArmEmail(arm.getEmail());
-              expiringDomains.setArmMobile(arm.getMobileNumber());
-              expiringDomains.setExpiringDate(domainName.getExpiryDate().toLocalDate());
-              expiringDomains.setArmEmpNo(domainName.getArmEmployeeNumber());
-              return expiringDomains;
-            });
-    return new ResponseEntity<>(expiringDomainsList, HttpStatus.OK);
+    Page<ExpiringDomainRow> page = page(domainNameList, Dashboard.ROLE_DOMAINS, role, empNo,
+            () -> domainNameRepo.countAllByRoleAndId(empNo, role));
+    return new ResponseEntity<>(page.map(toExpiringDomains(domainNameList.getContent())), HttpStatus.OK);
+  }
+
+  @Transactional(readOnly = true)
+  public ResponseEntity<Slice<ExpiringDomains>> getAllDomainsSlice(Long empNo, Role role,
+                                                                  Pageable pageable) {
+    Slice<ExpiringDomainRow> domainNameList = domainNameRepo.sliceAllByRoleAndId(empNo, role, pageable);
+    return new ResponseEntity<>(domainNameList.map(toExpiringDomains(domainNameList.getContent())), HttpStatus.OK);
+  }
+
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPage<ExpiringDomains>> getAllDomainsAfter(Long empNo, Role role,
+                                                                      String cursor, int size,
+                                                                      boolean count) {
+    PageCursor after = PageCursor.decode(cursor);
+    List<ExpiringDomainRow> rows = domainNameRepo.findAllByRoleAndIdAfter(empNo, role,
+            after.dateOfApplication(), after.domainId(), cursorLimit(size));
+    return new ResponseEntity<>(cursorPage(rows, size,
+            row -> PageCursor.after(row.getDateOfApplication(), row.getDomainNameId()),
+            this::toExpiringDomains,
+            count ? () -> dashboardCounts.get(Dashboard.ROLE_DOMAINS, role, empNo,
+                    () -> domainNameRepo.countAllByRoleAndId(empNo, role)) : null), HttpStatus.OK);
+  }
+
+  // ONE BULK USER FETCH PER ROLE FOR THE WHOLE PAGE
+  private Function<ExpiringDomainRow, ExpiringDomains> toExpiringDomains(List<ExpiringDomainRow> rows) {
+    StakeHolderBatch stakeHolders = utility.batch()
+            .addAll("ARM", rows,
+                    ExpiringDomainRow::getArmEmployeeNumber)
+            .load();
+
+    return domainName -> {
+      ExpiringDomains expiringDomains = new ExpiringDomains();
+      Arm arm = stakeHolders.get(
+              "ARM",
+              Arm.class,
+              domainName.getArmEmployeeNumber());
+      expiringDomains.setDomainName(domainName.getDomainName());
+      expiringDomains.setDomainId(domainName.getDomainNameId());
+      expiringDomains.setArmName(arm.getFirstName() + " " + arm.getLastName());
+      expiringDomains.setArmEmail(arm.getEmail());
+      expiringDomains.setArmMobile(arm.getMobileNumber());
+      expiringDomains.setExpiringDate(domainName.getExpiryDate().toLocalDate());
+      expiringDomains.setArmEmpNo(domainName.getArmEmployeeNumber());
+      return expiringDomains;
+    };
   }
 
   @Transactional
@@ -547,86 +622,104 @@ public class DomainNameService {
                                                             Role role,
                                                             Pageable pageable) {
 
-    Page<DomainNameDto> domainNameList = domainNameRepo.findAllDomainRequestsByRoleAndEmpNo(
+    Slice<DomainNameDto> domainNameList = domainNameRepo.sliceAllDomainRequestsByRoleAndEmpNo(
                     empNo,
                     role.name(),
                     pageable
             );
 
+    Page<DomainNameDto> page = page(domainNameList, Dashboard.REQUESTS, role, empNo,
+            () -> approverInboxService.count(empNo, role, InboxKind.REQUEST));
+    return new ResponseEntity<>(page.map(toVerifyRequests(domainNameList.getContent())), HttpStatus.OK);
 
-    Page<VerifyDomainRequestPageDto> hodResponse =
-            domainNameList.map(domainNameDto -> {
-              VerifyDomainRequestPageDto domainRequest =
-                      new VerifyDomainRequestPageDto();
-
-              Drm drm = utility
-                      .findOrThrowNoSuchElementException(
-                              "DRM",
-                              Drm.class,
-                              domainNameDto.getDrmEmpNo());
-
-              Arm arm = utility
-                      .findOrThrowNoSuchElementException(
-                              "ARM",
-                              Arm.class,
-                              domainNameDto.getArmEmpNo());
-
-              GroupDepartment drmGroup = utility
-                      .findGroupOrThrowNoSuchElementException(
-                              GroupDepartment.class,
-                              drm.getGroupId());
-              Centre drmCentre = utility
-                      .findCentreOrThrowNoSuchElementException(
-                              Centre.class,
-                              drm.getCentreId()
-                      );
-
-              GroupDepartment armGroup = utility
-                      .findGroupOrThrowNoSuchElementException(
-                              GroupDepartment.class,
-                              arm.getGroupId());
-              Centre armCentre = utility
-                      .findCentreOrThrowNoSuchElementException(
-                              Centre.class,
-                              arm.getCentreId()
-                      );
-
-              domainRequest.setDomainId(domainNameDto.getDomainId());
-              domainRequest.setDomainName(domainNameDto.getDomainName());
-              domainRequest.setDrmName(
-                      drm.getFirstName() + " " +
-                              drm.getLastName());
-              domainRequest.setArmName(
-                      arm.getFirstName() + " " +
-                              arm.getLastName()
-              );
-
-              domainRequest.setDateOfApplication(domainNameDto
-                      .getDateOfApplication()
-                      .toLocalDateTime()
-                      .toLocalDate());
-
-              if(drmGroup != null || armGroup != null) {
-                domainRequest.setDrmGroupName(
-                        drmGroup.getDepartmentName()
-                );
-                domainRequest.setDrmCentreName(
-                        drmCentre.getCentreName()
-                );
-
-                domainRequest.setArmGroupName(
-                        armGroup.getDepartmentName()
-                );
-                domainRequest.setArmCentreName(
-                        armCentre.getCentreName()
-                );
-              }
-              return domainRequest;
+  }
 
+  @Transactional(readOnly = true)
+  public ResponseEntity<Slice<VerifyDomainRequestPageDto>> getDomainsWithByRoleAndEmpNoInfoSlice(
+          Long empNo, Role role, Pageable pageable) {
+    Slice<DomainNameDto> domainNameList =
+            domainNameRepo.sliceAllDomainRequestsByRoleAndEmpNo(empNo, role.name(), pageable);
+    return new ResponseEntity<>(domainNameList.map(toVerifyRequests(domainNameList.getContent())), HttpStatus.OK);
+  }
 
-            });
-    return new ResponseEntity<>(hodResponse,HttpStatus.OK);
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPage<VerifyDomainRequestPageDto>> getDomainsWithByRoleAndEmpNoInfoAfter(
+          Long empNo, Role role, String cursor, int size, boolean count) {
+    PageCursor after = PageCursor.decode(cursor);
+    List<DomainNameDto> rows = domainNameRepo.findAllDomainRequestsByRoleAndEmpNoAfter(empNo,
+            role.name(), after.dateOfApplication(), after.domainId(), cursorLimit(size));
+    return new ResponseEntity<>(cursorPage(rows, size,
+            row -> PageCursor.after(row.getDateOfApplication(), row.getDomainId()),
+            this::toVerifyRequests,
+            count ? () -> dashboardCounts.get(Dashboard.REQUESTS, role, empNo,
+                    () -> approverInboxService.count(empNo, role, InboxKind.REQUEST)) : null),
+            HttpStatus.OK);
+  }
+
+  private Function<DomainNameDto, VerifyDomainRequestPageDto> toVerifyRequests(List<DomainNameDto> rows) {
+    StakeHolderBatch stakeHolders = utility.batch()
+            .addAll("DRM", rows, DomainNameDto::getDrmEmpNo)
+            .addAll("ARM", rows, DomainNameDto::getArmEmpNo)
+            .load();
+
+    return domainNameDto -> {
+      VerifyDomainRequestPageDto domainRequest =
+              new VerifyDomainRequestPageDto();
+
+      Drm drm = stakeHolders.get(
+              "DRM",
+              Drm.class,
+              domainNameDto.getDrmEmpNo());
 
+      Arm arm = stakeHolders.get(
+              "ARM",
+              Arm.class,
+              domainNameDto.getArmEmpNo());
+
+      GroupDepartment drmGroup = stakeHolders.group(
+              drm.getGroupId());
+      Centre drmCentre = stakeHolders.centre(
+              drm.getCentreId());
+
+      GroupDepartment armGroup = stakeHolders.group(
+              arm.getGroupId());
+      Centre armCentre = stakeHolders.centre(
+              arm.getCentreId());
+
+      domainRequest.setDomainId(domainNameDto.getDomainId());
+      domainRequest.setDomainName(domainNameDto.getDomainName());
+      domainRequest.setDrmName(
+              drm.getFirstName() + " " +
+                      drm.getLastName());
+      domainRequest.setArmName(
+              arm.getFirstName() + " " +
+                      arm.getLastName()
+      );
+
+      domainRequest.setDateOfApplication(domainNameDto
+              .getDateOfApplication()
+              .toLocalDateTime()
+              .toLocalDate());
+
+      if(drmGroup != null || armGroup != null) {
+        domainRequest.setDrmGroupName(
+                drmGroup.getDepartmentName()
+        );
+        domainRequest.setDrmCentreName(
+                drmCentre.getCentreName()
+        );
+
+        domainRequest.setArmGroupName(
+                armGroup.getDepartmentName()
+        );
+        domainRequest.setArmCentreName(
+                armCentre.getCentreName()
+        );
+      }
+      return domainRequest;
+
+
+    };
   }
 
   @Transactional
@@ -658,21 +751,22 @@ public class DomainNameService {
                               "NOT EXIST CORRESPONDING TO DOMAIN ID: " + domainId));
 
 
-      response.setDomainRenewalApprovalProofByHod(renewal.getApprovalProofByHod());
+      response.setDomainRenewalApprovalProofByHodUrl(
+              proofService.url(renewal.getApprovalProofByHodSha256(), renewal.getApprovalProofByHod()));
       response.setReason(renewal.getReason());
 
     } else if (domainName.isActive()) {
       status = "Active";
-      response.setDomainRenewalApprovalProofByHod(null);
+      response.setDomainRenewalApprovalProofByHodUrl(null);
       response.setReason(null);
     } else if(domainName.isDeleted()) {
       status = "Domain Deleted";
-      response.setDomainRenewalApprovalProofByHod(null);
+      response.setDomainRenewalApprovalProofByHodUrl(null);
       response.setReason(null);
     }
     else {
       status = "Unknown Status";
-      response.setDomainRenewalApprovalProofByHod(null);
+      response.setDomainRenewalApprovalProofByHodUrl(null);
       response.setReason(null);
     }
 
@@ -693,47 +787,75 @@ public class DomainNameService {
     // armName;
     // dateOfApplication;
 
-    Page<DomainNameDto> domainNameList =
-            domainNameRepo.findDomainRenewalsByRoleAndEmpNo(
+    Slice<DomainNameDto> domainNameList =
+            domainNameRepo.sliceDomainRenewalsByRoleAndEmpNo(
                     role.name(),
                     empNo,
                     pageable);
 
+    Page<DomainNameDto> page = page(domainNameList, Dashboard.RENEWALS, role, empNo,
+            () -> approverInboxService.count(empNo, role, InboxKind.RENEWAL));
+    return new ResponseEntity<>(page.map(toRenewalRequests(domainNameList.getContent())), HttpStatus.OK);
+  }
 
-    Page<VerifyDomainRequestPageDto> response =
-            domainNameList.map(domainNameDto -> {
-              VerifyDomainRequestPageDto domainRequest =
-                      new VerifyDomainRequestPageDto();
-
-              Drm drm = utility
-                      .findOrThrowNoSuchElementException(
-                              "DRM",
-                              Drm.class,
-                              domainNameDto.getDrmEmpNo());
-
-              Arm arm = utility
-                      .findOrThrowNoSuchElementException(
-                              "ARM",
-                              Arm.class,
-                              domainNameDto.getArmEmpNo());
-
-              domainRequest.setDomainId(domainNameDto.getDomainId());
-              domainRequest.setDomainName(domainNameDto.getDomainName());
-              domainRequest.setDrmName(
-                      drm.getFirstName() + " " +
-                              drm.getLastName());
-              domainRequest.setArmName(
-                      arm.getFirstName() + " " +
-                              arm.getLastName()
-              );
-
-              domainRequest.setDateOfApplication(domainNameDto
-                      .getDateOfApplication()
-                      .toLocalDateTime()
-                      .toLocalDate());
-              return domainRequest;
-            });
-    return new ResponseEntity<>(response,HttpStatus.OK);
+  @Transactional(readOnly = true)
+  public ResponseEntity<Slice<VerifyDomainRequestPageDto>> getRenewalViewByRoleAndEmpNoSlice(
+          Role role, Long empNo, Pageable pageable) {
+    Slice<DomainNameDto> domainNameList =
+            domainNameRepo.sliceDomainRenewalsByRoleAndEmpNo(role.name(), empNo, pageable);
+    return new ResponseEntity<>(domainNameList.map(toRenewalRequests(domainNameList.getContent())), HttpStatus.OK);
+  }
+
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPage<VerifyDomainRequestPageDto>> getRenewalViewByRoleAndEmpNoAfter(
+          Role role, Long empNo, String cursor, int size, boolean count) {
+    PageCursor after = PageCursor.decode(cursor);
+    List<DomainNameDto> rows = domainNameRepo.findDomainRenewalsByRoleAndEmpNoAfter(empNo,
+            role.name(), after.dateOfApplication(), after.domainId(), cursorLimit(size));
+    return new ResponseEntity<>(cursorPage(rows, size,
+            row -> PageCursor.after(row.getDateOfApplication(), row.getDomainId()),
+            this::toRenewalRequests,
+            count ? () -> dashboardCounts.get(Dashboard.RENEWALS, role, empNo,
+                    () -> approverInboxService.count(empNo, role, InboxKind.RENEWAL)) : null),
+            HttpStatus.OK);
+  }
+
+  private Function<DomainNameDto, VerifyDomainRequestPageDto> toRenewalRequests(List<DomainNameDto> rows) {
+    StakeHolderBatch stakeHolders = utility.batch()
+            .addAll("DRM", rows, DomainNameDto::getDrmEmpNo)
+            .addAll("ARM", rows, DomainNameDto::getArmEmpNo)
+            .load();
+
+    return domainNameDto -> {
+      VerifyDomainRequestPageDto domainRequest =
+              new VerifyDomainRequestPageDto();
+
+      Drm drm = stakeHolders.get(
+              "DRM",
+              Drm.class,
+              domainNameDto.getDrmEmpNo());
+
+      Arm arm = stakeHolders.get(
+              "ARM",
+              Arm.class,
+              domainNameDto.getArmEmpNo());
+
+      domainRequest.setDomainId(domainNameDto.getDomainId());
+      domainRequest.setDomainName(domainNameDto.getDomainName());
+      domainRequest.setDrmName(
+              drm.getFirstName() + " " +
+                      drm.getLastName());
+      domainRequest.setArmName(
+              arm.getFirstName() + " " +
+                      arm.getLastName()
+      );
+
+      domainRequest.setDateOfApplication(domainNameDto
+              .getDateOfApplication()
+              .toLocalDateTime()
+              .toLocalDate());
+      return domainRequest;
+    };
   }
 
   @Transactional
@@ -806,128 +928,221 @@ public class DomainNameService {
                                              Pageable pageable) {
 
     System.out.println(String.format("ROLE = %s, emp no = %d",role,empNo));
-    Page<ViewDomainDBDto> viewDomainDBDtosPage =
-            domainNameRepo.findAllDomainNameByRoleAndEmpNo(empNo, role.name()
+    Slice<ViewDomainDBDto> viewDomainDBDtosSlice =
+            domainNameRepo.sliceAllDomainNameByRoleAndEmpNo(empNo, role.name()
                     , pageable);
 
+    Page<ViewDomainDBDto> viewDomainDBDtosPage = page(viewDomainDBDtosSlice, Dashboard.VIEW_DOMAINS,
+            role, empNo, () -> domainNameRepo.countDomainNameByRoleAndEmpNo(empNo, role.name()));
+    return new ResponseEntity<>(viewDomainDBDtosPage.map(toViewDomains(viewDomainDBDtosSlice.getContent())), HttpStatus.OK);
+  }
+
+  @Transactional(readOnly = true)
+  public ResponseEntity<Slice<ViewDomainResponseDto>> getAllViewDomainsSlice(Long empNo, Role role,
+                                                                            Pageable pageable) {
+    Slice<ViewDomainDBDto> viewDomainDBDtosSlice =
+            domainNameRepo.sliceAllDomainNameByRoleAndEmpNo(empNo, role.name(), pageable);
+    return new ResponseEntity<>(viewDomainDBDtosSlice.map(toViewDomains(viewDomainDBDtosSlice.getContent())), HttpStatus.OK);
+  }
 
-    Page<ViewDomainResponseDto> domainResponseDtosPage =
-            viewDomainDBDtosPage.map(viewDomainDBDto -> {
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPage<ViewDomainResponseDto>> getAllViewDomainsAfter(Long empNo, Role role,
+                                                                                 String cursor, int size,
+                                                                                 boolean count) {
+    PageCursor after = PageCursor.decode(cursor);
+    List<ViewDomainDBDto> rows = domainNameRepo.findAllDomainNameByRoleAndEmpNoAfter(empNo,
+            role.name(), after.dateOfApplication(), after.domainId(), cursorLimit(size));
+    return new ResponseEntity<>(cursorPage(rows, size,
+            row -> PageCursor.after(row.getDateOfApplication(), row.getDomainId()),
+            this::toViewDomains,
+            count ? () -> dashboardCounts.get(Dashboard.VIEW_DOMAINS, role, empNo,
+                    () -> domainNameRepo.countDomainNameByRoleAndEmpNo(empNo, role.name())) : null),
+            HttpStatus.OK);
+  }
 
-              String status;
+  private Function<ViewDomainDBDto, ViewDomainResponseDto> toViewDomains(List<ViewDomainDBDto> rows) {
+    StakeHolderBatch stakeHolders = utility.batch()
+            .addAll("DRM", rows,
+                    ViewDomainDBDto::getDrmEmpNo)
+            .load();
 
-              if(viewDomainDBDto.isActive())
-                status = "Domain Active";
-              else if(viewDomainDBDto.isDeleted())
-                status = "Domain Deleted";
-              else if (viewDomainDBDto.isRenewal())
-                status = "Under Renewal";
-              else if(viewDomainDBDto.getDomainExpiryDate() == null)
-                status = "Application Submitted";
-              else
-                status = "Unknown Status";
+    return viewDomainDBDto -> {
 
+      String status;
 
-              ViewDomainResponseDto responseDto = new ViewDomainResponseDto();
+      if(viewDomainDBDto.isActive())
+        status = "Domain Active";
+      else if(viewDomainDBDto.isDeleted())
+        status = "Domain Deleted";
+      else if (viewDomainDBDto.isRenewal())
+        status = "Under Renewal";
+      else if(viewDomainDBDto.getDomainExpiryDate() == null)
+        status = "Application Submitted";
+      else
+        status = "Unknown Status";
 
-              Drm drm = utility.findOrThrowNoSuchElementException("DRM", Drm.class,
-                      viewDomainDBDto.getDrmEmpNo());
 
-              Centre drmCentre =
-                      utility.findCentreOrThrowNoSuchElementException(Centre.class,
-                              drm.getCentreId());
+      ViewDomainResponseDto responseDto = new ViewDomainResponseDto();
 
-              GroupDepartment drmGroup =
-                      utility.findGroupOrThrowNoSuchElementException(GroupDepartment.class,
-                              drm.getGroupId());
+      Drm drm = stakeHolders.get("DRM", Drm.class,
+              viewDomainDBDto.getDrmEmpNo());
 
-              if(drm == null || drmCentre == null || drmGroup == null)
-                throw new RuntimeException("drm or centre or group is null");
-              System.out.println(drm.toString());
+      Centre drmCentre = stakeHolders.centre(drm.getCentreId());
 
-              responseDto.setDomainId(viewDomainDBDto.getDomainId());
-              responseDto.setDomainName(viewDomainDBDto.getDomainName());
-              responseDto.setDrmName(drm.getFirstName() + " " + drm.getLastName());
+      GroupDepartment drmGroup = stakeHolders.group(drm.getGroupId());
 
-              if(viewDomainDBDto.getDomainExpiryDate() != null)
-                responseDto.setDomainExpiryDate(viewDomainDBDto
-                        .getDomainExpiryDate()
-                        .toLocalDateTime()
-                        .toLocalDate());
-              responseDto.setDrmCentreName(drmCentre.getCentreName());
-              responseDto.setDrmGroupName(drmGroup.getDepartmentName());
-              responseDto.setStatus(status);
-              return responseDto;
-            });
-    return new ResponseEntity<>(domainResponseDtosPage, HttpStatus.OK);
+      if(drm == null || drmCentre == null || drmGroup == null)
+        throw new RuntimeException("drm or centre or group is null");
+
+      responseDto.setDomainId(viewDomainDBDto.getDomainId());
+      responseDto.setDomainName(viewDomainDBDto.getDomainName());
+      responseDto.setDrmName(drm.getFirstName() + " " + drm.getLastName());
+
+      if(viewDomainDBDto.getDomainExpiryDate() != null)
+        responseDto.setDomainExpiryDate(viewDomainDBDto
+                .getDomainExpiryDate()
+                .toLocalDateTime()
+                .toLocalDate());
+      responseDto.setDrmCentreName(drmCentre.getCentreName());
+      responseDto.setDrmGroupName(drmGroup.getDepartmentName());
+      responseDto.setStatus(status);
+      return responseDto;
+    };
+  }
+
+  public ResponseEntity<Map<InboxKind, Long>> getInboxCounts(Long empNo, Role role) {
+    return new ResponseEntity<>(approverInboxService.counts(empNo, role), HttpStatus.OK);
   }
 
   public ResponseEntity<Page<VerifyDomainRequestPageDto>> getDomainsToPurchase(Long webmasterId, Pageable pageable) {
 
-    Page<DomainNameDto> domainNameList =
-            domainNameRepo.findDomainToPurchaseByWebmasterId(webmasterId, pageable);
-
-
-    Page<VerifyDomainRequestPageDto> response =
-            domainNameList.map(domainNameDto -> {
-              VerifyDomainRequestPageDto domainRequest =
-                      new VerifyDomainRequestPageDto();
-
-              Drm drm = utility
-                      .findOrThrowNoSuchElementException(
-                              "DRM",
-                              Drm.class,
-                              domainNameDto.getDrmEmpNo());
-
-              Arm arm = utility
-                      .findOrThrowNoSuchElementException(
-                              "ARM",
-                              Arm.class,
-                              domainNameDto.getArmEmpNo());
-
-              domainRequest.setDomainId(domainNameDto.getDomainId());
-              domainRequest.setDomainName(domainNameDto.getDomainName());
-              domainRequest.setDrmName(
-                      drm.getFirstName() + " " +
-                              drm.getLastName());
-              domainRequest.setArmName(
-                      arm.getFirstName() + " " +
-                              arm.getLastName()
-              );
-
-              domainRequest.setDateOfApplication(domainNameDto
-                      .getDateOfApplication()
-                      .toLocalDateTime()
-                      .toLocalDate());
-
-              domainRequest.setDrmGroupName(utility
-                      .findGroupOrThrowNoSuchElementException(
-                              GroupDepartment.class,
-                              drm.getGroupId())
-                      .getDepartmentName());
-
-              domainRequest.setDrmCentreName(utility
-                      .findCentreOrThrowNoSuchElementException(
-                              Centre.class,
-                              drm.getCentreId())
-                      .getCentreName());
-
-
-              domainRequest.setArmGroupName(utility
-                      .findGroupOrThrowNoSuchElementException(
-                              GroupDepartment.class,
-                              arm.getGroupId())
-                      .getDepartmentName());
-
-              domainRequest.setArmCentreName(utility
-                      .findCentreOrThrowNoSuchElementException(
-                              Centre.class,
-                              arm.getCentreId())
-                      .getCentreName());
-              return domainRequest;
-            });
-    return new ResponseEntity<>(response,HttpStatus.OK);
+    Slice<DomainNameDto> domainNameList =
+            domainNameRepo.sliceDomainToPurchaseByWebmasterId(webmasterId, pageable);
+
+    Page<DomainNameDto> page = page(domainNameList, Dashboard.PURCHASES, Role.WEBMASTER, webmasterId,
+            () -> approverInboxService.count(webmasterId, Role.WEBMASTER, InboxKind.PURCHASE));
+    return new ResponseEntity<>(page.map(toPurchaseRequests(domainNameList.getContent())), HttpStatus.OK);
+
+  }
+
+  @Transactional(readOnly = true)
+  public ResponseEntity<Slice<VerifyDomainRequestPageDto>> getDomainsToPurchaseSlice(Long webmasterId,
+                                                                                    Pageable pageable) {
+    Slice<DomainNameDto> domainNameList =
+            domainNameRepo.sliceDomainToPurchaseByWebmasterId(webmasterId, pageable);
+    return new ResponseEntity<>(domainNameList.map(toPurchaseRequests(domainNameList.getContent())), HttpStatus.OK);
+  }
+
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPage<VerifyDomainRequestPageDto>> getDomainsToPurchaseAfter(
+          Long webmasterId, String cursor, int size, boolean count) {
+    PageCursor after = PageCursor.decode(cursor);
+    List<DomainNameDto> rows = domainNameRepo.findDomainToPurchaseByWebmasterIdAfter(webmasterId,
+            after.dateOfApplication(), after.domainId(), cursorLimit(size));
+    return new ResponseEntity<>(cursorPage(rows, size,
+            row -> PageCursor.after(row.getDateOfApplication(), row.getDomainId()),
+            this::toPurchaseRequests,
+            count ? () -> dashboardCounts.get(Dashboard.PURCHASES, Role.WEBMASTER, webmasterId,
+                    () -> approverInboxService.count(webmasterId, Role.WEBMASTER, InboxKind.PURCHASE))
+                    : null),
+            HttpStatus.OK);
+  }
+
+  private Function<DomainNameDto, VerifyDomainRequestPageDto> toPurchaseRequests(List<DomainNameDto> rows) {
+    StakeHolderBatch stakeHolders = utility.batch()
+            .addAll("DRM", rows, DomainNameDto::getDrmEmpNo)
+            .addAll("ARM", rows, DomainNameDto::getArmEmpNo)
+            .load();
 
+    return domainNameDto -> {
+      VerifyDomainRequestPageDto domainRequest =
+              new VerifyDomainRequestPageDto();
+
+      Drm drm = stakeHolders.get(
+              "DRM",
+              Drm.class,
+              domainNameDto.getDrmEmpNo());
+
+      Arm arm = stakeHolders.get(
+              "ARM",
+              Arm.class,
+              domainNameDto.getArmEmpNo());
+
+      domainRequest.setDomainId(domainNameDto.getDomainId());
+      domainRequest.setDomainName(domainNameDto.getDomainName());
+      domainRequest.setDrmName(
+              drm.getFirstName() + " " +
+                      drm.getLastName());
+      domainRequest.setArmName(
+              arm.getFirstName() + " " +
+                      arm.getLastName()
+      );
+
+      domainRequest.setDateOfApplication(domainNameDto
+              .getDateOfApplication()
+              .toLocalDateTime()
+              .toLocalDate());
+
+      domainRequest.setDrmGroupName(stakeHolders
+              .group(drm.getGroupId())
+              .getDepartmentName());
+
+      domainRequest.setDrmCentreName(stakeHolders
+              .centre(drm.getCentreId())
+              .getCentreName());
+
+
+      domainRequest.setArmGroupName(stakeHolders
+              .group(arm.getGroupId())
+              .getDepartmentName());
+
+      domainRequest.setArmCentreName(stakeHolders
+              .centre(arm.getCentreId())
+              .getCentreName());
+      return domainRequest;
+    };
+  }
+
+  /**
+   * Turns a slice of a dashboard into a page. On its last page the total
+   * follows from the rows; otherwise it comes from {@link DashboardCountCache},
+   * which only runs {@code count} on a miss.
+   */
+  private <T> Page<T> page(Slice<T> slice, Dashboard dashboard, Role role, Long empNo,
+                           LongSupplier count) {
+    Pageable pageable = slice.getPageable();
+    if (!slice.hasNext() && (slice.hasContent() || pageable.isUnpaged() || pageable.getOffset() == 0)) {
+      long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+      return new PageImpl<>(slice.getContent(), pageable, offset + slice.getNumberOfElements());
+    }
+    return new PageImpl<>(slice.getContent(), pageable,
+            dashboardCounts.get(dashboard, role, empNo, count));
+  }
+
+  // One row more than asked for tells whether there is a next page.
+  private static Pageable cursorLimit(int size) {
+    if (size < 1 || size > MAX_CURSOR_PAGE_SIZE)
+      throw new IllegalArgumentException(
+              "PAGE SIZE MUST BE BETWEEN 1 AND " + MAX_CURSOR_PAGE_SIZE);
+    return PageRequest.of(0, size + 1);
+  }
+
+  /**
+   * @param rows  Up to {@code size + 1} rows after the cursor.
+   * @param key   Where a row sits in the {@code (d_o_apl, dm_id)} order.
+   * @param total {@code null} when the caller did not ask for a count.
+   */
+  private static <R, T> CursorPage<T> cursorPage(List<R> rows, int size,
+                                                 Function<R, PageCursor> key,
+                                                 Function<List<R>, Function<R, T>> mapper,
+                                                 LongSupplier total) {
+    boolean more = rows.size() > size;
+    List<R> page = more ? rows.subList(0, size) : rows;
+    List<T> content = page.isEmpty()
+            ? List.of() : page.stream().map(mapper.apply(page)).toList();
+    return new CursorPage<>(content,
+            more ? key.apply(page.get(size - 1)).encode() : null,
+            total == null ? null : total.getAsLong());
   }
 
 
@@ -953,6 +1168,7 @@ public class DomainNameService {
     domainName.setActive(false);
     domainName.setDeleted(true);
     DomainName  response = domainNameRepo.save(domainName);
+    approverInboxService.refresh(response);
 
     String remarks = """
             DOMAIN NAME  DELETION IS SUCCESSFUL.
@@ -961,22 +1177,10 @@ public class DomainNameService {
     NotificationWebhook.EventType eventType = NotificationWebhook
             .EventType
             .DOMAIN_DELETED;
-    log.info("Queuing notification for deletion of domain: {}",
+    log.info("Publishing deletion event for domain: {}",
             response.getDomainName());
-    asyncNotificationService
-            .sendNotificationAsync(
-                    webhookSecret,
-                    buildNotification(response, eventType, remarks)
-            )
-            .exceptionally(throwable -> {
-              log.error(
-                      "Failed to send DELETION notification for domain: {}",
-                      response.getDomainName(),
-                      throwable
-              );
-              // The 'exceptionally' block must return a value. For CompletableFuture<Void>, null is appropriate.
-              return null;
-            });
+    events.publishEvent(new DomainEvent.DomainDeleted(
+            buildNotification(response, eventType, remarks)));
     return ResponseEntity.ok(response);
   }
 }
@@ -1,6 +1,8 @@
 package com.dnsManagement.WorkFlowIpVaptService.services;
 
 import com.dnsManagement.WorkFlowIpVaptService.dto.*;
+import com.dnsManagement.WorkFlowIpVaptService.events.DomainEvent;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.StakeHolderFanOut;
 import com.dnsManagement.WorkFlowIpVaptService.helpers.Utility;
 import com.dnsManagement.WorkFlowIpVaptService.models.*;
 import com.dnsManagement.WorkFlowIpVaptService.models.Role;
@@ -11,7 +13,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -19,28 +21,35 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 @Service
 public class DomainRenewalService {
 
   private static final Logger log = LoggerFactory.getLogger(DomainRenewalService.class);
 
-  @Value("${WEBHOOK_SECRET}")
-  private String webhookSecret;
 
   private final DomainRenewalRepo domainRenewalRepo;
   private final DomainNameRepo domainNameRepo;
   private final DomainVerificationRepo domainVerificationRepo;
   private final Utility utility;
-  private final AsyncNotificationService asyncNotificationService;
+  private final ApplicationEventPublisher events;
+  private final StakeHolderFanOut stakeHolderFanOut;
+  private final ProofService proofService;
+  private final DomainStakeholderService domainStakeholderService;
+  private final ApproverInboxService approverInboxService;
 
   @Autowired
-  public DomainRenewalService(DomainRenewalRepo domainRenewalRepo, DomainNameRepo domainNameRepo, DomainVerificationRepo domainVerificationRepo, Utility utility, AsyncNotificationService asyncNotificationService) {
+  public DomainRenewalService(DomainRenewalRepo domainRenewalRepo, DomainNameRepo domainNameRepo, DomainVerificationRepo domainVerificationRepo, Utility utility, ApplicationEventPublisher events, StakeHolderFanOut stakeHolderFanOut, ProofService proofService, DomainStakeholderService domainStakeholderService, ApproverInboxService approverInboxService) {
     this.domainRenewalRepo = domainRenewalRepo;
     this.domainNameRepo = domainNameRepo;
     this.domainVerificationRepo = domainVerificationRepo;
     this.utility = utility;
-    this.asyncNotificationService = asyncNotificationService;
+    this.events = events;
+    this.stakeHolderFanOut = stakeHolderFanOut;
+    this.proofService = proofService;
+    this.domainStakeholderService = domainStakeholderService;
+    this.approverInboxService = approverInboxService;
   }
 
   /**
@@ -62,50 +71,50 @@ public class DomainRenewalService {
       throw new IllegalStateException("Domain with ID " + domainName.getDomainNameId() + " is already undergoing renewal.");
     }
 
-    // Fetch all associated approvers and contacts
-    Drm drm = utility.findOrThrowNoSuchElementException("DRM", Drm.class, renewalRequest.getDrmInfo().getEmpNo());
-    Arm arm = utility.findOrThrowNoSuchElementException("ARM", Arm.class, renewalRequest.getArmInfo().getEmpNo());
-    Hod hod = utility.findOrThrowNoSuchElementException("HOD", Hod.class, renewalRequest.getApproverInfo().getHodEmpNo());
-    EdCentreHead edCentreHead = utility.findOrThrowNoSuchElementException("ED", EdCentreHead.class, renewalRequest.getApproverInfo().getEdEmpNo());
-    MemberNetops memberNetops = utility.findOrThrowNoSuchElementException("NETOPS", MemberNetops.class, renewalRequest.getApproverInfo().getNetopsEmpNo());
-    WebMaster webMaster = utility.findOrThrowNoSuchElementException("WEBMASTER", WebMaster.class, renewalRequest.getApproverInfo().getWebmasterEmpNo());
-    HodHpcIandE hodHpcIandE = utility.findOrThrowNoSuchElementException("HODHPC", HodHpcIandE.class, renewalRequest.getApproverInfo().getHodHpcEmpNo());
+    // Fetch all associated approvers and contacts concurrently; the first failure cancels the rest.
+    StakeHolderFanOut.Scope lookups = stakeHolderFanOut.open();
+    Supplier<Drm> drm = lookups.fork("DRM", Drm.class, renewalRequest.getDrmInfo().getEmpNo());
+    Supplier<Arm> arm = lookups.fork("ARM", Arm.class, renewalRequest.getArmInfo().getEmpNo());
+    Supplier<Hod> hod = lookups.fork("HOD", Hod.class, renewalRequest.getApproverInfo().getHodEmpNo());
+    Supplier<EdCentreHead> edCentreHead = lookups.fork("ED", EdCentreHead.class, renewalRequest.getApproverInfo().getEdEmpNo());
+    Supplier<MemberNetops> memberNetops = lookups.fork("NETOPS", MemberNetops.class, renewalRequest.getApproverInfo().getNetopsEmpNo());
+    Supplier<WebMaster> webMaster = lookups.fork("WEBMASTER", WebMaster.class, renewalRequest.getApproverInfo().getWebmasterEmpNo());
+    Supplier<HodHpcIandE> hodHpcIandE = lookups.fork("HODHPC", HodHpcIandE.class, renewalRequest.getApproverInfo().getHodHpcEmpNo());
+    lookups.join();
 
     DomainVerification domainVerification = domainVerificationRepo.findByDomainNameId(domainName.getDomainNameId())
             .orElseThrow(() -> new NoSuchElementException("Domain verification record for domain ID " + domainName.getDomainNameId() + " does not exist."));
 
     // Phase 2: Prepare the entities for update (in-memory changes).
-    DomainRenewal domainRenewal = buildDomainRenewal(domainName, renewalRequest, hod);
-    updateDomainName(renewalRequest, drm, arm, hod, edCentreHead, memberNetops, webMaster, hodHpcIandE, domainName);
+    DomainRenewal domainRenewal = buildDomainRenewal(domainName, renewalRequest, hod.get());
+    updateDomainName(renewalRequest, drm.get(), arm.get(), hod.get(), edCentreHead.get(), memberNetops.get(), webMaster.get(), hodHpcIandE.get(), domainName);
     resetDomainVerificationRecord(domainVerification);
 
     // Phase 3: Persist all changes within the transaction.
     // The previous try-catch block is removed to ensure transactional integrity.
     // Any failure here will now cause a full rollback of all changes.
     domainNameRepo.save(domainName);
+    domainStakeholderService.sync(domainName);
     domainVerificationRepo.save(domainVerification);
+    approverInboxService.refresh(domainName, domainVerification);
     DomainRenewal savedRenewal = domainRenewalRepo.save(domainRenewal);
 
     log.info("Successfully created renewal record with ID {} for domain '{}'.", savedRenewal.getRenewalId(), domainName.getDomainName());
 
-    // Phase 4: Send notification asynchronously after the transaction has successfully committed.
+    // Phase 4: Publish the renewal request, it is notified once the transaction commits.
     sendRenewalRequestNotification(domainName);
 
     return new ResponseEntity<>(savedRenewal, HttpStatus.CREATED);
   }
 
   /**
-   * Triggers an asynchronous notification for the domain renewal request.
-   * Failures are logged but do not impact the main transaction.
+   * Publishes the renewal request event, whose notification is written to
+   * the outbox with the renewal and delivered after commit.
    */
   private void sendRenewalRequestNotification(DomainName domainName) {
     NotificationWebhook payload = buildNotification(domainName);
-    log.info("Queuing DOMAIN_RENEWAL_REQUESTED notification for domain: {}", domainName.getDomainName());
-    asyncNotificationService.sendNotificationAsync(webhookSecret, payload)
-            .exceptionally(ex -> {
-              log.error("Failed to send renewal request notification for domain: {}", domainName.getDomainName(), ex);
-              return null; // Required for exceptionally block
-            });
+    log.info("Publishing DOMAIN_RENEWAL_REQUESTED event for domain: {}", domainName.getDomainName());
+    events.publishEvent(new DomainEvent.DomainRenewalRequested(payload));
   }
 
   /**
@@ -117,7 +126,9 @@ public class DomainRenewalService {
     domainRenewal.setReason(req.getReason());
     domainRenewal.setHodEmployeeNumber(hod.getEmployeeNumber());
     domainRenewal.setPreviousDomainName(domainName.getDomainName());
-    domainRenewal.setApprovalProofByHod(req.getDomainRenewalApprovalProofByHod());
+    domainRenewal.setApprovalProofByHodSha256(proofService.store(
+            req.getDomainRenewalApprovalProofByHod(),
+            req.getDomainRenewalApprovalProofByHodSha256()));
     return domainRenewal;
   }
 
@@ -137,7 +148,10 @@ public class DomainRenewalService {
     dn.setServiceType(req.getDomainDetails().getServiceType());
     dn.setGigcwCompletionStatus(req.getComplianceStatus().getGigwCompliance());
     dn.setVaptCompletionStatus(req.getVaptCompliance().isVaptCompliant());
-    dn.setApprovalProofVaptCompletionStatus(req.getVaptCompliance().getApprovalProof());
+    dn.setApprovalProofVaptCompletionStatusSha256(proofService.store(
+            req.getVaptCompliance().getApprovalProof(),
+            req.getVaptCompliance().getApprovalProofSha256()));
+    dn.setApprovalProofVaptCompletionStatus(null);
     dn.setMouStatus(req.getComplianceStatus().getMouStatus());
     dn.setPeriodInYears(req.getDomainDetails().getPeriodInYears());
     dn.setServerHardeningStatus(req.getIpDetails().isServerHardeningStatus());
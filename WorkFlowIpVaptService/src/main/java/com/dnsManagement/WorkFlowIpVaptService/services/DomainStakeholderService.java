@@ -0,0 +1,75 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.DashboardCountCache;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainStakeholder;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainStakeholderRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps {@link DomainStakeholder} in step with the employee numbers of a
+ * {@link DomainName}. Every write that assigns them (application, renewal,
+ * DRM transfer) calls {@link #sync} in its transaction; domains written
+ * before the table existed were filled in by the V6 migration.
+ */
+@Service
+public class DomainStakeholderService {
+
+  private final DomainStakeholderRepo domainStakeholderRepo;
+  private final DashboardCountCache dashboardCounts;
+
+  @Autowired
+  public DomainStakeholderService(DomainStakeholderRepo domainStakeholderRepo,
+                                  DashboardCountCache dashboardCounts) {
+    this.domainStakeholderRepo = domainStakeholderRepo;
+    this.dashboardCounts = dashboardCounts;
+  }
+
+  static Map<Role, Long> stakeholders(DomainName domainName) {
+    Map<Role, Long> stakeholders = new EnumMap<>(Role.class);
+    stakeholders.put(Role.DRM, domainName.getDrmEmployeeNumber());
+    stakeholders.put(Role.ARM, domainName.getArmEmployeeNumber());
+    stakeholders.put(Role.HOD, domainName.getHodEmployeeNumber());
+    stakeholders.put(Role.ED, domainName.getEdEmployeeNumber());
+    stakeholders.put(Role.NETOPS, domainName.getNetopsEmployeeNumber());
+    stakeholders.put(Role.WEBMASTER, domainName.getWebmasterEmployeeNumber());
+    stakeholders.put(Role.HODHPC, domainName.getHodHpcEmployeeNumber());
+    return stakeholders;
+  }
+
+  /**
+   * Brings the rows of a saved domain in line with its employee numbers,
+   * touching only the roles that changed. The dashboard totals of everyone
+   * on the domain, before and after, are evicted.
+   */
+  @Transactional
+  public void sync(DomainName domainName) {
+    Long domainId = Objects.requireNonNull(domainName.getDomainNameId(), "domain not saved yet");
+    Map<Role, DomainStakeholder> current = new EnumMap<>(Role.class);
+    for (DomainStakeholder row : domainStakeholderRepo.findByDomainId(domainId))
+      current.put(row.getRole(), row);
+
+    Map<Role, Long> stakeholders = stakeholders(domainName);
+    dashboardCounts.evictAfterCommit(stakeholders);
+    stakeholders.forEach((role, empNo) -> {
+      DomainStakeholder row = current.get(role);
+      if (row != null && !Objects.equals(empNo, row.getEmpNo()))
+        dashboardCounts.evictAfterCommit(role, row.getEmpNo());
+      if (empNo == null) {
+        if (row != null)
+          domainStakeholderRepo.delete(row);
+      } else if (row == null) {
+        domainStakeholderRepo.save(new DomainStakeholder(domainId, role, empNo));
+      } else if (!empNo.equals(row.getEmpNo())) {
+        row.setEmpNo(empNo);
+      }
+    });
+  }
+}
@@ -1,41 +1,82 @@
 package com.dnsManagement.WorkFlowIpVaptService.services;
 
-import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow;
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.events.DomainEvent;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainExpiryTransitionRepo;
 import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 public class DomainUpdateService {
 
   private static final Logger logger = LoggerFactory.getLogger(DomainUpdateService.class);
   private final DomainNameRepo domainRepository;
+  private final DomainExpiryTransitionRepo expiryTransitions;
+  private final ApplicationEventPublisher events;
 
   @Autowired
-  public DomainUpdateService(DomainNameRepo domainRepository) {
+  public DomainUpdateService(DomainNameRepo domainRepository, DomainExpiryTransitionRepo expiryTransitions,
+                             ApplicationEventPublisher events) {
     this.domainRepository = domainRepository;
+    this.expiryTransitions = expiryTransitions;
+    this.events = events;
   }
 
   /**
-   * Updates a list of domains in a single, atomic database transaction.
-   * If any part of this operation fails, the entire transaction will be rolled back.
+   * Marks one chunk of expiring domains as notified and publishes their
+   * expiry events, in one short transaction. Domains another run already
+   * handled in the meantime are skipped, so a chunk can safely be retried.
    *
-   * @param domainsToUpdate The list of domain entities with updated states.
-   * @param daysUntilExpiration The context for the log message.
+   * @param notifications The notification for each domain of the chunk, by id.
+   * @param daysUntilExpiration The interval the chunk belongs to.
+   * @return The number of domains updated.
    */
   @Transactional
-  public void updateDomainsInTransaction(List<DomainName> domainsToUpdate, int daysUntilExpiration) {
-    if (domainsToUpdate == null || domainsToUpdate.isEmpty()) {
-      return;
+  public int markExpiryNotified(Map<Long, NotificationWebhook> notifications, int daysUntilExpiration) {
+    if (notifications.isEmpty()) {
+      return 0;
     }
-    logger.info("Attempting to save {} domain updates for the {} day interval in a single transaction.",
-            domainsToUpdate.size(), daysUntilExpiration);
-    domainRepository.saveAll(domainsToUpdate);
-    logger.info("Successfully committed batch update for {} domains.", domainsToUpdate.size());
+    List<Long> pending = domainRepository.lockExpiryNotificationPending(
+            List.copyOf(notifications.keySet()), daysUntilExpiration);
+    if (pending.isEmpty()) {
+      return 0;
+    }
+    int updated = domainRepository.markExpiryNotified(pending, daysUntilExpiration);
+    pending.forEach(id -> events.publishEvent(new DomainEvent.DomainExpiring(notifications.get(id))));
+    logger.debug("Committed {} of {} domains for the {} day interval.",
+            updated, notifications.size(), daysUntilExpiration);
+    return updated;
+  }
+
+  /**
+   * Moves the next chunk of due domains, across every notification period, into their
+   * bucket with one statement and publishes their expiry events, in one short transaction.
+   *
+   * @param since The first day not processed yet.
+   * @param today The day the periods count from.
+   * @param periods The notification periods in days.
+   * @param limit The chunk size.
+   * @param notification Builds the notification for a transitioned domain.
+   * @return The number of domains transitioned, less than {@code limit} once none are left.
+   * @see DomainExpiryTransitionRepo
+   */
+  @Transactional
+  public int transitionDueChunk(LocalDate since, LocalDate today, Collection<Integer> periods, int limit,
+                                Function<ExpiringDomainRow, NotificationWebhook> notification) {
+    List<ExpiringDomainRow> transitioned = expiryTransitions.transitionDueChunk(since, today, periods, limit);
+    transitioned.forEach(row -> events.publishEvent(new DomainEvent.DomainExpiring(notification.apply(row))));
+    return transitioned.size();
   }
-}
\ No newline at end of file
+}
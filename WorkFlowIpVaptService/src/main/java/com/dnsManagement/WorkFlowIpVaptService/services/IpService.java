@@ -1,31 +1,46 @@
 package com.dnsManagement.WorkFlowIpVaptService.services;
 
+import com.dnsManagement.WorkFlowIpVaptService.dto.IpAssignment;
 import com.dnsManagement.WorkFlowIpVaptService.dto.IpResponse;
+import com.dnsManagement.WorkFlowIpVaptService.dto.KeysetPage;
+import com.dnsManagement.WorkFlowIpVaptService.dto.SubnetUtilization;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.IpAddressIndex;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.IpPrefix;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.NdjsonExport;
 import com.dnsManagement.WorkFlowIpVaptService.models.Ip;
 import com.dnsManagement.WorkFlowIpVaptService.repo.IpRepo;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class IpService {
 
+    private static final int MAX_LIMIT = 10_000;
+
     private final IpRepo ipRepo;
 
+    private final IpAddressIndex ipAddressIndex;
+
+    private final NdjsonExport ndjsonExport;
+
     @Autowired
-    public IpService(IpRepo ipRepo) {
+    public IpService(IpRepo ipRepo, IpAddressIndex ipAddressIndex, NdjsonExport ndjsonExport) {
         this.ipRepo = ipRepo;
+        this.ipAddressIndex = ipAddressIndex;
+        this.ndjsonExport = ndjsonExport;
     }
 
     @Transactional
@@ -57,8 +72,11 @@ public class IpService {
             throw new IllegalAccessError("DOMAIN ID DOES NOT" +
                     " MATCH WITH ACTUAL DOMAIN RECORD ID");
 
+        if (!Objects.equals(ip.getExpiryDate(), ipResponse.getExpiryDate()))
+            ip.setLastNotificationPeriodSent(null);
         ip.setExpiryDate(ipResponse.getExpiryDate());
         ip.setActive(ipResponse.isActive());
+        ipAddressIndex.replaceAfterCommit(ip.getIpId(), ip.getIpAddress(), ipResponse.getIpAddress());
         ip.setIpAddress(ipResponse.getIpAddress());
         ip.setIpIssuer(ipResponse.getIpIssuer());
 
@@ -70,6 +88,24 @@ public class IpService {
         return new ResponseEntity<>(ipRepo.findAll(),HttpStatus.OK);
     }
 
+    /**
+     * Every IP as NDJSON, one {@link IpResponse} per line in id order,
+     * streamed from a database cursor.
+     */
+    public ResponseEntity<StreamingResponseBody> exportIps() {
+        return ndjsonExport.stream(ipRepo::streamAllIpResponses);
+    }
+
+    /**
+     * Up to {@code size} IPs after id {@code after}, in id order.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<KeysetPage<IpResponse>> getIpsAfter(long after, int size) {
+        List<IpResponse> ips = ipRepo.findPageAfter(after, PageRequest.of(0, checkLimit(size)));
+        Long nextAfter = ips.size() < size ? null : ips.get(ips.size() - 1).getIpId();
+        return ResponseEntity.ok(new KeysetPage<>(ips, nextAfter));
+    }
+
 
     private IpResponse buildIpResponse(Ip ip) {
         IpResponse ipResponse = new IpResponse();
@@ -85,12 +121,40 @@ public class IpService {
     }
 
     public ResponseEntity<String> isUnique(@NotNull String ipAddr) {
-        Set<String> ipList =
-                ipRepo.findAllIpAddress();
-        if(!ipList.contains(ipAddr))
+        if(!ipAddressIndex.contains(ipAddr))
             return ResponseEntity.ok("IP ADDRESS IS VALID");
         return new ResponseEntity<>("The Ip Address you entered is not " +
                 "Unique", HttpStatus.CONFLICT);
 
     }
+
+    /**
+     * Existing IP records whose address or range shares at least one address
+     * with {@code cidr}, at most {@code limit} of them.
+     */
+    public ResponseEntity<List<IpAssignment>> findOverlapping(@NotNull String cidr, int limit) {
+        return ResponseEntity.ok(ipAddressIndex.overlapping(IpPrefix.parse(cidr), checkLimit(limit)));
+    }
+
+    /**
+     * IP records inside {@code cidr} in address order, at most {@code limit}
+     * of them.
+     */
+    public ResponseEntity<List<IpAssignment>> findWithin(@NotNull String cidr, int limit) {
+        return ResponseEntity.ok(ipAddressIndex.within(IpPrefix.parse(cidr), checkLimit(limit)));
+    }
+
+    /**
+     * Utilization of each {@code /subnetLength} subnet of {@code cidr} that
+     * holds at least one IP record.
+     */
+    public ResponseEntity<List<SubnetUtilization>> getUtilization(@NotNull String cidr, int subnetLength) {
+        return ResponseEntity.ok(ipAddressIndex.utilization(IpPrefix.parse(cidr), subnetLength));
+    }
+
+    private static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new IllegalArgumentException("LIMIT MUST BE BETWEEN 1 AND " + MAX_LIMIT);
+        return limit;
+    }
 }
@@ -0,0 +1,224 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.config.ExecutorConfiguration;
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.openfeign.NotificationClient;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces webhooks into batched POSTs to notification-service.
+ * <p>
+ * {@link #submit(NotificationWebhook)} only queues the payload. A single
+ * flusher thread cuts the queue into batches of at most
+ * {@code notification.batch.max-items} payloads, or whatever arrived within
+ * {@code notification.batch.max-delay} of the first one, and hands each batch
+ * to the {@code notificationExecutor}, which posts it to the batch endpoint as
+ * one JSON array. If the peer does not know the batch endpoint the batch is
+ * sent one webhook at a time instead and batching is paused for a while.
+ * </p>
+ * The returned future completes once notification-service accepted the
+ * payload and completes exceptionally otherwise; callers such as the outbox
+ * relay decide whether to retry.
+ */
+@Service
+public class NotificationBatcher {
+
+  private static final Logger logger =
+          LoggerFactory.getLogger(NotificationBatcher.class);
+
+  // How long to stop trying the batch endpoint after the peer rejected it.
+  private static final Duration BATCH_RETRY_AFTER = Duration.ofMinutes(5);
+
+  // Statuses with which a peer says it has no batch endpoint.
+  private static final Set<Integer> UNSUPPORTED = Set.of(404, 405, 415, 501);
+
+  private record Pending(NotificationWebhook payload,
+                         CompletableFuture<Void> result) {
+  }
+
+  @Value("${WEBHOOK_SECRET}")
+  private String webhookSecret;
+
+  private final NotificationClient notificationClient;
+  private final Executor executor;
+  private final int maxItems;
+  private final Duration maxDelay;
+  private final BlockingQueue<Pending> queue;
+
+  // Every future handed out by submit and not completed yet, wherever its
+  // webhook is: queued, in a batch being cut or waiting on the executor.
+  private final Set<CompletableFuture<Void>> outstanding = ConcurrentHashMap.newKeySet();
+
+  private final DistributionSummary batchSizes;
+  private final Counter fallbacks;
+
+  private volatile long batchDisabledUntilNanos = System.nanoTime();
+  private volatile boolean running;
+  private Thread flusher;
+
+  @Autowired
+  public NotificationBatcher(NotificationClient notificationClient,
+                             @Qualifier(ExecutorConfiguration.NOTIFICATION_EXECUTOR)
+                             Executor executor,
+                             MeterRegistry meterRegistry,
+                             @Value("${notification.batch.max-items:100}")
+                             int maxItems,
+                             @Value("${notification.batch.max-delay:50ms}")
+                             Duration maxDelay,
+                             @Value("${notification.batch.queue-capacity:10000}")
+                             int queueCapacity) {
+    this.notificationClient = notificationClient;
+    this.executor = executor;
+    this.maxItems = maxItems;
+    this.maxDelay = maxDelay;
+    this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    this.batchSizes = DistributionSummary.builder("notification.batch.size")
+            .description("Webhooks per POST to notification-service")
+            .register(meterRegistry);
+    this.fallbacks = Counter.builder("notification.batch.fallback")
+            .description("Batches sent one by one because batching was unavailable")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    flusher = Thread.ofVirtual().name("notification-batcher").start(this::flushLoop);
+  }
+
+  /**
+   * Stops batching and fails every webhook not delivered yet, so nobody
+   * waits on it forever. A delivery still running may reach
+   * notification-service anyway; the outbox relay then sends it again.
+   */
+  @PreDestroy
+  public void stop() {
+    running = false;
+    if (flusher != null)
+      flusher.interrupt();
+    queue.clear();
+    IllegalStateException stopped = new IllegalStateException("Notification batcher stopped");
+    outstanding.forEach(result -> result.completeExceptionally(stopped));
+  }
+
+  /**
+   * Queues a webhook for the next batch.
+   *
+   * @return A future completing when notification-service accepted it.
+   */
+  public CompletableFuture<Void> submit(NotificationWebhook payload) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    outstanding.add(result);
+    result.whenComplete((ok, e) -> outstanding.remove(result));
+    // Checked again after the offer in case stop() ran in between.
+    if (!running || !queue.offer(new Pending(payload, result)) || !running)
+      result.completeExceptionally(new TaskRejectedException(
+              "Notification batcher is not accepting webhooks"));
+    return result;
+  }
+
+  private void flushLoop() {
+    while (running) {
+      try {
+        Pending first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null)
+          continue;
+        List<Pending> batch = new ArrayList<>(maxItems);
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelay.toNanos();
+        while (batch.size() < maxItems) {
+          Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (next == null)
+            break;
+          batch.add(next);
+        }
+        dispatch(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void dispatch(List<Pending> batch) {
+    try {
+      executor.execute(() -> deliver(batch));
+    } catch (RejectedExecutionException e) {
+      batch.forEach(p -> p.result().completeExceptionally(e));
+    }
+  }
+
+  private void deliver(List<Pending> batch) {
+    if (batch.size() == 1 || System.nanoTime() - batchDisabledUntilNanos < 0) {
+      deliverOneByOne(batch);
+      return;
+    }
+    try {
+      notificationClient.sendNotifications(webhookSecret,
+              batch.stream().map(Pending::payload).toList());
+      batchSizes.record(batch.size());
+      batch.forEach(p -> p.result().complete(null));
+    } catch (FeignException e) {
+      if (!UNSUPPORTED.contains(e.status())) {
+        batch.forEach(p -> p.result().completeExceptionally(e));
+        return;
+      }
+      logger.warn("notification-service has no batch endpoint (HTTP {}), " +
+              "sending one by one for {}", e.status(), BATCH_RETRY_AFTER);
+      batchDisabledUntilNanos = System.nanoTime() + BATCH_RETRY_AFTER.toNanos();
+      deliverOneByOne(batch);
+    } catch (RuntimeException e) {
+      batch.forEach(p -> p.result().completeExceptionally(e));
+    }
+  }
+
+  private void deliverOneByOne(List<Pending> batch) {
+    if (batch.size() == 1) {
+      deliverOne(batch.get(0));
+      return;
+    }
+    fallbacks.increment();
+    // Each single send becomes its own task, nobody waits on them here.
+    for (Pending pending : batch) {
+      try {
+        executor.execute(() -> deliverOne(pending));
+      } catch (RejectedExecutionException e) {
+        pending.result().completeExceptionally(e);
+      }
+    }
+  }
+
+  private void deliverOne(Pending pending) {
+    try {
+      notificationClient.sendNotification(webhookSecret, pending.payload());
+      batchSizes.record(1);
+      pending.result().complete(null);
+    } catch (RuntimeException e) {
+      pending.result().completeExceptionally(e);
+    }
+  }
+}
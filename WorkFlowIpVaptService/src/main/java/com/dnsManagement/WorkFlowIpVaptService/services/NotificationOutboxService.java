@@ -0,0 +1,226 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.models.NotificationOutbox;
+import com.dnsManagement.WorkFlowIpVaptService.models.OutboxStatus;
+import com.dnsManagement.WorkFlowIpVaptService.repo.NotificationOutboxRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transactional outbox for {@link NotificationWebhook}s.
+ * <p>
+ * Notifications are {@link #enqueue(NotificationWebhook) enqueued} inside the
+ * transaction that changes the domain, normally by the
+ * {@code DomainEventDispatcher} when a domain event is published, so they are
+ * committed (or rolled back) together with the change and never depend on
+ * notification-service being up. The relay then {@link #claimDue(int) claims} due rows under a lease,
+ * delivers them and {@link #recordOutcomes(Collection, Map) records} the
+ * result: failures are retried with exponential backoff and after
+ * {@code notification.outbox.max-attempts} the row is parked as
+ * {@link OutboxStatus#DEAD} until it is replayed.
+ * </p>
+ */
+@Service
+public class NotificationOutboxService {
+
+  private static final Logger logger =
+          LoggerFactory.getLogger(NotificationOutboxService.class);
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final NotificationOutboxRepo outboxRepo;
+  private final ObjectMapper objectMapper;
+
+  private final int maxAttempts;
+  private final Duration backoffBase;
+  private final Duration backoffMax;
+  private final Duration lease;
+
+  private final Counter sent;
+  private final Counter retried;
+  private final Counter dead;
+
+  @Autowired
+  public NotificationOutboxService(NotificationOutboxRepo outboxRepo,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.outbox.max-attempts:10}")
+                                   int maxAttempts,
+                                   @Value("${notification.outbox.backoff-base:30s}")
+                                   Duration backoffBase,
+                                   @Value("${notification.outbox.backoff-max:1h}")
+                                   Duration backoffMax,
+                                   @Value("${notification.outbox.lease:2m}")
+                                   Duration lease) {
+    this.outboxRepo = outboxRepo;
+    this.objectMapper = objectMapper;
+    this.maxAttempts = maxAttempts;
+    this.backoffBase = backoffBase;
+    this.backoffMax = backoffMax;
+    this.lease = lease;
+    this.sent = outcomeCounter(meterRegistry, "sent");
+    this.retried = outcomeCounter(meterRegistry, "retry");
+    this.dead = outcomeCounter(meterRegistry, "dead");
+  }
+
+  private static Counter outcomeCounter(MeterRegistry registry, String result) {
+    return Counter.builder("notification.outbox.delivery")
+            .tag("result", result)
+            .register(registry);
+  }
+
+  /**
+   * Stores the notification for delivery. Must be called inside the
+   * transaction whose commit the notification announces.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public NotificationOutbox enqueue(NotificationWebhook payload) {
+    return outboxRepo.save(newRow(payload));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public List<NotificationOutbox> enqueueAll(Collection<NotificationWebhook> payloads) {
+    List<NotificationOutbox> rows = new ArrayList<>(payloads.size());
+    for (NotificationWebhook payload : payloads)
+      rows.add(newRow(payload));
+    return outboxRepo.saveAll(rows);
+  }
+
+  private NotificationOutbox newRow(NotificationWebhook payload) {
+    LocalDateTime now = LocalDateTime.now();
+    NotificationOutbox row = new NotificationOutbox();
+    row.setEventType(payload.getEventType());
+    if (payload.getNotificationData() != null)
+      row.setDomainNameId(payload.getNotificationData().getDomainId());
+    row.setPayload(serialize(payload));
+    row.setStatus(OutboxStatus.PENDING);
+    row.setNextAttemptAt(now);
+    row.setCreatedAt(now);
+    return row;
+  }
+
+  private String serialize(NotificationWebhook payload) {
+    try {
+      return objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("NOTIFICATION PAYLOAD CANNOT BE SERIALIZED", e);
+    }
+  }
+
+  public NotificationWebhook payloadOf(NotificationOutbox row) {
+    try {
+      return objectMapper.readValue(row.getPayload(), NotificationWebhook.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("CORRUPT OUTBOX PAYLOAD, ID: " + row.getOutboxId(), e);
+    }
+  }
+
+  /**
+   * Takes up to {@code limit} due rows and pushes their due time out by the
+   * lease, so that no other relay picks them up while they are in flight. If
+   * this relay dies the lease simply runs out and the rows are retried.
+   */
+  @Transactional
+  public List<NotificationOutbox> claimDue(int limit) {
+    LocalDateTime now = LocalDateTime.now();
+    List<NotificationOutbox> rows = outboxRepo.findDueForUpdate(
+            OutboxStatus.PENDING, now, PageRequest.of(0, limit));
+    LocalDateTime leaseEnd = now.plus(lease);
+    rows.forEach(row -> row.setNextAttemptAt(leaseEnd));
+    return rows;
+  }
+
+  /**
+   * Marks delivered rows as sent and reschedules (or buries) failed ones.
+   *
+   * @param sentIds  Rows notification-service accepted.
+   * @param failures Error message by row id for rows it did not.
+   */
+  @Transactional
+  public void recordOutcomes(Collection<Long> sentIds, Map<Long, String> failures) {
+    Set<Long> ids = new HashSet<>(sentIds);
+    ids.addAll(failures.keySet());
+    LocalDateTime now = LocalDateTime.now();
+    for (NotificationOutbox row : outboxRepo.findAllById(ids)) {
+      String error = failures.get(row.getOutboxId());
+      if (error == null) {
+        row.setStatus(OutboxStatus.SENT);
+        row.setSentAt(now);
+        row.setLastError(null);
+        sent.increment();
+        continue;
+      }
+      row.setAttempts(row.getAttempts() + 1);
+      row.setLastError(error.length() > MAX_ERROR_LENGTH
+              ? error.substring(0, MAX_ERROR_LENGTH) : error);
+      if (row.getAttempts() >= maxAttempts) {
+        row.setStatus(OutboxStatus.DEAD);
+        dead.increment();
+        logger.error("Notification {} ({}) moved to dead letter after {} " +
+                        "attempts: {}", row.getOutboxId(), row.getEventType(),
+                row.getAttempts(), error);
+      } else {
+        row.setNextAttemptAt(now.plus(backoff(row.getAttempts())));
+        retried.increment();
+      }
+    }
+  }
+
+  /**
+   * Exponential backoff with up to 20% jitter so that rows failing together
+   * do not retry together.
+   */
+  Duration backoff(int attempts) {
+    long factor = 1L << Math.min(attempts - 1, 20);
+    long millis = Math.min(backoffBase.toMillis() * factor, backoffMax.toMillis());
+    return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(millis / 5 + 1));
+  }
+
+  @Transactional(readOnly = true)
+  public Page<NotificationOutbox> findDead(Pageable pageable) {
+    return outboxRepo.findByStatus(OutboxStatus.DEAD, pageable);
+  }
+
+  @Transactional(readOnly = true)
+  public long countPending() {
+    return outboxRepo.countByStatus(OutboxStatus.PENDING);
+  }
+
+  /**
+   * Puts dead rows back in the queue with a fresh attempt budget.
+   *
+   * @param outboxId The row to replay, or {@code null} for every dead row.
+   * @return The number of rows requeued.
+   */
+  @Transactional
+  public int replay(Long outboxId) {
+    int replayed = outboxRepo.replayDead(outboxId, OutboxStatus.PENDING,
+            OutboxStatus.DEAD, LocalDateTime.now());
+    logger.info("Replayed {} dead notification(s), requested id: {}",
+            replayed, outboxId);
+    return replayed;
+  }
+}
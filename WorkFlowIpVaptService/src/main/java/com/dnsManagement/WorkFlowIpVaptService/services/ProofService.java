@@ -0,0 +1,172 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.ProofUpload;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.BlobStore;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainStakeholderRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Proof documents as the API sees them: uploaded once to
+ * {@code POST /proofs}, referred to by their SHA-256 in requests, linked by
+ * URL in responses and downloaded from {@code GET /proofs/{sha256}}.
+ * <p>
+ * Documents are immutable, so the SHA-256 doubles as a strong ETag and
+ * downloads may be cached for good. Downloads honour a single
+ * {@code Range}, optionally guarded by {@code If-Range}; several ranges get
+ * the whole document, which HTTP allows. The bytes are copied from the
+ * store on the {@code streamingExecutor}, like every streamed response.
+ * </p>
+ * Like the domain endpoints, a download names the {@code role} and
+ * {@code empNo} it is made as, and only a stakeholder of a domain whose
+ * record refers to the document gets it. Anyone else gets a 404, so the
+ * endpoint does not tell which documents exist.
+ */
+@Service
+public class ProofService {
+
+  public static final String PATH = "/proofs/";
+
+  private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365))
+          .cachePrivate().immutable();
+
+  private final BlobStore blobStore;
+  private final DomainStakeholderRepo domainStakeholderRepo;
+
+  @Autowired
+  public ProofService(BlobStore blobStore, DomainStakeholderRepo domainStakeholderRepo) {
+    this.blobStore = blobStore;
+    this.domainStakeholderRepo = domainStakeholderRepo;
+  }
+
+  /**
+   * Streams an uploaded file into the store. Multipart parts are spooled to
+   * disk by the servlet container, so the document is never held in memory.
+   */
+  public ResponseEntity<ProofUpload> upload(MultipartFile file) {
+    if (file == null || file.isEmpty())
+      throw new IllegalArgumentException("NO DOCUMENT TO STORE");
+    String sha256;
+    try (InputStream content = file.getInputStream()) {
+      sha256 = blobStore.put(content);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read uploaded document", e);
+    }
+    ProofUpload upload = new ProofUpload(sha256, blobStore.size(sha256), PATH + sha256);
+    return ResponseEntity.created(URI.create(upload.getUrl())).body(upload);
+  }
+
+  /**
+   * @param inline   A proof embedded in the request, the older way to send one.
+   * @param uploaded The SHA-256 of a proof uploaded beforehand.
+   * @return The reference to keep in the row.
+   */
+  public String store(byte[] inline, String uploaded) {
+    if (uploaded == null)
+      return blobStore.put(inline);
+    if (!blobStore.exists(BlobStore.checkSha256(uploaded)))
+      throw new IllegalArgumentException("NO DOCUMENT UPLOADED UNDER " + uploaded);
+    return uploaded;
+  }
+
+  /**
+   * @return Where the proof of a row can be downloaded, or {@code null} for
+   * a row without one. A proof still inline in the row, which the
+   * {@code BlobMigrationJob} has yet to move, comes as a {@code data:} URL
+   * holding the document itself.
+   */
+  public String url(String sha256, byte[] inline) {
+    if (sha256 != null)
+      return PATH + sha256;
+    if (inline != null)
+      return "data:" + MediaType.APPLICATION_OCTET_STREAM_VALUE + ";base64,"
+              + Base64.getEncoder().encodeToString(inline);
+    return null;
+  }
+
+  public ResponseEntity<StreamingResponseBody> download(String sha256, Role role, Long empNo,
+                                                        HttpHeaders request) {
+    BlobStore.checkSha256(sha256);
+    if (!domainStakeholderRepo.canReadProof(role, empNo, sha256))
+      throw new NoSuchElementException("NO DOCUMENT " + sha256 + " FOR " + role + " " + empNo);
+    long size = blobStore.size(sha256);
+    String etag = "\"" + sha256 + "\"";
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag(etag);
+    headers.setCacheControl(IMMUTABLE);
+    headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    List<String> ifNoneMatch = request.getIfNoneMatch();
+    if (ifNoneMatch.contains(etag) || ifNoneMatch.contains("*"))
+      return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+
+    HttpRange range = singleRange(request, etag);
+    long start = 0;
+    long length = size;
+    HttpStatus status = HttpStatus.OK;
+    if (range != null) {
+      if (size == 0 || rangeStart(range, size) >= size) {
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+        return new ResponseEntity<>(headers, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+      }
+      start = range.getRangeStart(size);
+      length = range.getRangeEnd(size) - start + 1;
+      headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + size);
+      status = HttpStatus.PARTIAL_CONTENT;
+    }
+    headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+    headers.setContentLength(length);
+
+    long position = start;
+    long count = length;
+    StreamingResponseBody body = out ->
+            blobStore.transferTo(sha256, position, count, Channels.newChannel(out));
+    return new ResponseEntity<>(body, headers, status);
+  }
+
+  /**
+   * @return The one range to serve, or {@code null} for the whole document:
+   * no, several or malformed ranges, or an {@code If-Range} that does not
+   * match.
+   */
+  private static HttpRange singleRange(HttpHeaders request, String etag) {
+    String ifRange = request.getFirst(HttpHeaders.IF_RANGE);
+    if (ifRange != null && !ifRange.equals(etag))
+      return null;
+    try {
+      List<HttpRange> ranges = request.getRange();
+      return ranges.size() == 1 ? ranges.get(0) : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  // HttpRange rejects a first position past the end instead of reporting it.
+  private static long rangeStart(HttpRange range, long size) {
+    try {
+      return range.getRangeStart(size);
+    } catch (IllegalArgumentException e) {
+      return size;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.dnsManagement.WorkFlowIpVaptService.services;
 
 import com.dnsManagement.WorkFlowIpVaptService.dto.DomainPurchase;
+import com.dnsManagement.WorkFlowIpVaptService.events.DomainEvent;
 import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
 import com.dnsManagement.WorkFlowIpVaptService.helpers.Utility;
 import com.dnsManagement.WorkFlowIpVaptService.models.*;
@@ -10,7 +11,7 @@ import com.dnsManagement.WorkFlowIpVaptService.repo.*;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -25,8 +26,6 @@ import java.util.NoSuchElementException;
 
 public class PurchaseService {
 
-  @Value("${WEBHOOK_SECRET}")
-  String webhookSecret;
 
   private final  PurchasesRepo purchasesRepo;
 
@@ -40,7 +39,11 @@ public class PurchaseService {
 
   private final VaptRepo vaptRepo;
 
-  private final AsyncNotificationService asyncNotificationService;
+  private final ApplicationEventPublisher events;
+
+  private final ProofService proofService;
+
+  private final ApproverInboxService approverInboxService;
 
   @Autowired
   public PurchaseService(PurchasesRepo purchasesRepo,
@@ -48,14 +51,18 @@ public class PurchaseService {
                          DomainVerificationRepo domainVerificationRepo,
                          Utility utility, IpRepo ipRepo, VaptRepo vaptRepo,
                          NotificationClient notificationClient,
-                         AsyncNotificationService asyncNotificationService1) {
+                         ApplicationEventPublisher events,
+                         ProofService proofService,
+                         ApproverInboxService approverInboxService) {
     this.purchasesRepo = purchasesRepo;
     this.domainNameRepo = domainNameRepo;
     this.domainVerificationRepo = domainVerificationRepo;
     this.utility = utility;
     this.ipRepo = ipRepo;
     this.vaptRepo = vaptRepo;
-    this.asyncNotificationService = asyncNotificationService1;
+    this.events = events;
+    this.proofService = proofService;
+    this.approverInboxService = approverInboxService;
   }
 
   @Transactional
@@ -81,11 +88,12 @@ public class PurchaseService {
 
     // Phase 4: Persist all changes within the transaction.
     domainNameRepo.save(domainName);
+    approverInboxService.refresh(domainName);
     Purchases savedPurchase = purchasesRepo.save(purchases);
 
     log.info("Successfully registered purchase with ID {} for domain '{}'", savedPurchase.getPurchaseId(), domainName.getDomainName());
 
-    // Phase 5: Send notification asynchronously after the transaction commits successfully
+    // Phase 5: Queue the notification, it is delivered once the transaction commits
     sendDomainActivationNotification(domainName);
 
     return new ResponseEntity<>(savedPurchase, HttpStatus.CREATED);
@@ -106,7 +114,10 @@ public class PurchaseService {
     Purchases purchases = new Purchases();
     purchases.setDateOfPurchase(domainPurchase.getDateOfPurchase());
     purchases.setWebmasterId(webMaster.getEmpNo());
-    purchases.setProofOfPurchase(Base64.getDecoder().decode(domainPurchase.getProofOfWorkBase64Encoded()));
+    String base64 = domainPurchase.getProofOfWorkBase64Encoded();
+    purchases.setProofOfPurchaseSha256(proofService.store(
+            base64 == null ? null : Base64.getDecoder().decode(base64),
+            domainPurchase.getProofOfPurchaseSha256()));
     purchases.setDomainName(domainName);
     purchases.setPurchaseType(domainPurchase.getPurchaseType());
     return purchases;
@@ -114,6 +125,8 @@ public class PurchaseService {
 
   private void updateDomainOnPurchase(DomainName domainName, DomainPurchase domainPurchase) {
     domainName.setExpiryDate(domainPurchase.getDomainExpiryDate());
+    // A new expiry date starts a new round of expiry notifications.
+    domainName.setLastNotificationDateSentForDays(null);
     domainName.setDateOfActivation(LocalDateTime.now());
     domainName.setPeriodInYears(domainPurchase.getFinalPeriod());
     domainName.setActive(true);
@@ -121,12 +134,8 @@ public class PurchaseService {
   }
 
   private void sendDomainActivationNotification(DomainName domainName) {
-    log.info("Queuing DOMAIN_ACTIVATED notification for domain: {}", domainName.getDomainName());
-    asyncNotificationService.sendNotificationAsync(webhookSecret, buildNotification(domainName))
-            .exceptionally(ex -> {
-              log.error("Failed to send activation notification for domain: {}", domainName.getDomainName(), ex);
-              return null; // Required for exceptionally block
-            });
+    log.info("Publishing DOMAIN_ACTIVATED event for domain: {}", domainName.getDomainName());
+    events.publishEvent(new DomainEvent.DomainPurchased(buildNotification(domainName)));
   }
 
   /**
@@ -2,6 +2,7 @@ package com.dnsManagement.WorkFlowIpVaptService.services;
 
 
 import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.events.DomainEvent;
 import com.dnsManagement.WorkFlowIpVaptService.helpers.Utility;
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
 import com.dnsManagement.WorkFlowIpVaptService.models.DomainVerification;
@@ -10,10 +11,11 @@ import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
 import com.dnsManagement.WorkFlowIpVaptService.repo.DomainVerificationRepo;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -24,12 +26,11 @@ import java.util.function.Consumer;
 @Service
 public class RejectionService {
 
-    @Value("${WEBHOOK_SECRET}")
-    String webhookSecret;
 
     private final DomainVerificationRepo domainVerificationRepo;
     private final DomainNameRepo domainNameRepo;
-    private final AsyncNotificationService asyncNotificationService;
+    private final ApplicationEventPublisher events;
+    private final ApproverInboxService approverInboxService;
 
     private final Map<Role, Consumer<DomainVerification>> rejectionRole = Map.of(
             Role.HOD,dv -> {
@@ -96,13 +97,15 @@ public class RejectionService {
     );
 
     @Autowired
-    public RejectionService(DomainVerificationRepo domainVerificationRepo, DomainNameRepo domainNameRepo, AsyncNotificationService asyncNotificationService) {
+    public RejectionService(DomainVerificationRepo domainVerificationRepo, DomainNameRepo domainNameRepo, ApplicationEventPublisher events, ApproverInboxService approverInboxService) {
         this.domainVerificationRepo = domainVerificationRepo;
         this.domainNameRepo = domainNameRepo;
-      this.asyncNotificationService = asyncNotificationService;
+      this.events = events;
+      this.approverInboxService = approverInboxService;
     }
 
 
+    @Transactional
     public ResponseEntity<DomainVerification> reject(Long domainNameId,
                                     String remarks,
                                     Role role) {
@@ -134,20 +137,16 @@ public class RejectionService {
         try {
             response =
                     domainVerificationRepo.save(domainVerification);
+            approverInboxService.refresh(domainName, response);
         } catch (Exception e) {
             throw new RuntimeException("ERROR OCCURRED WHILE REJECTION STATE SAVE of domain" + e.getMessage());
         }
 
         log.info("SUCCESSFULLY SAVED REJECTED STATE FOR DOMAIN:{}", domainName);
 
-        log.info("SENDING REJECTION NOTIFICATION");
-        asyncNotificationService.sendNotificationAsync(webhookSecret,
-                buildNotification(domainName, role, remarks))
-                .exceptionally(throwable -> {
-                    log.error("Failed to send activation notification for " +
-                            "domain: {}", domainName.getDomainName(), throwable);
-                    return null;
-                });
+        log.info("PUBLISHING DOMAIN REJECTED EVENT");
+        events.publishEvent(new DomainEvent.DomainRejected(
+                buildNotification(domainName, role, remarks)));
 
 
         return new ResponseEntity<DomainVerification>(response, HttpStatus.OK);
@@ -0,0 +1,50 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.SchedulerCheckpoint;
+import com.dnsManagement.WorkFlowIpVaptService.repo.SchedulerCheckpointRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Reads and advances {@link SchedulerCheckpoint}s. A checkpoint only counts
+ * for the run date it was written on; the next day's run starts over.
+ */
+@Service
+public class SchedulerCheckpointService {
+
+  private final SchedulerCheckpointRepo checkpointRepo;
+
+  @Autowired
+  public SchedulerCheckpointService(SchedulerCheckpointRepo checkpointRepo) {
+    this.checkpointRepo = checkpointRepo;
+  }
+
+  /**
+   * @return The id to resume after, {@code 0} if the job has not
+   * checkpointed anything on {@code runDate}.
+   */
+  @Transactional(readOnly = true)
+  public long resumeAfter(String jobName, LocalDate runDate) {
+    return checkpointRepo.findById(jobName)
+            .filter(checkpoint -> runDate.equals(checkpoint.getRunDate()))
+            .map(SchedulerCheckpoint::getLastId)
+            .orElse(0L);
+  }
+
+  @Transactional
+  public void advance(String jobName, LocalDate runDate, long lastId) {
+    SchedulerCheckpoint checkpoint = checkpointRepo.findById(jobName)
+            .orElseGet(() -> new SchedulerCheckpoint(jobName, runDate, 0L, null));
+    if (runDate.equals(checkpoint.getRunDate()) && checkpoint.getLastId() >= lastId) {
+      return;
+    }
+    checkpoint.setRunDate(runDate);
+    checkpoint.setLastId(lastId);
+    checkpoint.setUpdatedAt(LocalDateTime.now());
+    checkpointRepo.save(checkpoint);
+  }
+}
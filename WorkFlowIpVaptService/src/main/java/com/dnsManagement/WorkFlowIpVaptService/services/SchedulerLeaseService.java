@@ -0,0 +1,174 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.SchedulerLease;
+import com.dnsManagement.WorkFlowIpVaptService.repo.SchedulerLeaseRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leader election for scheduled jobs through the {@code scheduler_lease}
+ * table, so that a job runs on one replica at a time.
+ * <p>
+ * {@link #tryAcquire(String)} claims a lease for
+ * {@code scheduler.lease.ttl} if it is free, expired or already ours. Held
+ * leases are renewed every {@code scheduler.lease.heartbeat}, so a lease only
+ * expires once its owner died or hung, after which any other instance takes
+ * it over. Expiry is judged on each instance's own clock, which only needs
+ * to agree with the others to well within the TTL.
+ * </p>
+ */
+@Service
+public class SchedulerLeaseService {
+
+  private static final Logger logger =
+          LoggerFactory.getLogger(SchedulerLeaseService.class);
+
+  private final SchedulerLeaseRepo leaseRepo;
+  private final Duration ttl;
+  private final String owner;
+
+  private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public SchedulerLeaseService(SchedulerLeaseRepo leaseRepo,
+                               @Value("${scheduler.lease.ttl:5m}") Duration ttl,
+                               @Value("${scheduler.lease.owner:}") String owner) {
+    this.leaseRepo = leaseRepo;
+    this.ttl = ttl;
+    this.owner = owner.isBlank() ? defaultOwner() : owner;
+  }
+
+  private static String defaultOwner() {
+    String host;
+    try {
+      host = InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      host = "unknown-host";
+    }
+    // The random part tells apart restarts of the same process id.
+    return host + ":" + ProcessHandle.current().pid() + ":" +
+            UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  /**
+   * @return Whether this instance now holds the lease.
+   */
+  public boolean tryAcquire(String leaseName) {
+    LocalDateTime now = LocalDateTime.now();
+    boolean acquired = leaseRepo.claim(leaseName, owner, now, now.plus(ttl)) == 1;
+    if (!acquired && !leaseRepo.existsById(leaseName)) {
+      try {
+        leaseRepo.saveAndFlush(new SchedulerLease(leaseName, owner, now,
+                now.plus(ttl), null, null));
+        acquired = true;
+      } catch (DataIntegrityViolationException e) {
+        // Another instance created it first.
+        acquired = false;
+      }
+    }
+    if (acquired) {
+      held.add(leaseName);
+      logger.info("Acquired scheduler lease {} as {}", leaseName, owner);
+    }
+    return acquired;
+  }
+
+  /**
+   * @return Whether this instance still holds the lease, as far as it knows.
+   */
+  public boolean isHeld(String leaseName) {
+    return held.contains(leaseName);
+  }
+
+  @Scheduled(fixedDelayString = "${scheduler.lease.heartbeat:1m}")
+  public void renewHeld() {
+    for (String leaseName : held) {
+      renew(leaseName);
+    }
+  }
+
+  /**
+   * @return Whether the lease was still ours and got extended.
+   */
+  public boolean renew(String leaseName) {
+    boolean renewed = leaseRepo.renew(leaseName, owner,
+            LocalDateTime.now().plus(ttl)) == 1;
+    if (!renewed && held.remove(leaseName)) {
+      logger.warn("Lost scheduler lease {}, another instance took it over", leaseName);
+    }
+    return renewed;
+  }
+
+  /**
+   * Records that the job finished its run for {@code runDate}.
+   */
+  public void markCompleted(String leaseName, LocalDate runDate) {
+    leaseRepo.markCompleted(leaseName, owner, runDate);
+  }
+
+  /**
+   * Lets the lease expire right away so another instance need not wait for
+   * the TTL.
+   */
+  public void release(String leaseName) {
+    if (held.remove(leaseName)) {
+      leaseRepo.renew(leaseName, owner, LocalDateTime.now());
+    }
+  }
+
+  /**
+   * @return Whether a run was started on {@code runDate} and its owner
+   * released or lost the lease without finishing it.
+   */
+  public boolean isAbandoned(String leaseName, LocalDate runDate) {
+    return leaseRepo.findById(leaseName)
+            .filter(lease -> runDate.equals(lease.getAcquiredAt().toLocalDate()))
+            .filter(lease -> !runDate.equals(lease.getCompletedOn()))
+            .filter(lease -> !lease.getExpiresAt().isAfter(LocalDateTime.now()))
+            .isPresent();
+  }
+
+  /**
+   * @return Whether no run has completed through {@code runDate}, because
+   * every instance was down when it was due or the last run was abandoned,
+   * and no instance is running one right now.
+   */
+  public boolean isBehind(String leaseName, LocalDate runDate) {
+    return leaseRepo.findById(leaseName)
+            .map(lease -> (lease.getCompletedOn() == null || lease.getCompletedOn().isBefore(runDate))
+                    && !lease.getExpiresAt().isAfter(LocalDateTime.now()))
+            .orElse(true);
+  }
+
+  /**
+   * @return The run date of the last completed run, empty if the job never
+   * completed one.
+   */
+  public Optional<LocalDate> completedThrough(String leaseName) {
+    return leaseRepo.findById(leaseName).map(SchedulerLease::getCompletedOn);
+  }
+
+  public List<SchedulerLease> findAll() {
+    return leaseRepo.findAll();
+  }
+}
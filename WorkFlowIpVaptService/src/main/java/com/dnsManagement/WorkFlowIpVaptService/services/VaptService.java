@@ -20,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 @Service
 public class VaptService {
@@ -28,13 +29,15 @@ public class VaptService {
     private final VaptAndIpRenewalsClient renewalsClient;
     private final DomainNameRepo domainNameRepo;
     private final Utility utility;
+    private final ProofService proofService;
 
     @Autowired
-    public VaptService(VaptRepo vaptRepo, StakeHolderClient client, VaptAndIpRenewalsClient renewalsClient, DomainNameRepo domainNameRepo, Utility utility) {
+    public VaptService(VaptRepo vaptRepo, StakeHolderClient client, VaptAndIpRenewalsClient renewalsClient, DomainNameRepo domainNameRepo, Utility utility, ProofService proofService) {
         this.vaptRepo = vaptRepo;
         this.renewalsClient = renewalsClient;
         this.domainNameRepo = domainNameRepo;
         this.utility = utility;
+        this.proofService = proofService;
     }
 
 
@@ -60,7 +63,7 @@ public class VaptService {
         vaptResponse.setVaptCertifyAuthority(vapt.getVaptCertifyAuthority());
         vaptResponse.setActive(vapt.isActive());
         vaptResponse.setExpiryDate(vapt.getExpiryDate());
-        vaptResponse.setProofWork(vaptResponse.getProofWork());
+        vaptResponse.setProofWorkUrl(proofService.url(vapt.getProofOfWorkSha256(), vapt.getProofOfWork()));
         return vaptResponse;
     }
 
@@ -76,10 +79,15 @@ public class VaptService {
                         "DOES NOT EXIST CORRESPONDING TO ID : " +
                                         vaptResponse.getVaptId()));
 
-        vapt.setProofOfWork(vaptResponse.getProofWork());
+        if (vaptResponse.getProofWork() != null || vaptResponse.getProofWorkSha256() != null) {
+            vapt.setProofOfWorkSha256(proofService.store(vaptResponse.getProofWork(), vaptResponse.getProofWorkSha256()));
+            vapt.setProofOfWork(null);
+        }
         vapt.setVaptRemarks(vaptResponse.getVaptRemarks());
         vapt.setActive(vaptResponse.isActive());
         vapt.setVaptCertifyAuthority(vaptResponse.getVaptCertifyAuthority());
+        if (!Objects.equals(vapt.getExpiryDate(), vaptResponse.getExpiryDate()))
+            vapt.setLastNotificationPeriodSent(null);
         vapt.setExpiryDate(vaptResponse.getExpiryDate());
 
         return new ResponseEntity<>(vaptRepo.save(vapt),HttpStatus.OK);
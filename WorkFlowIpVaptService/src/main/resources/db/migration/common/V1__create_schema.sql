@@ -0,0 +1,170 @@
+-- Schema as Hibernate's ddl-auto=update left it, constraint names included.
+-- IF NOT EXISTS throughout, and foreign keys declared with their tables, so
+-- that on a database created by ddl-auto=update this only adds the missing
+-- tables and indexes; the columns its existing tables lack come from V4.
+-- Columns whose type differs between PostgreSQL and H2 are added by the
+-- vendor's V1_1.
+
+CREATE TABLE IF NOT EXISTS domain_name (
+    dm_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_name varchar(255) NOT NULL UNIQUE,
+    dm_desc varchar(255),
+    drm_emp_no bigint NOT NULL,
+    arm_emp_no bigint NOT NULL,
+    hod_emp_no bigint NOT NULL,
+    ed_emp_no bigint NOT NULL,
+    netops_emp_no bigint NOT NULL,
+    webmaster_emp_no bigint NOT NULL,
+    hod_hpc_emp_no bigint NOT NULL,
+    service_type varchar(255) NOT NULL CHECK (service_type IN ('INTERNAL','EXTERNAL')),
+    gigcw_comp varchar(255) NOT NULL CHECK (gigcw_comp IN ('YES','NO','NA')),
+    mou_status varchar(255) NOT NULL CHECK (mou_status IN ('YES','NO','NA')),
+    vapt_comp boolean NOT NULL,
+    appr_prf_vapt_comp_sha256 varchar(64),
+    period integer NOT NULL,
+    serv_hard_status boolean NOT NULL,
+    is_active boolean NOT NULL,
+    is_del boolean NOT NULL,
+    is_renewal boolean NOT NULL,
+    d_o_apl timestamp(6),
+    d_o_act timestamp(6),
+    expiry_date timestamp(6),
+    lst_rw_date timestamp(6),
+    last_notification_period_sent integer,
+    PRIMARY KEY (dm_id)
+);
+
+CREATE TABLE IF NOT EXISTS domain_verification (
+    dm_vfy_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_id bigint NOT NULL UNIQUE,
+    fwd_arm boolean NOT NULL,
+    fwd_date_arm timestamp(6),
+    arm_remarks varchar(255),
+    vfyd_by_hod boolean NOT NULL,
+    vfy_date_hod timestamp(6),
+    snt_bk_by_hod boolean NOT NULL,
+    hod_remarks varchar(255),
+    vfy_by_ed boolean NOT NULL,
+    vfy_date_ed timestamp(6),
+    snt_bk_by_ed boolean NOT NULL,
+    ed_remarks varchar(255),
+    vfy_by_netops boolean NOT NULL,
+    vfy_date_netops timestamp(6),
+    snt_bk_by_netops boolean NOT NULL,
+    netops_remarks varchar(255),
+    vfy_by_wbmstr boolean NOT NULL,
+    vfy_date_wbmstr timestamp(6),
+    snt_bk_by_wbmstr boolean NOT NULL,
+    wbmstr_remarks varchar(255),
+    vfy_by_hod_hpc_iand_e boolean NOT NULL,
+    vfy_date_hod_hpc timestamp(6),
+    snt_bk_by_hpc boolean NOT NULL,
+    hpc_remarks varchar(255),
+    is_verified boolean NOT NULL,
+    PRIMARY KEY (dm_vfy_id),
+    CONSTRAINT FK1sbmf79nbvlfcyfrn2gyjq92k FOREIGN KEY (dm_id) REFERENCES domain_name
+);
+
+CREATE TABLE IF NOT EXISTS domain_renewal (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_id bigint NOT NULL,
+    prev_dm_name varchar(255) NOT NULL,
+    reason varchar(255),
+    hod_employee_number bigint,
+    hod_appr_date timestamp(6),
+    appr_prf_by_hod_sha256 varchar(64),
+    PRIMARY KEY (id),
+    CONSTRAINT FKk6lafj1aq4kqu7vfhi2u4q5tv FOREIGN KEY (dm_id) REFERENCES domain_name
+);
+
+CREATE TABLE IF NOT EXISTS purchases (
+    purchase_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_id bigint NOT NULL,
+    wbmstr_id bigint NOT NULL,
+    dt_of_purchase timestamp(6) NOT NULL,
+    purchase_type varchar(255) NOT NULL CHECK (purchase_type IN ('RENEWAL','NEW_REGISTRATION')),
+    prf_of_purchase_sha256 varchar(64),
+    PRIMARY KEY (purchase_id),
+    CONSTRAINT FKjepmj2du1nop4je20avu5d7w7 FOREIGN KEY (dm_id) REFERENCES domain_name
+);
+
+CREATE TABLE IF NOT EXISTS ip (
+    ip_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_id bigint NOT NULL UNIQUE,
+    ip_address varchar(255) NOT NULL UNIQUE,
+    ip_issuer varchar(255) NOT NULL,
+    expiry_date timestamp(6),
+    is_active boolean NOT NULL,
+    last_notification_period_sent integer,
+    PRIMARY KEY (ip_id),
+    CONSTRAINT FKm7cav6e5f49ab2hgrqt22vref FOREIGN KEY (dm_id) REFERENCES domain_name
+);
+
+CREATE TABLE IF NOT EXISTS vapt (
+    vapt_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    ip_id bigint NOT NULL UNIQUE,
+    vapt_certify_auth varchar(255) NOT NULL,
+    vapt_remarks varchar(255),
+    exp_date timestamp(6),
+    is_active boolean NOT NULL,
+    last_notification_period_sent integer,
+    prf_work_sha256 varchar(64),
+    PRIMARY KEY (vapt_id),
+    CONSTRAINT FKb5vq71k9evm5dpc4tya9gxbcq FOREIGN KEY (ip_id) REFERENCES ip
+);
+
+CREATE TABLE IF NOT EXISTS domain_stakeholder (
+    dm_id bigint NOT NULL,
+    role varchar(16) NOT NULL CHECK (role IN ('DRM','ARM','HOD','ED','NETOPS','WEBMASTER','HODHPC')),
+    emp_no bigint NOT NULL,
+    PRIMARY KEY (dm_id, role),
+    CONSTRAINT FK9ljvnf1r5po1q70ihctsjsh15 FOREIGN KEY (dm_id) REFERENCES domain_name ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS approver_inbox (
+    dm_id bigint NOT NULL,
+    emp_no bigint NOT NULL,
+    role varchar(16) NOT NULL CHECK (role IN ('DRM','ARM','HOD','ED','NETOPS','WEBMASTER','HODHPC')),
+    kind varchar(16) NOT NULL CHECK (kind IN ('REQUEST','RENEWAL','PURCHASE')),
+    queued_at timestamp(6) NOT NULL,
+    PRIMARY KEY (dm_id),
+    CONSTRAINT FK4psge1i95l5wtfijnaibdiyu9 FOREIGN KEY (dm_id) REFERENCES domain_name ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    outbox_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    event_type varchar(255) NOT NULL CHECK (event_type IN ('DOMAIN_APPLICATION_SUBMITTED','DOMAIN_ARM_VERIFICATION_FORWARDED','DOMAIN_HOD_VERIFIED','DOMAIN_ED_APPROVED','DOMAIN_NETOPS_VERIFIED','DOMAIN_WEBMASTER_VERIFIED','DOMAIN_HPC_HOD_RECOMMENDED','DOMAIN_VERIFICATION_COMPLETED','DOMAIN_VERIFICATION_REJECTED','DOMAIN_PURCHASED','DOMAIN_RENEWAL_REQUESTED','DOMAIN_RENEWAL_ARM_FORWARDED','DOMAIN_RENEWAL_HOD_VERIFIED','DOMAIN_RENEWAL_ED_APPROVED','DOMAIN_RENEWAL_NETOPS_VERIFIED','DOMAIN_RENEWAL_WEBMASTER_VERIFIED','DOMAIN_RENEWAL_HPC_HOD_RECOMMENDED','DOMAIN_RENEWAL_COMPLETED','DOMAIN_EXPIRY_WARNING','DOMAIN_EXPIRED','DOMAIN_DELETED','DOMAIN_ACTIVATED','DOMAIN_DEACTIVATED','IP_ASSIGNED','IP_RENEWED','IP_EXPIRY_WARNING','VAPT_COMPLETED','VAPT_RENEWED','VAPT_EXPIRY_WARNING','PROJECT_ASSIGNED','DOMAIN_TRANSFER_STARTED','DOMAIN_TRANSFER_APPROVED','DOMAIN_TRANSFER_FINISHED','USER_ENABLED','USER_DISABLED','SYSTEM_ALERT','UNKNOWN_EVENT')),
+    dm_id bigint,
+    status varchar(255) NOT NULL CHECK (status IN ('PENDING','SENT','DEAD')),
+    attempts integer NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    next_attempt_at timestamp(6) NOT NULL,
+    sent_at timestamp(6),
+    last_error varchar(1000),
+    PRIMARY KEY (outbox_id)
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_checkpoint (
+    job_name varchar(100) NOT NULL,
+    run_date date NOT NULL,
+    last_id bigint NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    PRIMARY KEY (job_name)
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+    lease_name varchar(100) NOT NULL,
+    owner varchar(255) NOT NULL,
+    acquired_at timestamp(6) NOT NULL,
+    expires_at timestamp(6) NOT NULL,
+    completed_on date,
+    version bigint,
+    PRIMARY KEY (lease_name)
+);
+
+CREATE INDEX IF NOT EXISTS idx_domain_name_expiry_date ON domain_name (expiry_date);
+CREATE INDEX IF NOT EXISTS idx_ip_expiry_date ON ip (expiry_date);
+CREATE INDEX IF NOT EXISTS idx_vapt_exp_date ON vapt (exp_date);
+CREATE INDEX IF NOT EXISTS idx_domain_stakeholder_role_emp ON domain_stakeholder (role, emp_no, dm_id);
+CREATE INDEX IF NOT EXISTS idx_approver_inbox_emp_role_kind ON approver_inbox (emp_no, role, kind, queued_at);
+CREATE INDEX IF NOT EXISTS idx_outbox_status_next_attempt ON notification_outbox (status, next_attempt_at);
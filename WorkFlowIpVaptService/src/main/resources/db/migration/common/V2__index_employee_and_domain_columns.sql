@@ -0,0 +1,13 @@
+-- Lookups by the employee on each role of a domain (DRM renewals and
+-- transfers, HOD transfers) and from the child tables back to a domain.
+-- domain_verification.dm_id, ip.dm_id and vapt.ip_id are already indexed
+-- by their unique constraints.
+CREATE INDEX IF NOT EXISTS idx_domain_name_drm_emp_no ON domain_name (drm_emp_no);
+CREATE INDEX IF NOT EXISTS idx_domain_name_arm_emp_no ON domain_name (arm_emp_no);
+CREATE INDEX IF NOT EXISTS idx_domain_name_hod_emp_no ON domain_name (hod_emp_no);
+CREATE INDEX IF NOT EXISTS idx_domain_name_ed_emp_no ON domain_name (ed_emp_no);
+CREATE INDEX IF NOT EXISTS idx_domain_name_netops_emp_no ON domain_name (netops_emp_no);
+CREATE INDEX IF NOT EXISTS idx_domain_name_webmaster_emp_no ON domain_name (webmaster_emp_no);
+CREATE INDEX IF NOT EXISTS idx_domain_name_hod_hpc_emp_no ON domain_name (hod_hpc_emp_no);
+CREATE INDEX IF NOT EXISTS idx_domain_renewal_dm_id ON domain_renewal (dm_id);
+CREATE INDEX IF NOT EXISTS idx_purchases_dm_id ON purchases (dm_id);
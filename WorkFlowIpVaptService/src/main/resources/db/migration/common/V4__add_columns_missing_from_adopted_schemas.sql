@@ -0,0 +1,10 @@
+-- Columns the entities gained while ddl-auto=update still kept the schema.
+-- V1 creates them on a new database, but CREATE TABLE IF NOT EXISTS leaves
+-- the existing tables of an adopted one as they were, and validate would
+-- refuse to start without them.
+ALTER TABLE domain_name ADD COLUMN IF NOT EXISTS appr_prf_vapt_comp_sha256 varchar(64);
+ALTER TABLE domain_renewal ADD COLUMN IF NOT EXISTS appr_prf_by_hod_sha256 varchar(64);
+ALTER TABLE purchases ADD COLUMN IF NOT EXISTS prf_of_purchase_sha256 varchar(64);
+ALTER TABLE vapt ADD COLUMN IF NOT EXISTS prf_work_sha256 varchar(64);
+ALTER TABLE ip ADD COLUMN IF NOT EXISTS last_notification_period_sent integer;
+ALTER TABLE vapt ADD COLUMN IF NOT EXISTS last_notification_period_sent integer;
@@ -0,0 +1,6 @@
+-- The inline proof columns were NOT NULL before the blob store, and
+-- ddl-auto=update never relaxed them; new rows only carry the *_sha256.
+ALTER TABLE domain_name ALTER COLUMN appr_prf_vapt_comp DROP NOT NULL;
+ALTER TABLE domain_renewal ALTER COLUMN appr_prf_by_hod DROP NOT NULL;
+ALTER TABLE vapt ALTER COLUMN prf_work DROP NOT NULL;
+ALTER TABLE purchases ALTER COLUMN prf_of_purchase DROP NOT NULL;
@@ -0,0 +1,18 @@
+-- Domains written before domain_stakeholder existed. From then on every
+-- write that assigns employee numbers calls DomainStakeholderService.sync,
+-- so this only has to run once. Rows that are already there are left alone.
+
+-- One row per domain and assigned role, mirroring the *_emp_no columns.
+INSERT INTO domain_stakeholder (dm_id, role, emp_no)
+SELECT s.dm_id, s.role, s.emp_no FROM (
+    SELECT dm_id, 'DRM' AS role, drm_emp_no AS emp_no FROM domain_name
+    UNION ALL SELECT dm_id, 'ARM', arm_emp_no FROM domain_name
+    UNION ALL SELECT dm_id, 'HOD', hod_emp_no FROM domain_name
+    UNION ALL SELECT dm_id, 'ED', ed_emp_no FROM domain_name
+    UNION ALL SELECT dm_id, 'NETOPS', netops_emp_no FROM domain_name
+    UNION ALL SELECT dm_id, 'WEBMASTER', webmaster_emp_no FROM domain_name
+    UNION ALL SELECT dm_id, 'HODHPC', hod_hpc_emp_no FROM domain_name
+) s
+WHERE s.emp_no IS NOT NULL AND NOT EXISTS (
+    SELECT 1 FROM domain_stakeholder ds
+    WHERE ds.dm_id = s.dm_id AND ds.role = s.role);
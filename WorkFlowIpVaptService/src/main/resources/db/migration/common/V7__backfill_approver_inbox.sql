@@ -0,0 +1,50 @@
+-- Domains already in the workflow before approver_inbox existed, queued
+-- with the approver each one waits on by the same rules as
+-- ApproverInboxService.refresh, which every write calls from then on. Rows
+-- that are already there are left alone.
+INSERT INTO approver_inbox (dm_id, emp_no, role, kind, queued_at)
+SELECT w.dm_id,
+       CASE w.role
+           WHEN 'ARM' THEN w.arm_emp_no
+           WHEN 'HOD' THEN w.hod_emp_no
+           WHEN 'ED' THEN w.ed_emp_no
+           WHEN 'NETOPS' THEN w.netops_emp_no
+           WHEN 'WEBMASTER' THEN w.webmaster_emp_no
+           ELSE w.hod_hpc_emp_no
+       END,
+       w.role, w.kind, COALESCE(w.since, CURRENT_TIMESTAMP)
+FROM (
+    SELECT dn.dm_id, dn.arm_emp_no, dn.hod_emp_no, dn.ed_emp_no, dn.netops_emp_no,
+           dn.webmaster_emp_no, dn.hod_hpc_emp_no,
+           CASE
+               WHEN dv.is_verified THEN 'WEBMASTER'
+               WHEN NOT dv.fwd_arm THEN 'ARM'
+               WHEN NOT dv.vfyd_by_hod THEN 'HOD'
+               WHEN NOT dv.vfy_by_ed THEN 'ED'
+               WHEN NOT dv.vfy_by_netops THEN 'NETOPS'
+               WHEN NOT dv.vfy_by_wbmstr THEN 'WEBMASTER'
+               ELSE 'HODHPC'
+           END AS role,
+           CASE
+               WHEN dv.is_verified THEN 'PURCHASE'
+               WHEN dn.is_renewal THEN 'RENEWAL'
+               ELSE 'REQUEST'
+           END AS kind,
+           CASE
+               WHEN dv.is_verified THEN dv.vfy_date_hod_hpc
+               WHEN NOT dv.fwd_arm THEN dn.d_o_apl
+               WHEN NOT dv.vfyd_by_hod THEN dv.fwd_date_arm
+               WHEN NOT dv.vfy_by_ed THEN dv.vfy_date_hod
+               WHEN NOT dv.vfy_by_netops THEN dv.vfy_date_ed
+               WHEN NOT dv.vfy_by_wbmstr THEN dv.vfy_date_netops
+               ELSE dv.vfy_date_wbmstr
+           END AS since
+    FROM domain_name dn
+    JOIN domain_verification dv ON dv.dm_id = dn.dm_id
+    WHERE dn.is_del = false
+      AND (dn.is_renewal = true OR dn.is_active = false)
+      AND dv.snt_bk_by_hod = false AND dv.snt_bk_by_ed = false
+      AND dv.snt_bk_by_netops = false AND dv.snt_bk_by_wbmstr = false
+      AND dv.snt_bk_by_hpc = false
+) w
+WHERE NOT EXISTS (SELECT 1 FROM approver_inbox ai WHERE ai.dm_id = w.dm_id);
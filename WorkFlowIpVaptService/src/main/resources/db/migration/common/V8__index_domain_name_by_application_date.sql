@@ -0,0 +1,13 @@
+-- The cursor-paged lists (DomainNameRepo.*After) seek on
+-- (d_o_apl, dm_id) > (:after, :afterId), which only holds for rows with a
+-- date of application. Every application and renewal sets it; rows that
+-- predate that get their activation date, or the time of this migration.
+UPDATE domain_name
+SET d_o_apl = COALESCE(d_o_act, LOCALTIMESTAMP)
+WHERE d_o_apl IS NULL;
+
+ALTER TABLE domain_name ALTER COLUMN d_o_apl SET NOT NULL;
+
+-- Lets a long list be walked in key order from the cursor and stop after
+-- one page, instead of sorting every row the employee can see.
+CREATE INDEX IF NOT EXISTS idx_domain_name_apl_id ON domain_name (d_o_apl, dm_id);
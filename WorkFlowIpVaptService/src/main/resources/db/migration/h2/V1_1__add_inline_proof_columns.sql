@@ -0,0 +1,7 @@
+-- H2 counterpart of postgresql/V1_1. In PostgreSQL mode H2 knows neither oid
+-- nor blob, only binary large object; text would become a CLOB, so varchar.
+ALTER TABLE domain_name ADD COLUMN IF NOT EXISTS appr_prf_vapt_comp binary large object;
+ALTER TABLE domain_renewal ADD COLUMN IF NOT EXISTS appr_prf_by_hod binary large object;
+ALTER TABLE vapt ADD COLUMN IF NOT EXISTS prf_work binary large object;
+ALTER TABLE purchases ADD COLUMN IF NOT EXISTS prf_of_purchase bytea;
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS payload varchar NOT NULL;
@@ -0,0 +1,7 @@
+-- Columns whose PostgreSQL type H2 does not have. The proofs are the inline
+-- copies from before the blob store, emptied by BlobMigrationJob.
+ALTER TABLE domain_name ADD COLUMN IF NOT EXISTS appr_prf_vapt_comp oid;
+ALTER TABLE domain_renewal ADD COLUMN IF NOT EXISTS appr_prf_by_hod oid;
+ALTER TABLE vapt ADD COLUMN IF NOT EXISTS prf_work oid;
+ALTER TABLE purchases ADD COLUMN IF NOT EXISTS prf_of_purchase bytea;
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS payload text NOT NULL;
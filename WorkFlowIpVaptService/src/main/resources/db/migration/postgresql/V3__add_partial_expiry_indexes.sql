@@ -0,0 +1,14 @@
+-- Partial indexes holding only the domains the expiry queries can return.
+-- H2 has no partial indexes; there the plain expiry_date index does.
+
+-- The DRM's renewal list (DomainNameRepo.findByDrmId and
+-- findExpiringDomainsByDayAndDrmId).
+CREATE INDEX IF NOT EXISTS idx_domain_name_drm_renewable
+    ON domain_name (drm_emp_no, expiry_date)
+    WHERE is_renewal = false AND is_del = false;
+
+-- Domains the expiry timer and scheduler still have to notify
+-- (DomainNameRepo.findExpiryTimerRows).
+CREATE INDEX IF NOT EXISTS idx_domain_name_live_expiry
+    ON domain_name (expiry_date)
+    WHERE is_active = true AND is_del = false;
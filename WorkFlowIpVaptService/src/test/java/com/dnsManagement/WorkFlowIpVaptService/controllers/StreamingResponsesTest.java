@@ -0,0 +1,137 @@
+package com.dnsManagement.WorkFlowIpVaptService.controllers;
+
+import com.dnsManagement.WorkFlowIpVaptService.config.ExecutorConfiguration;
+import com.dnsManagement.WorkFlowIpVaptService.config.WebAsyncConfiguration;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.BlobStore;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.LocalBlobStore;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainStakeholderRepo;
+import com.dnsManagement.WorkFlowIpVaptService.services.AssetExpiryService;
+import com.dnsManagement.WorkFlowIpVaptService.services.DomainNameService;
+import com.dnsManagement.WorkFlowIpVaptService.services.IpService;
+import com.dnsManagement.WorkFlowIpVaptService.services.ProofService;
+import com.dnsManagement.WorkFlowIpVaptService.services.VaptService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sends the streamed downloads through MVC and checks that their bodies are
+ * written on the bounded {@code streamingExecutor} set up by
+ * {@link WebAsyncConfiguration}, not on a thread MVC starts for them.
+ */
+@WebMvcTest(controllers = {VaptIpRenewalMicroserviceApis.class, ProofController.class})
+@AutoConfigureMockMvc(addFilters = false)
+@Import({ExecutorConfiguration.class, ProofService.class, StreamingResponsesTest.Metrics.class})
+class StreamingResponsesTest {
+
+  @TestConfiguration
+  static class Metrics {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    BlobStore blobStore() throws IOException {
+      return new LocalBlobStore(Files.createTempDirectory("proofs"));
+    }
+  }
+
+  @MockitoBean
+  private IpService ipService;
+
+  @MockitoBean
+  private VaptService vaptService;
+
+  @MockitoBean
+  private DomainNameService domainNameService;
+
+  @MockitoBean
+  private AssetExpiryService assetExpiryService;
+
+  @MockitoBean
+  private DomainStakeholderRepo domainStakeholderRepo;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private BlobStore blobStore;
+
+  private long streamed() {
+    return meterRegistry.get("executor.execution").tag("name", "streaming").timer().count();
+  }
+
+  @Test
+  void ipExportIsWrittenOnTheStreamingExecutor() throws Exception {
+    StreamingResponseBody body = out -> out.write(
+            (Thread.currentThread().getName() + "\n").getBytes(StandardCharsets.UTF_8));
+    when(ipService.exportIps()).thenReturn(ResponseEntity.ok(body));
+    long before = streamed();
+
+    MvcResult started = mockMvc.perform(get("/exposedApis/ips/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    String thread = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+    assertThat(thread).startsWith("streaming-");
+    assertThat(streamed()).isEqualTo(before + 1);
+  }
+
+  @Test
+  void proofDownloadIsWrittenOnTheStreamingExecutor() throws Exception {
+    String sha256 = blobStore.put("0123456789".getBytes(StandardCharsets.US_ASCII));
+    when(domainStakeholderRepo.canReadProof(Role.ARM, 2L, sha256)).thenReturn(true);
+    long before = streamed();
+
+    MvcResult started = mockMvc.perform(get("/proofs/" + sha256).param("role", "ARM").param("empNo", "2")
+                    .header(HttpHeaders.RANGE, "bytes=2-4"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+            .andExpect(content().string("234"));
+
+    assertThat(streamed()).isEqualTo(before + 1);
+  }
+
+  @Test
+  void proofDownloadIsNotFoundForOtherEmployees() throws Exception {
+    String sha256 = blobStore.put("not yours".getBytes(StandardCharsets.US_ASCII));
+
+    mockMvc.perform(get("/proofs/" + sha256).param("role", "ARM").param("empNo", "3"))
+            .andExpect(status().isNotFound());
+  }
+}
@@ -0,0 +1,114 @@
+package com.dnsManagement.WorkFlowIpVaptService.events;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.models.NotificationOutbox;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.repo.NotificationOutboxRepo;
+import com.dnsManagement.WorkFlowIpVaptService.schedulers.NotificationOutboxRelay;
+import com.dnsManagement.WorkFlowIpVaptService.services.NotificationOutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Publishes {@link DomainEvent}s in real transactions on H2 and checks that
+ * the notification only exists if the transaction commits, and that delivery
+ * is only started after the commit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DomainEventDispatcher.class, NotificationOutboxService.class,
+        DomainEventDispatcherTest.Beans.class})
+class DomainEventDispatcherTest {
+
+  @TestConfiguration
+  static class Beans {
+    @Bean
+    ObjectMapper objectMapper() {
+      return new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @Autowired
+  private ApplicationEventPublisher events;
+
+  @Autowired
+  private NotificationOutboxRepo outboxRepo;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @MockitoBean
+  private NotificationOutboxRelay relay;
+
+  @AfterEach
+  void tearDown() {
+    outboxRepo.deleteAll();
+  }
+
+  private static DomainEvent approved(long domainId) {
+    return new DomainEvent.DomainApproved(new NotificationWebhook(
+            NotificationWebhook.EventType.DOMAIN_HOD_VERIFIED,
+            LocalDateTime.now(),
+            new NotificationWebhook.TriggeredBy(7L, Role.HOD),
+            new NotificationWebhook.NotificationData(domainId, "d" + domainId + ".gov.in", "ok"),
+            new NotificationWebhook.Recipients(1L, 2L, 7L, null, null, null, null)));
+  }
+
+  @Test
+  void committedEventsAreStoredAndThenDelivered() {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      events.publishEvent(approved(4));
+      verify(relay, never()).nudge();
+    });
+
+    assertThat(outboxRepo.findAll())
+            .extracting(NotificationOutbox::getDomainNameId)
+            .containsExactly(4L);
+    verify(relay).nudge();
+  }
+
+  @Test
+  void rolledBackEventsLeaveNothingBehind() {
+    assertThatThrownBy(() -> new TransactionTemplate(transactionManager)
+            .executeWithoutResult(status -> {
+              events.publishEvent(approved(5));
+              throw new IllegalStateException("approval failed");
+            })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(outboxRepo.count()).isZero();
+    verify(relay, never()).nudge();
+  }
+
+  @Test
+  void publishingOutsideATransactionFails() {
+    assertThatThrownBy(() -> events.publishEvent(approved(6)))
+            .isInstanceOf(IllegalTransactionStateException.class);
+  }
+}
@@ -0,0 +1,89 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for {@link BoundedExecutor}.
+ */
+class BoundedExecutorTest {
+
+  private MeterRegistry meterRegistry;
+  private BoundedExecutor executor;
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    executor = new BoundedExecutor("test", 2, 3, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.close();
+  }
+
+  private void blockingTask(AtomicInteger running, AtomicInteger peak) {
+    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      running.decrementAndGet();
+    }
+  }
+
+  @Test
+  void capsConcurrencyAndQueuesTheRest() {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    for (int i = 0; i < 3; i++)
+      executor.execute(() -> blockingTask(running, peak));
+
+    await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+      assertThat(executor.getActive()).isEqualTo(2);
+      assertThat(executor.getQueued()).isEqualTo(1);
+    });
+    assertThat(meterRegistry.get("executor.queued").tag("name", "test")
+            .gauge().value()).isEqualTo(1);
+
+    release.countDown();
+    await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+            assertThat(meterRegistry.get("executor.execution")
+                    .tag("name", "test").timer().count()).isEqualTo(3));
+    assertThat(peak).hasValue(2);
+    assertThat(executor.getActive()).isZero();
+  }
+
+  @Test
+  void rejectsOnceTheQueueIsFull() {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    for (int i = 0; i < 2; i++)
+      executor.execute(() -> blockingTask(running, peak));
+    await().atMost(Duration.ofSeconds(2))
+            .untilAsserted(() -> assertThat(executor.getActive()).isEqualTo(2));
+    for (int i = 0; i < 3; i++)
+      executor.execute(() -> blockingTask(running, peak));
+
+    assertThatThrownBy(() -> executor.execute(() -> { }))
+            .isInstanceOf(TaskRejectedException.class);
+    assertThat(meterRegistry.get("executor.rejected").tag("name", "test")
+            .counter().count()).isEqualTo(1);
+  }
+}
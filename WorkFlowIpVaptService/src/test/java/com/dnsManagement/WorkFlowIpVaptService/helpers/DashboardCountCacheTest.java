@@ -0,0 +1,81 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.DashboardCountCache.Dashboard;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link DashboardCountCache} runs a dashboard's count query
+ * once per employee and role, times it, and runs it again only after an
+ * eviction has committed.
+ */
+class DashboardCountCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private DashboardCountCache cache;
+
+  private final AtomicLong queries = new AtomicLong();
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new DashboardCountCache(meterRegistry, 100, Duration.ofMinutes(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive())
+      TransactionSynchronizationManager.clearSynchronization();
+  }
+
+  private long count(Dashboard dashboard, Role role, Long empNo) {
+    return cache.get(dashboard, role, empNo, () -> {
+      queries.incrementAndGet();
+      return 12;
+    });
+  }
+
+  @Test
+  void countsOncePerDashboardAndEmployee() {
+    assertThat(count(Dashboard.REQUESTS, Role.ARM, 2L)).isEqualTo(12);
+    assertThat(count(Dashboard.REQUESTS, Role.ARM, 2L)).isEqualTo(12);
+    count(Dashboard.RENEWALS, Role.ARM, 2L);
+    count(Dashboard.REQUESTS, Role.HOD, 2L);
+
+    assertThat(queries).hasValue(3);
+    assertThat(meterRegistry.get("dashboard.count").tag("dashboard", "requests").timer().count())
+            .isEqualTo(2);
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "dashboard.counts")
+            .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void evictionWaitsForTheCommit() {
+    count(Dashboard.VIEW_DOMAINS, Role.ARM, 2L);
+    count(Dashboard.ROLE_DOMAINS, Role.ARM, 2L);
+    count(Dashboard.VIEW_DOMAINS, Role.HOD, 3L);
+
+    TransactionSynchronizationManager.initSynchronization();
+    cache.evictAfterCommit(Role.ARM, 2L);
+    count(Dashboard.VIEW_DOMAINS, Role.ARM, 2L);
+    assertThat(queries).hasValue(3);
+
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    TransactionSynchronizationManager.clearSynchronization();
+    count(Dashboard.VIEW_DOMAINS, Role.ARM, 2L);
+    count(Dashboard.ROLE_DOMAINS, Role.ARM, 2L);
+    count(Dashboard.VIEW_DOMAINS, Role.HOD, 3L);
+    assertThat(queries).hasValue(5);
+  }
+}
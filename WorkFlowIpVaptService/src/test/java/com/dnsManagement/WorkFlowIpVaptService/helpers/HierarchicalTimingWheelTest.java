@@ -0,0 +1,73 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link HierarchicalTimingWheel}, with four slots per level
+ * so that deadlines quickly land several levels up.
+ */
+class HierarchicalTimingWheelTest {
+
+  private final HierarchicalTimingWheel<String> wheel =
+          new HierarchicalTimingWheel<>(10, 4, 1000);
+
+  private List<String> advanceTo(long nowMillis) {
+    List<String> fired = new ArrayList<>();
+    wheel.advanceTo(nowMillis, fired::add);
+    return fired;
+  }
+
+  @Test
+  void firesEachItemOnItsTickAfterCascadingDown() {
+    // 1 tick, 7 ticks (level 1), 40 ticks (level 2) and 300 ticks (level 4) ahead.
+    assertThat(wheel.add(1010, "a")).isTrue();
+    assertThat(wheel.add(1070, "b")).isTrue();
+    assertThat(wheel.add(1400, "c")).isTrue();
+    assertThat(wheel.add(4000, "d")).isTrue();
+    assertThat(wheel.size()).isEqualTo(4);
+
+    assertThat(advanceTo(1009)).isEmpty();
+    assertThat(advanceTo(1010)).containsExactly("a");
+    assertThat(advanceTo(1069)).isEmpty();
+    assertThat(advanceTo(1070)).containsExactly("b");
+    assertThat(advanceTo(1399)).isEmpty();
+    assertThat(advanceTo(1400)).containsExactly("c");
+    assertThat(advanceTo(3999)).isEmpty();
+    assertThat(advanceTo(4000)).containsExactly("d");
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void firesInDeadlineOrderAcrossALargeJump() {
+    wheel.add(3333, "late");
+    wheel.add(1015, "rounded up to 1020");
+    wheel.add(1999, "middle");
+    wheel.add(1020, "same tick");
+
+    assertThat(advanceTo(10_000))
+            .containsExactly("rounded up to 1020", "same tick", "middle", "late");
+  }
+
+  @Test
+  void refusesDeadlinesThatHavePassed() {
+    assertThat(wheel.add(1000, "now")).isFalse();
+    assertThat(wheel.add(500, "past")).isFalse();
+    advanceTo(1500);
+    assertThat(wheel.add(1500, "now")).isFalse();
+    assertThat(wheel.add(1501, "next tick")).isTrue();
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(advanceTo(1510)).containsExactly("next tick");
+  }
+
+  @Test
+  void rejectsSlotCountsThatAreNotAPowerOfTwo() {
+    assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(10, 6, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+}
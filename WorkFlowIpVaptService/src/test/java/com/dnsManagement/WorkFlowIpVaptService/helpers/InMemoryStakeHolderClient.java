@@ -0,0 +1,141 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.ProjectDto;
+import com.dnsManagement.WorkFlowIpVaptService.dto.UpdateDrmAndArmDetails;
+import com.dnsManagement.WorkFlowIpVaptService.openfeign.StakeHolderClient;
+import feign.FeignException;
+import feign.Request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for user-management-service used by unit tests.
+ * <p>
+ * Records are held in memory and shaped like the JSON the real service
+ * returns (a map carrying {@code emp_no}, {@code centre_id}, ...). Every
+ * remote method counts its invocations so tests can assert on round trips.
+ * </p>
+ */
+public class InMemoryStakeHolderClient implements StakeHolderClient {
+
+  private final Map<String, Map<Long, Object>> stakeHolders = new HashMap<>();
+  private final Map<Long, Object> centres = new HashMap<>();
+  private final Map<Long, Object> groups = new HashMap<>();
+
+  private boolean bulkSupported = true;
+  private boolean referenceDataOnline = true;
+
+  public final AtomicInteger singleCalls = new AtomicInteger();
+  public final AtomicInteger bulkCalls = new AtomicInteger();
+  public final AtomicInteger centreCalls = new AtomicInteger();
+  public final AtomicInteger groupCalls = new AtomicInteger();
+
+  public InMemoryStakeHolderClient withStakeHolder(String role, long empNo,
+                                                   String firstName,
+                                                   long centreId,
+                                                   long groupId) {
+    Map<String, Object> record = new LinkedHashMap<>();
+    record.put("emp_no", empNo);
+    record.put(role.toLowerCase() + "_fname", firstName);
+    record.put(role.toLowerCase() + "_lname", "Test");
+    record.put("email_id", firstName.toLowerCase() + "@example.com");
+    record.put("centre_id", centreId);
+    record.put("grp_id", groupId);
+    stakeHolders.computeIfAbsent(role, r -> new HashMap<>()).put(empNo, record);
+    return this;
+  }
+
+  public InMemoryStakeHolderClient withCentre(long centreId, String name) {
+    centres.put(centreId, Map.of("centre_id", centreId, "cn_name", name));
+    return this;
+  }
+
+  public InMemoryStakeHolderClient withGroup(long groupId, String name) {
+    groups.put(groupId, Map.of("dept_id", groupId, "d_name", name));
+    return this;
+  }
+
+  /**
+   * Makes the bulk endpoint behave like an older peer without it, i.e. the
+   * call fails with a 404.
+   */
+  public InMemoryStakeHolderClient withoutBulkSupport() {
+    bulkSupported = false;
+    return this;
+  }
+
+  /**
+   * Makes the full centre/group listings fail the way the Feign fallback
+   * does, i.e. answer {@code null}.
+   */
+  public InMemoryStakeHolderClient withReferenceDataOnline(boolean online) {
+    referenceDataOnline = online;
+    return this;
+  }
+
+  @Override
+  public Object fetchStakeHolderDetails(String role, Long empNo) {
+    singleCalls.incrementAndGet();
+    return stakeHolders.getOrDefault(role, Map.of()).get(empNo);
+  }
+
+  @Override
+  public List<Object> fetchStakeHolderDetailsInBulk(String role,
+                                                    Collection<Long> empNos) {
+    bulkCalls.incrementAndGet();
+    if (!bulkSupported) {
+      Request request = Request.create(Request.HttpMethod.POST,
+              "/api/users/details/" + role + "/bulk", Map.of(), null,
+              StandardCharsets.UTF_8, null);
+      throw new FeignException.NotFound("Not Found", request, null, Map.of());
+    }
+    List<Object> records = new ArrayList<>();
+    Map<Long, Object> byEmpNo = stakeHolders.getOrDefault(role, Map.of());
+    for (Long empNo : empNos) {
+      if (byEmpNo.containsKey(empNo))
+        records.add(byEmpNo.get(empNo));
+    }
+    return records;
+  }
+
+  @Override
+  public Object fetchCentreDetails(Long centreId) {
+    centreCalls.incrementAndGet();
+    return centres.get(centreId);
+  }
+
+  @Override
+  public Object fetchDepartmentDetails(Long deptId) {
+    groupCalls.incrementAndGet();
+    return groups.get(deptId);
+  }
+
+  @Override
+  public List<Object> fetchAllCentres() {
+    centreCalls.incrementAndGet();
+    return referenceDataOnline ? new ArrayList<>(centres.values()) : null;
+  }
+
+  @Override
+  public List<Object> fetchAllDepartments() {
+    groupCalls.incrementAndGet();
+    return referenceDataOnline ? new ArrayList<>(groups.values()) : null;
+  }
+
+  @Override
+  public void updateDrmOrArmDetails(String empNo,
+                                    UpdateDrmAndArmDetails details) {
+  }
+
+  @Override
+  public List<ProjectDto> fetchHodAssignedProjects(Long hodEmpNo) {
+    return List.of();
+  }
+}
@@ -0,0 +1,80 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of one uniqueness check against a million stored addresses: the old
+ * way, building a {@code HashSet<String>} of every address per check, against
+ * a lookup in a resident {@link IpAddressSet}. Reports time and bytes
+ * allocated per check. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class IpAddressSetBenchmarkTest {
+
+  private static final int ADDRESSES = 1_000_000;
+  private static final int LOOKUPS = 1_000_000;
+
+  private static final com.sun.management.ThreadMXBean threads =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private static List<String> stored() {
+    List<String> addresses = new ArrayList<>(ADDRESSES);
+    for (int i = 0; i < ADDRESSES; i++)
+      addresses.add(i % 2 == 0
+              ? "10.%d.%d.%d".formatted((i >> 16) & 0xff, (i >> 8) & 0xff, i & 0xff)
+              : "2001:db8::%x:%x".formatted(i >> 16, i & 0xffff));
+    return addresses;
+  }
+
+  private static long allocated() {
+    return threads.getCurrentThreadAllocatedBytes();
+  }
+
+  @Test
+  void lookupBeatsRebuildingTheSetPerCheck() {
+    List<String> addresses = stored();
+    String candidate = "192.0.2.1";
+
+    int rebuilds = 5;
+    int found = 0;
+    long bytes = allocated();
+    long start = System.nanoTime();
+    for (int i = 0; i < rebuilds; i++) {
+      Set<String> all = new HashSet<>(addresses);
+      if (all.contains(candidate))
+        found++;
+    }
+    double rebuildNanos = (System.nanoTime() - start) / (double) rebuilds;
+    double rebuildBytes = (allocated() - bytes) / (double) rebuilds;
+
+    IpAddressSet index = new IpAddressSet();
+    addresses.forEach(index::add);
+    assertThat(index.size()).isEqualTo(ADDRESSES);
+    // Warm up the probe before measuring it.
+    for (int i = 0; i < LOOKUPS; i++)
+      if (index.contains(addresses.get(i % ADDRESSES)))
+        found++;
+
+    bytes = allocated();
+    start = System.nanoTime();
+    for (int i = 0; i < LOOKUPS; i++)
+      if (index.contains(addresses.get((int) (i * 7919L % ADDRESSES))))
+        found++;
+    double lookupNanos = (System.nanoTime() - start) / (double) LOOKUPS;
+    double lookupBytes = (allocated() - bytes) / (double) LOOKUPS;
+
+    System.out.printf("HashSet<String> per check: %.0f ns, %.0f bytes; IpAddressSet.contains: %.1f ns, %.2f bytes (%d found)%n",
+            rebuildNanos, rebuildBytes, lookupNanos, lookupBytes, found);
+    assertThat(lookupBytes).isLessThan(1);
+    assertThat(lookupNanos * 1000).isLessThan(rebuildNanos);
+  }
+}
@@ -0,0 +1,79 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link IpAddressSet}.
+ */
+class IpAddressSetTest {
+
+  private final IpAddressSet set = new IpAddressSet();
+
+  @Test
+  void treatsEveryTextualFormOfAnAddressAsTheSameMember() {
+    assertThat(set.add("2001:db8::1")).isTrue();
+    assertThat(set.add("2001:0DB8:0:0:0:0:0:0001")).isFalse();
+    assertThat(set.contains("2001:db8:0::0:1")).isTrue();
+    assertThat(set.contains("2001:db8::2")).isFalse();
+
+    assertThat(set.add("::ffff:10.0.0.1")).isTrue();
+    assertThat(set.contains("::ffff:a00:1")).isTrue();
+    // An IPv4-mapped IPv6 address is not the IPv4 address itself.
+    assertThat(set.contains("10.0.0.1")).isFalse();
+
+    assertThat(set.add("10.0.0.1")).isTrue();
+    assertThat(set.size()).isEqualTo(3);
+  }
+
+  @Test
+  void tracksTheAllZeroAddresses() {
+    assertThat(set.contains("0.0.0.0")).isFalse();
+    assertThat(set.contains("::")).isFalse();
+    assertThat(set.add("0.0.0.0")).isTrue();
+    assertThat(set.contains("::")).isFalse();
+    assertThat(set.add("0:0:0:0:0:0:0:0")).isTrue();
+    assertThat(set.contains("::")).isTrue();
+    assertThat(set.size()).isEqualTo(2);
+
+    assertThat(set.remove("::")).isTrue();
+    assertThat(set.contains("0.0.0.0")).isTrue();
+    assertThat(set.size()).isEqualTo(1);
+  }
+
+  @Test
+  void rejectsStringsThatAreNotAddresses() {
+    for (String invalid : List.of("", "10.0.0", "10.0.0.256", "10.00.0.1", "10.0.0.1.",
+            "1::2::3", "1:2:3:4:5:6:7:8:9", "2001:db8::g", "fe80::1%eth0", "12345::", "example.gov.in")) {
+      assertThat(IpAddressSet.isAddress(invalid)).as(invalid).isFalse();
+      assertThat(set.add(invalid)).as(invalid).isFalse();
+      assertThat(set.contains(invalid)).as(invalid).isFalse();
+    }
+    assertThat(set.size()).isZero();
+    assertThat(IpAddressSet.isAddress("1:2:3:4:5:6:7:8")).isTrue();
+    assertThat(IpAddressSet.isAddress("1:2:3:4:5:6:1.2.3.4")).isTrue();
+  }
+
+  @Test
+  void keepsEveryOtherMemberReachableThroughGrowthAndRemoval() {
+    List<String> addresses = new ArrayList<>();
+    for (int i = 1; i <= 5000; i++) {
+      addresses.add("10.%d.%d.%d".formatted(i >> 16, (i >> 8) & 0xff, i & 0xff));
+      addresses.add("2001:db8::%x".formatted(i));
+    }
+    addresses.forEach(set::add);
+    assertThat(set.size()).isEqualTo(addresses.size());
+
+    // Removing every other address shifts colliding entries back into the gaps.
+    for (int i = 0; i < addresses.size(); i += 2)
+      assertThat(set.remove(addresses.get(i))).isTrue();
+    for (int i = 0; i < addresses.size(); i++)
+      assertThat(set.contains(addresses.get(i))).as(addresses.get(i)).isEqualTo(i % 2 == 1);
+    assertThat(set.remove(addresses.get(0))).isFalse();
+    assertThat(set.size()).isEqualTo(addresses.size() / 2);
+  }
+}
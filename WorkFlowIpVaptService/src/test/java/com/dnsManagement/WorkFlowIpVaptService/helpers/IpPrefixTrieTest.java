@@ -0,0 +1,135 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.IpAssignment;
+import com.dnsManagement.WorkFlowIpVaptService.dto.SubnetUtilization;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for {@link IpPrefixTrie} and the {@link IpPrefix} keys it is
+ * built on.
+ */
+class IpPrefixTrieTest {
+
+  private final IpPrefixTrie trie = new IpPrefixTrie();
+  private long nextId = 1;
+
+  private IpAssignment add(String address) {
+    IpAssignment assignment = new IpAssignment(nextId++, address);
+    trie.add(IpPrefix.parse(address), assignment);
+    return assignment;
+  }
+
+  private static List<String> addresses(List<IpAssignment> assignments) {
+    return assignments.stream().map(IpAssignment::getIpAddress).toList();
+  }
+
+  @Test
+  void parsesAndPrintsPrefixesCanonically() {
+    assertThat(IpPrefix.parse("10.20.30.40/16")).hasToString("10.20.0.0/16");
+    assertThat(IpPrefix.parse("10.20.30.40")).hasToString("10.20.30.40/32");
+    assertThat(IpPrefix.parse("2001:0DB8:0000:0000:0001:0000:0000:0001/128"))
+            .hasToString("2001:db8::1:0:0:1/128");
+    assertThat(IpPrefix.parse("2001:db8:ffff::/32")).hasToString("2001:db8::/32");
+    assertThat(IpPrefix.parse("::/0")).hasToString("::/0");
+    for (String invalid : List.of("10.0.0.0/33", "10.0.0.0/", "10.0.0.0/1a", "::/129", "gov.in/8"))
+      assertThat(IpPrefix.tryParse(invalid)).as(invalid).isNull();
+    assertThatThrownBy(() -> IpPrefix.parse("10.0.0.0/33"))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void findsRangesContainingTheQueryAndRecordsInsideIt() {
+    add("10.20.0.0/16");
+    add("10.20.1.5");
+    add("10.20.200.1");
+    add("10.21.0.1");
+    add("192.168.0.1");
+    add("2001:db8::1");
+
+    assertThat(addresses(trie.overlapping(IpPrefix.parse("10.20.1.0/24"), 100)))
+            .containsExactly("10.20.0.0/16", "10.20.1.5");
+    assertThat(addresses(trie.overlapping(IpPrefix.parse("10.0.0.0/8"), 100)))
+            .containsExactly("10.20.0.0/16", "10.20.1.5", "10.20.200.1", "10.21.0.1");
+    assertThat(trie.overlapping(IpPrefix.parse("10.22.0.0/16"), 100)).isEmpty();
+    assertThat(trie.overlapping(IpPrefix.parse("172.16.0.0/12"), 100)).isEmpty();
+    // The families are kept apart.
+    assertThat(addresses(trie.overlapping(IpPrefix.parse("::/0"), 100)))
+            .containsExactly("2001:db8::1");
+
+    assertThat(addresses(trie.within(IpPrefix.parse("10.20.0.0/16"), 100)))
+            .containsExactly("10.20.0.0/16", "10.20.1.5", "10.20.200.1");
+    assertThat(addresses(trie.within(IpPrefix.parse("10.20.1.0/24"), 100)))
+            .containsExactly("10.20.1.5");
+    assertThat(trie.within(IpPrefix.parse("0.0.0.0/0"), 2)).hasSize(2);
+  }
+
+  @Test
+  void reportsUtilizationPerSubnet() {
+    add("10.20.1.0/25");
+    add("10.20.1.200");
+    add("10.20.7.1");
+    add("10.20.7.2");
+    add("10.0.0.0/8");
+
+    assertThat(trie.utilization(IpPrefix.parse("10.20.0.0/16"), 24))
+            .extracting(SubnetUtilization::getSubnet, SubnetUtilization::getAssignments)
+            .containsExactly(
+                    tuple("10.20.1.0/24", 2),
+                    tuple("10.20.7.0/24", 2));
+    SubnetUtilization first = trie.utilization(IpPrefix.parse("10.20.1.0/24"), 24).get(0);
+    assertThat(first.getUtilization()).isEqualTo(129 / 256.0);
+
+    // The /8 is wider than the subnets, so it is a row of its own.
+    assertThat(trie.utilization(IpPrefix.parse("10.0.0.0/8"), 16))
+            .extracting(SubnetUtilization::getSubnet, SubnetUtilization::getUtilization)
+            .containsExactly(
+                    tuple("10.0.0.0/8", 1.0),
+                    tuple("10.20.0.0/16", (128 + 3) / 65536.0));
+    assertThatThrownBy(() -> trie.utilization(IpPrefix.parse("10.20.0.0/16"), 8))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void countsAddressesCoveredByNestedRecordsOnce() {
+    add("10.30.0.0/25");
+    add("10.30.0.0/26");
+    add("10.30.0.5");
+    add("10.30.0.200");
+
+    assertThat(trie.utilization(IpPrefix.parse("10.30.0.0/16"), 24))
+            .extracting(SubnetUtilization::getAssignments, SubnetUtilization::getUtilization)
+            .containsExactly(tuple(4, 129 / 256.0));
+
+    add("10.30.0.0/24");
+    assertThat(trie.utilization(IpPrefix.parse("10.30.0.0/16"), 24))
+            .extracting(SubnetUtilization::getAssignments, SubnetUtilization::getUtilization)
+            .containsExactly(tuple(5, 1.0));
+  }
+
+  @Test
+  void removesRecordsAndKeepsTheRestReachable() {
+    IpAssignment range = add("10.20.0.0/16");
+    IpAssignment host = add("10.20.1.5");
+    add("10.20.1.6");
+    add("10.20.128.1");
+    assertThat(trie.size()).isEqualTo(4);
+
+    assertThat(trie.remove(IpPrefix.parse("10.20.1.5"), host.getIpId())).isTrue();
+    assertThat(trie.remove(IpPrefix.parse("10.20.1.5"), host.getIpId())).isFalse();
+    assertThat(trie.remove(IpPrefix.parse("10.20.0.0/16"), 999)).isFalse();
+    assertThat(trie.remove(IpPrefix.parse("10.20.0.0/16"), range.getIpId())).isTrue();
+
+    assertThat(addresses(trie.within(IpPrefix.parse("10.0.0.0/8"), 100)))
+            .containsExactly("10.20.1.6", "10.20.128.1");
+    assertThat(trie.utilization(IpPrefix.parse("10.20.0.0/16"), 16))
+            .extracting(SubnetUtilization::getAssignments)
+            .containsExactly(2);
+    assertThat(trie.size()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,85 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link LocalBlobStore} on a temporary directory.
+ */
+class LocalBlobStoreTest {
+
+  // SHA-256 of "hello world"
+  private static final String HELLO_WORLD = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+  @TempDir
+  Path root;
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void storesDocumentsUnderTheirHashInShardedDirectories() {
+    LocalBlobStore store = new LocalBlobStore(root);
+
+    String sha256 = store.put(bytes("hello world"));
+
+    assertThat(sha256).isEqualTo(HELLO_WORLD);
+    assertThat(root.resolve("b9").resolve("4d").resolve(HELLO_WORLD)).isRegularFile();
+    assertThat(store.exists(sha256)).isTrue();
+    assertThat(store.size(sha256)).isEqualTo(11);
+    assertThat(store.read(sha256)).isEqualTo(bytes("hello world"));
+  }
+
+  @Test
+  void keepsOneCopyOfTheSameDocumentAndNoTemporaryFiles() throws Exception {
+    LocalBlobStore store = new LocalBlobStore(root);
+
+    assertThat(store.put(bytes("hello world"))).isEqualTo(store.put(bytes("hello world")));
+
+    try (Stream<Path> files = Files.walk(root)) {
+      assertThat(files.filter(Files::isRegularFile)).containsExactly(store.path(HELLO_WORLD));
+    }
+  }
+
+  @Test
+  void transfersRangesOfADocument() {
+    LocalBlobStore store = new LocalBlobStore(root);
+    String sha256 = store.put(bytes("hello world"));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(store.transferTo(sha256, 6, 3, Channels.newChannel(out))).isEqualTo(3);
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("wor");
+
+    out.reset();
+    assertThat(store.transferTo(sha256, 6, 100, Channels.newChannel(out))).isEqualTo(5);
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("world");
+
+    assertThat(store.transferTo(sha256, 20, 5, Channels.newChannel(out))).isZero();
+  }
+
+  @Test
+  void rejectsUnknownAndMalformedReferences() {
+    LocalBlobStore store = new LocalBlobStore(root);
+
+    assertThat(store.exists("0".repeat(64))).isFalse();
+    assertThatThrownBy(() -> store.read("0".repeat(64)))
+            .isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> store.read("../../etc/passwd"))
+            .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> store.put((byte[]) null))
+            .isInstanceOf(IllegalArgumentException.class);
+    assertThat(store.readOrInline(null, bytes("inline"))).isEqualTo(bytes("inline"));
+  }
+}
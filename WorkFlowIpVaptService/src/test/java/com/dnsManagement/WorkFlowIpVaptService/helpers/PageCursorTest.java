@@ -0,0 +1,37 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that a {@link PageCursor} survives the trip through its opaque
+ * string, and that a tampered one is turned away as a bad request.
+ */
+class PageCursorTest {
+
+  @Test
+  void encodedCursorDecodesToTheSamePosition() {
+    PageCursor cursor = PageCursor.after(LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000), 42L);
+
+    assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    assertThat(cursor.encode()).doesNotContain("|", "=", "+", "/");
+  }
+
+  @Test
+  void missingCursorStartsBeforeEveryDomain() {
+    assertThat(PageCursor.decode(null)).isEqualTo(PageCursor.START);
+    assertThat(PageCursor.decode("")).isEqualTo(PageCursor.START);
+  }
+
+  @Test
+  void tamperedCursorIsRejected() {
+    assertThatThrownBy(() -> PageCursor.decode("not a cursor"))
+            .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PageCursor.decode("MjAyNS0wMy0xNA"))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,78 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ReferenceDataSnapshot}, run against
+ * {@link InMemoryStakeHolderClient}.
+ */
+class ReferenceDataSnapshotTest {
+
+  private InMemoryStakeHolderClient client;
+  private MeterRegistry meterRegistry;
+  private ReferenceDataSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    client = new InMemoryStakeHolderClient()
+            .withCentre(10, "Pune")
+            .withCentre(20, "Noida")
+            .withGroup(100, "HPC");
+    meterRegistry = new SimpleMeterRegistry();
+    snapshot = new ReferenceDataSnapshot(client, new ObjectMapper(),
+            meterRegistry);
+  }
+
+  @Test
+  void servesLookupsLocallyAfterRefresh() {
+    assertThat(snapshot.centre(10)).isNull();
+    assertThat(snapshot.age()).isNull();
+
+    assertThat(snapshot.refresh()).isTrue();
+    int centreCalls = client.centreCalls.get();
+    int groupCalls = client.groupCalls.get();
+
+    assertThat(snapshot.centre(10).getCentreName()).isEqualTo("Pune");
+    assertThat(snapshot.centre(20).getCentreName()).isEqualTo("Noida");
+    assertThat(snapshot.group(100).getDepartmentName()).isEqualTo("HPC");
+    assertThat(snapshot.centre(30)).isNull();
+    assertThat(client.centreCalls).hasValue(centreCalls);
+    assertThat(client.groupCalls).hasValue(groupCalls);
+    assertThat(meterRegistry.get("reference.data.snapshot.age").gauge()
+            .value()).isGreaterThanOrEqualTo(0);
+  }
+
+  @Test
+  void keepsLastGoodSnapshotWhenRefreshFails() {
+    snapshot.refresh();
+    client.withCentre(30, "Kolkata").withReferenceDataOnline(false);
+
+    assertThat(snapshot.refresh()).isFalse();
+
+    assertThat(snapshot.centre(10).getCentreName()).isEqualTo("Pune");
+    assertThat(snapshot.centre(30)).isNull();
+    assertThat(meterRegistry.get("reference.data.refresh")
+            .tag("result", "failure").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void longKeyedMapFindsEveryKeyAcrossCollisions() {
+    Map<Long, Long> entries = new HashMap<>();
+    for (long key = -500; key < 500; key++)
+      entries.put(key * 1024, key);
+    LongKeyedMap<Long> map = LongKeyedMap.copyOf(entries);
+
+    assertThat(map.size()).isEqualTo(entries.size());
+    entries.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+    assertThat(map.get(1)).isNull();
+  }
+}
@@ -0,0 +1,119 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.Arm;
+import com.dnsManagement.WorkFlowIpVaptService.dto.Drm;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link StakeHolderBatch} and the bulk path of
+ * {@link StakeHolderDirectory}, run against {@link InMemoryStakeHolderClient}.
+ */
+class StakeHolderBatchTest {
+
+  private record Row(long drmEmpNo, long armEmpNo) {}
+
+  private static final List<Row> PAGE = List.of(
+          new Row(1, 11), new Row(2, 12), new Row(1, 13), new Row(3, 11));
+
+  private InMemoryStakeHolderClient client;
+  private Utility utility;
+
+  @BeforeEach
+  void setUp() {
+    client = new InMemoryStakeHolderClient()
+            .withStakeHolder("DRM", 1, "Asha", 10, 100)
+            .withStakeHolder("DRM", 2, "Bala", 10, 100)
+            .withStakeHolder("DRM", 3, "Chitra", 20, 200)
+            .withStakeHolder("ARM", 11, "Dev", 10, 100)
+            .withStakeHolder("ARM", 12, "Esha", 20, 200)
+            .withStakeHolder("ARM", 13, "Farid", 10, 100)
+            .withCentre(10, "Pune")
+            .withCentre(20, "Noida")
+            .withGroup(100, "HPC")
+            .withGroup(200, "NETOPS");
+  }
+
+  private StakeHolderBatch newBatch() {
+    StakeHolderDirectory directory = new StakeHolderDirectory(client,
+            new SimpleMeterRegistry(), 100, Duration.ofMinutes(5),
+            Duration.ofSeconds(5));
+    utility = new Utility();
+    ReflectionTestUtils.setField(utility, "stakeHolderClient", client);
+    ReflectionTestUtils.setField(utility, "stakeHolderDirectory", directory);
+    ReflectionTestUtils.setField(utility, "objectMapper", new ObjectMapper());
+    // Never refreshed, so centres and groups still go over the wire here.
+    ReflectionTestUtils.setField(utility, "referenceDataSnapshot",
+            new ReferenceDataSnapshot(client, new ObjectMapper(),
+                    new SimpleMeterRegistry()));
+    return utility.batch();
+  }
+
+  @Test
+  void resolvesAPageWithOneBulkCallPerRole() {
+    StakeHolderBatch batch = newBatch()
+            .addAll("DRM", PAGE, Row::drmEmpNo)
+            .addAll("ARM", PAGE, Row::armEmpNo)
+            .load();
+
+    for (Row row : PAGE) {
+      Drm drm = batch.get("DRM", Drm.class, row.drmEmpNo());
+      Arm arm = batch.get("ARM", Arm.class, row.armEmpNo());
+      assertThat(batch.centre(drm.getCentreId()).getCentreName()).isNotBlank();
+      assertThat(batch.group(arm.getGroupId()).getDepartmentName()).isNotBlank();
+    }
+
+    assertThat(client.bulkCalls).hasValue(2);
+    assertThat(client.singleCalls).hasValue(0);
+    assertThat(client.centreCalls).hasValue(2);
+    assertThat(client.groupCalls).hasValue(2);
+  }
+
+  @Test
+  void fallsBackToSingleLookupsWhenBulkIsUnsupported() {
+    client.withoutBulkSupport();
+    StakeHolderBatch batch = newBatch()
+            .addAll("DRM", PAGE, Row::drmEmpNo)
+            .load();
+
+    assertThat(batch.get("DRM", Drm.class, 3L).getFirstName()).isEqualTo("Chitra");
+    assertThat(client.bulkCalls).hasValue(1);
+    assertThat(client.singleCalls).hasValue(3);
+
+    // The bulk endpoint is not retried right away.
+    utility.batch().addAll("ARM", PAGE, Row::armEmpNo).load();
+    assertThat(client.bulkCalls).hasValue(1);
+  }
+
+  @Test
+  void unknownStakeHolderIsReportedAsMissing() {
+    StakeHolderBatch batch = newBatch()
+            .addAll("DRM", List.of(new Row(99, 11)), Row::drmEmpNo)
+            .load();
+
+    assertThatThrownBy(() -> batch.get("DRM", Drm.class, 99L))
+            .isInstanceOf(NoSuchElementException.class);
+    // The miss was cached negatively by the bulk call.
+    assertThat(client.singleCalls).hasValue(0);
+  }
+
+  @Test
+  void missingCentreOrGroupIdIsReportedAsMissing() {
+    StakeHolderBatch batch = newBatch();
+
+    assertThatThrownBy(() -> batch.centre(null)).isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> batch.group(null)).isInstanceOf(NoSuchElementException.class);
+    assertThat(client.centreCalls).hasValue(0);
+    assertThat(client.groupCalls).hasValue(0);
+  }
+}
@@ -0,0 +1,159 @@
+package com.dnsManagement.WorkFlowIpVaptService.helpers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.Arm;
+import com.dnsManagement.WorkFlowIpVaptService.dto.Drm;
+import com.dnsManagement.WorkFlowIpVaptService.dto.Hod;
+import com.dnsManagement.WorkFlowIpVaptService.errorHandling.StakeHolderLookupTimeoutException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for {@link StakeHolderFanOut}, and for how
+ * {@link StakeHolderDirectory} loads concurrent lookups, against a
+ * deliberately slow {@link InMemoryStakeHolderClient}.
+ */
+class StakeHolderFanOutTest {
+
+  private static final long CALL_MILLIS = 500;
+
+  private BoundedExecutor executor;
+
+  /** Every single lookup takes CALL_MILLIS, unknown ones fail immediately. */
+  private static class SlowClient extends InMemoryStakeHolderClient {
+    final AtomicInteger interrupted = new AtomicInteger();
+
+    @Override
+    public Object fetchStakeHolderDetails(String role, Long empNo) {
+      Object record = super.fetchStakeHolderDetails(role, empNo);
+      if (record == null)
+        return null;
+      try {
+        Thread.sleep(CALL_MILLIS);
+      } catch (InterruptedException e) {
+        interrupted.incrementAndGet();
+        Thread.currentThread().interrupt();
+      }
+      return record;
+    }
+  }
+
+  private SlowClient newClient() {
+    SlowClient client = new SlowClient();
+    client.withStakeHolder("DRM", 1, "Asha", 10, 100)
+            .withStakeHolder("ARM", 2, "Bala", 10, 100)
+            .withStakeHolder("HOD", 3, "Chitra", 10, 100);
+    return client;
+  }
+
+  private StakeHolderFanOut newFanOut(SlowClient client, Duration deadline) {
+    Utility utility = new Utility();
+    ReflectionTestUtils.setField(utility, "stakeHolderClient", client);
+    ReflectionTestUtils.setField(utility, "stakeHolderDirectory",
+            new StakeHolderDirectory(client, new SimpleMeterRegistry(), 100,
+                    Duration.ofMinutes(5), Duration.ofSeconds(5)));
+    ReflectionTestUtils.setField(utility, "objectMapper", new ObjectMapper());
+    executor = new BoundedExecutor("enrichment", 8, 100,
+            new SimpleMeterRegistry());
+    return new StakeHolderFanOut(utility, executor, deadline);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (executor != null)
+      executor.close();
+  }
+
+  @Test
+  void lookupsRunConcurrently() {
+    StakeHolderFanOut.Scope scope = newFanOut(newClient(), Duration.ofSeconds(5))
+            .open();
+    long start = System.nanoTime();
+    Supplier<Drm> drm = scope.fork("DRM", Drm.class, 1L);
+    Supplier<Arm> arm = scope.fork("ARM", Arm.class, 2L);
+    Supplier<Hod> hod = scope.fork("HOD", Hod.class, 3L);
+    scope.join();
+    long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+    assertThat(drm.get().getEmpNo()).isEqualTo(1L);
+    assertThat(arm.get().getEmployeeNumber()).isEqualTo(2L);
+    assertThat(hod.get().getEmployeeNumber()).isEqualTo(3L);
+    assertThat(elapsedMillis).isLessThan(3 * CALL_MILLIS);
+  }
+
+  @Test
+  void firstFailureIsRethrownAndCancelsTheRest() {
+    SlowClient client = newClient();
+    StakeHolderFanOut.Scope scope = newFanOut(client, Duration.ofSeconds(5))
+            .open();
+    scope.fork("DRM", Drm.class, 1L);
+    scope.fork("ARM", Arm.class, 404L);
+
+    assertThatThrownBy(scope::join)
+            .isInstanceOf(NoSuchElementException.class)
+            .hasMessageContaining("ARM");
+    // The DRM lookup was still sleeping and must have been interrupted.
+    await().atMost(Duration.ofSeconds(2))
+            .untilAsserted(() -> assertThat(client.interrupted).hasValue(1));
+  }
+
+  @Test
+  void deadlineBoundsTheWholeScope() {
+    StakeHolderFanOut.Scope scope = newFanOut(newClient(), Duration.ofMillis(50))
+            .open();
+    Supplier<Drm> drm = scope.fork("DRM", Drm.class, 1L);
+
+    assertThatThrownBy(scope::join)
+            .isInstanceOf(StakeHolderLookupTimeoutException.class);
+    assertThatThrownBy(drm::get).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void concurrentLookupsOfOneStakeHolderShareOneCall() throws Exception {
+    SlowClient client = newClient();
+    StakeHolderDirectory directory = new StakeHolderDirectory(client,
+            new SimpleMeterRegistry(), 100, Duration.ofMinutes(5), Duration.ofSeconds(5));
+
+    try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<Object>> lookups = new ArrayList<>();
+      for (int i = 0; i < 8; i++)
+        lookups.add(threads.submit(() -> directory.find("DRM", 1L)));
+      for (Future<Object> lookup : lookups)
+        assertThat(lookup.get()).isNotNull();
+    }
+    assertThat(client.singleCalls).hasValue(1);
+  }
+
+  @Test
+  void evictionDuringALookupIsNotUndone() throws Exception {
+    SlowClient client = newClient();
+    StakeHolderDirectory directory = new StakeHolderDirectory(client,
+            new SimpleMeterRegistry(), 100, Duration.ofMinutes(5), Duration.ofSeconds(5));
+
+    try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<Object> lookup = threads.submit(() -> directory.find("DRM", 1L));
+      await().atMost(Duration.ofSeconds(2))
+              .untilAsserted(() -> assertThat(client.singleCalls).hasValue(1));
+      directory.evict("DRM", 1L);
+      assertThat(lookup.get()).isNotNull();
+    }
+    directory.find("DRM", 1L);
+    assertThat(client.singleCalls).hasValue(2);
+  }
+}
@@ -0,0 +1,35 @@
+package com.dnsManagement.WorkFlowIpVaptService.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domains for tests to save, filled in the way an application leaves them.
+ */
+public final class DomainNames {
+
+  private DomainNames() {
+  }
+
+  /**
+   * @return An unsaved domain applied for now, with employees 1 to 7 as DRM,
+   * ARM, HOD, ED, NetOps, webmaster and HoD HPC, an internal service for a
+   * year and both compliance statuses met. Callers set what their test is about on top.
+   */
+  public static DomainName domain(String name) {
+    DomainName domain = new DomainName();
+    domain.setDomainName(name);
+    domain.setDrmEmployeeNumber(1L);
+    domain.setArmEmployeeNumber(2L);
+    domain.setHodEmployeeNumber(3L);
+    domain.setEdEmployeeNumber(4L);
+    domain.setNetopsEmployeeNumber(5L);
+    domain.setWebmasterEmployeeNumber(6L);
+    domain.setHodHpcEmployeeNumber(7L);
+    domain.setServiceType(ServiceType.INTERNAL);
+    domain.setGigcwCompletionStatus(Status.YES);
+    domain.setMouStatus(Status.YES);
+    domain.setPeriodInYears(1);
+    domain.setDateOfApplication(LocalDateTime.now());
+    return domain;
+  }
+}
@@ -0,0 +1,30 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs the migrations that fill in tables for domains written before the
+ * tables existed, for tests whose schema comes from {@code ddl-auto} rather
+ * than Flyway.
+ */
+public final class BackfillMigrations {
+
+  private BackfillMigrations() {
+  }
+
+  private static void run(DataSource dataSource, String script) {
+    new ResourceDatabasePopulator(new ClassPathResource("db/migration/common/" + script))
+            .execute(dataSource);
+  }
+
+  public static void domainStakeholders(DataSource dataSource) {
+    run(dataSource, "V6__backfill_domain_stakeholder.sql");
+  }
+
+  public static void approverInbox(DataSource dataSource) {
+    run(dataSource, "V7__backfill_approver_inbox.sql");
+  }
+}
@@ -0,0 +1,176 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.DomainNameDto;
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow;
+import com.dnsManagement.WorkFlowIpVaptService.dto.ViewDomainDBDto;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.DashboardCountCache;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.PageCursor;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainVerification;
+import com.dnsManagement.WorkFlowIpVaptService.models.InboxKind;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.services.ApproverInboxService;
+import com.dnsManagement.WorkFlowIpVaptService.services.DomainStakeholderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pages through the role dashboards with a cursor on H2, with dates of
+ * application that tie across a page boundary, and checks that every
+ * domain comes back exactly once in {@code (d_o_apl, dm_id)} order.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DomainStakeholderService.class, ApproverInboxService.class, DashboardCountCache.class,
+        CursorPagingTest.Metrics.class})
+class CursorPagingTest {
+
+  @TestConfiguration
+  static class Metrics {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  private static final int PAGE_SIZE = 2;
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private DomainVerificationRepo domainVerificationRepo;
+
+  @Autowired
+  private DomainStakeholderRepo domainStakeholderRepo;
+
+  @Autowired
+  private ApproverInboxRepo approverInboxRepo;
+
+  @Autowired
+  private DomainStakeholderService domainStakeholderService;
+
+  @Autowired
+  private ApproverInboxService approverInboxService;
+
+  private final List<Long> expected = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    LocalDateTime monday = LocalDateTime.of(2025, 6, 2, 10, 0);
+    List<DomainName> domains = new ArrayList<>();
+    // Saved out of date order, three applied at the same moment.
+    for (LocalDateTime applied : new LocalDateTime[]{
+            monday.plusDays(2), monday, monday.minusDays(1), monday, monday.plusDays(1), monday})
+      domains.add(domain("cursor-" + domains.size() + ".gov.in", applied));
+
+    domains.stream()
+            .sorted(Comparator.comparing(DomainName::getDateOfApplication)
+                    .thenComparing(DomainName::getDomainNameId))
+            .forEach(domain -> expected.add(domain.getDomainNameId()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    approverInboxRepo.deleteAllInBatch();
+    domainStakeholderRepo.deleteAllInBatch();
+    domainVerificationRepo.deleteAll();
+    domainNameRepo.deleteAll();
+  }
+
+  private DomainName domain(String name, LocalDateTime applied) {
+    DomainName domainName = DomainNames.domain(name);
+    domainName.setActive(true);
+    domainName.setDateOfApplication(applied);
+    domainName.setExpiryDate(LocalDateTime.now().plusYears(1));
+    domainName = domainNameRepo.save(domainName);
+    DomainVerification verification = new DomainVerification();
+    verification.setDomainName(domainName);
+    domainVerificationRepo.save(verification);
+    domainStakeholderService.sync(domainName);
+    return domainName;
+  }
+
+  interface Seek<R> {
+    List<R> after(LocalDateTime after, long afterId);
+  }
+
+  // Walks the list the way a client follows next_cursor.
+  private <R> List<Long> walk(Seek<R> seek, Function<R, PageCursor> key, Function<R, Long> id) {
+    List<Long> seen = new ArrayList<>();
+    PageCursor cursor = PageCursor.decode(null);
+    while (true) {
+      List<R> page = seek.after(cursor.dateOfApplication(), cursor.domainId());
+      assertThat(page.size()).isLessThanOrEqualTo(PAGE_SIZE);
+      page.forEach(row -> seen.add(id.apply(row)));
+      if (page.size() < PAGE_SIZE)
+        return seen;
+      cursor = PageCursor.decode(key.apply(page.get(page.size() - 1)).encode());
+    }
+  }
+
+  @Test
+  void viewDomainsVisitEveryDomainOnceInOrder() {
+    List<Long> seen = walk(
+            (after, afterId) -> domainNameRepo.findAllDomainNameByRoleAndEmpNoAfter(
+                    2L, "ARM", after, afterId, PageRequest.of(0, PAGE_SIZE)),
+            row -> PageCursor.after(row.getDateOfApplication(), row.getDomainId()),
+            ViewDomainDBDto::getDomainId);
+
+    assertThat(seen).containsExactlyElementsOf(expected);
+    assertThat(domainNameRepo.countDomainNameByRoleAndEmpNo(2L, "ARM")).isEqualTo(expected.size());
+    assertThat(domainNameRepo.findAllDomainNameByRoleAndEmpNoAfter(2L, "HOD",
+            PageCursor.FLOOR, 0, PageRequest.of(0, PAGE_SIZE))).isEmpty();
+  }
+
+  @Test
+  void roleDomainsVisitEveryDomainOnceInOrder() {
+    List<Long> seen = walk(
+            (after, afterId) -> domainNameRepo.findAllByRoleAndIdAfter(
+                    6L, Role.WEBMASTER, after, afterId, PageRequest.of(0, PAGE_SIZE)),
+            row -> PageCursor.after(row.getDateOfApplication(), row.getDomainNameId()),
+            ExpiringDomainRow::getDomainNameId);
+
+    assertThat(seen).containsExactlyElementsOf(expected);
+    assertThat(domainNameRepo.countAllByRoleAndId(6L, Role.WEBMASTER)).isEqualTo(expected.size());
+  }
+
+  @Test
+  void inboxVisitsEveryWaitingDomainOnceInOrder() {
+    for (Long id : expected) {
+      DomainName domainName = domainNameRepo.findById(id).orElseThrow();
+      domainName.setActive(false);
+      approverInboxService.refresh(domainNameRepo.save(domainName));
+    }
+
+    List<Long> seen = walk(
+            (after, afterId) -> domainNameRepo.findAllDomainRequestsByRoleAndEmpNoAfter(
+                    2L, "ARM", after, afterId, PageRequest.of(0, PAGE_SIZE)),
+            row -> PageCursor.after(row.getDateOfApplication(), row.getDomainId()),
+            DomainNameDto::getDomainId);
+
+    assertThat(seen).containsExactlyElementsOf(expected);
+    assertThat(approverInboxRepo.countByEmpNoAndRoleAndKind(2L, Role.ARM, InboxKind.REQUEST))
+            .isEqualTo(expected.size());
+  }
+}
@@ -0,0 +1,136 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainVerification;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import org.hibernate.Hibernate;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records the SQL Hibernate sends while the domain list queries run, and
+ * fails when one of them reads the inline proof LOB, by name or through
+ * {@code SELECT *}. Also checks that loading a domain leaves that column
+ * unread until it is accessed.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameListQueriesTest$SqlCapture")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DomainNameListQueriesTest {
+
+  private static final Pattern READS_LOB = Pattern.compile(
+          "(?i)\\bappr_prf_vapt_comp(?!_)|select\\s+(\\w+\\.)?\\*");
+
+  public static class SqlCapture implements StatementInspector {
+    static final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+      statements.add(sql);
+      return sql;
+    }
+  }
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private DomainVerificationRepo domainVerificationRepo;
+
+  @Autowired
+  private DomainStakeholderRepo domainStakeholderRepo;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private DataSource dataSource;
+
+  private DomainName domain;
+
+  @BeforeEach
+  void setUp() {
+    domain = DomainNames.domain("lob.gov.in");
+    domain.setApprovalProofVaptCompletionStatus(new byte[]{1, 2, 3});
+    domain.setActive(true);
+    domain.setExpiryDate(LocalDate.now().plusDays(30).atTime(9, 0));
+    domain = domainNameRepo.save(domain);
+    DomainVerification verification = new DomainVerification();
+    verification.setDomainName(domain);
+    verification.setVerified(true);
+    domainVerificationRepo.save(verification);
+    BackfillMigrations.domainStakeholders(dataSource);
+    SqlCapture.statements.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    domainVerificationRepo.deleteAll();
+    domainStakeholderRepo.deleteAllInBatch();
+    domainNameRepo.deleteAll();
+  }
+
+  private static List<String> lobReads() {
+    return SqlCapture.statements.stream().filter(sql -> READS_LOB.matcher(sql).find()).toList();
+  }
+
+  @Test
+  void listQueriesNeverReadTheProofColumn() {
+    Pageable page = PageRequest.of(0, 10);
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime day = domain.getExpiryDate().toLocalDate().atStartOfDay();
+
+    assertThat(domainNameRepo.findByDrmId(1L, now, now.plusDays(60), page)).hasSize(1);
+    assertThat(domainNameRepo.findExpiringDomainsByDayAndDrmId(1L, day, day.plusDays(1), page)).hasSize(1);
+    assertThat(domainNameRepo.findAllByRoleAndId(2L, Role.ARM, page)).hasSize(1);
+    assertThat(domainNameRepo.findAllDomainNameByRoleAndEmpNo(1L, "DRM", page)).hasSize(1);
+    domainNameRepo.findAllByHodEmpNo(3L);
+    domainNameRepo.findDomainRenewalsByRoleAndEmpNo("ARM", 2L, page);
+    domainNameRepo.findAllDomainRequestsByRoleAndEmpNo(2L, "ARM", page);
+    domainNameRepo.findDomainToPurchaseByWebmasterId(6L, page);
+    assertThat(domainNameRepo.sliceAllByRoleAndId(2L, Role.ARM, page)).hasSize(1);
+    assertThat(domainNameRepo.sliceAllDomainNameByRoleAndEmpNo(1L, "DRM", page)).hasSize(1);
+    domainNameRepo.sliceDomainRenewalsByRoleAndEmpNo("ARM", 2L, page);
+    domainNameRepo.sliceAllDomainRequestsByRoleAndEmpNo(2L, "ARM", page);
+    domainNameRepo.sliceDomainToPurchaseByWebmasterId(6L, page);
+    assertThat(domainNameRepo.findExpiryTimerRows(now, now.plusDays(61))).hasSize(1);
+    assertThat(domainNameRepo.findExpiryTimerRowsByIds(List.of(domain.getDomainNameId()))).hasSize(1);
+    domainNameRepo.findExpiringChunk(now, now.plusDays(60), 30, 0, page);
+
+    assertThat(SqlCapture.statements).isNotEmpty();
+    assertThat(lobReads()).isEmpty();
+  }
+
+  @Test
+  void loadingADomainLeavesTheProofUnreadUntilAccessed() {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      DomainName loaded = domainNameRepo.findById(domain.getDomainNameId()).orElseThrow();
+      assertThat(Hibernate.isPropertyInitialized(loaded, "approvalProofVaptCompletionStatus")).isFalse();
+      assertThat(lobReads()).isEmpty();
+
+      assertThat(loaded.getApprovalProofVaptCompletionStatus()).containsExactly(1, 2, 3);
+      assertThat(lobReads()).hasSize(1);
+    });
+  }
+}
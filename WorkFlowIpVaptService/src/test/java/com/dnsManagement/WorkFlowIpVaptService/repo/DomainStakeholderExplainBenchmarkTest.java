@@ -0,0 +1,215 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.PageCursor;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Proves that the role dashboards seek {@code idx_domain_stakeholder_role_emp},
+ * and the approver dashboards {@code idx_approver_inbox_emp_role_kind},
+ * instead of scanning {@code domain_name} once there are a million domains:
+ * every statement a dashboard query sends, count query included, is run
+ * through {@code EXPLAIN (GENERIC_PLAN)}. An employee on every domain pages
+ * the cursor lists off {@code idx_domain_name_apl_id} in key order instead.
+ * Needs a PostgreSQL 16+ database it
+ * may fill and empty:
+ * {@code BENCHMARK_DB_URL=jdbc:postgresql://localhost/bench mvn test -Pbenchmark}
+ * (credentials from {@code BENCHMARK_DB_USERNAME}/{@code BENCHMARK_DB_PASSWORD}).
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DB_URL", matches = ".+")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${BENCHMARK_DB_URL}",
+        "spring.datasource.username=${BENCHMARK_DB_USERNAME:postgres}",
+        "spring.datasource.password=${BENCHMARK_DB_PASSWORD:}",
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.dnsManagement.WorkFlowIpVaptService.repo.DomainStakeholderExplainBenchmarkTest$SqlCapture"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DomainStakeholderExplainBenchmarkTest {
+
+  private static final int DOMAINS = 1_000_000;
+  private static final int EMPLOYEES = 10_000;
+  private static final long CENTRE_ED = EMPLOYEES;
+  private static final Pageable PAGE = PageRequest.of(0, 20);
+  private static final LocalDateTime NOW = LocalDateTime.now();
+
+  public static class SqlCapture implements StatementInspector {
+    static final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+      statements.add(sql);
+      return sql;
+    }
+  }
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private DomainStakeholderRepo domainStakeholderRepo;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  void seed() {
+    truncate();
+    // Each employee holds every role but ED on a hundred domains; the
+    // centre has one ED, who is on all of them.
+    jdbcTemplate.update("""
+            INSERT INTO domain_name (dm_name, drm_emp_no, arm_emp_no, hod_emp_no, ed_emp_no,
+                                     netops_emp_no, webmaster_emp_no, hod_hpc_emp_no,
+                                     service_type, gigcw_comp, vapt_comp, mou_status, period,
+                                     serv_hard_status, is_active, is_del, is_renewal, d_o_apl)
+            SELECT 'bench-' || i || '.gov.in', i % ?, (i + 1) % ?, (i + 2) % ?, ?,
+                   (i + 4) % ?, (i + 5) % ?, (i + 6) % ?,
+                   'INTERNAL', 'YES', true, 'YES', 1, true, i % 3 = 0, false, i % 5 = 0, now()
+            FROM generate_series(1, ?) AS i
+            """, EMPLOYEES, EMPLOYEES, EMPLOYEES, CENTRE_ED, EMPLOYEES, EMPLOYEES, EMPLOYEES, DOMAINS);
+    jdbcTemplate.update("""
+            INSERT INTO domain_verification (dm_id, fwd_arm, vfyd_by_hod, snt_bk_by_hod, vfy_by_ed,
+                                             snt_bk_by_ed, vfy_by_netops, snt_bk_by_netops,
+                                             vfy_by_wbmstr, snt_bk_by_wbmstr, vfy_by_hod_hpc_iand_e,
+                                             snt_bk_by_hpc, is_verified)
+            SELECT dm_id, dm_id % 2 = 0, false, false, false, false, false, false,
+                   false, false, false, false, false
+            FROM domain_name
+            """);
+    BackfillMigrations.domainStakeholders(jdbcTemplate.getDataSource());
+    assertThat(domainStakeholderRepo.count()).isEqualTo(7 * DOMAINS);
+    BackfillMigrations.approverInbox(jdbcTemplate.getDataSource());
+    jdbcTemplate.execute("ANALYZE domain_name");
+    jdbcTemplate.execute("ANALYZE domain_verification");
+    jdbcTemplate.execute("ANALYZE domain_stakeholder");
+    jdbcTemplate.execute("ANALYZE approver_inbox");
+  }
+
+  @AfterAll
+  void truncate() {
+    jdbcTemplate.execute("TRUNCATE approver_inbox, domain_stakeholder, domain_verification, domain_name CASCADE");
+  }
+
+  static Stream<Arguments> dashboards() {
+    String stakeholders = "idx_domain_stakeholder_role_emp";
+    String inbox = "idx_approver_inbox_emp_role_kind";
+    return Stream.of(
+            Arguments.of("view domains", stakeholders, (Consumer<DomainNameRepo>) repo ->
+                    repo.findAllDomainNameByRoleAndEmpNo(42L, "ARM", PAGE)),
+            Arguments.of("transfer and delete", stakeholders, (Consumer<DomainNameRepo>) repo ->
+                    repo.findAllByRoleAndId(42L, Role.WEBMASTER, PAGE)),
+            Arguments.of("renewal requests", inbox, (Consumer<DomainNameRepo>) repo ->
+                    repo.findDomainRenewalsByRoleAndEmpNo("HOD", 42L, PAGE)),
+            Arguments.of("domain requests", inbox, (Consumer<DomainNameRepo>) repo ->
+                    repo.findAllDomainRequestsByRoleAndEmpNo(42L, "ARM", PAGE)),
+            Arguments.of("purchases", inbox, (Consumer<DomainNameRepo>) repo ->
+                    repo.findDomainToPurchaseByWebmasterId(42L, PAGE)),
+            Arguments.of("view domains, cursor", stakeholders, (Consumer<DomainNameRepo>) repo ->
+                    repo.findAllDomainNameByRoleAndEmpNoAfter(42L, "ARM", NOW, 0, PAGE)),
+            Arguments.of("transfer and delete, cursor", stakeholders, (Consumer<DomainNameRepo>) repo ->
+                    repo.findAllByRoleAndIdAfter(42L, Role.WEBMASTER, NOW, 0, PAGE)),
+            Arguments.of("renewal requests, cursor", inbox, (Consumer<DomainNameRepo>) repo ->
+                    repo.findDomainRenewalsByRoleAndEmpNoAfter(42L, "HOD", NOW, 0, PAGE)),
+            Arguments.of("domain requests, cursor", inbox, (Consumer<DomainNameRepo>) repo ->
+                    repo.findAllDomainRequestsByRoleAndEmpNoAfter(42L, "ARM", NOW, 0, PAGE)),
+            Arguments.of("purchases, cursor", inbox, (Consumer<DomainNameRepo>) repo ->
+                    repo.findDomainToPurchaseByWebmasterIdAfter(42L, NOW, 0, PAGE)));
+  }
+
+  // Hibernate binds with ?, EXPLAIN (GENERIC_PLAN) wants $1, $2, ...
+  private static String numberParameters(String sql) {
+    StringBuilder numbered = new StringBuilder();
+    int parameter = 0;
+    for (char c : sql.toCharArray()) {
+      if (c == '?')
+        numbered.append('$').append(++parameter);
+      else
+        numbered.append(c);
+    }
+    return numbered.toString();
+  }
+
+  private String plan(String sql) {
+    return String.join("\n", jdbcTemplate.queryForList(
+            "EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("dashboards")
+  void dashboardSeeksItsIndex(String dashboard, String index, Consumer<DomainNameRepo> query) {
+    SqlCapture.statements.clear();
+    long start = System.nanoTime();
+    query.accept(domainNameRepo);
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    List<String> statements = new ArrayList<>(SqlCapture.statements);
+    assertThat(statements).isNotEmpty();
+
+    for (String sql : statements) {
+      String plan = plan(sql);
+      System.out.printf("%s, %d domains:%n%s%n", dashboard, DOMAINS, plan);
+      assertThat(plan)
+              .contains(index)
+              .doesNotContain("Seq Scan on domain_name")
+              .doesNotContain("Seq Scan on domain_stakeholder");
+    }
+    System.out.printf("%s, %d domains: answered in %d ms%n", dashboard, DOMAINS, millis);
+  }
+
+  @Test
+  void everyDomainIsPagedInKeyOrder() {
+    SqlCapture.statements.clear();
+    long start = System.nanoTime();
+    assertThat(domainNameRepo.findAllDomainNameByRoleAndEmpNoAfter(CENTRE_ED, "ED",
+            PageCursor.START.dateOfApplication(), PageCursor.START.domainId(), PAGE))
+            .hasSize(PAGE.getPageSize());
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    List<String> statements = new ArrayList<>(SqlCapture.statements);
+    assertThat(statements).hasSize(1);
+
+    // Planned for this employee, whom a generic plan cannot tell apart:
+    // role, emp_no, the cursor, then the limit Hibernate appends.
+    String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + statements.get(0),
+            String.class, "ED", CENTRE_ED, PageCursor.START.dateOfApplication(),
+            PageCursor.START.domainId(), PAGE.getPageSize()));
+    System.out.printf("view domains, cursor, ED on %d domains:%n%s%n", DOMAINS, plan);
+    assertThat(plan)
+            .contains("idx_domain_name_apl_id")
+            .doesNotContain("Sort")
+            .doesNotContain("Seq Scan on domain_name");
+    System.out.printf("view domains, cursor, ED on %d domains: answered in %d ms%n", DOMAINS, millis);
+  }
+}
@@ -0,0 +1,150 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.DashboardCountCache;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainStakeholder;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainVerification;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.services.DomainStakeholderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@code domain_stakeholder} follows the employee numbers of a
+ * domain through the backfill migration and {@link DomainStakeholderService#sync},
+ * and that the role dashboards answer from it.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DomainStakeholderService.class, DashboardCountCache.class, DomainStakeholderTest.Metrics.class})
+class DomainStakeholderTest {
+
+  @TestConfiguration
+  static class Metrics {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  private static final Pageable PAGE = PageRequest.of(0, 10);
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private DomainVerificationRepo domainVerificationRepo;
+
+  @Autowired
+  private DomainStakeholderRepo domainStakeholderRepo;
+
+  @Autowired
+  private DomainStakeholderService domainStakeholderService;
+
+  @Autowired
+  private DataSource dataSource;
+
+  private DomainName domain;
+
+  @BeforeEach
+  void setUp() {
+    domain = DomainNames.domain("roles.gov.in");
+    domain.setActive(true);
+    domain.setExpiryDate(LocalDateTime.now().plusYears(1));
+    domain = domainNameRepo.save(domain);
+    DomainVerification verification = new DomainVerification();
+    verification.setDomainName(domain);
+    domainVerificationRepo.save(verification);
+  }
+
+  @AfterEach
+  void tearDown() {
+    domainVerificationRepo.deleteAll();
+    domainStakeholderRepo.deleteAllInBatch();
+    domainNameRepo.deleteAll();
+  }
+
+  private Map<Role, Long> stakeholders() {
+    return domainStakeholderRepo.findByDomainId(domain.getDomainNameId()).stream()
+            .collect(Collectors.toMap(DomainStakeholder::getRole, DomainStakeholder::getEmpNo));
+  }
+
+  @Test
+  void backfillAddsOneRowPerAssignedRoleOnce() {
+    BackfillMigrations.domainStakeholders(dataSource);
+    assertThat(domainStakeholderRepo.count()).isEqualTo(7);
+    BackfillMigrations.domainStakeholders(dataSource);
+    assertThat(domainStakeholderRepo.count()).isEqualTo(7);
+
+    assertThat(stakeholders()).containsOnly(
+            Map.entry(Role.DRM, 1L), Map.entry(Role.ARM, 2L), Map.entry(Role.HOD, 3L),
+            Map.entry(Role.ED, 4L), Map.entry(Role.NETOPS, 5L), Map.entry(Role.WEBMASTER, 6L),
+            Map.entry(Role.HODHPC, 7L));
+  }
+
+  @Test
+  void syncFollowsReassignedRoles() {
+    domainStakeholderService.sync(domain);
+    assertThat(domainNameRepo.findAllByRoleAndId(2L, Role.ARM, PAGE)).hasSize(1);
+
+    domain.setArmEmployeeNumber(20L);
+    domain.setHodHpcEmployeeNumber(70L);
+    domain = domainNameRepo.save(domain);
+    domainStakeholderService.sync(domain);
+
+    assertThat(stakeholders())
+            .containsEntry(Role.ARM, 20L)
+            .containsEntry(Role.HODHPC, 70L)
+            .containsEntry(Role.DRM, 1L)
+            .hasSize(7);
+    assertThat(domainNameRepo.findAllByRoleAndId(2L, Role.ARM, PAGE)).isEmpty();
+    assertThat(domainNameRepo.findAllByRoleAndId(20L, Role.ARM, PAGE)).hasSize(1);
+    assertThat(domainNameRepo.findAllDomainNameByRoleAndEmpNo(70L, "HODHPC", PAGE)).hasSize(1);
+    assertThat(domainNameRepo.findAllDomainNameByRoleAndEmpNo(7L, "HODHPC", PAGE)).isEmpty();
+  }
+
+  @Test
+  void dashboardsOnlyMatchTheQueriedRole() {
+    domainStakeholderService.sync(domain);
+
+    // Employee 2 is the ARM, not the HOD, of this domain.
+    assertThat(domainNameRepo.findAllDomainNameByRoleAndEmpNo(2L, "ARM", PAGE)).hasSize(1);
+    assertThat(domainNameRepo.findAllDomainNameByRoleAndEmpNo(2L, "HOD", PAGE)).isEmpty();
+    assertThat(domainNameRepo.findAllByRoleAndId(3L, Role.HOD, PAGE)).hasSize(1);
+    assertThat(domainNameRepo.findAllByRoleAndId(3L, Role.ARM, PAGE)).isEmpty();
+  }
+
+  @Test
+  void onlyStakeholdersOfTheDomainReadItsProof() {
+    String sha256 = "ab".repeat(32);
+    domain.setApprovalProofVaptCompletionStatusSha256(sha256);
+    domain = domainNameRepo.save(domain);
+    domainStakeholderService.sync(domain);
+
+    assertThat(domainStakeholderRepo.canReadProof(Role.ARM, 2L, sha256)).isTrue();
+    assertThat(domainStakeholderRepo.canReadProof(Role.HOD, 3L, sha256)).isTrue();
+    assertThat(domainStakeholderRepo.canReadProof(Role.HOD, 2L, sha256)).isFalse();
+    assertThat(domainStakeholderRepo.canReadProof(Role.ARM, 20L, sha256)).isFalse();
+    assertThat(domainStakeholderRepo.canReadProof(Role.ARM, 2L, "cd".repeat(32))).isFalse();
+  }
+}
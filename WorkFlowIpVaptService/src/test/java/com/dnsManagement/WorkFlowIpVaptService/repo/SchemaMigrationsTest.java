@@ -0,0 +1,149 @@
+package com.dnsManagement.WorkFlowIpVaptService.repo;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the Flyway migrations against H2 in PostgreSQL mode and lets
+ * Hibernate validate the entities against the result, the way the service
+ * starts. Also replays them over the schema {@code ddl-auto=update} kept
+ * before them, with no migration history, as the production database is.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=0",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchemaMigrationsTest {
+
+  private static final List<String> QUERY_INDEXES = List.of(
+          "idx_domain_name_expiry_date", "idx_domain_name_drm_emp_no", "idx_domain_name_arm_emp_no",
+          "idx_domain_name_hod_emp_no", "idx_domain_name_ed_emp_no", "idx_domain_name_netops_emp_no",
+          "idx_domain_name_webmaster_emp_no", "idx_domain_name_hod_hpc_emp_no",
+          "idx_domain_renewal_dm_id", "idx_purchases_dm_id",
+          "idx_domain_stakeholder_role_emp", "idx_approver_inbox_emp_role_kind",
+          "idx_domain_name_apl_id");
+
+  @Autowired
+  private Flyway flyway;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @AfterEach
+  void tearDown() {
+    domainNameRepo.deleteAll();
+  }
+
+  private List<String> indexes() {
+    return jdbcTemplate.queryForList(
+            "SELECT index_name FROM information_schema.indexes WHERE table_schema = 'public'",
+            String.class);
+  }
+
+  @Test
+  void migrationsBuildTheSchemaTheEntitiesExpect() {
+    assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getState))
+            .isNotEmpty()
+            .allMatch(MigrationState::isApplied)
+            .noneMatch(MigrationState::isFailed);
+    assertThat(flyway.info().pending()).isEmpty();
+    assertThat(indexes()).containsAll(QUERY_INDEXES);
+
+    DomainName domain = DomainNames.domain("migrated.gov.in");
+    domain.setApprovalProofVaptCompletionStatus(new byte[]{1, 2, 3});
+    domain = domainNameRepo.save(domain);
+
+    assertThat(domainNameRepo.findById(domain.getDomainNameId())).isPresent();
+  }
+
+  @Test
+  void baselineSchemaIsBroughtLevel() {
+    jdbcTemplate.execute("DROP ALL OBJECTS");
+    new ResourceDatabasePopulator(new ClassPathResource("db/baseline-schema.sql")).execute(dataSource);
+    jdbcTemplate.update("""
+            INSERT INTO domain_name (dm_name, drm_emp_no, arm_emp_no, hod_emp_no, ed_emp_no,
+                                     netops_emp_no, webmaster_emp_no, hod_hpc_emp_no,
+                                     service_type, gigcw_comp, vapt_comp, appr_prf_vapt_comp,
+                                     mou_status, period, serv_hard_status, is_active, is_del,
+                                     is_renewal)
+            VALUES ('baseline.gov.in', 1, 2, 3, 4, 5, 6, 7, 'INTERNAL', 'YES', true, X'010203',
+                    'YES', 1, true, true, false, false)
+            """);
+
+    Flyway.configure()
+            .configuration(flyway.getConfiguration())
+            .load()
+            .migrate();
+
+    assertThat(flyway.info().pending()).isEmpty();
+    assertThat(indexes()).containsAll(QUERY_INDEXES);
+    entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getSchemaManager()
+            .validateMappedObjects();
+    assertThat(domainNameRepo.findAll())
+            .extracting(DomainName::getDomainName, DomainName::getApprovalProofVaptCompletionStatusSha256)
+            .containsExactly(tuple("baseline.gov.in", null));
+    // Domains from before domain_stakeholder existed are filled in.
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM domain_stakeholder", Long.class))
+            .isEqualTo(7);
+    // Cursor pages seek on (d_o_apl, dm_id), so every domain gets a date.
+    assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM domain_name WHERE d_o_apl IS NULL", Long.class))
+            .isZero();
+    assertThat(jdbcTemplate.queryForObject("""
+            SELECT is_nullable FROM information_schema.columns
+            WHERE table_name = 'domain_name' AND column_name = 'd_o_apl'
+            """, String.class))
+            .isEqualTo("NO");
+
+    // New rows refer to the blob store and leave the inline proof empty.
+    assertThat(jdbcTemplate.queryForList("""
+            SELECT column_name FROM information_schema.columns
+            WHERE column_name IN ('appr_prf_vapt_comp', 'appr_prf_by_hod', 'prf_work', 'prf_of_purchase')
+              AND is_nullable = 'YES'
+            """, String.class))
+            .containsExactlyInAnyOrder("appr_prf_vapt_comp", "appr_prf_by_hod", "prf_work", "prf_of_purchase");
+    DomainName domain = DomainNames.domain("after-baseline.gov.in");
+    domain.setApprovalProofVaptCompletionStatusSha256("0".repeat(64));
+    assertThat(domainNameRepo.save(domain).getDomainNameId()).isNotNull();
+  }
+}
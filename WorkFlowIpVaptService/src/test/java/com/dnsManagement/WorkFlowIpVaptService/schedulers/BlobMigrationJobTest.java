@@ -0,0 +1,108 @@
+package com.dnsManagement.WorkFlowIpVaptService.schedulers;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.LocalBlobStore;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainRenewalRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.PurchasesRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.VaptRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link BlobMigrationJob} against H2 with a {@link LocalBlobStore} on
+ * a temporary directory, in batches small enough to need several.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BlobMigrationJobTest {
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private VaptRepo vaptRepo;
+
+  @Autowired
+  private PurchasesRepo purchasesRepo;
+
+  @Autowired
+  private DomainRenewalRepo domainRenewalRepo;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @TempDir
+  Path root;
+
+  private LocalBlobStore blobStore;
+  private SimpleMeterRegistry meterRegistry;
+  private BlobMigrationJob job;
+
+  @BeforeEach
+  void setUp() {
+    blobStore = new LocalBlobStore(root);
+    meterRegistry = new SimpleMeterRegistry();
+    job = new BlobMigrationJob(blobStore, domainNameRepo, vaptRepo, purchasesRepo,
+            domainRenewalRepo, transactionManager, meterRegistry, 2, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    domainNameRepo.deleteAll();
+  }
+
+  private DomainName saveDomain(String name, byte[] proof) {
+    DomainName domain = DomainNames.domain(name);
+    domain.setApprovalProofVaptCompletionStatus(proof);
+    return domainNameRepo.save(domain);
+  }
+
+  // The inline proof loads lazily, so it is read in a transaction.
+  private DomainName load(Long id) {
+    return new TransactionTemplate(transactionManager).execute(status -> {
+      DomainName domain = domainNameRepo.findById(id).orElseThrow();
+      domain.getApprovalProofVaptCompletionStatus();
+      return domain;
+    });
+  }
+
+  @Test
+  void movesInlineProofsToTheBlobStoreAcrossBatches() {
+    DomainName first = saveDomain("a.gov.in", new byte[]{1, 2, 3});
+    DomainName second = saveDomain("b.gov.in", new byte[]{4, 5});
+    DomainName third = saveDomain("c.gov.in", new byte[]{1, 2, 3});
+
+    // One batch of two per run, so a single run leaves the third row inline.
+    job.migrate();
+    assertThat(load(third.getDomainNameId()).getApprovalProofVaptCompletionStatus()).isNotNull();
+
+    assertThat(job.migrateAll()).isEqualTo(1);
+    assertThat(job.migrateAll()).isZero();
+
+    for (DomainName saved : new DomainName[]{first, second, third}) {
+      DomainName domain = load(saved.getDomainNameId());
+      assertThat(domain.getApprovalProofVaptCompletionStatus()).isNull();
+      assertThat(blobStore.read(domain.getApprovalProofVaptCompletionStatusSha256()))
+              .isEqualTo(saved.getApprovalProofVaptCompletionStatus());
+    }
+    assertThat(load(first.getDomainNameId()).getApprovalProofVaptCompletionStatusSha256())
+            .isEqualTo(load(third.getDomainNameId()).getApprovalProofVaptCompletionStatusSha256());
+    assertThat(meterRegistry.counter("blob.migration.moved", "table", "domain_name").count())
+            .isEqualTo(3);
+  }
+}
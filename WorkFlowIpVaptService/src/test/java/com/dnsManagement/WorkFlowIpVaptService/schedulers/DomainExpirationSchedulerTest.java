@@ -0,0 +1,292 @@
+package com.dnsManagement.WorkFlowIpVaptService.schedulers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringAsset;
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.events.DomainEvent;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.BoundedExecutor;
+import com.dnsManagement.WorkFlowIpVaptService.models.AssetType;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import com.dnsManagement.WorkFlowIpVaptService.models.Ip;
+import com.dnsManagement.WorkFlowIpVaptService.models.SchedulerCheckpoint;
+import com.dnsManagement.WorkFlowIpVaptService.models.SchedulerLease;
+import com.dnsManagement.WorkFlowIpVaptService.models.Vapt;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainExpiryTransitionRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.IpRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.SchedulerCheckpointRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.SchedulerLeaseRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.VaptRepo;
+import com.dnsManagement.WorkFlowIpVaptService.services.AssetExpiryService;
+import com.dnsManagement.WorkFlowIpVaptService.services.DomainUpdateService;
+import com.dnsManagement.WorkFlowIpVaptService.services.SchedulerCheckpointService;
+import com.dnsManagement.WorkFlowIpVaptService.services.SchedulerLeaseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the chunked expiry scan of {@link DomainExpirationScheduler} against
+ * H2 with chunks small enough that the workers and the reading thread both
+ * commit some of them, its catch-up on days missed since the watermark and
+ * the same scan over IPs and VAPT certificates.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DomainUpdateService.class, AssetExpiryService.class, DomainExpiryTransitionRepo.class,
+        SchedulerCheckpointService.class, SchedulerLeaseService.class,
+        DomainExpirationSchedulerTest.ExpiringEvents.class})
+class DomainExpirationSchedulerTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+  @Component
+  static class ExpiringEvents {
+    final Queue<Long> domainIds = new ConcurrentLinkedQueue<>();
+    final Queue<NotificationWebhook> assets = new ConcurrentLinkedQueue<>();
+
+    @EventListener
+    void on(DomainEvent.DomainExpiring event) {
+      domainIds.add(event.domainId());
+    }
+
+    @EventListener
+    void on(DomainEvent.AssetExpiring event) {
+      assets.add(event.notification());
+    }
+  }
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private SchedulerCheckpointRepo checkpointRepo;
+
+  @Autowired
+  private SchedulerLeaseRepo leaseRepo;
+
+  @Autowired
+  private IpRepo ipRepo;
+
+  @Autowired
+  private VaptRepo vaptRepo;
+
+  @Autowired
+  private DomainExpiryTransitionRepo expiryTransitions;
+
+  @Autowired
+  private DomainUpdateService domainUpdateService;
+
+  @Autowired
+  private AssetExpiryService assetExpiryService;
+
+  @Autowired
+  private SchedulerCheckpointService checkpointService;
+
+  @Autowired
+  private SchedulerLeaseService leaseService;
+
+  @Autowired
+  private ExpiringEvents events;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private BoundedExecutor workers;
+  private DomainExpirationScheduler scheduler;
+  private int saved;
+
+  @BeforeEach
+  void setUp() {
+    workers = new BoundedExecutor("expiry-test", 2, 1, meterRegistry);
+    scheduler = new DomainExpirationScheduler(domainNameRepo, expiryTransitions,
+            domainUpdateService, assetExpiryService, checkpointService, leaseService, workers, 2, 3, 30,
+            meterRegistry);
+    events.domainIds.clear();
+    events.assets.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    workers.close();
+    vaptRepo.deleteAll();
+    ipRepo.deleteAll();
+    domainNameRepo.deleteAll();
+    checkpointRepo.deleteAll();
+    leaseRepo.deleteAll();
+  }
+
+  private List<Long> saveDomainsExpiringIn(int days, int count) {
+    return saveDomainsExpiringOn(TODAY.plusDays(days), count);
+  }
+
+  private List<Long> saveDomainsExpiringOn(LocalDate date, int count) {
+    return IntStream.range(0, count).mapToObj(i -> {
+      DomainName domain = DomainNames.domain("expiring-" + date + "-" + saved++ + ".gov.in");
+      domain.setExpiryDate(date.atTime(10, 0));
+      domain.setApprovalProofVaptCompletionStatus(new byte[]{1});
+      domain.setActive(true);
+      return domainNameRepo.save(domain).getDomainNameId();
+    }).toList();
+  }
+
+  @Test
+  void notifiesEveryExpiringDomainOnceAcrossChunks() {
+    List<Long> ids = saveDomainsExpiringIn(30, 20);
+    saveDomainsExpiringIn(31, 2);
+
+    assertThat(scheduler.checkAndNotifyForSpecificDays(TODAY, TODAY, 30)).isEqualTo(20);
+    assertThat(events.domainIds).containsExactlyInAnyOrderElementsOf(ids);
+    assertThat(domainNameRepo.findAllById(ids))
+            .extracting(DomainName::getLastNotificationDateSentForDays)
+            .containsOnly(30);
+    assertThat(checkpointRepo.findById("domain-expiry-30")).get()
+            .extracting(SchedulerCheckpoint::getLastId)
+            .isEqualTo(ids.get(ids.size() - 1));
+
+    events.domainIds.clear();
+    assertThat(scheduler.checkAndNotifyForSpecificDays(TODAY, TODAY, 30)).isZero();
+    assertThat(events.domainIds).isEmpty();
+  }
+
+  @Test
+  void resumesAfterTheCheckpointOfTheSameDay() {
+    List<Long> ids = saveDomainsExpiringIn(0, 6);
+    checkpointRepo.save(new SchedulerCheckpoint("domain-expiry-0", TODAY,
+            ids.get(3), LocalDateTime.now()));
+
+    assertThat(scheduler.checkAndNotifyForSpecificDays(TODAY, TODAY, 0)).isEqualTo(2);
+    assertThat(events.domainIds).containsExactlyInAnyOrderElementsOf(ids.subList(4, 6));
+    assertThat(domainNameRepo.findAllById(ids.subList(4, 6)))
+            .extracting(DomainName::isActive)
+            .containsOnly(false);
+
+    // A checkpoint left by yesterday's run does not count.
+    checkpointRepo.save(new SchedulerCheckpoint("domain-expiry-0", TODAY.minusDays(1),
+            ids.get(5), LocalDateTime.now()));
+    assertThat(scheduler.checkAndNotifyForSpecificDays(TODAY, TODAY, 0)).isEqualTo(4);
+  }
+
+  @Test
+  void catchesUpOnTheDaysSinceTheWatermark() {
+    LocalDate today = LocalDate.now();
+    LocalDate watermark = today.minusDays(4);
+    leaseRepo.save(new SchedulerLease(DomainExpirationScheduler.EXPIRY_LEASE, "crashed-instance",
+            watermark.atStartOfDay(), watermark.atTime(0, 5), watermark, null));
+    Long missedExpiry = saveDomainsExpiringOn(today.minusDays(2), 1).get(0);
+    Long passedTwoPeriods = saveDomainsExpiringOn(today.plusDays(12), 1).get(0);
+    Long missedWarning = saveDomainsExpiringOn(today.plusDays(28), 1).get(0);
+    Long beforeWatermark = saveDomainsExpiringOn(today.minusDays(5), 1).get(0);
+
+    assertThat(leaseService.isBehind(DomainExpirationScheduler.EXPIRY_LEASE, today)).isTrue();
+    scheduler.checkDomainExpirations();
+
+    assertThat(events.domainIds).containsExactlyInAnyOrder(missedExpiry, passedTwoPeriods, missedWarning);
+    assertThat(domainNameRepo.findById(missedExpiry)).get()
+            .returns(0, DomainName::getLastNotificationDateSentForDays)
+            .returns(false, DomainName::isActive);
+    // Only the latest of the 30 and 15 day warnings it passed while no run happened.
+    assertThat(domainNameRepo.findById(passedTwoPeriods)).get()
+            .returns(15, DomainName::getLastNotificationDateSentForDays);
+    assertThat(domainNameRepo.findById(missedWarning)).get()
+            .returns(30, DomainName::getLastNotificationDateSentForDays);
+    assertThat(domainNameRepo.findById(beforeWatermark)).get()
+            .returns(null, DomainName::getLastNotificationDateSentForDays)
+            .returns(true, DomainName::isActive);
+
+    assertThat(leaseService.completedThrough(DomainExpirationScheduler.EXPIRY_LEASE)).contains(today);
+    assertThat(leaseService.isBehind(DomainExpirationScheduler.EXPIRY_LEASE, today)).isFalse();
+    assertThat(meterRegistry.get("domain.expiry.watermark.lag").gauge().value()).isZero();
+    assertThat(meterRegistry.get("domain.expiry.processed").counter().count()).isEqualTo(3);
+  }
+
+  @Test
+  void aLateCronOnAnotherInstanceSkipsTheCompletedDay() {
+    LocalDate today = LocalDate.now();
+    SimpleMeterRegistry otherRegistry = new SimpleMeterRegistry();
+    try (BoundedExecutor otherWorkers = new BoundedExecutor("expiry-test-b", 2, 1, otherRegistry)) {
+      DomainExpirationScheduler other = new DomainExpirationScheduler(domainNameRepo, expiryTransitions,
+              domainUpdateService, assetExpiryService, checkpointService,
+              new SchedulerLeaseService(leaseRepo, Duration.ofMinutes(5), "node-b"), otherWorkers,
+              2, 3, 30, otherRegistry);
+      Long notified = saveDomainsExpiringOn(today.plusDays(30), 1).get(0);
+
+      scheduler.checkDomainExpirations();
+      assertThat(events.domainIds).containsExactly(notified);
+      assertThat(leaseService.isHeld(DomainExpirationScheduler.EXPIRY_LEASE)).isFalse();
+
+      // Stands in for work the completed run would otherwise repeat.
+      Long addedAfterTheRun = saveDomainsExpiringOn(today.plusDays(30), 1).get(0);
+      other.checkDomainExpirations();
+
+      assertThat(events.domainIds).containsExactly(notified);
+      assertThat(domainNameRepo.findById(addedAfterTheRun)).get()
+              .returns(null, DomainName::getLastNotificationDateSentForDays);
+      assertThat(leaseRepo.findById(DomainExpirationScheduler.EXPIRY_LEASE)).get()
+              .returns("node-b", SchedulerLease::getOwner)
+              .returns(today, SchedulerLease::getCompletedOn);
+      assertThat(otherRegistry.get("domain.expiry.processed").counter().count()).isZero();
+    }
+  }
+
+  @Test
+  void warnsAboutExpiringIpsAndVaptCertificatesOnce() {
+    LocalDate today = LocalDate.now();
+    DomainName domain = domainNameRepo.findById(saveDomainsExpiringOn(today.plusDays(300), 1).get(0))
+            .orElseThrow();
+    Ip ip = new Ip();
+    ip.setIpAddress("10.0.0.1");
+    ip.setIpIssuer("NKN");
+    ip.setExpiryDate(today.plusDays(30).atTime(9, 0));
+    ip.setDomainName(domain);
+    ip = ipRepo.save(ip);
+    Vapt vapt = new Vapt();
+    vapt.setIp(ip);
+    vapt.setVaptCertifyAuthority("CERT-In");
+    vapt.setProofOfWork(new byte[]{1});
+    vapt.setExpiryDate(today.plusDays(15).atTime(9, 0));
+    vapt = vaptRepo.save(vapt);
+
+    assertThat(scheduler.checkAssetsForSpecificDays(AssetType.IP, today, today, 30)).isEqualTo(1);
+    assertThat(scheduler.checkAssetsForSpecificDays(AssetType.VAPT, today, today, 30)).isZero();
+    assertThat(scheduler.checkAssetsForSpecificDays(AssetType.VAPT, today, today, 15)).isEqualTo(1);
+    assertThat(events.assets)
+            .extracting(NotificationWebhook::getEventType)
+            .containsExactly(NotificationWebhook.EventType.IP_EXPIRY_WARNING,
+                    NotificationWebhook.EventType.VAPT_EXPIRY_WARNING);
+    assertThat(events.assets)
+            .extracting(webhook -> webhook.getNotificationData().getDomainId())
+            .containsOnly(domain.getDomainNameId());
+    assertThat(events.domainIds).isEmpty();
+    assertThat(vaptRepo.findById(vapt.getVaptId())).get()
+            .returns(15, Vapt::getLastNotificationPeriodSent);
+
+    events.assets.clear();
+    assertThat(scheduler.checkAssetsForSpecificDays(AssetType.IP, today, today, 30)).isZero();
+    assertThat(events.assets).isEmpty();
+
+    assertThat(assetExpiryService.getExpiringAssets(AssetType.VAPT, 20, PageRequest.of(0, 10))
+            .getBody().getContent())
+            .extracting(ExpiringAsset::getAssetId, ExpiringAsset::getIpAddress, ExpiringAsset::getDomainNameId)
+            .containsExactly(tuple(vapt.getVaptId(), "10.0.0.1",
+                    domain.getDomainNameId()));
+  }
+}
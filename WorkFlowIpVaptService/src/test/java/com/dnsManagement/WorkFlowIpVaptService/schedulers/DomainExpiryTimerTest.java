@@ -0,0 +1,71 @@
+package com.dnsManagement.WorkFlowIpVaptService.schedulers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.ExpiringDomainRow;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainExpiryTransitionRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
+import com.dnsManagement.WorkFlowIpVaptService.services.DomainUpdateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads the wheel of {@link DomainExpiryTimer} from H2 and checks that a
+ * reload only takes the domains whose first warning is due before the next
+ * one.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DomainUpdateService.class, DomainExpiryTransitionRepo.class})
+class DomainExpiryTimerTest {
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private DomainUpdateService domainUpdateService;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @AfterEach
+  void tearDown() {
+    domainNameRepo.deleteAll();
+  }
+
+  private Long saveDomainExpiringAt(String name, LocalDateTime expiry) {
+    DomainName domain = DomainNames.domain(name);
+    domain.setExpiryDate(expiry);
+    domain.setActive(true);
+    return domainNameRepo.save(domain).getDomainNameId();
+  }
+
+  @Test
+  void reloadLeavesDomainsBeyondTheHorizonToALaterReload() {
+    LocalDateTime now = LocalDateTime.now();
+    saveDomainExpiringAt("in-forty-days.gov.in", now.plusDays(40));
+    saveDomainExpiringAt("first-warning-before-next-reload.gov.in", now.plusDays(60).plusMinutes(30));
+    Long beyond = saveDomainExpiringAt("beyond-the-horizon.gov.in", now.plusDays(90));
+
+    DomainExpiryTimer timer = new DomainExpiryTimer(domainNameRepo, domainUpdateService, Runnable::run,
+            meterRegistry, Duration.ofDays(7), Duration.ofHours(1));
+    timer.reload();
+
+    // The 30, 15 and 0 day deadlines of the first, all four of the second, none of the third.
+    assertThat(meterRegistry.get("domain.expiry.timer.scheduled").gauge().value()).isEqualTo(7);
+    assertThat(domainNameRepo.findExpiryTimerRows(now, now.plusDays(60).plusHours(1)))
+            .extracting(ExpiringDomainRow::getDomainNameId)
+            .doesNotContain(beyond)
+            .hasSize(2);
+  }
+}
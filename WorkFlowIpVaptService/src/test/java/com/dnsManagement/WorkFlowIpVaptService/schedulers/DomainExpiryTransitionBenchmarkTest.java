@@ -0,0 +1,151 @@
+package com.dnsManagement.WorkFlowIpVaptService.schedulers;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.BoundedExecutor;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainExpiryTransitionRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.SchedulerCheckpointRepo;
+import com.dnsManagement.WorkFlowIpVaptService.services.AssetExpiryService;
+import com.dnsManagement.WorkFlowIpVaptService.services.DomainUpdateService;
+import com.dnsManagement.WorkFlowIpVaptService.services.SchedulerCheckpointService;
+import com.dnsManagement.WorkFlowIpVaptService.services.SchedulerLeaseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the single-pass {@code UPDATE ... RETURNING} expiry transition
+ * with the per-interval keyset scan at 10k and 100k domains, half of them
+ * due. Needs a PostgreSQL database it may fill and empty:
+ * {@code BENCHMARK_DB_URL=jdbc:postgresql://localhost/bench mvn test -Pbenchmark}
+ * (credentials from {@code BENCHMARK_DB_USERNAME}/{@code BENCHMARK_DB_PASSWORD}).
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DB_URL", matches = ".+")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${BENCHMARK_DB_URL}",
+        "spring.datasource.username=${BENCHMARK_DB_USERNAME:postgres}",
+        "spring.datasource.password=${BENCHMARK_DB_PASSWORD:}",
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DomainUpdateService.class, AssetExpiryService.class, DomainExpiryTransitionRepo.class,
+        SchedulerCheckpointService.class, SchedulerLeaseService.class})
+class DomainExpiryTransitionBenchmarkTest {
+
+  private static final LocalDate TODAY = LocalDate.now();
+  // Due on a notification day for even i, one day off for odd i.
+  private static final int[] EXPIRY_DAYS = {0, 1, 15, 14, 30, 31, 60, 61};
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private SchedulerCheckpointRepo checkpointRepo;
+
+  @Autowired
+  private DomainExpiryTransitionRepo expiryTransitions;
+
+  @Autowired
+  private DomainUpdateService domainUpdateService;
+
+  @Autowired
+  private AssetExpiryService assetExpiryService;
+
+  @Autowired
+  private SchedulerCheckpointService checkpointService;
+
+  @Autowired
+  private SchedulerLeaseService leaseService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @AfterEach
+  void tearDown() {
+    domainNameRepo.deleteAllInBatch();
+    checkpointRepo.deleteAllInBatch();
+  }
+
+  private void seed(int domains) {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    for (int from = 0; from < domains; from += 1000) {
+      int to = Math.min(from + 1000, domains);
+      List<DomainName> batch = new ArrayList<>(to - from);
+      for (int i = from; i < to; i++) {
+        DomainName domain = DomainNames.domain("bench-" + i + ".gov.in");
+        domain.setExpiryDate(TODAY.plusDays(EXPIRY_DAYS[i % EXPIRY_DAYS.length]).atTime(10, 0));
+        domain.setApprovalProofVaptCompletionStatus(new byte[]{1});
+        domain.setActive(true);
+        batch.add(domain);
+      }
+      transaction.executeWithoutResult(status -> domainNameRepo.saveAll(batch));
+    }
+  }
+
+  private void reset() {
+    jdbcTemplate.update("UPDATE domain_name SET last_notification_period_sent = NULL, is_active = true");
+    checkpointRepo.deleteAllInBatch();
+  }
+
+  private long time(String label, int domains, IntSupplier run, int expected) {
+    long start = System.nanoTime();
+    int updated = run.getAsInt();
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    assertThat(updated).isEqualTo(expected);
+    System.out.printf("%s, %d domains: %d updated in %d ms%n", label, domains, updated, millis);
+    return millis;
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {10_000, 100_000})
+  void singlePassAgainstKeysetScan(int domains) {
+    assertThat(expiryTransitions.isSupported()).isTrue();
+    seed(domains);
+    int due = domains / 2;
+
+    try (BoundedExecutor workers = new BoundedExecutor("expiry-bench", 4, 8,
+            new SimpleMeterRegistry())) {
+      DomainExpirationScheduler scheduler = new DomainExpirationScheduler(domainNameRepo,
+              expiryTransitions, domainUpdateService, assetExpiryService, checkpointService, leaseService,
+              workers, 4, 500, 30, new SimpleMeterRegistry());
+
+      time("keyset scan per interval", domains, () -> {
+        int updated = 0;
+        for (int days : new int[]{60, 30, 15, 0})
+          updated += scheduler.checkAndNotifyForSpecificDays(TODAY, TODAY, days);
+        return updated;
+      }, due);
+      reset();
+      time("single pass UPDATE ... RETURNING", domains,
+              () -> scheduler.transitionInSinglePass(TODAY, TODAY), due);
+    }
+  }
+}
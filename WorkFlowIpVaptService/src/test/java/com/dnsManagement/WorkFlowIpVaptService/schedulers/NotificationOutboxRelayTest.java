@@ -0,0 +1,120 @@
+package com.dnsManagement.WorkFlowIpVaptService.schedulers;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.models.NotificationOutbox;
+import com.dnsManagement.WorkFlowIpVaptService.models.OutboxStatus;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.repo.NotificationOutboxRepo;
+import com.dnsManagement.WorkFlowIpVaptService.services.NotificationBatcher;
+import com.dnsManagement.WorkFlowIpVaptService.services.NotificationOutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link NotificationOutboxRelay} and {@link NotificationOutboxService}
+ * against the outbox table on H2, with notification-service replaced by a
+ * stub whose availability the tests switch on and off.
+ */
+@DataJpaTest
+class NotificationOutboxRelayTest {
+
+  @Autowired
+  private NotificationOutboxRepo outboxRepo;
+
+  private final List<NotificationWebhook> delivered = new ArrayList<>();
+  private boolean notificationServiceUp;
+
+  private NotificationOutboxService outboxService;
+  private NotificationOutboxRelay relay;
+
+  private class StubNotificationBatcher extends NotificationBatcher {
+    StubNotificationBatcher(SimpleMeterRegistry meterRegistry) {
+      super(null, Runnable::run, meterRegistry, 10, Duration.ZERO, 10);
+    }
+
+    @Override
+    public CompletableFuture<Void> submit(NotificationWebhook payload) {
+      if (!notificationServiceUp)
+        return CompletableFuture.failedFuture(
+                new IllegalStateException("notification-service is down"));
+      delivered.add(payload);
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Two attempts and no backoff so that failed rows are due again at once.
+    outboxService = new NotificationOutboxService(outboxRepo, objectMapper,
+            meterRegistry, 2, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+    relay = new NotificationOutboxRelay(outboxService,
+            new StubNotificationBatcher(meterRegistry), Runnable::run, meterRegistry,
+            10, 5);
+  }
+
+  private static NotificationWebhook webhook(long domainId) {
+    return new NotificationWebhook(
+            NotificationWebhook.EventType.DOMAIN_HOD_VERIFIED,
+            LocalDateTime.now(),
+            new NotificationWebhook.TriggeredBy(7L, Role.HOD),
+            new NotificationWebhook.NotificationData(domainId, "d" + domainId + ".gov.in", "ok"),
+            new NotificationWebhook.Recipients(1L, 2L, 7L, null, null, null, null));
+  }
+
+  @Test
+  void failedDeliveriesAreRetriedUntilSent() {
+    outboxService.enqueueAll(List.of(webhook(1), webhook(2), webhook(3)));
+
+    notificationServiceUp = false;
+    assertThat(relay.relayBatch()).isEqualTo(3);
+    assertThat(outboxRepo.findAll()).allSatisfy(row -> {
+      assertThat(row.getStatus()).isEqualTo(OutboxStatus.PENDING);
+      assertThat(row.getAttempts()).isEqualTo(1);
+      assertThat(row.getLastError()).contains("notification-service is down");
+    });
+
+    notificationServiceUp = true;
+    assertThat(relay.relayBatch()).isEqualTo(3);
+    assertThat(outboxRepo.findAll())
+            .extracting(NotificationOutbox::getStatus)
+            .containsOnly(OutboxStatus.SENT);
+    assertThat(delivered)
+            .extracting(w -> w.getNotificationData().getDomainId())
+            .containsExactly(1L, 2L, 3L);
+    assertThat(relay.relayBatch()).isZero();
+  }
+
+  @Test
+  void exhaustedRowsAreDeadLetteredAndCanBeReplayed() {
+    Long id = outboxService.enqueue(webhook(9)).getOutboxId();
+
+    notificationServiceUp = false;
+    relay.relayBatch();
+    relay.relayBatch();
+    assertThat(outboxRepo.findById(id)).get()
+            .extracting(NotificationOutbox::getStatus)
+            .isEqualTo(OutboxStatus.DEAD);
+    assertThat(relay.relayBatch()).isZero();
+
+    assertThat(outboxService.replay(id)).isEqualTo(1);
+    notificationServiceUp = true;
+    assertThat(relay.relayBatch()).isEqualTo(1);
+    assertThat(delivered).hasSize(1);
+  }
+}
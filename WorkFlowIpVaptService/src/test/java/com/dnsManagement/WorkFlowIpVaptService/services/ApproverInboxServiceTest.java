@@ -0,0 +1,171 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.helpers.DashboardCountCache;
+import com.dnsManagement.WorkFlowIpVaptService.models.ApproverInbox;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainVerification;
+import com.dnsManagement.WorkFlowIpVaptService.models.InboxKind;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.repo.ApproverInboxRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.BackfillMigrations;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainVerificationRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Walks a domain request through approvals and a rejection on H2 and checks
+ * that {@code approver_inbox} always names the one approver it waits on,
+ * that the dashboards and badge counts follow, and that the backfill
+ * migration arrives at the same rows as {@link ApproverInboxService#refresh}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ApproverInboxService.class, ApprovalService.class, RejectionService.class,
+        DashboardCountCache.class, ApproverInboxServiceTest.Metrics.class})
+class ApproverInboxServiceTest {
+
+  @TestConfiguration
+  static class Metrics {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  private static final Pageable PAGE = PageRequest.of(0, 10);
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private DomainVerificationRepo domainVerificationRepo;
+
+  @Autowired
+  private ApproverInboxRepo approverInboxRepo;
+
+  @Autowired
+  private ApproverInboxService approverInboxService;
+
+  @Autowired
+  private ApprovalService approvalService;
+
+  @Autowired
+  private RejectionService rejectionService;
+
+  @Autowired
+  private DataSource dataSource;
+
+  private DomainName domain;
+
+  @BeforeEach
+  void setUp() {
+    domain = domain("inbox.gov.in");
+  }
+
+  @AfterEach
+  void tearDown() {
+    approverInboxRepo.deleteAllInBatch();
+    domainVerificationRepo.deleteAll();
+    domainNameRepo.deleteAll();
+  }
+
+  // Applied for, as DomainNameService.addDomainRequest does.
+  private DomainName domain(String name) {
+    DomainName domainName = DomainNames.domain(name);
+    domainName = domainNameRepo.save(domainName);
+    DomainVerification verification = new DomainVerification();
+    verification.setDomainName(domainName);
+    domainVerificationRepo.save(verification);
+    approverInboxService.refresh(domainName, verification);
+    return domainName;
+  }
+
+  private ApproverInbox inbox() {
+    return approverInboxRepo.findById(domain.getDomainNameId()).orElse(null);
+  }
+
+  @Test
+  void eachApprovalHandsTheRequestToTheNextApprover() {
+    assertThat(inbox()).extracting(ApproverInbox::getRole, ApproverInbox::getEmpNo, ApproverInbox::getKind)
+            .containsExactly(Role.ARM, 2L, InboxKind.REQUEST);
+    assertThat(domainNameRepo.findAllDomainRequestsByRoleAndEmpNo(2L, "ARM", PAGE)).hasSize(1);
+
+    approvalService.approve(domain.getDomainNameId(), "ok", Role.ARM);
+    approvalService.approve(domain.getDomainNameId(), "ok", Role.HOD);
+
+    assertThat(inbox()).extracting(ApproverInbox::getRole, ApproverInbox::getEmpNo)
+            .containsExactly(Role.ED, 4L);
+    assertThat(domainNameRepo.findAllDomainRequestsByRoleAndEmpNo(2L, "ARM", PAGE)).isEmpty();
+    assertThat(domainNameRepo.findAllDomainRequestsByRoleAndEmpNo(3L, "HOD", PAGE)).isEmpty();
+    assertThat(domainNameRepo.findAllDomainRequestsByRoleAndEmpNo(4L, "ED", PAGE)).hasSize(1);
+    assertThat(approverInboxService.counts(4L, Role.ED)).containsEntry(InboxKind.REQUEST, 1L)
+            .containsEntry(InboxKind.RENEWAL, 0L).containsEntry(InboxKind.PURCHASE, 0L);
+
+    for (Role role : List.of(Role.ED, Role.NETOPS, Role.WEBMASTER, Role.HODHPC))
+      approvalService.approve(domain.getDomainNameId(), "ok", role);
+
+    assertThat(inbox()).extracting(ApproverInbox::getRole, ApproverInbox::getKind)
+            .containsExactly(Role.WEBMASTER, InboxKind.PURCHASE);
+    assertThat(domainNameRepo.findDomainToPurchaseByWebmasterId(6L, PAGE)).hasSize(1);
+    assertThat(domainNameRepo.findAllDomainRequestsByRoleAndEmpNo(6L, "WEBMASTER", PAGE)).isEmpty();
+  }
+
+  @Test
+  void rejectedRequestLeavesTheInbox() {
+    approvalService.approve(domain.getDomainNameId(), "ok", Role.ARM);
+    rejectionService.reject(domain.getDomainNameId(), "incomplete", Role.HOD);
+
+    assertThat(inbox()).isNull();
+    assertThat(approverInboxService.counts(3L, Role.HOD)).containsEntry(InboxKind.REQUEST, 0L);
+  }
+
+  @Test
+  void backfillQueuesLikeRefresh() {
+    DomainName rejected = domain("rejected.gov.in");
+    DomainName renewal = domain("renewal.gov.in");
+    approvalService.approve(domain.getDomainNameId(), "ok", Role.ARM);
+    approvalService.approve(rejected.getDomainNameId(), "ok", Role.ARM);
+    rejectionService.reject(rejected.getDomainNameId(), "incomplete", Role.HOD);
+    renewal.setActive(true);
+    renewal.setRenewal(true);
+    renewal = domainNameRepo.save(renewal);
+    approverInboxService.refresh(renewal);
+
+    List<ApproverInbox> refreshed = approverInboxRepo.findAll();
+    approverInboxRepo.deleteAllInBatch();
+    BackfillMigrations.approverInbox(dataSource);
+    assertThat(approverInboxRepo.count()).isEqualTo(refreshed.size());
+    BackfillMigrations.approverInbox(dataSource);
+    assertThat(approverInboxRepo.count()).isEqualTo(refreshed.size());
+
+    assertThat(approverInboxRepo.findAll())
+            .extracting(ApproverInbox::getDomainId, ApproverInbox::getRole, ApproverInbox::getEmpNo,
+                    ApproverInbox::getKind)
+            .containsExactlyInAnyOrder(
+                    tuple(domain.getDomainNameId(), Role.HOD, 3L, InboxKind.REQUEST),
+                    tuple(renewal.getDomainNameId(), Role.ARM, 2L, InboxKind.RENEWAL))
+            .containsExactlyInAnyOrderElementsOf(refreshed.stream()
+                    .map(row -> tuple(row.getDomainId(), row.getRole(), row.getEmpNo(), row.getKind()))
+                    .toList());
+  }
+}
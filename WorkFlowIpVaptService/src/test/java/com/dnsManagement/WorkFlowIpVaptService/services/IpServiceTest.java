@@ -0,0 +1,136 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.IpResponse;
+import com.dnsManagement.WorkFlowIpVaptService.dto.KeysetPage;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.IpAddressIndex;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.NdjsonExport;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainName;
+import com.dnsManagement.WorkFlowIpVaptService.models.DomainNames;
+import com.dnsManagement.WorkFlowIpVaptService.models.Ip;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainNameRepo;
+import com.dnsManagement.WorkFlowIpVaptService.repo.IpRepo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the IP reads of {@link IpService} against H2: the NDJSON export, the
+ * keyset pages and the checks answered by {@link IpAddressIndex}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({IpService.class, IpAddressIndex.class, NdjsonExport.class, IpServiceTest.Metrics.class})
+class IpServiceTest {
+
+  @TestConfiguration
+  static class Metrics {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @Autowired
+  private DomainNameRepo domainNameRepo;
+
+  @Autowired
+  private IpRepo ipRepo;
+
+  @Autowired
+  private IpService ipService;
+
+  @Autowired
+  private IpAddressIndex ipAddressIndex;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @AfterEach
+  void tearDown() {
+    ipRepo.deleteAll();
+    domainNameRepo.deleteAll();
+  }
+
+  private List<Long> saveIps(String... addresses) {
+    List<Long> ids = new ArrayList<>();
+    for (String address : addresses) {
+      DomainName domain = DomainNames.domain("ip-" + address.replace(':', '-').replace('/', '-') + ".gov.in");
+      domain.setApprovalProofVaptCompletionStatus(new byte[]{1});
+      domain = domainNameRepo.save(domain);
+      Ip ip = new Ip();
+      ip.setIpAddress(address);
+      ip.setIpIssuer("NKN");
+      ip.setExpiryDate(LocalDateTime.of(2027, 1, 1, 9, 0));
+      ip.setDomainName(domain);
+      ids.add(ipRepo.save(ip).getIpId());
+    }
+    return ids;
+  }
+
+  @Test
+  void exportsEveryIpAsOneJsonLineWithoutItsDomain() throws Exception {
+    List<Long> ids = saveIps("10.0.0.1", "10.0.0.2", "2001:db8::1");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    var response = ipService.exportIps();
+    assertThat(response.getHeaders().getContentType()).isEqualTo(NdjsonExport.APPLICATION_NDJSON);
+    response.getBody().writeTo(out);
+
+    String ndjson = out.toString();
+    assertThat(ndjson).endsWith("\n");
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : ndjson.split("\n"))
+      lines.add(objectMapper.readTree(line));
+    assertThat(lines).extracting(line -> line.get("ip_id").asLong()).containsExactlyElementsOf(ids);
+    assertThat(lines).extracting(line -> line.get("ip_address").asText())
+            .containsExactly("10.0.0.1", "10.0.0.2", "2001:db8::1");
+    assertThat(lines.get(0).has("dm_id")).isTrue();
+    assertThat(lines.get(0).has("domainName")).isFalse();
+  }
+
+  @Test
+  void pagesThroughIpsByKeyset() {
+    List<Long> ids = saveIps("10.0.1.1", "10.0.1.2", "10.0.1.3");
+
+    KeysetPage<IpResponse> first = ipService.getIpsAfter(0, 2).getBody();
+    assertThat(first.getContent()).extracting(IpResponse::getIpId).containsExactly(ids.get(0), ids.get(1));
+    assertThat(first.getNextAfter()).isEqualTo(ids.get(1));
+
+    KeysetPage<IpResponse> last = ipService.getIpsAfter(first.getNextAfter(), 2).getBody();
+    assertThat(last.getContent()).extracting(IpResponse::getIpId).containsExactly(ids.get(2));
+    assertThat(last.getNextAfter()).isNull();
+  }
+
+  @Test
+  void answersUniquenessAndRangeQueriesFromTheIndex() {
+    saveIps("10.20.0.0/16", "10.20.1.5", "2001:db8::1");
+    ipAddressIndex.reload();
+
+    assertThat(ipService.isUnique("2001:DB8:0::1").getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    assertThat(ipService.isUnique("10.20.1.6").getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(ipService.findOverlapping("10.20.1.0/24", 10).getBody())
+            .extracting(assignment -> assignment.getIpAddress())
+            .containsExactly("10.20.0.0/16", "10.20.1.5");
+  }
+}
@@ -0,0 +1,180 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.BoundedExecutor;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.openfeign.NotificationClient;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of {@link NotificationBatcher} in batched mode against one POST
+ * per webhook, both posting over real HTTP to a stub receiver that spends a
+ * fixed time per request. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class NotificationBatcherBenchmarkTest {
+
+  private static final int WEBHOOKS = 5000;
+  private static final long RECEIVER_MILLIS_PER_REQUEST = 2;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong received = new AtomicLong();
+
+  private HttpServer receiver;
+  private BoundedExecutor executor;
+  private NotificationBatcher batcher;
+
+  /**
+   * What notification-service does per request, reduced to parsing the body
+   * and a fixed amount of work.
+   */
+  private void receive(HttpExchange exchange, boolean batch) throws IOException {
+    JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+    requests.incrementAndGet();
+    received.addAndGet(batch ? body.size() : 1);
+    try {
+      Thread.sleep(RECEIVER_MILLIS_PER_REQUEST);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    exchange.sendResponseHeaders(200, -1);
+    exchange.close();
+  }
+
+  /**
+   * The Feign contract of {@link NotificationClient} over the JDK client, so
+   * the benchmark needs no Spring context.
+   */
+  private class HttpNotificationClient implements NotificationClient {
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final String baseUrl =
+            "http://localhost:" + receiver.getAddress().getPort();
+
+    private void post(String path, Object body) {
+      try {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(body)))
+                .build();
+        int status = http.send(request, HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+        if (status != 200)
+          throw new IllegalStateException("HTTP " + status);
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException(e);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public void sendNotification(String token, NotificationWebhook webhook) {
+      post("/api/v1/notify/webhook", webhook);
+    }
+
+    @Override
+    public void sendNotifications(String token, List<NotificationWebhook> webhooks) {
+      post("/api/v1/notify/webhook/batch", webhooks);
+    }
+  }
+
+  @BeforeEach
+  void setUp() throws IOException {
+    receiver = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    receiver.createContext("/api/v1/notify/webhook", e -> receive(e, false));
+    receiver.createContext("/api/v1/notify/webhook/batch", e -> receive(e, true));
+    receiver.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    receiver.start();
+    executor = new BoundedExecutor("benchmark", 16, WEBHOOKS,
+            new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    batcher.stop();
+    executor.close();
+    receiver.stop(0);
+  }
+
+  private static NotificationWebhook webhook(long domainId) {
+    return new NotificationWebhook(
+            NotificationWebhook.EventType.DOMAIN_HOD_VERIFIED,
+            LocalDateTime.now(),
+            new NotificationWebhook.TriggeredBy(7L, Role.HOD),
+            new NotificationWebhook.NotificationData(domainId, "d" + domainId + ".gov.in", "ok"),
+            new NotificationWebhook.Recipients(1L, 2L, 7L, null, null, null, null));
+  }
+
+  /**
+   * Pushes {@link #WEBHOOKS} webhooks through a batcher with the given batch
+   * size and returns the webhooks delivered per second.
+   */
+  private double run(int maxItems) throws Exception {
+    batcher = new NotificationBatcher(new HttpNotificationClient(), executor,
+            new SimpleMeterRegistry(), maxItems, Duration.ofMillis(50), WEBHOOKS);
+    ReflectionTestUtils.setField(batcher, "webhookSecret", "secret");
+    batcher.start();
+    requests.set(0);
+    received.set(0);
+
+    long start = System.nanoTime();
+    List<CompletableFuture<Void>> futures = new ArrayList<>(WEBHOOKS);
+    for (long id = 0; id < WEBHOOKS; id++)
+      futures.add(batcher.submit(webhook(id)));
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .get(5, TimeUnit.MINUTES);
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    assertThat(received).hasValue(WEBHOOKS);
+    double throughput = WEBHOOKS / seconds;
+    System.out.printf("max-items=%d: %d webhooks in %d requests, %.2fs, %.0f/s%n",
+            maxItems, WEBHOOKS, requests.get(), seconds, throughput);
+    return throughput;
+  }
+
+  @Test
+  void singleSends() throws Exception {
+    run(1);
+    assertThat(requests).hasValue(WEBHOOKS);
+  }
+
+  @Test
+  void batchedSends() throws Exception {
+    run(100);
+    assertThat(requests.get()).isLessThanOrEqualTo(WEBHOOKS / 10);
+  }
+}
@@ -0,0 +1,144 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.NotificationWebhook;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.openfeign.NotificationClient;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for {@link NotificationBatcher}, with notification-service
+ * replaced by a recording client that may or may not know the batch endpoint.
+ */
+class NotificationBatcherTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private NotificationBatcher batcher;
+
+  private static class RecordingClient implements NotificationClient {
+    private final boolean batchSupported;
+    final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+    final List<Long> singles = Collections.synchronizedList(new ArrayList<>());
+
+    RecordingClient(boolean batchSupported) {
+      this.batchSupported = batchSupported;
+    }
+
+    @Override
+    public void sendNotification(String token, NotificationWebhook webhook) {
+      singles.add(webhook.getNotificationData().getDomainId());
+    }
+
+    @Override
+    public void sendNotifications(String token, List<NotificationWebhook> webhooks) {
+      if (!batchSupported) {
+        Request request = Request.create(Request.HttpMethod.POST,
+                "/api/v1/notify/webhook/batch", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        throw new FeignException.NotFound("Not Found", request, null, Map.of());
+      }
+      batches.add(webhooks.size());
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (batcher != null)
+      batcher.stop();
+  }
+
+  private NotificationBatcher start(NotificationClient client, int maxItems) {
+    batcher = new NotificationBatcher(client, Runnable::run, meterRegistry,
+            maxItems, Duration.ofMillis(200), 100);
+    ReflectionTestUtils.setField(batcher, "webhookSecret", "secret");
+    batcher.start();
+    return batcher;
+  }
+
+  private static NotificationWebhook webhook(long domainId) {
+    return new NotificationWebhook(
+            NotificationWebhook.EventType.DOMAIN_HOD_VERIFIED,
+            LocalDateTime.now(),
+            new NotificationWebhook.TriggeredBy(7L, Role.HOD),
+            new NotificationWebhook.NotificationData(domainId, "d" + domainId + ".gov.in", "ok"),
+            new NotificationWebhook.Recipients(1L, 2L, 7L, null, null, null, null));
+  }
+
+  private static void awaitAll(List<CompletableFuture<Void>> futures) throws Exception {
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void coalescesWebhooksIntoBatchesOfAtMostMaxItems() throws Exception {
+    RecordingClient client = new RecordingClient(true);
+    start(client, 4);
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (long id = 1; id <= 10; id++)
+      futures.add(batcher.submit(webhook(id)));
+    awaitAll(futures);
+
+    assertThat(client.batches).containsExactly(4, 4, 2);
+    assertThat(client.singles).isEmpty();
+    assertThat(meterRegistry.get("notification.batch.size")
+            .summary().totalAmount()).isEqualTo(10);
+  }
+
+  @Test
+  void fallsBackToSingleSendsWhenThePeerHasNoBatchEndpoint() throws Exception {
+    RecordingClient client = new RecordingClient(false);
+    start(client, 10);
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (long id = 1; id <= 3; id++)
+      futures.add(batcher.submit(webhook(id)));
+    awaitAll(futures);
+
+    assertThat(client.singles).containsExactly(1L, 2L, 3L);
+    assertThat(meterRegistry.get("notification.batch.fallback")
+            .counter().count()).isEqualTo(1);
+
+    // Batching stays paused, the next batch goes straight to single sends.
+    futures.clear();
+    for (long id = 4; id <= 5; id++)
+      futures.add(batcher.submit(webhook(id)));
+    awaitAll(futures);
+    assertThat(client.singles).containsExactly(1L, 2L, 3L, 4L, 5L);
+    assertThat(meterRegistry.get("notification.batch.fallback")
+            .counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  void stopFailsWebhooksThatWereNotDeliveredYet() throws Exception {
+    // Batches are handed over but never run, as by an executor shutting down.
+    List<Runnable> handedOver = Collections.synchronizedList(new ArrayList<>());
+    batcher = new NotificationBatcher(new RecordingClient(true), handedOver::add,
+            meterRegistry, 1, Duration.ofMillis(200), 100);
+    batcher.start();
+
+    CompletableFuture<Void> dispatched = batcher.submit(webhook(1));
+    await().atMost(Duration.ofSeconds(5)).until(() -> !handedOver.isEmpty());
+    batcher.stop();
+
+    assertThat(dispatched).isCompletedExceptionally();
+    assertThat(batcher.submit(webhook(2))).isCompletedExceptionally();
+  }
+}
@@ -0,0 +1,168 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.dto.ProofUpload;
+import com.dnsManagement.WorkFlowIpVaptService.helpers.LocalBlobStore;
+import com.dnsManagement.WorkFlowIpVaptService.models.Role;
+import com.dnsManagement.WorkFlowIpVaptService.repo.DomainStakeholderRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ProofService} on a {@link LocalBlobStore} in a
+ * temporary directory: uploads, references, who may download and
+ * conditional and ranged downloads.
+ */
+class ProofServiceTest {
+
+  private static final byte[] DOCUMENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+  @TempDir
+  Path root;
+
+  private DomainStakeholderRepo domainStakeholderRepo;
+  private LocalBlobStore blobStore;
+  private ProofService proofService;
+  private String sha256;
+
+  @BeforeEach
+  void setUp() {
+    domainStakeholderRepo = mock(DomainStakeholderRepo.class);
+    when(domainStakeholderRepo.canReadProof(eq(Role.ARM), eq(2L), anyString())).thenReturn(true);
+    blobStore = new LocalBlobStore(root);
+    proofService = new ProofService(blobStore, domainStakeholderRepo);
+    ProofUpload upload = proofService
+            .upload(new MockMultipartFile("file", "proof.pdf", "application/pdf", DOCUMENT))
+            .getBody();
+    sha256 = upload.getSha256();
+    assertThat(upload.getSize()).isEqualTo(DOCUMENT.length);
+    assertThat(upload.getUrl()).isEqualTo("/proofs/" + sha256);
+  }
+
+  private static HttpHeaders headers(String... namesAndValues) {
+    HttpHeaders headers = new HttpHeaders();
+    for (int i = 0; i < namesAndValues.length; i += 2)
+      headers.add(namesAndValues[i], namesAndValues[i + 1]);
+    return headers;
+  }
+
+  // As the ARM of a domain the document belongs to.
+  private ResponseEntity<StreamingResponseBody> download(String sha256, HttpHeaders headers) {
+    return proofService.download(sha256, Role.ARM, 2L, headers);
+  }
+
+  private static String body(ResponseEntity<StreamingResponseBody> response) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+    return out.toString(StandardCharsets.US_ASCII);
+  }
+
+  @Test
+  void downloadsTheWholeDocumentWithAStrongETag() throws Exception {
+    ResponseEntity<StreamingResponseBody> response = download(sha256, headers());
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().getETag()).isEqualTo("\"" + sha256 + "\"");
+    assertThat(response.getHeaders().getContentLength()).isEqualTo(10);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    assertThat(body(response)).isEqualTo("0123456789");
+
+    ResponseEntity<StreamingResponseBody> cached = download(sha256,
+            headers(HttpHeaders.IF_NONE_MATCH, "\"" + sha256 + "\""));
+    assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    assertThat(cached.getBody()).isNull();
+  }
+
+  @Test
+  void servesSingleRanges() throws Exception {
+    ResponseEntity<StreamingResponseBody> middle = download(sha256,
+            headers(HttpHeaders.RANGE, "bytes=2-4"));
+    assertThat(middle.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+    assertThat(middle.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-4/10");
+    assertThat(middle.getHeaders().getContentLength()).isEqualTo(3);
+    assertThat(body(middle)).isEqualTo("234");
+
+    ResponseEntity<StreamingResponseBody> suffix = download(sha256,
+            headers(HttpHeaders.RANGE, "bytes=-3"));
+    assertThat(suffix.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+    assertThat(body(suffix)).isEqualTo("789");
+
+    ResponseEntity<StreamingResponseBody> open = download(sha256,
+            headers(HttpHeaders.RANGE, "bytes=8-"));
+    assertThat(body(open)).isEqualTo("89");
+
+    ResponseEntity<StreamingResponseBody> beyond = download(sha256,
+            headers(HttpHeaders.RANGE, "bytes=10-20"));
+    assertThat(beyond.getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+    assertThat(beyond.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+  }
+
+  @Test
+  void sendsTheWholeDocumentWhenTheRangeCannotBeHonoured() throws Exception {
+    ResponseEntity<StreamingResponseBody> stale = download(sha256,
+            headers(HttpHeaders.RANGE, "bytes=2-4", HttpHeaders.IF_RANGE, "\"other\""));
+    assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(body(stale)).isEqualTo("0123456789");
+
+    ResponseEntity<StreamingResponseBody> several = download(sha256,
+            headers(HttpHeaders.RANGE, "bytes=0-1,4-5"));
+    assertThat(several.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    ResponseEntity<StreamingResponseBody> malformed = download(sha256,
+            headers(HttpHeaders.RANGE, "lines=1-2"));
+    assertThat(malformed.getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void onlyStakeholdersOfAReferringDomainDownload() {
+    assertThatThrownBy(() -> proofService.download(sha256, Role.ARM, 3L, headers()))
+            .isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> proofService.download(sha256, Role.HOD, 2L, headers()))
+            .isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> download("not-a-sha", headers()))
+            .isInstanceOf(IllegalArgumentException.class);
+    verify(domainStakeholderRepo, never()).canReadProof(Role.ARM, 2L, "not-a-sha");
+  }
+
+  @Test
+  void storesAndLinksProofsByReference() throws Exception {
+    assertThat(proofService.store(null, sha256)).isEqualTo(sha256);
+    assertThat(proofService.store(DOCUMENT, null)).isEqualTo(sha256);
+    assertThatThrownBy(() -> proofService.store(null, "0".repeat(64)))
+            .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> proofService.store(null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+
+    // Reading a row whose proof is still inline leaves the store to the migration job.
+    byte[] inline = "not migrated yet".getBytes(StandardCharsets.US_ASCII);
+    String url = proofService.url(null, inline);
+    assertThat(url).isEqualTo("data:application/octet-stream;base64,"
+            + Base64.getEncoder().encodeToString(inline));
+    assertThat(blobStore.exists(HexFormat.of().formatHex(
+            MessageDigest.getInstance("SHA-256").digest(inline)))).isFalse();
+    assertThat(proofService.url(sha256, null)).isEqualTo("/proofs/" + sha256);
+    assertThat(proofService.url(null, null)).isNull();
+  }
+}
@@ -0,0 +1,84 @@
+package com.dnsManagement.WorkFlowIpVaptService.services;
+
+import com.dnsManagement.WorkFlowIpVaptService.models.SchedulerLease;
+import com.dnsManagement.WorkFlowIpVaptService.repo.SchedulerLeaseRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two {@link SchedulerLeaseService}s standing in for two replicas compete for
+ * the same lease on H2.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchedulerLeaseServiceTest {
+
+  private static final String LEASE = "test-job";
+
+  @Autowired
+  private SchedulerLeaseRepo leaseRepo;
+
+  @AfterEach
+  void tearDown() {
+    leaseRepo.deleteAll();
+  }
+
+  private SchedulerLeaseService node(String owner) {
+    return new SchedulerLeaseService(leaseRepo, Duration.ofMinutes(5), owner);
+  }
+
+  private void expire() {
+    SchedulerLease lease = leaseRepo.findById(LEASE).orElseThrow();
+    lease.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+    leaseRepo.save(lease);
+  }
+
+  @Test
+  void onlyOneInstanceHoldsTheLeaseUntilItIsReleased() {
+    SchedulerLeaseService a = node("node-a");
+    SchedulerLeaseService b = node("node-b");
+
+    assertThat(a.tryAcquire(LEASE)).isTrue();
+    assertThat(b.tryAcquire(LEASE)).isFalse();
+    assertThat(a.tryAcquire(LEASE)).isTrue();
+    assertThat(a.renew(LEASE)).isTrue();
+
+    a.release(LEASE);
+    assertThat(a.isHeld(LEASE)).isFalse();
+    assertThat(b.tryAcquire(LEASE)).isTrue();
+    assertThat(leaseRepo.findById(LEASE)).get()
+            .extracting(SchedulerLease::getOwner).isEqualTo("node-b");
+  }
+
+  @Test
+  void staleLeasesAreTakenOverAndTheFormerOwnerNotices() {
+    SchedulerLeaseService a = node("node-a");
+    SchedulerLeaseService b = node("node-b");
+    LocalDate today = LocalDate.now();
+
+    assertThat(a.tryAcquire(LEASE)).isTrue();
+    assertThat(a.isAbandoned(LEASE, today)).isFalse();
+
+    // node-a stops heartbeating.
+    expire();
+    assertThat(b.isAbandoned(LEASE, today)).isTrue();
+    assertThat(b.tryAcquire(LEASE)).isTrue();
+
+    a.renewHeld();
+    assertThat(a.isHeld(LEASE)).isFalse();
+
+    b.markCompleted(LEASE, today);
+    b.release(LEASE);
+    assertThat(b.isAbandoned(LEASE, today)).isFalse();
+  }
+}
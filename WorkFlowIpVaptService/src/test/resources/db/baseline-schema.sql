@@ -0,0 +1,108 @@
+-- The schema ddl-auto=update kept before the migrations took over, i.e. the
+-- entities of the baseline commit, in H2's PostgreSQL mode (binary large
+-- object where PostgreSQL has oid). Loaded by SchemaMigrationsTest.
+CREATE TABLE domain_name (
+    dm_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_name varchar(255) NOT NULL UNIQUE,
+    dm_desc varchar(255),
+    drm_emp_no bigint NOT NULL,
+    arm_emp_no bigint NOT NULL,
+    hod_emp_no bigint NOT NULL,
+    ed_emp_no bigint NOT NULL,
+    netops_emp_no bigint NOT NULL,
+    webmaster_emp_no bigint NOT NULL,
+    hod_hpc_emp_no bigint NOT NULL,
+    service_type varchar(255) NOT NULL CHECK (service_type IN ('INTERNAL','EXTERNAL')),
+    gigcw_comp varchar(255) NOT NULL CHECK (gigcw_comp IN ('YES','NO','NA')),
+    mou_status varchar(255) NOT NULL CHECK (mou_status IN ('YES','NO','NA')),
+    vapt_comp boolean NOT NULL,
+    appr_prf_vapt_comp binary large object NOT NULL,
+    period integer NOT NULL,
+    serv_hard_status boolean NOT NULL,
+    is_active boolean NOT NULL,
+    is_del boolean NOT NULL,
+    is_renewal boolean NOT NULL,
+    d_o_apl timestamp(6),
+    d_o_act timestamp(6),
+    expiry_date timestamp(6),
+    lst_rw_date timestamp(6),
+    last_notification_period_sent integer,
+    PRIMARY KEY (dm_id)
+);
+
+CREATE TABLE domain_verification (
+    dm_vfy_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_id bigint NOT NULL UNIQUE,
+    fwd_arm boolean NOT NULL,
+    fwd_date_arm timestamp(6),
+    arm_remarks varchar(255),
+    vfyd_by_hod boolean NOT NULL,
+    vfy_date_hod timestamp(6),
+    snt_bk_by_hod boolean NOT NULL,
+    hod_remarks varchar(255),
+    vfy_by_ed boolean NOT NULL,
+    vfy_date_ed timestamp(6),
+    snt_bk_by_ed boolean NOT NULL,
+    ed_remarks varchar(255),
+    vfy_by_netops boolean NOT NULL,
+    vfy_date_netops timestamp(6),
+    snt_bk_by_netops boolean NOT NULL,
+    netops_remarks varchar(255),
+    vfy_by_wbmstr boolean NOT NULL,
+    vfy_date_wbmstr timestamp(6),
+    snt_bk_by_wbmstr boolean NOT NULL,
+    wbmstr_remarks varchar(255),
+    vfy_by_hod_hpc_iand_e boolean NOT NULL,
+    vfy_date_hod_hpc timestamp(6),
+    snt_bk_by_hpc boolean NOT NULL,
+    hpc_remarks varchar(255),
+    is_verified boolean NOT NULL,
+    PRIMARY KEY (dm_vfy_id),
+    CONSTRAINT FK1sbmf79nbvlfcyfrn2gyjq92k FOREIGN KEY (dm_id) REFERENCES domain_name
+);
+
+CREATE TABLE domain_renewal (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_id bigint NOT NULL,
+    prev_dm_name varchar(255) NOT NULL,
+    reason varchar(255),
+    hod_employee_number bigint,
+    hod_appr_date timestamp(6),
+    appr_prf_by_hod binary large object NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKk6lafj1aq4kqu7vfhi2u4q5tv FOREIGN KEY (dm_id) REFERENCES domain_name
+);
+
+CREATE TABLE purchases (
+    purchase_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_id bigint NOT NULL,
+    wbmstr_id bigint NOT NULL,
+    dt_of_purchase timestamp(6) NOT NULL,
+    purchase_type varchar(255) NOT NULL CHECK (purchase_type IN ('RENEWAL','NEW_REGISTRATION')),
+    prf_of_purchase bytea NOT NULL,
+    PRIMARY KEY (purchase_id),
+    CONSTRAINT FKjepmj2du1nop4je20avu5d7w7 FOREIGN KEY (dm_id) REFERENCES domain_name
+);
+
+CREATE TABLE ip (
+    ip_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    dm_id bigint NOT NULL UNIQUE,
+    ip_address varchar(255) NOT NULL UNIQUE,
+    ip_issuer varchar(255) NOT NULL,
+    expiry_date timestamp(6),
+    is_active boolean NOT NULL,
+    PRIMARY KEY (ip_id),
+    CONSTRAINT FKm7cav6e5f49ab2hgrqt22vref FOREIGN KEY (dm_id) REFERENCES domain_name
+);
+
+CREATE TABLE vapt (
+    vapt_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    ip_id bigint NOT NULL UNIQUE,
+    vapt_certify_auth varchar(255) NOT NULL,
+    vapt_remarks varchar(255),
+    exp_date timestamp(6),
+    is_active boolean NOT NULL,
+    prf_work binary large object NOT NULL,
+    PRIMARY KEY (vapt_id),
+    CONSTRAINT FKb5vq71k9evm5dpc4tya9gxbcq FOREIGN KEY (ip_id) REFERENCES ip
+);